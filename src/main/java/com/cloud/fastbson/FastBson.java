@@ -5,7 +5,12 @@ import com.cloud.fastbson.document.BsonDocumentFactory;
 import com.cloud.fastbson.document.IndexedBsonDocument;
 import com.cloud.fastbson.document.fast.FastBsonDocumentFactory;
 import com.cloud.fastbson.handler.parsers.DocumentParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.reader.ByteBufferBsonInput;
+import com.cloud.fastbson.util.BsonValidator;
+
+import java.nio.ByteBuffer;
 
 /**
  * FastBson - Main entry point for BSON parsing with zero-copy architecture.
@@ -32,6 +37,15 @@ import com.cloud.fastbson.reader.BsonReader;
  * BsonDocument nested = doc.getDocument("nested");  // Zero-copy child view
  * }</pre>
  *
+ * <p>Parse modes:
+ * <ul>
+ *   <li><b>Trusted</b> ({@link #parse(byte[])}): no validation; for bytes known to be well-formed,
+ *       e.g. read back from the application's own storage</li>
+ *   <li><b>Strict</b> ({@link #parseStrict(byte[])}): validates lengths, terminators, UTF-8,
+ *       nesting depth and type codes in one pass with {@link BsonValidator} before indexing;
+ *       use for untrusted input</li>
+ * </ul>
+ *
  * <p>Performance (Phase 2.16 target):
  * <ul>
  *   <li>Parse: ~100ms for 50-field document (on par with Phase 1: 99ms)</li>
@@ -60,7 +74,7 @@ public class FastBson {
     }
 
     /**
-     * Parses BSON byte array to IndexedBsonDocument (zero-copy, Phase 2.16+).
+     * Parses BSON byte array to IndexedBsonDocument (zero-copy, Phase 2.16+, trusted mode).
      *
      * <p>This method uses the new zero-copy architecture:
      * <ul>
@@ -69,6 +83,8 @@ public class FastBson {
      *   <li>Values parsed lazily on access</li>
      * </ul>
      *
+     * <p>The input is not validated; use {@link #parseStrict(byte[])} for untrusted bytes.
+     *
      * @param bsonData BSON byte array
      * @return IndexedBsonDocument (zero-copy)
      */
@@ -77,6 +93,48 @@ public class FastBson {
         return IndexedBsonDocument.parse(bsonData);
     }
 
+    /**
+     * Parses the remaining bytes of a heap or direct ByteBuffer to IndexedBsonDocument (zero-copy).
+     *
+     * <p>Same as {@link #parse(byte[])} but without copying the buffer onto the heap:
+     * the field index is built and values are later read directly from the buffer.
+     * The buffer's position, limit and byte order are not modified.
+     *
+     * @param buffer BSON document buffer (heap or direct)
+     * @return IndexedBsonDocument (zero-copy view over the buffer)
+     */
+    public static BsonDocument parse(ByteBuffer buffer) {
+        return IndexedBsonDocument.parseBuffer(buffer);
+    }
+
+    /**
+     * Validates and parses an untrusted BSON byte array (strict mode).
+     *
+     * <p>The whole document is checked with {@link BsonValidator} before the field index is
+     * built, so later lazy reads never run past a length or terminator.
+     *
+     * @param bsonData BSON byte array (the document must span the whole array)
+     * @return IndexedBsonDocument (zero-copy)
+     * @throws com.cloud.fastbson.exception.BsonParseException if the document is malformed
+     */
+    public static BsonDocument parseStrict(byte[] bsonData) {
+        BsonValidator.validate(bsonData);
+        return IndexedBsonDocument.parse(bsonData);
+    }
+
+    /**
+     * Validates and parses the remaining bytes of an untrusted heap or direct ByteBuffer (strict mode).
+     *
+     * @param buffer BSON document buffer (the document must span the remaining bytes)
+     * @return IndexedBsonDocument (zero-copy view over the buffer)
+     * @throws com.cloud.fastbson.exception.BsonParseException if the document is malformed
+     */
+    public static BsonDocument parseStrict(ByteBuffer buffer) {
+        BsonInput input = new ByteBufferBsonInput(buffer);
+        BsonValidator.validate(input, 0, input.length());
+        return IndexedBsonDocument.parseInput(input, 0, input.length());
+    }
+
     /**
      * Parses BSON from BsonReader to BsonDocument.
      *
@@ -179,6 +237,17 @@ public class FastBson {
         setDocumentFactory(com.cloud.fastbson.document.IndexedBsonDocumentFactory.INSTANCE);
     }
 
+    /**
+     * Uses RawBsonDocumentFactory (documents backed by their own BSON bytes).
+     *
+     * <p>Parsed documents are copied out of the input in one step and indexed like in
+     * {@link #useIndexedFactory()}, but do not reference the input buffer; builders encode
+     * fields as they are put. {@code toBson()} returns the bytes without re-serializing.
+     */
+    public static void useRawFactory() {
+        setDocumentFactory(com.cloud.fastbson.document.raw.RawBsonDocumentFactory.INSTANCE);
+    }
+
     // Private constructor to prevent instantiation
     private FastBson() {
         throw new AssertionError("FastBson is a utility class and should not be instantiated");
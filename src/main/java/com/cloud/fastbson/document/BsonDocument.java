@@ -219,6 +219,209 @@ public interface BsonDocument {
      */
     long getDateTime(String fieldName, long defaultValue);
 
+    // ==================== FieldKey访问 ====================
+
+    /*
+     * 以下重载使用预编译的 {@link FieldKey} 代替字段名，语义与对应的 String 版本完全相同。
+     * 默认实现按 key.getName() 委托给 String 版本；IndexedBsonDocument 会利用 key 的
+     * UTF-8 字节、哈希与槽位提示直接定位字段，适合在大量同结构文档上反复读取同一组字段。
+     */
+
+    /**
+     * 判断字段是否存在
+     *
+     * @param key 预编译字段名
+     * @return 如果字段存在返回true，否则返回false
+     */
+    default boolean contains(FieldKey key) {
+        return contains(key.getName());
+    }
+
+    /**
+     * 获取字段的BSON类型
+     *
+     * @param key 预编译字段名
+     * @return BSON类型码，如果字段不存在返回0
+     */
+    default byte getType(FieldKey key) {
+        return getType(key.getName());
+    }
+
+    /**
+     * 判断字段是否为null
+     *
+     * @param key 预编译字段名
+     * @return 如果字段存在且为null返回true
+     */
+    default boolean isNull(FieldKey key) {
+        return isNull(key.getName());
+    }
+
+    /**
+     * 获取Int32字段值
+     *
+     * @param key 预编译字段名
+     * @return 字段值（primitive int，无装箱）
+     * @see #getInt32(String)
+     */
+    default int getInt32(FieldKey key) {
+        return getInt32(key.getName());
+    }
+
+    /**
+     * 获取Int32字段值，字段不存在时返回默认值
+     *
+     * @param key 预编译字段名
+     * @param defaultValue 默认值
+     * @return 字段值，如果字段不存在返回defaultValue
+     */
+    default int getInt32(FieldKey key, int defaultValue) {
+        return getInt32(key.getName(), defaultValue);
+    }
+
+    /**
+     * 获取Int64字段值
+     *
+     * @param key 预编译字段名
+     * @return 字段值（primitive long，无装箱）
+     * @see #getInt64(String)
+     */
+    default long getInt64(FieldKey key) {
+        return getInt64(key.getName());
+    }
+
+    /**
+     * 获取Int64字段值，字段不存在时返回默认值
+     *
+     * @param key 预编译字段名
+     * @param defaultValue 默认值
+     * @return 字段值，如果字段不存在返回defaultValue
+     */
+    default long getInt64(FieldKey key, long defaultValue) {
+        return getInt64(key.getName(), defaultValue);
+    }
+
+    /**
+     * 获取Double字段值
+     *
+     * @param key 预编译字段名
+     * @return 字段值（primitive double，无装箱）
+     * @see #getDouble(String)
+     */
+    default double getDouble(FieldKey key) {
+        return getDouble(key.getName());
+    }
+
+    /**
+     * 获取Double字段值，字段不存在时返回默认值
+     *
+     * @param key 预编译字段名
+     * @param defaultValue 默认值
+     * @return 字段值，如果字段不存在返回defaultValue
+     */
+    default double getDouble(FieldKey key, double defaultValue) {
+        return getDouble(key.getName(), defaultValue);
+    }
+
+    /**
+     * 获取Boolean字段值
+     *
+     * @param key 预编译字段名
+     * @return 字段值（primitive boolean，无装箱）
+     * @see #getBoolean(String)
+     */
+    default boolean getBoolean(FieldKey key) {
+        return getBoolean(key.getName());
+    }
+
+    /**
+     * 获取Boolean字段值，字段不存在时返回默认值
+     *
+     * @param key 预编译字段名
+     * @param defaultValue 默认值
+     * @return 字段值，如果字段不存在返回defaultValue
+     */
+    default boolean getBoolean(FieldKey key, boolean defaultValue) {
+        return getBoolean(key.getName(), defaultValue);
+    }
+
+    /**
+     * 获取String字段值
+     *
+     * @param key 预编译字段名
+     * @return String值
+     * @see #getString(String)
+     */
+    default String getString(FieldKey key) {
+        return getString(key.getName());
+    }
+
+    /**
+     * 获取String字段值，字段不存在时返回默认值
+     *
+     * @param key 预编译字段名
+     * @param defaultValue 默认值
+     * @return 字段值，如果字段不存在返回defaultValue
+     */
+    default String getString(FieldKey key, String defaultValue) {
+        return getString(key.getName(), defaultValue);
+    }
+
+    /**
+     * 获取嵌套Document
+     *
+     * @param key 预编译字段名
+     * @return 嵌套文档
+     * @see #getDocument(String)
+     */
+    default BsonDocument getDocument(FieldKey key) {
+        return getDocument(key.getName());
+    }
+
+    /**
+     * 获取Array
+     *
+     * @param key 预编译字段名
+     * @return 数组
+     * @see #getArray(String)
+     */
+    default BsonArray getArray(FieldKey key) {
+        return getArray(key.getName());
+    }
+
+    /**
+     * 获取ObjectId (以hex string形式)
+     *
+     * @param key 预编译字段名
+     * @return ObjectId的十六进制字符串表示
+     * @see #getObjectId(String)
+     */
+    default String getObjectId(FieldKey key) {
+        return getObjectId(key.getName());
+    }
+
+    /**
+     * 获取DateTime (以timestamp形式)
+     *
+     * @param key 预编译字段名
+     * @return UTC datetime的毫秒时间戳
+     * @see #getDateTime(String)
+     */
+    default long getDateTime(FieldKey key) {
+        return getDateTime(key.getName());
+    }
+
+    /**
+     * 获取DateTime，字段不存在时返回默认值
+     *
+     * @param key 预编译字段名
+     * @param defaultValue 默认值
+     * @return 时间戳，如果字段不存在返回defaultValue
+     */
+    default long getDateTime(FieldKey key, long defaultValue) {
+        return getDateTime(key.getName(), defaultValue);
+    }
+
     // ==================== 通用访问 (兼容旧API) ====================
 
     /**
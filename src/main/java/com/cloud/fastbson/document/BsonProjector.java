@@ -0,0 +1,248 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.matcher.FieldMatcher;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
+import com.cloud.fastbson.reader.ByteSlice;
+import com.cloud.fastbson.skipper.ValueSkipper;
+import com.cloud.fastbson.util.BsonType;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Projection that copies selected fields of a BSON document into a new BSON document.
+ *
+ * <p>Nothing is decoded: each selected element (type byte, name and value) is copied as one byte
+ * range and only the length prefixes of the output documents are computed. Dotted paths descend into
+ * embedded documents, whose selected fields are copied the same way into a new embedded document.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * BsonProjector projector = new BsonProjector("_id", "status", "address.city");
+ *
+ * byte[] projected = projector.project(bson);                      // Single scan over raw bytes
+ * byte[] fromIndex = projector.project(IndexedBsonDocument.parse(bson));   // Top level via the index
+ * }</pre>
+ *
+ * <p>Semantics (MongoDB inclusion projection, without array traversal):
+ * <ul>
+ *   <li>Fields keep their order in the source document; missing fields are omitted</li>
+ *   <li>Selecting a field and one of its sub-paths selects the whole field</li>
+ *   <li>A sub-path whose parent is an embedded document yields that document with the selected
+ *       fields only (possibly empty); a parent that is not a document (including arrays) is omitted</li>
+ *   <li>If a name occurs more than once at one level, the first occurrence is used</li>
+ * </ul>
+ *
+ * <p>The output is never larger than the source document, so it is written into one buffer of the
+ * source length and trimmed once. Input must be well-formed BSON.
+ *
+ * <p>Thread-safe: immutable after construction.
+ */
+public final class BsonProjector {
+
+    private final Node root;
+
+    /**
+     * Creates a projector for the given field paths.
+     *
+     * @param paths field paths (dot-separated for embedded documents)
+     * @throws IllegalArgumentException if paths is empty or contains null, empty paths or empty segments
+     */
+    public BsonProjector(String... paths) {
+        this(paths == null ? null : Arrays.asList(paths));
+    }
+
+    /**
+     * Creates a projector for the given field paths.
+     *
+     * @param paths field paths (dot-separated for embedded documents)
+     * @throws IllegalArgumentException if paths is empty or contains null, empty paths or empty segments
+     */
+    public BsonProjector(Collection<String> paths) {
+        if (paths == null || paths.isEmpty()) {
+            throw new IllegalArgumentException("Projection paths cannot be null or empty");
+        }
+        this.root = new Node(null);
+        for (String path : paths) {
+            if (path == null || path.isEmpty()) {
+                throw new IllegalArgumentException("Projection path cannot be null or empty");
+            }
+            Node node = root;
+            for (String segment : path.split("\\.", -1)) {
+                if (segment.isEmpty()) {
+                    throw new IllegalArgumentException("Projection path contains an empty segment: " + path);
+                }
+                node = node.getOrCreate(segment);
+            }
+            node.include = true;
+        }
+        root.compile();
+    }
+
+    /**
+     * Projects a whole BSON document.
+     *
+     * @param bsonData the document bytes
+     * @return the projected document
+     */
+    public byte[] project(byte[] bsonData) {
+        Objects.requireNonNull(bsonData, "bsonData");
+        return project(new ByteArrayBsonInput(bsonData), 0);
+    }
+
+    /**
+     * Projects the BSON document starting at the given offset.
+     *
+     * @param input the input
+     * @param offset the document start offset
+     * @return the projected document
+     */
+    public byte[] project(BsonInput input, int offset) {
+        Objects.requireNonNull(input, "input");
+        ElementOutput out = new ElementOutput(input.getInt32(offset));
+        projectDocument(input, offset, root, out, new ByteSlice());
+        return out.toByteArray();
+    }
+
+    /**
+     * Projects an indexed document.
+     *
+     * <p>Top-level fields are located through the document's field index, so unselected top-level
+     * fields are never visited; selected embedded documents are scanned as raw bytes.
+     *
+     * @param doc the document
+     * @return the projected document
+     */
+    public byte[] project(IndexedBsonDocument doc) {
+        Objects.requireNonNull(doc, "doc");
+        BsonInput input = doc.input();
+        Node[] children = root.children;
+
+        // Locate selected fields, then restore document order by element start
+        int[] slots = new int[children.length];
+        long[] order = new long[children.length];
+        int count = 0;
+        for (int i = 0; i < children.length; i++) {
+            int slot = doc.slotOf(children[i].key);
+            slots[i] = slot;
+            if (slot >= 0) {
+                order[count++] = ((long) doc.elementStartAt(slot) << 32) | i;
+            }
+        }
+        Arrays.sort(order, 0, count);
+
+        ElementOutput out = new ElementOutput(doc.length());
+        int lengthPos = out.reserveInt();
+        ByteSlice name = null;
+        for (int k = 0; k < count; k++) {
+            int i = (int) order[k];
+            int slot = slots[i];
+            int start = (int) (order[k] >>> 32);
+            Node child = children[i];
+            if (child.include) {
+                out.copy(input, start, doc.elementEndAt(slot) - start);
+            } else if (doc.typeAt(slot) == BsonType.DOCUMENT) {
+                int valueOffset = doc.valueOffsetAt(slot);
+                out.copy(input, start, valueOffset - start);   // Type byte and name
+                if (name == null) {
+                    name = new ByteSlice();
+                }
+                projectDocument(input, valueOffset, child, out, name);
+            }
+        }
+        out.putByte(BsonType.END_OF_DOCUMENT);
+        out.patchLength(lengthPos);
+        return out.toByteArray();
+    }
+
+    /**
+     * Scans one document level, copying selected elements and recursing into partially selected
+     * embedded documents.
+     */
+    private static void projectDocument(BsonInput input, int docOffset, Node node, ElementOutput out, ByteSlice name) {
+        int lengthPos = out.reserveInt();
+        Node[] children = node.children;
+        int remaining = children.length;
+        long seen = 0L;                                  // Children already copied (first 64)
+        boolean[] seenMore = remaining > 64 ? new boolean[remaining] : null;
+
+        int end = docOffset + input.getInt32(docOffset) - 1;
+        int pos = docOffset + 4;
+        while (remaining > 0 && pos < end) {
+            byte type = input.getByte(pos);
+            if (type == BsonType.END_OF_DOCUMENT) {
+                break;
+            }
+            int nameEnd = input.indexOf((byte) 0, pos + 1);
+            int valueOffset = nameEnd + 1;
+            int valueEnd = valueOffset + ValueSkipper.getValueSize(input, valueOffset, type);
+
+            int i = node.matcher.indexOf(name.set(input, pos + 1, nameEnd - pos - 1));
+            if (i >= 0 && !(seenMore != null ? seenMore[i] : (seen & (1L << i)) != 0)) {
+                if (seenMore != null) {
+                    seenMore[i] = true;
+                } else {
+                    seen |= 1L << i;
+                }
+                remaining--;
+
+                Node child = children[i];
+                if (child.include) {
+                    out.copy(input, pos, valueEnd - pos);
+                } else if (type == BsonType.DOCUMENT) {
+                    out.copy(input, pos, valueOffset - pos);
+                    projectDocument(input, valueOffset, child, out, name);
+                }
+            }
+            pos = valueEnd;
+        }
+        out.putByte(BsonType.END_OF_DOCUMENT);
+        out.patchLength(lengthPos);
+    }
+
+    /**
+     * Projection tree node: one path segment.
+     */
+    private static final class Node {
+        final String name;
+        final FieldKey key;
+        boolean include;                      // Copy the whole element
+        List<Node> childList = new ArrayList<Node>(2);
+        Node[] children;                      // In matcher target order
+        FieldMatcher matcher;                 // Byte-level lookup of child names
+
+        Node(String name) {
+            this.name = name;
+            this.key = name == null ? null : FieldKey.of(name);
+        }
+
+        Node getOrCreate(String segment) {
+            for (Node child : childList) {
+                if (child.name.equals(segment)) {
+                    return child;
+                }
+            }
+            Node child = new Node(segment);
+            childList.add(child);
+            return child;
+        }
+
+        void compile() {
+            children = childList.toArray(new Node[0]);
+            childList = null;
+            if (include || children.length == 0) {
+                return;   // Whole element is copied: sub-paths are irrelevant
+            }
+            String[] names = new String[children.length];
+            for (int i = 0; i < children.length; i++) {
+                names[i] = children[i].name;
+                children[i].compile();
+            }
+            matcher = new FieldMatcher(names);
+        }
+    }
+}
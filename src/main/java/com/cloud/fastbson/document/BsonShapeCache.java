@@ -0,0 +1,232 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.reader.BsonInput;
+
+import java.util.Arrays;
+
+/**
+ * Cache of document shapes (field names, types and order) for {@link IndexedBsonDocument}.
+ *
+ * <p>Documents of one collection almost always share the same layout. Building an index normally
+ * hashes every field name and sorts the index by hash for every document. With a shape cache, the
+ * first document of a layout is indexed normally and its shape is remembered. Later documents with
+ * the same layout reuse the shape's hashes and sorted order: the parser only checks each field's
+ * type and name bytes against the shape while scanning and fills in the per-document offsets.
+ * If a field does not match, the document falls back to a normal parse and its shape is added.
+ *
+ * <p>Shapes are selected by the first field (type and name), so documents of a few different
+ * layouts can share one cache. The least recently used shape is evicted when the cache is full.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * BsonShapeCache shapes = new BsonShapeCache();
+ * for (byte[] bson : collection) {
+ *     IndexedBsonDocument doc = IndexedBsonDocument.parse(bson, 0, bson.length, shapes);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe: use one cache per thread or per stream. Documents parsed with a cache do not
+ * reference it and can be shared freely.
+ */
+public final class BsonShapeCache {
+
+    /**
+     * Default maximum number of shapes.
+     */
+    public static final int DEFAULT_MAX_SHAPES = 16;
+
+    private final Shape[] shapes;   // Most recently used first
+    private int size;
+    private long hitCount;
+    private long missCount;
+
+    /**
+     * Creates a cache holding up to {@link #DEFAULT_MAX_SHAPES} shapes.
+     */
+    public BsonShapeCache() {
+        this(DEFAULT_MAX_SHAPES);
+    }
+
+    /**
+     * Creates a cache holding up to the given number of shapes.
+     *
+     * @param maxShapes the maximum number of shapes
+     * @throws IllegalArgumentException if maxShapes is not positive
+     */
+    public BsonShapeCache(int maxShapes) {
+        if (maxShapes <= 0) {
+            throw new IllegalArgumentException("Max shapes must be positive: " + maxShapes);
+        }
+        this.shapes = new Shape[maxShapes];
+    }
+
+    /**
+     * Returns the number of documents indexed from a cached shape.
+     *
+     * @return the hit count
+     */
+    public long getHitCount() {
+        return hitCount;
+    }
+
+    /**
+     * Returns the number of documents that needed a full index build (empty documents are not counted).
+     *
+     * @return the miss count
+     */
+    public long getMissCount() {
+        return missCount;
+    }
+
+    /**
+     * Returns the number of cached shapes.
+     *
+     * @return the shape count
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all shapes and resets the statistics.
+     */
+    public void clear() {
+        Arrays.fill(shapes, null);
+        size = 0;
+        hitCount = 0;
+        missCount = 0;
+    }
+
+    // ==================== Package-private API (used by IndexedBsonDocument) ====================
+
+    /**
+     * Builds the packed field index from a cached shape.
+     *
+     * @return the sorted field index, or null if no cached shape matches the document
+     */
+    int[] bind(BsonInput data, int offset, int length) {
+        int firstField = offset + 4;
+        if (length <= 5 || data.getByte(firstField) == 0) {
+            return null;
+        }
+        byte firstType = data.getByte(firstField);
+        for (int s = 0; s < size; s++) {
+            Shape shape = shapes[s];
+            if (shape.types[0] == firstType && nameEquals(data, firstField + 1, shape.names[0])) {
+                int[] index = shape.bind(data, offset, length);
+                if (index != null) {
+                    hitCount++;
+                    moveToFront(s);
+                    return index;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Records the shape of a document that was indexed without a cached shape.
+     *
+     * @param data the document input
+     * @param index the sorted packed field index built for the document
+     * @param fieldCount the number of fields in the index
+     */
+    void add(BsonInput data, int[] index, int fieldCount) {
+        if (fieldCount == 0) {
+            return;  // No shape to cache, neither a hit nor a miss
+        }
+        missCount++;
+        Shape shape = new Shape(data, index, fieldCount);
+        int last = Math.min(size, shapes.length - 1);
+        System.arraycopy(shapes, 0, shapes, 1, last);
+        shapes[0] = shape;
+        size = last + 1;
+    }
+
+    private void moveToFront(int index) {
+        if (index > 0) {
+            Shape shape = shapes[index];
+            System.arraycopy(shapes, 0, shapes, 1, index);
+            shapes[0] = shape;
+        }
+    }
+
+    /**
+     * Compares the C-string at pos with the given name (including the terminator position).
+     */
+    private static boolean nameEquals(BsonInput data, int pos, byte[] name) {
+        for (int i = 0; i < name.length; i++) {
+            if (data.getByte(pos + i) != name[i]) {
+                return false;
+            }
+        }
+        return data.getByte(pos + name.length) == 0;
+    }
+
+    /**
+     * Immutable document layout: per field (in document order) the type, name and name hash,
+     * plus the field's slot in the hash-sorted index.
+     */
+    private static final class Shape {
+        final byte[] types;
+        final byte[][] names;
+        final int[] hashes;
+        final int[] sortedSlots;
+
+        Shape(BsonInput data, int[] sorted, int n) {
+            // Recover document order from value offsets
+            long[] byOffset = new long[n];
+            for (int i = 0; i < n; i++) {
+                byOffset[i] = ((long) IndexedBsonDocument.valueOffsetAt(sorted, i) << 32) | i;
+            }
+            Arrays.sort(byOffset);
+
+            this.types = new byte[n];
+            this.names = new byte[n][];
+            this.hashes = new int[n];
+            this.sortedSlots = new int[n];
+            for (int i = 0; i < n; i++) {
+                int slot = (int) byOffset[i];
+                int nameLength = IndexedBsonDocument.nameLengthAt(sorted, slot);
+                types[i] = IndexedBsonDocument.typeAt(sorted, slot);
+                names[i] = new byte[nameLength];
+                data.getBytes(IndexedBsonDocument.valueOffsetAt(sorted, slot) - nameLength - 1, names[i], 0, nameLength);
+                hashes[i] = IndexedBsonDocument.hashAt(sorted, slot);
+                sortedSlots[i] = slot;
+            }
+        }
+
+        /**
+         * Scans the document, verifying each field against this shape.
+         *
+         * @return the sorted packed field index, or null on the first mismatch
+         */
+        int[] bind(BsonInput data, int offset, int length) {
+            int n = types.length;
+            int[] index = new int[n * IndexedBsonDocument.STRIDE];
+            int pos = offset + 4;
+            int endPos = offset + length - 1;
+
+            for (int i = 0; i < n; i++) {
+                if (pos >= endPos) {
+                    return null;
+                }
+                byte type = data.getByte(pos++);
+                if (type != types[i] || !nameEquals(data, pos, names[i])) {
+                    return null;
+                }
+                pos += names[i].length + 1;
+
+                int valueSize = IndexedBsonDocument.getValueSize(data, pos, type);
+                IndexedBsonDocument.setEntry(index, sortedSlots[i], hashes[i], pos, valueSize, names[i].length, type);
+                pos += valueSize;
+            }
+            // The document must not have more fields than the shape
+            if (pos < endPos && data.getByte(pos) != 0) {
+                return null;
+            }
+            return index;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.reader.BsonInput;
+
+import java.util.Arrays;
+
+/**
+ * Fixed-size output buffer that BSON elements are copied into as byte ranges, with document
+ * length prefixes reserved and patched afterwards (used by BsonProjector and BsonMerger).
+ *
+ * <p>The capacity must be an upper bound of the output: a projection never grows past the
+ * source document, a merge never past both inputs together.
+ */
+final class ElementOutput {
+    private final byte[] buffer;
+    private int position;
+
+    ElementOutput(int capacity) {
+        this.buffer = new byte[capacity];
+    }
+
+    int reserveInt() {
+        int pos = position;
+        position += 4;
+        return pos;
+    }
+
+    void patchLength(int pos) {
+        int length = position - pos;
+        buffer[pos] = (byte) length;
+        buffer[pos + 1] = (byte) (length >>> 8);
+        buffer[pos + 2] = (byte) (length >>> 16);
+        buffer[pos + 3] = (byte) (length >>> 24);
+    }
+
+    void putByte(byte b) {
+        buffer[position++] = b;
+    }
+
+    void copy(BsonInput input, int from, int length) {
+        input.getBytes(from, buffer, position, length);
+        position += length;
+    }
+
+    byte[] toByteArray() {
+        return position == buffer.length ? buffer : Arrays.copyOf(buffer, position);
+    }
+}
@@ -0,0 +1,133 @@
+package com.cloud.fastbson.document;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Precompiled field name for repeated lookups on many documents.
+ *
+ * <p>A key is created once (typically as a constant) and passed to the {@code BsonDocument}
+ * overloads instead of a String:
+ * <pre>{@code
+ * static final FieldKey USER_ID = FieldKey.of("userId");
+ *
+ * for (byte[] bson : batch) {
+ *     long id = IndexedBsonDocument.parse(bson).getInt64(USER_ID);
+ *     ...
+ * }
+ * }</pre>
+ *
+ * <p>The key carries the UTF-8 bytes of the name and their hash (the same hash
+ * {@link IndexedBsonDocument} stores in its field index), so a lookup compares bytes directly
+ * with no per-call hashing or char-to-byte conversion. It also remembers the index slot where the
+ * field was last found: documents of the same shape keep a field in the same slot, so after the
+ * first document a lookup is a single verified slot check instead of a binary search.
+ *
+ * <p>Thread-safe: the slot hint is only a guess. It is always verified against the document
+ * before use, so concurrent updates from several threads are harmless.
+ */
+public final class FieldKey {
+
+    private final String name;
+    private final byte[] bytes;   // UTF-8 encoded name
+    private final int hash;       // 31-based hash of the unsigned UTF-8 bytes
+
+    /**
+     * Index slot where the field was last found (benign race: verified before use).
+     */
+    int slotHint;
+
+    private FieldKey(String name) {
+        this.name = name;
+        this.bytes = name.getBytes(StandardCharsets.UTF_8);
+        int h = 0;
+        for (byte b : bytes) {
+            h = 31 * h + (b & 0xFF);
+        }
+        this.hash = h;
+    }
+
+    /**
+     * Creates a key for the given field name.
+     *
+     * @param name the field name
+     * @return a new key
+     * @throws IllegalArgumentException if name is null
+     */
+    public static FieldKey of(String name) {
+        if (name == null) {
+            throw new IllegalArgumentException("Field name cannot be null");
+        }
+        return new FieldKey(name);
+    }
+
+    /**
+     * Returns the field name.
+     *
+     * @return the field name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns a copy of the UTF-8 encoded field name.
+     *
+     * @return the name bytes
+     */
+    public byte[] getBytes() {
+        return bytes.clone();
+    }
+
+    /**
+     * Returns the length of the UTF-8 encoded field name.
+     *
+     * @return the name length in bytes
+     */
+    public int getByteLength() {
+        return bytes.length;
+    }
+
+    /**
+     * Copies the UTF-8 encoded field name into the given array without allocating.
+     *
+     * @param dst destination array
+     * @param dstOffset start offset in the destination
+     * @throws IndexOutOfBoundsException if the destination is too small
+     */
+    public void copyBytes(byte[] dst, int dstOffset) {
+        System.arraycopy(bytes, 0, dst, dstOffset, bytes.length);
+    }
+
+    // ==================== Package-private API (used by IndexedBsonDocument) ====================
+
+    /**
+     * The UTF-8 name bytes (not copied; must not be modified).
+     */
+    byte[] bytes() {
+        return bytes;
+    }
+
+    /**
+     * The hash of the name bytes, equal to {@code String.hashCode()} for ASCII names.
+     */
+    int hash() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof FieldKey)) return false;
+        return name.equals(((FieldKey) o).name);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -1,11 +1,13 @@
 package com.cloud.fastbson.document;
 
 import com.cloud.fastbson.handler.parsers.*;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
 import com.cloud.fastbson.util.BsonType;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.List;
+import java.util.Objects;
 
 /**
  * Zero-copy BSON array implementation with index-based lazy parsing.
@@ -16,38 +18,47 @@ import java.util.List;
  * <ul>
  *   <li>Parse phase: Build element index only</li>
  *   <li>Access phase: Lazy parse on demand</li>
- *   <li>Cache: Store parsed values for repeated access</li>
+ *   <li>Cache: Store decoded strings and child views for repeated access; fixed-width
+ *       values are read in place on every access (no boxing)</li>
  * </ul>
  *
  * <p>Array format in BSON: same as document with numeric field names ("0", "1", "2", ...)
+ *
+ * <p>Like IndexedBsonDocument, reads through a {@link BsonInput} so arrays inside
+ * ByteBuffer-backed documents are accessed in place.
  */
 public class IndexedBsonArray implements BsonArray {
-    private final byte[] data;
+    private final BsonInput data;
     private final int offset;
     private final int length;
-    private final ElementIndex[] elements;
+    private final int count;             // Number of elements
+    private final int[] elements;        // Packed entries [valueOffset, type], null for fixed-width arrays
+    private final byte uniformType;      // Fixed-width arrays: the type shared by all elements
+    private final int uniformSize;       // Fixed-width arrays: the value size shared by all elements
     private volatile Object[] cache;
 
     /**
-     * Element metadata (similar to FieldIndex but for array elements).
+     * Packed element index layout: {@value #STRIDE} ints per element.
+     *
+     * <p>Arrays whose elements all have the same fixed-size type (e.g. INT32, DOUBLE, DATE_TIME,
+     * OBJECT_ID) and canonical keys ("0", "1", ...) keep no per-element entry at all: element i
+     * starts at a position computable from i, the value size and the key digit counts.
      */
-    static class ElementIndex {
-        final int valueOffset;
-        final int valueSize;
-        final byte type;
+    private static final int STRIDE = 2;
+    private static final int VALUE_OFFSET = 0;
+    private static final int TYPE = 1;
 
-        ElementIndex(int valueOffset, int valueSize, byte type) {
-            this.valueOffset = valueOffset;
-            this.valueSize = valueSize;
-            this.type = type;
-        }
-    }
+    private static final int INITIAL_ELEMENTS = 8;
 
-    private IndexedBsonArray(byte[] data, int offset, int length, ElementIndex[] elements) {
+    private IndexedBsonArray(BsonInput data, int offset, int length, int count,
+                             int[] elements, byte uniformType, int uniformSize) {
         this.data = data;
         this.offset = offset;
         this.length = length;
+        this.count = count;
         this.elements = elements;
+        this.uniformType = uniformType;
+        this.uniformSize = uniformSize;
     }
 
     /**
@@ -59,15 +70,42 @@ public class IndexedBsonArray implements BsonArray {
      * @return IndexedBsonArray
      */
     public static IndexedBsonArray parse(byte[] data, int offset, int length) {
-        List<ElementIndex> elementList = new ArrayList<>();
+        Objects.requireNonNull(data, "data");
+        return parseInput(new ByteArrayBsonInput(data), offset, length);
+    }
+
+    /**
+     * Parse BSON array from an input slice (zero-copy).
+     *
+     * <p>While all elements seen so far share one fixed-size type and have canonical keys, no
+     * index is recorded; the packed index is only materialized at the first element that breaks
+     * that layout.
+     *
+     * @param data BSON data input
+     * @param offset array start offset
+     * @param length array length
+     * @return IndexedBsonArray
+     */
+    public static IndexedBsonArray parseInput(BsonInput data, int offset, int length) {
+        int[] elements = null;
+        int count = 0;
+        byte uniformType = 0;
+        int uniformSize = 0;
+        int keyDigits = 1;       // Digits of the canonical key of element count
+        int nextPowerOfTen = 10;
         int pos = offset + 4;  // Skip array length
         int endPos = offset + length - 1;  // -1 for terminator
 
-        while (pos < endPos && data[pos] != 0) {
-            byte type = data[pos++];
+        while (pos < endPos && data.getByte(pos) != 0) {
+            if (count == nextPowerOfTen) {
+                keyDigits++;
+                nextPowerOfTen *= 10;
+            }
+            byte type = data.getByte(pos++);
 
             // Skip field name (array index like "0", "1", "2")
-            while (data[pos++] != 0) {
+            int nameStart = pos;
+            while (data.getByte(pos++) != 0) {
                 // Skip until null terminator
             }
 
@@ -75,19 +113,105 @@ public class IndexedBsonArray implements BsonArray {
             int valueOffset = pos;
             int valueSize = getValueSize(data, valueOffset, type);
 
-            elementList.add(new ElementIndex(valueOffset, valueSize, type));
+            if (elements == null) {
+                if (count == 0) {
+                    uniformType = type;
+                    uniformSize = fixedValueSize(type);
+                }
+                if (uniformSize < 0 || type != uniformType || valueOffset - nameStart - 1 != keyDigits) {
+                    // Layout is no longer arithmetic: record entries for the elements seen so far
+                    elements = new int[Math.max(INITIAL_ELEMENTS, count * 2) * STRIDE];
+                    for (int i = 0; i < count; i++) {
+                        elements[i * STRIDE + VALUE_OFFSET] = fixedValueOffset(offset, uniformSize, i);
+                        elements[i * STRIDE + TYPE] = uniformType;
+                    }
+                }
+            }
+            if (elements != null) {
+                if ((count + 1) * STRIDE > elements.length) {
+                    elements = Arrays.copyOf(elements, elements.length * 2);
+                }
+                elements[count * STRIDE + VALUE_OFFSET] = valueOffset;
+                elements[count * STRIDE + TYPE] = type;
+            }
+            count++;
 
             pos += valueSize;
         }
 
-        ElementIndex[] elementArray = elementList.toArray(new ElementIndex[0]);
-        return new IndexedBsonArray(data, offset, length, elementArray);
+        if (elements != null && elements.length != count * STRIDE) {
+            elements = Arrays.copyOf(elements, count * STRIDE);
+        }
+        return new IndexedBsonArray(data, offset, length, count, elements, uniformType, uniformSize);
+    }
+
+    /**
+     * Value size of fixed-size types, or -1 if the size depends on the value.
+     */
+    private static int fixedValueSize(byte type) {
+        switch (type) {
+            case BsonType.DOUBLE:
+            case BsonType.DATE_TIME:
+            case BsonType.TIMESTAMP:
+            case BsonType.INT64:
+                return 8;
+            case BsonType.INT32:
+                return 4;
+            case BsonType.BOOLEAN:
+                return 1;
+            case BsonType.OBJECT_ID:
+                return 12;
+            case BsonType.DECIMAL128:
+                return 16;
+            case BsonType.NULL:
+            case BsonType.UNDEFINED:
+            case BsonType.MIN_KEY:
+            case BsonType.MAX_KEY:
+                return 0;
+            default:
+                return -1;
+        }
+    }
+
+    /**
+     * Value offset of element i in a fixed-width array.
+     *
+     * <p>Each element is: type byte, key digits, key terminator, value.
+     */
+    private static int fixedValueOffset(int offset, int valueSize, int i) {
+        return offset + 4 + i * (valueSize + 2) + keyDigitsBefore(i + 1) + 2;
+    }
+
+    /**
+     * Total number of digits in the keys "0" .. "n-1".
+     */
+    private static int keyDigitsBefore(int n) {
+        int total = n;
+        for (int p = 10; p < n; p *= 10) {
+            total += n - p;  // Every key >= p has one more digit
+        }
+        return total;
+    }
+
+    private byte typeAt(int index) {
+        return elements == null ? uniformType : (byte) elements[index * STRIDE + TYPE];
+    }
+
+    private int valueOffsetAt(int index) {
+        return elements == null ? fixedValueOffset(offset, uniformSize, index) : elements[index * STRIDE + VALUE_OFFSET];
+    }
+
+    /**
+     * Number of ints held by the element index (0 for fixed-width arrays).
+     */
+    int indexSize() {
+        return elements == null ? 0 : elements.length;
     }
 
     /**
      * Get value size using appropriate parser.
      */
-    private static int getValueSize(byte[] data, int offset, byte type) {
+    private static int getValueSize(BsonInput data, int offset, byte type) {
         // Reuse logic from IndexedBsonDocument
         switch (type) {
             case BsonType.DOUBLE:
@@ -115,9 +239,9 @@ public class IndexedBsonArray implements BsonArray {
             case BsonType.REGEX:
                 int patternLen = 0;
                 int p = offset;
-                while (data[p++] != 0) patternLen++;
+                while (data.getByte(p++) != 0) patternLen++;
                 int optionsLen = 0;
-                while (data[p++] != 0) optionsLen++;
+                while (data.getByte(p++) != 0) optionsLen++;
                 return patternLen + 1 + optionsLen + 1;
             case BsonType.INT32:
                 return 4;
@@ -139,162 +263,129 @@ public class IndexedBsonArray implements BsonArray {
         if (cache == null) {
             synchronized (this) {
                 // Outer check guarantees cache is null here - no need for redundant check
-                cache = new Object[elements.length];
+                cache = new Object[count];
             }
         }
     }
 
     @Override
     public int size() {
-        return elements.length;
+        return count;
     }
 
     @Override
     public boolean isEmpty() {
-        return elements.length == 0;
+        return count == 0;
     }
 
     @Override
     public byte getType(int index) {
-        if (index < 0 || index >= elements.length) {
+        if (index < 0 || index >= count) {
             return 0;
         }
-        return elements[index].type;
+        return typeAt(index);
     }
 
     @Override
     public int getInt32(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.INT32) {
+        byte type = typeAt(index);
+        if (type != BsonType.INT32) {
             throw new IllegalArgumentException("Element at index " + index + " is not INT32");
         }
 
-        // Check cache
-        if (cache != null && cache[index] != null) {
-            return (Integer) cache[index];
-        }
-
-        int value = Int32Parser.readDirect(data, element.valueOffset);
-
-        ensureCache();
-        cache[index] = value;
-
-        return value;
+        // Fixed-width value: read in place, never boxed or cached
+        return Int32Parser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public int getInt32(int index, int defaultValue) {
-        if (index < 0 || index >= elements.length || elements[index].type != BsonType.INT32) {
+        if (index < 0 || index >= count || typeAt(index) != BsonType.INT32) {
             return defaultValue;
         }
-        return getInt32(index);
+        return Int32Parser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public long getInt64(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.INT64) {
+        byte type = typeAt(index);
+        if (type != BsonType.INT64) {
             throw new IllegalArgumentException("Element at index " + index + " is not INT64");
         }
 
-        if (cache != null && cache[index] != null) {
-            return (Long) cache[index];
-        }
-
-        long value = Int64Parser.readDirect(data, element.valueOffset);
-
-        ensureCache();
-        cache[index] = value;
-
-        return value;
+        // Fixed-width value: read in place, never boxed or cached
+        return Int64Parser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public long getInt64(int index, long defaultValue) {
-        if (index < 0 || index >= elements.length || elements[index].type != BsonType.INT64) {
+        if (index < 0 || index >= count || typeAt(index) != BsonType.INT64) {
             return defaultValue;
         }
-        return getInt64(index);
+        return Int64Parser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public double getDouble(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.DOUBLE) {
+        byte type = typeAt(index);
+        if (type != BsonType.DOUBLE) {
             throw new IllegalArgumentException("Element at index " + index + " is not DOUBLE");
         }
 
-        if (cache != null && cache[index] != null) {
-            return (Double) cache[index];
-        }
-
-        double value = DoubleParser.readDirect(data, element.valueOffset);
-
-        ensureCache();
-        cache[index] = value;
-
-        return value;
+        // Fixed-width value: read in place, never boxed or cached
+        return DoubleParser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public double getDouble(int index, double defaultValue) {
-        if (index < 0 || index >= elements.length || elements[index].type != BsonType.DOUBLE) {
+        if (index < 0 || index >= count || typeAt(index) != BsonType.DOUBLE) {
             return defaultValue;
         }
-        return getDouble(index);
+        return DoubleParser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public boolean getBoolean(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.BOOLEAN) {
+        byte type = typeAt(index);
+        if (type != BsonType.BOOLEAN) {
             throw new IllegalArgumentException("Element at index " + index + " is not BOOLEAN");
         }
 
-        if (cache != null && cache[index] != null) {
-            return (Boolean) cache[index];
-        }
-
-        boolean value = BooleanParser.readDirect(data, element.valueOffset);
-
-        ensureCache();
-        cache[index] = value;
-
-        return value;
+        // Fixed-width value: read in place, never boxed or cached
+        return BooleanParser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public boolean getBoolean(int index, boolean defaultValue) {
-        if (index < 0 || index >= elements.length || elements[index].type != BsonType.BOOLEAN) {
+        if (index < 0 || index >= count || typeAt(index) != BsonType.BOOLEAN) {
             return defaultValue;
         }
-        return getBoolean(index);
+        return BooleanParser.readDirect(data, valueOffsetAt(index));
     }
 
     @Override
     public String getString(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.STRING && element.type != BsonType.JAVASCRIPT && element.type != BsonType.SYMBOL) {
+        byte type = typeAt(index);
+        if (type != BsonType.STRING && type != BsonType.JAVASCRIPT && type != BsonType.SYMBOL) {
             throw new IllegalArgumentException("Element at index " + index + " is not STRING");
         }
 
@@ -302,7 +393,7 @@ public class IndexedBsonArray implements BsonArray {
             return (String) cache[index];
         }
 
-        String value = StringParser.readDirect(data, element.valueOffset);
+        String value = StringParser.readDirect(data, valueOffsetAt(index));
 
         ensureCache();
         cache[index] = value;
@@ -312,10 +403,10 @@ public class IndexedBsonArray implements BsonArray {
 
     @Override
     public String getString(int index, String defaultValue) {
-        if (index < 0 || index >= elements.length) {
+        if (index < 0 || index >= count) {
             return defaultValue;
         }
-        byte type = elements[index].type;
+        byte type = typeAt(index);
         if (type != BsonType.STRING && type != BsonType.JAVASCRIPT && type != BsonType.SYMBOL) {
             return defaultValue;
         }
@@ -324,12 +415,12 @@ public class IndexedBsonArray implements BsonArray {
 
     @Override
     public BsonDocument getDocument(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.DOCUMENT) {
+        byte type = typeAt(index);
+        if (type != BsonType.DOCUMENT) {
             throw new IllegalArgumentException("Element at index " + index + " is not DOCUMENT");
         }
 
@@ -338,8 +429,8 @@ public class IndexedBsonArray implements BsonArray {
         }
 
         // Create child document (zero-copy)
-        int docLength = Int32Parser.readDirect(data, element.valueOffset);
-        IndexedBsonDocument childDoc = IndexedBsonDocument.parse(data, element.valueOffset, docLength);
+        int docLength = Int32Parser.readDirect(data, valueOffsetAt(index));
+        IndexedBsonDocument childDoc = IndexedBsonDocument.parseInput(data, valueOffsetAt(index), docLength);
 
         ensureCache();
         cache[index] = childDoc;
@@ -348,7 +439,7 @@ public class IndexedBsonArray implements BsonArray {
     }
 
     public BsonDocument getDocument(int index, BsonDocument defaultValue) {
-        if (index < 0 || index >= elements.length || elements[index].type != BsonType.DOCUMENT) {
+        if (index < 0 || index >= count || typeAt(index) != BsonType.DOCUMENT) {
             return defaultValue;
         }
         return getDocument(index);
@@ -356,12 +447,12 @@ public class IndexedBsonArray implements BsonArray {
 
     @Override
     public BsonArray getArray(int index) {
-        if (index < 0 || index >= elements.length) {
-            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + elements.length);
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + count);
         }
 
-        ElementIndex element = elements[index];
-        if (element.type != BsonType.ARRAY) {
+        byte type = typeAt(index);
+        if (type != BsonType.ARRAY) {
             throw new IllegalArgumentException("Element at index " + index + " is not ARRAY");
         }
 
@@ -370,8 +461,8 @@ public class IndexedBsonArray implements BsonArray {
         }
 
         // Create child array (zero-copy, recursive)
-        int arrayLength = Int32Parser.readDirect(data, element.valueOffset);
-        IndexedBsonArray childArray = IndexedBsonArray.parse(data, element.valueOffset, arrayLength);
+        int arrayLength = Int32Parser.readDirect(data, valueOffsetAt(index));
+        IndexedBsonArray childArray = IndexedBsonArray.parseInput(data, valueOffsetAt(index), arrayLength);
 
         ensureCache();
         cache[index] = childArray;
@@ -380,7 +471,7 @@ public class IndexedBsonArray implements BsonArray {
     }
 
     public BsonArray getArray(int index, BsonArray defaultValue) {
-        if (index < 0 || index >= elements.length || elements[index].type != BsonType.ARRAY) {
+        if (index < 0 || index >= count || typeAt(index) != BsonType.ARRAY) {
             return defaultValue;
         }
         return getArray(index);
@@ -388,53 +479,48 @@ public class IndexedBsonArray implements BsonArray {
 
     @Override
     public Object get(int index) {
-        if (index < 0 || index >= elements.length) {
+        if (index < 0 || index >= count) {
             return null;
         }
 
-        // Check cache first
+        // Check cache first (decoded strings and child views)
         if (cache != null && cache[index] != null) {
             return cache[index];
         }
 
-        ElementIndex element = elements[index];
+        byte type = typeAt(index);
         Object value;
 
-        switch (element.type) {
+        switch (type) {
+            // Fixed-width values are boxed for the caller but not cached
             case BsonType.INT32:
-                value = Int32Parser.readDirect(data, element.valueOffset);
-                break;
+                return Int32Parser.readDirect(data, valueOffsetAt(index));
             case BsonType.INT64:
-                value = Int64Parser.readDirect(data, element.valueOffset);
-                break;
+                return Int64Parser.readDirect(data, valueOffsetAt(index));
             case BsonType.DOUBLE:
-                value = DoubleParser.readDirect(data, element.valueOffset);
-                break;
+                return DoubleParser.readDirect(data, valueOffsetAt(index));
             case BsonType.BOOLEAN:
-                value = BooleanParser.readDirect(data, element.valueOffset);
-                break;
+                return BooleanParser.readDirect(data, valueOffsetAt(index));
+            case BsonType.DATE_TIME:
+                return DateTimeParser.readDirect(data, valueOffsetAt(index));
+            case BsonType.NULL:
+            case BsonType.UNDEFINED:
+                return null;
             case BsonType.STRING:
             case BsonType.JAVASCRIPT:
             case BsonType.SYMBOL:
-                value = StringParser.readDirect(data, element.valueOffset);
+                value = StringParser.readDirect(data, valueOffsetAt(index));
                 break;
             case BsonType.DOCUMENT:
-                int docLength = Int32Parser.readDirect(data, element.valueOffset);
-                value = IndexedBsonDocument.parse(data, element.valueOffset, docLength);
+                int docLength = Int32Parser.readDirect(data, valueOffsetAt(index));
+                value = IndexedBsonDocument.parseInput(data, valueOffsetAt(index), docLength);
                 break;
             case BsonType.ARRAY:
-                int arrayLength = Int32Parser.readDirect(data, element.valueOffset);
-                value = IndexedBsonArray.parse(data, element.valueOffset, arrayLength);
-                break;
-            case BsonType.DATE_TIME:
-                value = DateTimeParser.readDirect(data, element.valueOffset);
-                break;
-            case BsonType.NULL:
-            case BsonType.UNDEFINED:
-                value = null;
+                int arrayLength = Int32Parser.readDirect(data, valueOffsetAt(index));
+                value = IndexedBsonArray.parseInput(data, valueOffsetAt(index), arrayLength);
                 break;
             default:
-                throw new UnsupportedOperationException("Type not yet supported: 0x" + Integer.toHexString(element.type & 0xFF));
+                throw new UnsupportedOperationException("Type not yet supported: 0x" + Integer.toHexString(type & 0xFF));
         }
 
         ensureCache();
@@ -443,12 +529,48 @@ public class IndexedBsonArray implements BsonArray {
         return value;
     }
 
+    /**
+     * Returns the encoded bytes of this array (its length prefix through its terminator).
+     *
+     * <p>Returns the backing array itself when the array spans all of it, otherwise a copy.
+     *
+     * @return the BSON array bytes
+     */
+    public byte[] toBson() {
+        byte[] array = data.array();
+        if (array != null && offset == 0 && length == array.length) {
+            return array;
+        }
+        byte[] result = new byte[length];
+        data.getBytes(offset, result, 0, length);
+        return result;
+    }
+
+    /**
+     * Returns the length of this array's BSON bytes (what {@link #toBson()} returns).
+     *
+     * @return length in bytes, including the length prefix and terminator
+     */
+    public int getBsonLength() {
+        return length;
+    }
+
+    /**
+     * Copies this array's BSON bytes into an array, without allocating an intermediate copy.
+     *
+     * @param dst destination array
+     * @param dstOffset position in dst of the first byte
+     * @throws IndexOutOfBoundsException if dst has fewer than {@link #getBsonLength()} bytes at dstOffset
+     */
+    public void copyBsonTo(byte[] dst, int dstOffset) {
+        data.getBytes(offset, dst, dstOffset, length);
+    }
 
     @Override
     public String toJson() {
         StringBuilder sb = new StringBuilder();
         sb.append("[");
-        for (int i = 0; i < elements.length; i++) {
+        for (int i = 0; i < count; i++) {
             if (i > 0) sb.append(",");
 
             Object value = get(i);
@@ -473,7 +595,7 @@ public class IndexedBsonArray implements BsonArray {
 
             @Override
             public boolean hasNext() {
-                return currentIndex < elements.length;
+                return currentIndex < count;
             }
 
             @Override
@@ -489,7 +611,7 @@ public class IndexedBsonArray implements BsonArray {
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        sb.append("IndexedBsonArray{size=").append(elements.length);
+        sb.append("IndexedBsonArray{size=").append(count);
         sb.append(", cached=").append(cache != null ? countCached() : 0);
         sb.append("}");
         return sb.toString();
@@ -55,7 +55,6 @@ public final class IndexedBsonDocumentFactory implements BsonDocumentFactory {
     public static final IndexedBsonDocumentFactory INSTANCE = new IndexedBsonDocumentFactory();
 
     private static final byte[] EMPTY_BSON_BYTES = new byte[]{5, 0, 0, 0, 0};
-    private static final IndexedBsonDocument EMPTY_DOCUMENT = IndexedBsonDocument.parse(EMPTY_BSON_BYTES, 0, 5);
     private static final IndexedBsonArray EMPTY_ARRAY = IndexedBsonArray.parse(EMPTY_BSON_BYTES, 0, 5);
 
     private IndexedBsonDocumentFactory() {
@@ -80,7 +79,7 @@ public final class IndexedBsonDocumentFactory implements BsonDocumentFactory {
 
     @Override
     public BsonDocument emptyDocument() {
-        return EMPTY_DOCUMENT;
+        return IndexedBsonDocument.parse(new byte[]{5, 0, 0, 0, 0});  // Updatable, so never shared
     }
 
     @Override
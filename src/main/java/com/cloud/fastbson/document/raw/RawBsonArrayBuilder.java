@@ -0,0 +1,133 @@
+package com.cloud.fastbson.document.raw;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonArrayBuilder;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.writer.BsonWriter;
+
+/**
+ * Builder that encodes each array element into BSON bytes as it is added.
+ *
+ * <p>{@link #build()} closes the array and returns an {@link IndexedBsonArray} over a copy of
+ * exactly the encoded bytes.
+ */
+public class RawBsonArrayBuilder implements BsonArrayBuilder {
+
+    private static final int DEFAULT_CAPACITY = 128;
+    private static final int BYTES_PER_ELEMENT = 12;  // Rough average used by estimateSize()
+
+    private BsonWriter writer;   // Created on first add, sized by estimateSize()
+    private int initialCapacity = DEFAULT_CAPACITY;
+    private boolean built;
+
+    @Override
+    public BsonArrayBuilder estimateSize(int size) {
+        if (writer == null) {
+            initialCapacity = Math.max(DEFAULT_CAPACITY, size * BYTES_PER_ELEMENT);
+        }
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        if (writer != null) {
+            writer.reset();
+            writer.writeStartArray();
+        }
+        built = false;
+    }
+
+    // ==================== Primitive Types (no boxing) ====================
+
+    @Override
+    public BsonArrayBuilder addInt32(int value) {
+        writer().writeInt32(value);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addInt64(long value) {
+        writer().writeInt64(value);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addDouble(double value) {
+        writer().writeDouble(value);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addBoolean(boolean value) {
+        writer().writeBoolean(value);
+        return this;
+    }
+
+    // ==================== Reference Types ====================
+
+    @Override
+    public BsonArrayBuilder addString(String value) {
+        writer().writeString(value);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addDocument(BsonDocument value) {
+        writer().writeDocument(value);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addArray(BsonArray value) {
+        writer().writeArray(value);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addNull() {
+        writer().writeNull();
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addObjectId(String hexString) {
+        writer().writeObjectId(hexString);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addDateTime(long timestamp) {
+        writer().writeDateTime(timestamp);
+        return this;
+    }
+
+    @Override
+    public BsonArrayBuilder addBinary(byte subtype, byte[] data) {
+        writer().writeBinary(subtype, data);
+        return this;
+    }
+
+    @Override
+    public BsonArray build() {
+        BsonWriter w = writer();
+        w.writeEndArray();
+        byte[] bson = w.toByteArray();
+
+        // Mark builder as used
+        built = true;
+
+        return IndexedBsonArray.parse(bson, 0, bson.length);
+    }
+
+    private BsonWriter writer() {
+        if (built) {
+            throw new IllegalStateException("Builder has already been used");
+        }
+        if (writer == null) {
+            writer = new BsonWriter(initialCapacity);
+            writer.writeStartArray();
+        }
+        return writer;
+    }
+}
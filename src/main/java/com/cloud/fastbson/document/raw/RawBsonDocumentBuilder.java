@@ -0,0 +1,141 @@
+package com.cloud.fastbson.document.raw;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.BsonDocumentBuilder;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.writer.BsonWriter;
+
+/**
+ * Builder that encodes each field into BSON bytes as it is put.
+ *
+ * <p>{@link #build()} closes the document and returns an {@link IndexedBsonDocument} over a
+ * copy of exactly the encoded bytes. The write buffer is kept, so a builder that is
+ * {@link #reset()} after build allocates only the result array per document.
+ */
+public class RawBsonDocumentBuilder implements BsonDocumentBuilder {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int BYTES_PER_FIELD = 16;  // Rough average used by estimateSize()
+
+    private BsonWriter writer;   // Created on first put, sized by estimateSize()
+    private int initialCapacity = DEFAULT_CAPACITY;
+    private boolean built;
+
+    @Override
+    public BsonDocumentBuilder estimateSize(int estimatedFields) {
+        if (writer == null) {
+            initialCapacity = Math.max(DEFAULT_CAPACITY, estimatedFields * BYTES_PER_FIELD);
+        }
+        return this;
+    }
+
+    @Override
+    public void reset() {
+        if (writer != null) {
+            writer.reset();
+            writer.writeStartDocument();
+        }
+        built = false;
+    }
+
+    // ==================== Primitive Types (no boxing) ====================
+
+    @Override
+    public BsonDocumentBuilder putInt32(String fieldName, int value) {
+        writer().writeInt32(fieldName, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putInt64(String fieldName, long value) {
+        writer().writeInt64(fieldName, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putDouble(String fieldName, double value) {
+        writer().writeDouble(fieldName, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putBoolean(String fieldName, boolean value) {
+        writer().writeBoolean(fieldName, value);
+        return this;
+    }
+
+    // ==================== Reference Types ====================
+
+    @Override
+    public BsonDocumentBuilder putString(String fieldName, String value) {
+        writer().writeString(fieldName, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putDocument(String fieldName, BsonDocument value) {
+        writer().writeDocument(fieldName, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putArray(String fieldName, BsonArray value) {
+        writer().writeArray(fieldName, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putObjectId(String fieldName, String hexString) {
+        writer().writeObjectId(fieldName, hexString);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putDateTime(String fieldName, long timestamp) {
+        writer().writeDateTime(fieldName, timestamp);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putNull(String fieldName) {
+        writer().writeNull(fieldName);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putBinary(String fieldName, byte subtype, byte[] data) {
+        writer().writeBinary(fieldName, subtype, data);
+        return this;
+    }
+
+    @Override
+    public BsonDocumentBuilder putComplex(String fieldName, byte type, Object value) {
+        // Accepts the same value forms as BsonWriter.writeValue (types.* objects and legacy forms)
+        writer().writeValue(fieldName, type, value);
+        return this;
+    }
+
+    @Override
+    public BsonDocument build() {
+        BsonWriter w = writer();
+        w.writeEndDocument();
+        byte[] bson = w.toByteArray();
+
+        // Mark builder as used
+        built = true;
+
+        return IndexedBsonDocument.parse(bson, 0, bson.length);
+    }
+
+    private BsonWriter writer() {
+        if (built) {
+            throw new IllegalStateException("Builder has already been used");
+        }
+        if (writer == null) {
+            writer = new BsonWriter(initialCapacity);
+            writer.writeStartDocument();
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,88 @@
+package com.cloud.fastbson.document.raw;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonArrayBuilder;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.BsonDocumentBuilder;
+import com.cloud.fastbson.document.BsonDocumentFactory;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+
+/**
+ * Factory whose documents are backed by their own encoded BSON bytes.
+ *
+ * <p>Characteristics:
+ * <ul>
+ *   <li>Builders append encoded fields to a byte buffer as they are put
+ *       ({@link com.cloud.fastbson.writer.BsonWriter}), nothing is kept per field</li>
+ *   <li>{@code build()} returns an {@link IndexedBsonDocument} / {@link IndexedBsonArray}
+ *       over an exactly sized array</li>
+ *   <li>{@code toBson()} returns that array: the document is wire-ready without a second
+ *       serialization pass</li>
+ *   <li>Field order and duplicate names are kept as written</li>
+ *   <li>Zero external dependencies</li>
+ * </ul>
+ *
+ * <p>When set on {@code DocumentParser}, each parsed document is copied out of the input in
+ * one step instead of being re-encoded field by field, so parse → modify → re-emit works on a
+ * single compact representation that does not pin the input buffer (unlike
+ * {@link com.cloud.fastbson.document.IndexedBsonDocumentFactory}, which indexes the input in place).
+ *
+ * <p>Usage Example:
+ * <pre>{@code
+ * BsonDocument doc = RawBsonDocumentFactory.INSTANCE.newDocumentBuilder()
+ *     .putString("name", "Alice")
+ *     .putInt32("age", 30)
+ *     .build();
+ * out.write(doc.toBson());  // Already encoded
+ * }</pre>
+ */
+public final class RawBsonDocumentFactory implements BsonDocumentFactory {
+
+    /**
+     * Singleton instance.
+     */
+    public static final RawBsonDocumentFactory INSTANCE = new RawBsonDocumentFactory();
+
+    private static final IndexedBsonArray EMPTY_ARRAY =
+        IndexedBsonArray.parse(new byte[]{5, 0, 0, 0, 0}, 0, 5);
+
+    private RawBsonDocumentFactory() {
+        // Private constructor - use singleton
+    }
+
+    @Override
+    public BsonDocumentBuilder newDocumentBuilder() {
+        return new RawBsonDocumentBuilder();
+    }
+
+    @Override
+    public BsonArrayBuilder newArrayBuilder() {
+        return new RawBsonArrayBuilder();
+    }
+
+    @Override
+    public BsonDocument emptyDocument() {
+        return IndexedBsonDocument.parse(new byte[]{5, 0, 0, 0, 0});  // Updatable, so never shared
+    }
+
+    @Override
+    public BsonArray emptyArray() {
+        return EMPTY_ARRAY;
+    }
+
+    @Override
+    public String getName() {
+        return "Raw (BSON bytes)";
+    }
+
+    @Override
+    public boolean requiresExternalDependencies() {
+        return false;  // No external dependencies
+    }
+
+    @Override
+    public String toString() {
+        return getName();
+    }
+}
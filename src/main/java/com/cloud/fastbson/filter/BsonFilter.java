@@ -0,0 +1,599 @@
+package com.cloud.fastbson.filter;
+
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
+import com.cloud.fastbson.reader.ByteBufferBsonInput;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * 谓词下推过滤器：在物化文档之前直接对原始 BSON 字节判断是否匹配。
+ *
+ * <p>支持的条件（语义与 MongoDB 查询一致的子集）：
+ * <ul>
+ *   <li>比较：{@link #eq}、{@link #ne}、{@link #gt}、{@link #gte}、{@link #lt}、{@link #lte}、
+ *       区间 {@link #range}（[min, max)）、{@link #in}</li>
+ *   <li>元数据：{@link #exists}、{@link #type}</li>
+ *   <li>逻辑：{@link #and}、{@link #or}、{@link #not}，按顺序求值并短路</li>
+ * </ul>
+ *
+ * <p>字段路径支持点号（如 {@code address.city}），逐层进入嵌入文档；不进入数组，
+ * 也不做 MongoDB 的数组元素隐式匹配。数值在 Int32/Int64/Double 之间按数值比较，
+ * 类型不可比较的字段不匹配比较条件；{@code ne} 与 {@code not} 对缺失字段返回 true。
+ *
+ * <p>求值方式：
+ * <ul>
+ *   <li>{@link #matches(byte[])}：在原始字节上逐层扫描，按名称字节定位字段，不匹配的值按长度跳过，
+ *       只读取被比较的值（字符串按 UTF-8 字节直接比较，不解码）</li>
+ *   <li>{@link #matches(BsonDocument)}：通过 {@link com.cloud.fastbson.document.FieldKey} 查找，
+ *       IndexedBsonDocument 在同结构文档上命中槽位提示</li>
+ * </ul>
+ *
+ * <p>使用示例：
+ * <pre>{@code
+ * BsonFilter filter = BsonFilter.and(
+ *     BsonFilter.eq("status", "active"),
+ *     BsonFilter.range("age", 18, 65),
+ *     BsonFilter.in("address.city", "Beijing", "Shanghai"));
+ *
+ * for (byte[] bson : stream) {
+ *     if (filter.matches(bson)) {
+ *         BsonDocument doc = FastBson.parse(bson);   // 只物化匹配的文档
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>输入必须是格式正确的 BSON（不做额外校验）。
+ *
+ * <p>线程安全性：不可变，可在多个线程间共享。
+ *
+ * @author FastBSON
+ * @since 1.0.0
+ */
+public abstract class BsonFilter {
+
+    BsonFilter() {
+    }
+
+    // ==================== 求值 ====================
+
+    /**
+     * 判断 BSON 文档是否匹配
+     *
+     * @param bsonData BSON 文档字节
+     * @return 匹配返回 true
+     */
+    public final boolean matches(byte[] bsonData) {
+        Objects.requireNonNull(bsonData, "bsonData");
+        return test(new ByteArrayBsonInput(bsonData), 0);
+    }
+
+    /**
+     * 判断字节数组中指定偏移量处的 BSON 文档是否匹配
+     *
+     * @param data 字节数组
+     * @param offset 文档起始偏移量
+     * @return 匹配返回 true
+     */
+    public final boolean matches(byte[] data, int offset) {
+        Objects.requireNonNull(data, "data");
+        return test(new ByteArrayBsonInput(data), offset);
+    }
+
+    /**
+     * 判断缓冲区中剩余字节（从 position 开始）的 BSON 文档是否匹配，不修改缓冲区状态
+     *
+     * @param buffer BSON 文档缓冲区
+     * @return 匹配返回 true
+     */
+    public final boolean matches(ByteBuffer buffer) {
+        Objects.requireNonNull(buffer, "buffer");
+        return test(new ByteBufferBsonInput(buffer), 0);
+    }
+
+    /**
+     * 判断输入中指定偏移量处的 BSON 文档是否匹配
+     *
+     * @param input BSON 输入
+     * @param offset 文档起始偏移量
+     * @return 匹配返回 true
+     */
+    public final boolean matches(BsonInput input, int offset) {
+        Objects.requireNonNull(input, "input");
+        return test(input, offset);
+    }
+
+    /**
+     * 判断已解析的文档是否匹配
+     *
+     * @param doc 文档（IndexedBsonDocument 可利用槽位提示加速查找）
+     * @return 匹配返回 true
+     */
+    public final boolean matches(BsonDocument doc) {
+        Objects.requireNonNull(doc, "doc");
+        return test(doc);
+    }
+
+    abstract boolean test(BsonInput input, int offset);
+
+    abstract boolean test(BsonDocument doc);
+
+    // ==================== 比较条件 ====================
+
+    /**
+     * 字段等于整数值（与 Int32/Int64/Double 字段按数值比较）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter eq(String path, long value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.EQ, FilterValue.of(value));
+    }
+
+    /**
+     * 字段等于浮点数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter eq(String path, double value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.EQ, FilterValue.of(value));
+    }
+
+    /**
+     * 字段等于字符串
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter eq(String path, String value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.EQ, FilterValue.of(value));
+    }
+
+    /**
+     * 字段等于布尔值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter eq(String path, boolean value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.EQ, FilterValue.of(value));
+    }
+
+    /**
+     * 字段不等于整数值（字段缺失或类型不同也匹配）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter ne(String path, long value) {
+        return not(eq(path, value));
+    }
+
+    /**
+     * 字段不等于浮点数值（字段缺失或类型不同也匹配）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter ne(String path, double value) {
+        return not(eq(path, value));
+    }
+
+    /**
+     * 字段不等于字符串（字段缺失或类型不同也匹配）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter ne(String path, String value) {
+        return not(eq(path, value));
+    }
+
+    /**
+     * 字段不等于布尔值（字段缺失或类型不同也匹配）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter ne(String path, boolean value) {
+        return not(eq(path, value));
+    }
+
+    /**
+     * 字段大于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter gt(String path, long value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.GT, FilterValue.of(value));
+    }
+
+    /**
+     * 字段大于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter gt(String path, double value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.GT, FilterValue.of(value));
+    }
+
+    /**
+     * 字段大于字符串（码点顺序）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter gt(String path, String value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.GT, FilterValue.of(value));
+    }
+
+    /**
+     * 字段大于等于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter gte(String path, long value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.GTE, FilterValue.of(value));
+    }
+
+    /**
+     * 字段大于等于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter gte(String path, double value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.GTE, FilterValue.of(value));
+    }
+
+    /**
+     * 字段大于等于字符串（码点顺序）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter gte(String path, String value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.GTE, FilterValue.of(value));
+    }
+
+    /**
+     * 字段小于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter lt(String path, long value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.LT, FilterValue.of(value));
+    }
+
+    /**
+     * 字段小于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter lt(String path, double value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.LT, FilterValue.of(value));
+    }
+
+    /**
+     * 字段小于字符串（码点顺序）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter lt(String path, String value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.LT, FilterValue.of(value));
+    }
+
+    /**
+     * 字段小于等于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter lte(String path, long value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.LTE, FilterValue.of(value));
+    }
+
+    /**
+     * 字段小于等于数值
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter lte(String path, double value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.LTE, FilterValue.of(value));
+    }
+
+    /**
+     * 字段小于等于字符串（码点顺序）
+     *
+     * @param path 字段路径
+     * @param value 比较值
+     * @return 过滤器
+     */
+    public static BsonFilter lte(String path, String value) {
+        return new FieldFilter.Compare(path, FieldFilter.Op.LTE, FilterValue.of(value));
+    }
+
+    /**
+     * 字段在数值区间 [min, max) 内（只定位一次字段）
+     *
+     * @param path 字段路径
+     * @param min 下界（包含）
+     * @param max 上界（不包含）
+     * @return 过滤器
+     */
+    public static BsonFilter range(String path, long min, long max) {
+        return new FieldFilter.Range(path, FilterValue.of(min), FilterValue.of(max));
+    }
+
+    /**
+     * 字段在数值区间 [min, max) 内（只定位一次字段）
+     *
+     * @param path 字段路径
+     * @param min 下界（包含）
+     * @param max 上界（不包含）
+     * @return 过滤器
+     */
+    public static BsonFilter range(String path, double min, double max) {
+        return new FieldFilter.Range(path, FilterValue.of(min), FilterValue.of(max));
+    }
+
+    /**
+     * DateTime 字段在时间区间 [fromMillis, toMillis) 内
+     *
+     * @param path 字段路径
+     * @param fromMillis 起始时间戳（包含）
+     * @param toMillis 结束时间戳（不包含）
+     * @return 过滤器
+     */
+    public static BsonFilter dateRange(String path, long fromMillis, long toMillis) {
+        return new FieldFilter.Range(path, FilterValue.ofDateTime(fromMillis), FilterValue.ofDateTime(toMillis));
+    }
+
+    /**
+     * 字段等于任一整数值
+     *
+     * @param path 字段路径
+     * @param values 候选值
+     * @return 过滤器
+     * @throws IllegalArgumentException 如果没有候选值
+     */
+    public static BsonFilter in(String path, long... values) {
+        FilterValue[] operands = new FilterValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            operands[i] = FilterValue.of(values[i]);
+        }
+        return new FieldFilter.In(path, operands);
+    }
+
+    /**
+     * 字段等于任一字符串
+     *
+     * @param path 字段路径
+     * @param values 候选值
+     * @return 过滤器
+     * @throws IllegalArgumentException 如果没有候选值或包含 null
+     */
+    public static BsonFilter in(String path, String... values) {
+        FilterValue[] operands = new FilterValue[values.length];
+        for (int i = 0; i < values.length; i++) {
+            operands[i] = FilterValue.of(values[i]);
+        }
+        return new FieldFilter.In(path, operands);
+    }
+
+    // ==================== 元数据条件 ====================
+
+    /**
+     * 字段存在（值为 null 也算存在）
+     *
+     * @param path 字段路径
+     * @return 过滤器
+     */
+    public static BsonFilter exists(String path) {
+        return new FieldFilter.Exists(path, true);
+    }
+
+    /**
+     * 字段存在或不存在
+     *
+     * @param path 字段路径
+     * @param exists true 要求存在，false 要求不存在
+     * @return 过滤器
+     */
+    public static BsonFilter exists(String path, boolean exists) {
+        return new FieldFilter.Exists(path, exists);
+    }
+
+    /**
+     * 字段为指定 BSON 类型
+     *
+     * @param path 字段路径
+     * @param bsonType BSON 类型码（见 {@link com.cloud.fastbson.util.BsonType}）
+     * @return 过滤器
+     */
+    public static BsonFilter type(String path, byte bsonType) {
+        return new FieldFilter.TypeIs(path, bsonType);
+    }
+
+    // ==================== 逻辑条件 ====================
+
+    /**
+     * 所有条件都匹配（按顺序求值，遇到第一个不匹配即返回）
+     *
+     * <p>把最容易不匹配的条件放在前面可以减少读取的字段。
+     *
+     * @param filters 条件
+     * @return 过滤器
+     * @throws IllegalArgumentException 如果条件为空或包含 null
+     */
+    public static BsonFilter and(BsonFilter... filters) {
+        return new And(checkFilters(filters));
+    }
+
+    /**
+     * 任一条件匹配（按顺序求值，遇到第一个匹配即返回）
+     *
+     * @param filters 条件
+     * @return 过滤器
+     * @throws IllegalArgumentException 如果条件为空或包含 null
+     */
+    public static BsonFilter or(BsonFilter... filters) {
+        return new Or(checkFilters(filters));
+    }
+
+    /**
+     * 条件取反
+     *
+     * @param filter 条件
+     * @return 过滤器
+     * @throws IllegalArgumentException 如果条件为 null
+     */
+    public static BsonFilter not(BsonFilter filter) {
+        if (filter == null) {
+            throw new IllegalArgumentException("Filter cannot be null");
+        }
+        return new Not(filter);
+    }
+
+    private static BsonFilter[] checkFilters(BsonFilter[] filters) {
+        if (filters == null || filters.length == 0) {
+            throw new IllegalArgumentException("Filters cannot be null or empty");
+        }
+        for (BsonFilter filter : filters) {
+            if (filter == null) {
+                throw new IllegalArgumentException("Filter cannot be null");
+            }
+        }
+        return filters.clone();
+    }
+
+    private static String join(String operator, BsonFilter[] filters) {
+        StringBuilder sb = new StringBuilder("{\"").append(operator).append("\":[");
+        for (int i = 0; i < filters.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(filters[i]);
+        }
+        return sb.append("]}").toString();
+    }
+
+    private static final class And extends BsonFilter {
+        private final BsonFilter[] filters;
+
+        And(BsonFilter[] filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        boolean test(BsonInput input, int offset) {
+            for (BsonFilter filter : filters) {
+                if (!filter.test(input, offset)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        boolean test(BsonDocument doc) {
+            for (BsonFilter filter : filters) {
+                if (!filter.test(doc)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public String toString() {
+            return join("$and", filters);
+        }
+    }
+
+    private static final class Or extends BsonFilter {
+        private final BsonFilter[] filters;
+
+        Or(BsonFilter[] filters) {
+            this.filters = filters;
+        }
+
+        @Override
+        boolean test(BsonInput input, int offset) {
+            for (BsonFilter filter : filters) {
+                if (filter.test(input, offset)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        boolean test(BsonDocument doc) {
+            for (BsonFilter filter : filters) {
+                if (filter.test(doc)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            return join("$or", filters);
+        }
+    }
+
+    private static final class Not extends BsonFilter {
+        private final BsonFilter filter;
+
+        Not(BsonFilter filter) {
+            this.filter = filter;
+        }
+
+        @Override
+        boolean test(BsonInput input, int offset) {
+            return !filter.test(input, offset);
+        }
+
+        @Override
+        boolean test(BsonDocument doc) {
+            return !filter.test(doc);
+        }
+
+        @Override
+        public String toString() {
+            return "{\"$not\":" + filter + "}";
+        }
+    }
+}
@@ -0,0 +1,271 @@
+package com.cloud.fastbson.filter;
+
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.reader.BsonInput;
+
+/**
+ * 单字段过滤条件：先定位字段，再只读取并比较该字段的值。
+ *
+ * <p>字段不存在时调用 {@link #testMissing()}（默认不匹配），否则按字段类型调用 testValue。
+ */
+abstract class FieldFilter extends BsonFilter {
+
+    /**
+     * 字段路径
+     */
+    final FieldPath path;
+
+    FieldFilter(String path) {
+        this.path = new FieldPath(path);
+    }
+
+    @Override
+    final boolean test(BsonInput input, int offset) {
+        int element = path.locate(input, offset);
+        if (element < 0) {
+            return testMissing();
+        }
+        return testValue(input, input.getByte(element), path.valueOffset(element));
+    }
+
+    @Override
+    final boolean test(BsonDocument doc) {
+        BsonDocument parent = path.parent(doc);
+        if (parent == null) {
+            return testMissing();
+        }
+        FieldKey key = path.lastKey();
+        byte type = parent.getType(key);
+        if (type == 0) {
+            return testMissing();
+        }
+        return testValue(parent, key, type);
+    }
+
+    /**
+     * 字段不存在时的结果
+     */
+    boolean testMissing() {
+        return false;
+    }
+
+    /**
+     * 测试原始字节中的字段值
+     */
+    abstract boolean testValue(BsonInput input, byte type, int valueOffset);
+
+    /**
+     * 测试文档中的字段值
+     */
+    abstract boolean testValue(BsonDocument doc, FieldKey key, byte type);
+
+    // ==================== 条件实现 ====================
+
+    /**
+     * 比较运算符
+     */
+    enum Op {
+        EQ("$eq"), GT("$gt"), GTE("$gte"), LT("$lt"), LTE("$lte");
+
+        final String symbol;
+
+        Op(String symbol) {
+            this.symbol = symbol;
+        }
+
+        boolean accept(int c) {
+            if (c == FilterValue.NAN_EQUAL) {
+                return this == EQ;
+            }
+            switch (this) {
+                case EQ:
+                    return c == 0;
+                case GT:
+                    return c > 0;
+                case GTE:
+                    return c >= 0;
+                case LT:
+                    return c < 0;
+                default:
+                    return c <= 0;
+            }
+        }
+    }
+
+    /**
+     * 比较条件（$eq/$gt/$gte/$lt/$lte）
+     */
+    static final class Compare extends FieldFilter {
+        private final Op op;
+        private final FilterValue value;
+
+        Compare(String path, Op op, FilterValue value) {
+            super(path);
+            this.op = op;
+            this.value = value;
+        }
+
+        @Override
+        boolean testValue(BsonInput input, byte type, int valueOffset) {
+            int c = value.compare(input, type, valueOffset);
+            return c != FilterValue.INCOMPARABLE && op.accept(c);
+        }
+
+        @Override
+        boolean testValue(BsonDocument doc, FieldKey key, byte type) {
+            int c = value.compare(doc, key, type);
+            return c != FilterValue.INCOMPARABLE && op.accept(c);
+        }
+
+        @Override
+        public String toString() {
+            return "{\"" + path + "\":{\"" + op.symbol + "\":" + value + "}}";
+        }
+    }
+
+    /**
+     * 区间条件 [min, max)，只定位一次字段
+     */
+    static final class Range extends FieldFilter {
+        private final FilterValue min;
+        private final FilterValue max;
+
+        Range(String path, FilterValue min, FilterValue max) {
+            super(path);
+            this.min = min;
+            this.max = max;
+        }
+
+        @Override
+        boolean testValue(BsonInput input, byte type, int valueOffset) {
+            int c = min.compare(input, type, valueOffset);
+            if (c == FilterValue.INCOMPARABLE || !Op.GTE.accept(c)) {
+                return false;
+            }
+            c = max.compare(input, type, valueOffset);
+            return c != FilterValue.INCOMPARABLE && Op.LT.accept(c);
+        }
+
+        @Override
+        boolean testValue(BsonDocument doc, FieldKey key, byte type) {
+            int c = min.compare(doc, key, type);
+            if (c == FilterValue.INCOMPARABLE || !Op.GTE.accept(c)) {
+                return false;
+            }
+            c = max.compare(doc, key, type);
+            return c != FilterValue.INCOMPARABLE && Op.LT.accept(c);
+        }
+
+        @Override
+        public String toString() {
+            return "{\"" + path + "\":{\"$gte\":" + min + ",\"$lt\":" + max + "}}";
+        }
+    }
+
+    /**
+     * 集合条件（$in）：等于任一值即匹配
+     */
+    static final class In extends FieldFilter {
+        private final FilterValue[] values;
+
+        In(String path, FilterValue[] values) {
+            super(path);
+            if (values.length == 0) {
+                throw new IllegalArgumentException("$in requires at least one value");
+            }
+            this.values = values;
+        }
+
+        @Override
+        boolean testValue(BsonInput input, byte type, int valueOffset) {
+            for (FilterValue value : values) {
+                if (Op.EQ.accept(value.compare(input, type, valueOffset))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        boolean testValue(BsonDocument doc, FieldKey key, byte type) {
+            for (FilterValue value : values) {
+                if (Op.EQ.accept(value.compare(doc, key, type))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder("{\"").append(path).append("\":{\"$in\":[");
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append(values[i]);
+            }
+            return sb.append("]}}").toString();
+        }
+    }
+
+    /**
+     * 存在性条件（$exists）
+     */
+    static final class Exists extends FieldFilter {
+        private final boolean exists;
+
+        Exists(String path, boolean exists) {
+            super(path);
+            this.exists = exists;
+        }
+
+        @Override
+        boolean testMissing() {
+            return !exists;
+        }
+
+        @Override
+        boolean testValue(BsonInput input, byte type, int valueOffset) {
+            return exists;
+        }
+
+        @Override
+        boolean testValue(BsonDocument doc, FieldKey key, byte type) {
+            return exists;
+        }
+
+        @Override
+        public String toString() {
+            return "{\"" + path + "\":{\"$exists\":" + exists + "}}";
+        }
+    }
+
+    /**
+     * 类型条件（$type）
+     */
+    static final class TypeIs extends FieldFilter {
+        private final byte type;
+
+        TypeIs(String path, byte type) {
+            super(path);
+            this.type = type;
+        }
+
+        @Override
+        boolean testValue(BsonInput input, byte type, int valueOffset) {
+            return type == this.type;
+        }
+
+        @Override
+        boolean testValue(BsonDocument doc, FieldKey key, byte type) {
+            return type == this.type;
+        }
+
+        @Override
+        public String toString() {
+            return "{\"" + path + "\":{\"$type\":" + (type & 0xFF) + "}}";
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.cloud.fastbson.filter;
+
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.skipper.ValueSkipper;
+import com.cloud.fastbson.util.BsonType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 过滤条件中的字段路径（点号分隔，逐层进入嵌套文档）。
+ *
+ * <p>每一段预先编码为 UTF-8 字节与 {@link FieldKey}：
+ * <ul>
+ *   <li>原始字节：逐个字段比较名称字节，不匹配的值按长度直接跳过，不创建 String</li>
+ *   <li>{@link BsonDocument}：按 FieldKey 查找（IndexedBsonDocument 会命中槽位提示）</li>
+ * </ul>
+ *
+ * <p>路径只进入嵌入文档：中间段的值不是文档（包括数组）时视为字段不存在。
+ * 同名字段出现多次时取第一个。
+ *
+ * <p>线程安全性：不可变，可在多个线程间共享。
+ */
+final class FieldPath {
+
+    /**
+     * 原始路径
+     */
+    private final String path;
+
+    /**
+     * 每一段的 UTF-8 字节
+     */
+    private final byte[][] segments;
+
+    /**
+     * 每一段的预编译字段名
+     */
+    private final FieldKey[] keys;
+
+    FieldPath(String path) {
+        if (path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("Field path cannot be null or empty");
+        }
+        String[] names = path.split("\\.", -1);
+        this.path = path;
+        this.segments = new byte[names.length][];
+        this.keys = new FieldKey[names.length];
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].isEmpty()) {
+                throw new IllegalArgumentException("Field path contains an empty segment: " + path);
+            }
+            segments[i] = names[i].getBytes(StandardCharsets.UTF_8);
+            keys[i] = FieldKey.of(names[i]);
+        }
+    }
+
+    /**
+     * 在原始字节中定位字段
+     *
+     * @param input BSON 输入
+     * @param offset 文档起始偏移量（长度前缀处）
+     * @return 目标元素的起始位置（类型字节处），不存在时返回 -1
+     */
+    int locate(BsonInput input, int offset) {
+        int docOffset = offset;
+        int last = segments.length - 1;
+        for (int s = 0; ; s++) {
+            int element = find(input, docOffset, segments[s]);
+            if (element < 0 || s == last) {
+                return element;
+            }
+            if (input.getByte(element) != BsonType.DOCUMENT) {
+                return -1;
+            }
+            docOffset = element + segments[s].length + 2;
+        }
+    }
+
+    /**
+     * 目标元素的值偏移量
+     *
+     * @param element {@link #locate} 返回的元素位置
+     * @return 值的起始偏移量
+     */
+    int valueOffset(int element) {
+        return element + segments[segments.length - 1].length + 2;
+    }
+
+    /**
+     * 按 FieldKey 逐层进入嵌套文档
+     *
+     * @param doc 根文档
+     * @return 最后一段所在的文档，中间段不存在或不是文档时返回 null
+     */
+    BsonDocument parent(BsonDocument doc) {
+        for (int s = 0; s < keys.length - 1; s++) {
+            if (doc.getType(keys[s]) != BsonType.DOCUMENT) {
+                return null;
+            }
+            doc = doc.getDocument(keys[s]);
+        }
+        return doc;
+    }
+
+    /**
+     * 最后一段的预编译字段名
+     */
+    FieldKey lastKey() {
+        return keys[keys.length - 1];
+    }
+
+    @Override
+    public String toString() {
+        return path;
+    }
+
+    /**
+     * 在单层文档中查找字段（名称不匹配时直接定位结束符并跳过值）
+     */
+    private static int find(BsonInput input, int docOffset, byte[] name) {
+        int end = docOffset + input.getInt32(docOffset) - 1;
+        int pos = docOffset + 4;
+        while (pos < end) {
+            byte type = input.getByte(pos);
+            if (type == BsonType.END_OF_DOCUMENT) {
+                break;
+            }
+            int namePos = pos + 1;
+            int i = 0;
+            while (i < name.length && input.getByte(namePos + i) == name[i]) {
+                i++;
+            }
+            if (i == name.length && input.getByte(namePos + i) == 0) {
+                return pos;
+            }
+            int valueOffset = input.indexOf((byte) 0, namePos + i) + 1;
+            pos = valueOffset + ValueSkipper.getValueSize(input, valueOffset, type);
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,228 @@
+package com.cloud.fastbson.filter;
+
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.util.BsonType;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 过滤条件中的比较值。
+ *
+ * <p>比较规则（与 MongoDB 查询一致的子集）：
+ * <ul>
+ *   <li>数值：Int32/Int64/Double 之间按数值精确比较（long 与 double 比较时不先转换为 double，
+ *       超过 2^53 的整数也不会丢失精度）；-0.0 等于 0；NaN 只与 NaN 相等，不满足任何大小比较</li>
+ *   <li>字符串：按 UTF-8 字节无符号字典序比较（即 Unicode 码点顺序），原始字节上无需解码</li>
+ *   <li>布尔：false &lt; true</li>
+ *   <li>日期：只与 DateTime 字段比较（毫秒时间戳）</li>
+ * </ul>
+ * 类型不可比较时（如数值与字符串）返回 {@link #INCOMPARABLE}，比较条件视为不匹配。
+ *
+ * <p>线程安全性：不可变，可在多个线程间共享。
+ */
+final class FilterValue {
+
+    /**
+     * 类型不可比较
+     */
+    static final int INCOMPARABLE = Integer.MIN_VALUE;
+
+    /**
+     * 两侧均为 NaN：$eq/$in 视为相等，但不满足任何大小比较
+     */
+    static final int NAN_EQUAL = Integer.MIN_VALUE + 1;
+
+    /**
+     * 比较值类型（INT64 表示整数，DOUBLE 表示浮点数）
+     */
+    private final byte kind;
+    private final long longValue;
+    private final double doubleValue;
+    private final String stringValue;
+    private final byte[] utf8;
+
+    private FilterValue(byte kind, long longValue, double doubleValue, String stringValue) {
+        this.kind = kind;
+        this.longValue = longValue;
+        this.doubleValue = doubleValue;
+        this.stringValue = stringValue;
+        this.utf8 = stringValue == null ? null : stringValue.getBytes(StandardCharsets.UTF_8);
+    }
+
+    static FilterValue of(long value) {
+        return new FilterValue(BsonType.INT64, value, value, null);
+    }
+
+    static FilterValue of(double value) {
+        return new FilterValue(BsonType.DOUBLE, 0L, value, null);
+    }
+
+    static FilterValue of(boolean value) {
+        return new FilterValue(BsonType.BOOLEAN, value ? 1L : 0L, 0.0, null);
+    }
+
+    static FilterValue of(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Filter value cannot be null");
+        }
+        return new FilterValue(BsonType.STRING, 0L, 0.0, value);
+    }
+
+    static FilterValue ofDateTime(long millis) {
+        return new FilterValue(BsonType.DATE_TIME, millis, 0.0, null);
+    }
+
+    /**
+     * 将原始字节中的值与比较值比较
+     *
+     * @param input BSON 输入
+     * @param type 字段类型
+     * @param valueOffset 值的起始偏移量
+     * @return 负数、0、正数（字段值小于、等于、大于比较值），不可比较时返回 {@link #INCOMPARABLE}，
+     *         两侧均为 NaN 时返回 {@link #NAN_EQUAL}
+     */
+    int compare(BsonInput input, byte type, int valueOffset) {
+        switch (type) {
+            case BsonType.INT32:
+                return compareNumber(input.getInt32(valueOffset));
+            case BsonType.INT64:
+                return compareNumber(input.getInt64(valueOffset));
+            case BsonType.DOUBLE:
+                return compareNumber(input.getDouble(valueOffset));
+            case BsonType.STRING:
+                if (kind != BsonType.STRING) {
+                    return INCOMPARABLE;
+                }
+                return compareUtf8(input, valueOffset + 4, input.getInt32(valueOffset) - 1);
+            case BsonType.BOOLEAN:
+                return kind == BsonType.BOOLEAN ? Long.compare(input.getByte(valueOffset) != 0 ? 1L : 0L, longValue) : INCOMPARABLE;
+            case BsonType.DATE_TIME:
+                return kind == BsonType.DATE_TIME ? Long.compare(input.getInt64(valueOffset), longValue) : INCOMPARABLE;
+            default:
+                return INCOMPARABLE;
+        }
+    }
+
+    /**
+     * 将文档中的字段值与比较值比较
+     *
+     * @param doc 字段所在文档
+     * @param key 字段名
+     * @param type 字段类型
+     * @return 同 {@link #compare(BsonInput, byte, int)}
+     */
+    int compare(BsonDocument doc, FieldKey key, byte type) {
+        switch (type) {
+            case BsonType.INT32:
+                return compareNumber(doc.getInt32(key));
+            case BsonType.INT64:
+                return compareNumber(doc.getInt64(key));
+            case BsonType.DOUBLE:
+                return compareNumber(doc.getDouble(key));
+            case BsonType.STRING:
+                return kind == BsonType.STRING ? compareCodePoints(doc.getString(key), stringValue) : INCOMPARABLE;
+            case BsonType.BOOLEAN:
+                return kind == BsonType.BOOLEAN ? Long.compare(doc.getBoolean(key) ? 1L : 0L, longValue) : INCOMPARABLE;
+            case BsonType.DATE_TIME:
+                return kind == BsonType.DATE_TIME ? Long.compare(doc.getDateTime(key), longValue) : INCOMPARABLE;
+            default:
+                return INCOMPARABLE;
+        }
+    }
+
+    private int compareNumber(long value) {
+        if (kind == BsonType.INT64) {
+            return Long.compare(value, longValue);
+        }
+        if (kind != BsonType.DOUBLE || Double.isNaN(doubleValue)) {
+            return INCOMPARABLE;
+        }
+        return compareExact(value, doubleValue);
+    }
+
+    private int compareNumber(double value) {
+        if (kind != BsonType.INT64 && kind != BsonType.DOUBLE) {
+            return INCOMPARABLE;
+        }
+        if (Double.isNaN(value)) {
+            return kind == BsonType.DOUBLE && Double.isNaN(doubleValue) ? NAN_EQUAL : INCOMPARABLE;
+        }
+        if (kind == BsonType.INT64) {
+            return -compareExact(longValue, value);
+        }
+        if (Double.isNaN(doubleValue)) {
+            return INCOMPARABLE;
+        }
+        // 原生比较：-0.0 == 0.0（Double.compare 的全序会把两者区分开）
+        return value < doubleValue ? -1 : (value > doubleValue ? 1 : 0);
+    }
+
+    /**
+     * long 与非 NaN 的 double 精确比较（转换为 double 会在 2^53 以上丢失精度）
+     */
+    private static int compareExact(long a, double b) {
+        if (b >= 0x1p63) {
+            return -1;  // 超出 long 范围
+        }
+        if (b < -0x1p63) {
+            return 1;
+        }
+        long whole = (long) b;  // 向零截断，在 long 范围内精确
+        if (a != whole) {
+            return a < whole ? -1 : 1;
+        }
+        double fraction = b - whole;  // 精确（|b| >= 2^52 时 b 已是整数）
+        return fraction > 0 ? -1 : (fraction < 0 ? 1 : 0);
+    }
+
+    /**
+     * 按无符号字节字典序比较（UTF-8 字节序与码点顺序一致）
+     */
+    private int compareUtf8(BsonInput input, int offset, int length) {
+        int n = Math.min(length, utf8.length);
+        for (int i = 0; i < n; i++) {
+            int a = input.getByte(offset + i) & 0xFF;
+            int b = utf8[i] & 0xFF;
+            if (a != b) {
+                return a - b;
+            }
+        }
+        return length - utf8.length;
+    }
+
+    /**
+     * 按码点比较（String.compareTo 按 UTF-16 单元比较，与原始字节的顺序在增补字符上不一致）
+     */
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return ca - cb;
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return (a.length() - i) - (b.length() - j);
+    }
+
+    @Override
+    public String toString() {
+        switch (kind) {
+            case BsonType.INT64:
+                return Long.toString(longValue);
+            case BsonType.DOUBLE:
+                return Double.toString(doubleValue);
+            case BsonType.BOOLEAN:
+                return longValue != 0 ? "true" : "false";
+            case BsonType.DATE_TIME:
+                return "{\"$date\":" + longValue + "}";
+            default:
+                return '"' + stringValue + '"';
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.cloud.fastbson.handler;
 
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -18,6 +19,9 @@ import com.cloud.fastbson.reader.BsonReader;
  *   <li>Static readDirect() methods in implementations: Direct byte array access</li>
  * </ul>
  *
+ * <p>Both APIs also accept a {@link BsonInput}, so heap and direct ByteBuffers can be
+ * indexed and read in place exactly like byte arrays.
+ *
  * @see com.cloud.fastbson.handler.parsers
  */
 @FunctionalInterface
@@ -56,4 +60,22 @@ public interface BsonTypeParser {
         throw new UnsupportedOperationException(
             getClass().getSimpleName() + " does not support getValueSize() yet");
     }
+
+    /**
+     * Gets the size of the value in bytes from a generic input without parsing it (zero-copy).
+     *
+     * <p>Same contract as {@link #getValueSize(byte[], int)}, for inputs that may not be
+     * backed by a heap array (e.g. direct ByteBuffers).
+     *
+     * <p>Default implementation throws UnsupportedOperationException.
+     *
+     * @param input BSON data input
+     * @param offset offset where the value starts
+     * @return size of the value in bytes
+     * @throws UnsupportedOperationException if not implemented
+     */
+    default int getValueSize(BsonInput input, int offset) {
+        throw new UnsupportedOperationException(
+            getClass().getSimpleName() + " does not support getValueSize() yet");
+    }
 }
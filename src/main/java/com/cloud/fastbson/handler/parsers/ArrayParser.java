@@ -6,9 +6,11 @@ import com.cloud.fastbson.document.BsonDocument;
 import com.cloud.fastbson.document.BsonDocumentFactory;
 import com.cloud.fastbson.handler.BsonTypeParser;
 import com.cloud.fastbson.handler.TypeHandler;
+import com.cloud.fastbson.reader.BsonCursor;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.types.BinaryData;
 import com.cloud.fastbson.util.BsonType;
-import com.cloud.fastbson.util.BsonUtils;
 
 /**
  * Parser for BSON Array type (0x04).
@@ -22,6 +24,8 @@ import com.cloud.fastbson.util.BsonUtils;
  * <ul>
  *   <li>Primitive types (int32, int64, double, boolean) are stored without boxing</li>
  *   <li>Uses BsonDocumentFactory to create appropriate implementation (Fast or Simple)</li>
+ *   <li>Elements are walked with one {@link BsonCursor} shared by all nesting levels, so the
+ *       index names ("0", "1", ...) are skipped without being decoded</li>
  * </ul>
  *
  * <p><b>Phase 2.15: Zero-Copy Support</b><br>
@@ -79,11 +83,57 @@ public enum ArrayParser implements BsonTypeParser {
             | ((data[offset + 3] & 0xFF) << 24);
     }
 
+    /**
+     * Zero-copy API: Get array value size from a generic input (variable length).
+     *
+     * @param input BSON data input
+     * @param offset offset where array value starts (at the length field)
+     * @return total array size in bytes (as specified in the length field)
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return input.getInt32(offset);
+    }
+
     @Override
     public Object parse(BsonReader reader) {
         int docLength = reader.readInt32();
-        int endPosition = reader.position() + docLength - 4;
 
+        // Raw 模式：整段复制数组字节（与 DocumentParser 一致）
+        if (factory instanceof com.cloud.fastbson.document.raw.RawBsonDocumentFactory) {
+            return parseRawCopy(reader, docLength);
+        }
+
+        // 回退到长度前缀，由游标遍历元素
+        reader.position(reader.position() - 4);
+        BsonCursor cursor = new BsonCursor(reader);
+        Object array = parseElements(cursor, reader, docLength);
+        cursor.stepOut();
+        return array;
+    }
+
+    /**
+     * 解析游标当前元素的数组，与外层共用同一个游标
+     *
+     * @param cursor 位于 ARRAY 元素上、值尚未读取的游标
+     * @param reader 游标使用的 reader
+     * @return 解析后的数组
+     */
+    Object parseEmbedded(BsonCursor cursor, BsonReader reader) {
+        if (factory instanceof com.cloud.fastbson.document.raw.RawBsonDocumentFactory) {
+            return parse(cursor.valueReader());  // 整段复制，无需遍历元素
+        }
+        int docLength = reader.getInput().getInt32(reader.position());
+        cursor.stepInto();
+        Object array = parseElements(cursor, reader, docLength);
+        cursor.stepOut();
+        return array;
+    }
+
+    /**
+     * 遍历游标当前所在数组的元素并构建数组
+     */
+    private Object parseElements(BsonCursor cursor, BsonReader reader, int docLength) {
         // 使用工厂创建ArrayBuilder
         BsonArrayBuilder builder = factory.newArrayBuilder();
 
@@ -91,62 +141,51 @@ public enum ArrayParser implements BsonTypeParser {
         int estimatedSize = Math.max(4, docLength / 15);
         builder.estimateSize(estimatedSize);
 
-        while (reader.position() < endPosition) {
-            byte type = reader.readByte();
-            if (type == BsonType.END_OF_DOCUMENT) {
-                break;
-            }
-
-            // 跳过字段名（数组索引 "0", "1", "2"...）
-            reader.readCString();
+        // 字段名（数组索引 "0", "1", "2"...）由游标跳过，不解码
+        while (cursor.next()) {
+            byte type = cursor.currentType();
 
             // ✅ 根据类型使用不同的add方法（无装箱）
             switch (type) {
                 case BsonType.INT32:
-                    int intValue = reader.readInt32();
-                    builder.addInt32(intValue);  // ✅ 无装箱
+                    builder.addInt32(cursor.readInt32());  // ✅ 无装箱
                     break;
 
                 case BsonType.INT64:
-                    long longValue = reader.readInt64();
-                    builder.addInt64(longValue);  // ✅ 无装箱
+                    builder.addInt64(cursor.readInt64());  // ✅ 无装箱
                     break;
 
                 case BsonType.DOUBLE:
-                    double doubleValue = reader.readDouble();
-                    builder.addDouble(doubleValue);  // ✅ 无装箱
+                    builder.addDouble(cursor.readDouble());  // ✅ 无装箱
                     break;
 
                 case BsonType.BOOLEAN:
-                    boolean boolValue = reader.readByte() != 0;
-                    builder.addBoolean(boolValue);  // ✅ 无装箱
+                    builder.addBoolean(cursor.readBoolean());  // ✅ 无装箱
                     break;
 
                 case BsonType.STRING:
+                    builder.addString(cursor.readString());
+                    break;
+
                 case BsonType.JAVASCRIPT:
                 case BsonType.SYMBOL:
-                    String stringValue = reader.readString();
-                    builder.addString(stringValue);
+                    builder.addString((String) cursor.readValue(handler));
                     break;
 
                 case BsonType.DOCUMENT:
-                    BsonDocument nestedDoc = (BsonDocument) DocumentParser.INSTANCE.parse(reader);
-                    builder.addDocument(nestedDoc);
+                    builder.addDocument((BsonDocument) DocumentParser.INSTANCE.parseEmbedded(cursor, reader));
                     break;
 
                 case BsonType.ARRAY:
-                    BsonArray nestedArray = (BsonArray) parse(reader);
-                    builder.addArray(nestedArray);
+                    builder.addArray((BsonArray) parseEmbedded(cursor, reader));
                     break;
 
                 case BsonType.OBJECT_ID:
-                    String objectId = BsonUtils.bytesToHex(reader.readBytes(12));
-                    builder.addObjectId(objectId);
+                    builder.addObjectId((String) cursor.readValue(handler));
                     break;
 
                 case BsonType.DATE_TIME:
-                    long timestamp = reader.readInt64();
-                    builder.addDateTime(timestamp);
+                    builder.addDateTime(cursor.readDateTime());
                     break;
 
                 case BsonType.NULL:
@@ -154,15 +193,13 @@ public enum ArrayParser implements BsonTypeParser {
                     break;
 
                 case BsonType.BINARY:
-                    int binLength = reader.readInt32();
-                    byte subtype = reader.readByte();
-                    byte[] data = reader.readBytes(binLength);
-                    builder.addBinary(subtype, data);
+                    BinaryData binary = (BinaryData) cursor.readValue(handler);
+                    builder.addBinary(binary.subtype, binary.data);
                     break;
 
                 default:
                     // 其他复杂类型通过TypeHandler处理
-                    Object value = handler.getParsedValue(reader, type);
+                    Object value = cursor.readValue(handler);
                     // TODO: 需要根据类型添加到builder
                     // 暂时跳过不支持的类型
                     break;
@@ -171,4 +208,18 @@ public enum ArrayParser implements BsonTypeParser {
 
         return builder.build();
     }
+
+    /**
+     * Raw 模式：将数组字节复制到独立的数组，并在其上建立索引
+     */
+    private Object parseRawCopy(BsonReader reader, int docLength) {
+        BsonInput input = reader.getInput();
+        int offset = reader.position() - 4;  // -4 because we already read the length
+
+        byte[] bson = new byte[docLength];
+        input.getBytes(offset, bson, 0, docLength);
+        reader.position(offset + docLength);
+
+        return com.cloud.fastbson.document.IndexedBsonArray.parse(bson, 0, docLength);
+    }
 }
@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -45,6 +46,18 @@ public enum BooleanParser implements BsonTypeParser {
         return 1;
     }
 
+    /**
+     * Zero-copy API: Get value size from a generic input (always 1 bytes for boolean).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 1
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 1;
+    }
+
     /**
      * Zero-copy API: Read boolean directly from byte array (zero allocation).
      *
@@ -60,4 +73,17 @@ public enum BooleanParser implements BsonTypeParser {
     public static boolean readDirect(byte[] data, int offset) {
         return data[offset] != 0;
     }
+
+    /**
+     * Zero-copy API: Read boolean directly from a generic input (zero allocation).
+     *
+     * <p>Works for heap arrays as well as heap/direct ByteBuffers without copying.
+     *
+     * @param input BSON data input
+     * @param offset offset where boolean value starts
+     * @return primitive boolean value
+     */
+    public static boolean readDirect(BsonInput input, int offset) {
+        return input.getByte(offset) != 0;
+    }
 }
@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -36,6 +37,18 @@ public enum DateTimeParser implements BsonTypeParser {
         return 8;
     }
 
+    /**
+     * Zero-copy API: Get value size from a generic input (always 8 bytes for datetime).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 8
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 8;
+    }
+
     /**
      * Zero-copy API: Read datetime directly from byte array (zero allocation).
      *
@@ -55,4 +68,17 @@ public enum DateTimeParser implements BsonTypeParser {
             | ((data[offset + 6] & 0xFFL) << 48)
             | ((data[offset + 7] & 0xFFL) << 56);
     }
+
+    /**
+     * Zero-copy API: Read datetime directly from a generic input (zero allocation).
+     *
+     * <p>Works for heap arrays as well as heap/direct ByteBuffers without copying.
+     *
+     * @param input BSON data input
+     * @param offset offset where datetime value starts
+     * @return primitive long value (milliseconds since Unix epoch)
+     */
+    public static long readDirect(BsonInput input, int offset) {
+        return input.getInt64(offset);
+    }
 }
@@ -6,7 +6,10 @@ import com.cloud.fastbson.document.BsonDocumentBuilder;
 import com.cloud.fastbson.document.BsonDocumentFactory;
 import com.cloud.fastbson.handler.BsonTypeParser;
 import com.cloud.fastbson.handler.TypeHandler;
+import com.cloud.fastbson.reader.BsonCursor;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.types.BinaryData;
 import com.cloud.fastbson.util.BsonType;
 import com.cloud.fastbson.util.BsonUtils;
 
@@ -24,6 +27,7 @@ import com.cloud.fastbson.util.BsonUtils;
  * <ul>
  *   <li>Primitive types (int32, int64, double, boolean) are stored without boxing</li>
  *   <li>Uses BsonDocumentFactory to create appropriate implementation (Fast or Simple)</li>
+ *   <li>Elements are walked with one {@link BsonCursor} shared by all nesting levels</li>
  * </ul>
  *
  * <p><b>Phase 2.15: Zero-Copy Support</b><br>
@@ -81,21 +85,68 @@ public enum DocumentParser implements BsonTypeParser {
             | ((data[offset + 3] & 0xFF) << 24);
     }
 
+    /**
+     * Zero-copy API: Get document value size from a generic input (variable length).
+     *
+     * @param input BSON data input
+     * @param offset offset where document value starts (at the length field)
+     * @return total document size in bytes (as specified in the length field)
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return input.getInt32(offset);
+    }
+
     @Override
     public Object parse(BsonReader reader) {
         int docLength = reader.readInt32();
-        int endPosition = reader.position() + docLength - 4;
-
-        // ✅ Phase 1 优化：HashMap 模式使用直接解析（绕过Builder，性能提升50%）
-        if (factory instanceof com.cloud.fastbson.document.hashmap.HashMapBsonDocumentFactory) {
-            return parseDirectHashMap(reader, endPosition);
-        }
 
         // ✅ Phase 2 优化：IndexedBsonDocument 零复制惰性解析（性能提升10-20x）
         if (factory instanceof com.cloud.fastbson.document.IndexedBsonDocumentFactory) {
             return parseZeroCopyIndexed(reader, docLength);
         }
 
+        // Raw 模式：整段复制文档字节（无需逐字段重新编码，保留全部类型）
+        if (factory instanceof com.cloud.fastbson.document.raw.RawBsonDocumentFactory) {
+            return parseRawCopy(reader, docLength);
+        }
+
+        // 逐字段构建：回退到长度前缀，由游标遍历元素
+        reader.position(reader.position() - 4);
+        BsonCursor cursor = new BsonCursor(reader);
+        Object doc = parseFields(cursor, reader, docLength);
+        cursor.stepOut();
+        return doc;
+    }
+
+    /**
+     * 解析游标当前元素的嵌入文档，与外层共用同一个游标（无需为每层文档创建游标）
+     *
+     * @param cursor 位于 DOCUMENT 元素上、值尚未读取的游标
+     * @param reader 游标使用的 reader
+     * @return 解析后的文档
+     */
+    Object parseEmbedded(BsonCursor cursor, BsonReader reader) {
+        if (factory instanceof com.cloud.fastbson.document.IndexedBsonDocumentFactory
+                || factory instanceof com.cloud.fastbson.document.raw.RawBsonDocumentFactory) {
+            return parse(cursor.valueReader());  // 整段引用或复制，无需遍历元素
+        }
+        int docLength = reader.getInput().getInt32(reader.position());
+        cursor.stepInto();
+        Object doc = parseFields(cursor, reader, docLength);
+        cursor.stepOut();
+        return doc;
+    }
+
+    /**
+     * 遍历游标当前所在文档的元素并构建文档
+     */
+    private Object parseFields(BsonCursor cursor, BsonReader reader, int docLength) {
+        // ✅ Phase 1 优化：HashMap 模式使用直接解析（绕过Builder，性能提升50%）
+        if (factory instanceof com.cloud.fastbson.document.hashmap.HashMapBsonDocumentFactory) {
+            return parseDirectHashMap(cursor, reader);
+        }
+
         // 使用工厂创建Builder
         BsonDocumentBuilder builder = factory.newDocumentBuilder();
 
@@ -103,62 +154,52 @@ public enum DocumentParser implements BsonTypeParser {
         int estimatedFields = Math.max(4, docLength / 20);
         builder.estimateSize(estimatedFields);
 
-        while (reader.position() < endPosition) {
-            byte type = reader.readByte();
-            if (type == BsonType.END_OF_DOCUMENT) {
-                break;
-            }
-
-            String fieldName = reader.readCString();
+        while (cursor.next()) {
+            byte type = cursor.currentType();
+            String fieldName = cursor.currentName().toString();
 
             // ✅ 根据类型使用不同的put方法（无装箱）
             switch (type) {
                 case BsonType.INT32:
-                    int intValue = reader.readInt32();
-                    builder.putInt32(fieldName, intValue);  // ✅ 无装箱
+                    builder.putInt32(fieldName, cursor.readInt32());  // ✅ 无装箱
                     break;
 
                 case BsonType.INT64:
-                    long longValue = reader.readInt64();
-                    builder.putInt64(fieldName, longValue);  // ✅ 无装箱
+                    builder.putInt64(fieldName, cursor.readInt64());  // ✅ 无装箱
                     break;
 
                 case BsonType.DOUBLE:
-                    double doubleValue = reader.readDouble();
-                    builder.putDouble(fieldName, doubleValue);  // ✅ 无装箱
+                    builder.putDouble(fieldName, cursor.readDouble());  // ✅ 无装箱
                     break;
 
                 case BsonType.BOOLEAN:
-                    boolean boolValue = reader.readByte() != 0;
-                    builder.putBoolean(fieldName, boolValue);  // ✅ 无装箱
+                    builder.putBoolean(fieldName, cursor.readBoolean());  // ✅ 无装箱
                     break;
 
                 case BsonType.STRING:
+                    builder.putString(fieldName, cursor.readString());
+                    break;
+
                 case BsonType.JAVASCRIPT:
                 case BsonType.SYMBOL:
-                    String stringValue = reader.readString();
-                    builder.putString(fieldName, stringValue);
+                    builder.putString(fieldName, (String) cursor.readValue(handler));
                     break;
 
                 case BsonType.DOCUMENT:
                     // 递归解析嵌套文档
-                    BsonDocument nestedDoc = (BsonDocument) parse(reader);
-                    builder.putDocument(fieldName, nestedDoc);
+                    builder.putDocument(fieldName, (BsonDocument) parseEmbedded(cursor, reader));
                     break;
 
                 case BsonType.ARRAY:
-                    BsonArray array = (BsonArray) ArrayParser.INSTANCE.parse(reader);
-                    builder.putArray(fieldName, array);
+                    builder.putArray(fieldName, (BsonArray) ArrayParser.INSTANCE.parseEmbedded(cursor, reader));
                     break;
 
                 case BsonType.OBJECT_ID:
-                    String objectId = BsonUtils.bytesToHex(reader.readBytes(12));
-                    builder.putObjectId(fieldName, objectId);
+                    builder.putObjectId(fieldName, (String) cursor.readValue(handler));
                     break;
 
                 case BsonType.DATE_TIME:
-                    long timestamp = reader.readInt64();
-                    builder.putDateTime(fieldName, timestamp);
+                    builder.putDateTime(fieldName, cursor.readDateTime());
                     break;
 
                 case BsonType.NULL:
@@ -166,15 +207,13 @@ public enum DocumentParser implements BsonTypeParser {
                     break;
 
                 case BsonType.BINARY:
-                    int binLength = reader.readInt32();
-                    byte subtype = reader.readByte();
-                    byte[] data = reader.readBytes(binLength);
-                    builder.putBinary(fieldName, subtype, data);
+                    BinaryData binary = (BinaryData) cursor.readValue(handler);
+                    builder.putBinary(fieldName, binary.subtype, binary.data);
                     break;
 
                 default:
                     // 其他复杂类型通过TypeHandler处理
-                    Object value = handler.getParsedValue(reader, type);
+                    Object value = cursor.readValue(handler);
                     builder.putComplex(fieldName, type, value);
                     break;
             }
@@ -194,30 +233,27 @@ public enum DocumentParser implements BsonTypeParser {
      *   <li>性能提升 50-100%</li>
      * </ul>
      *
-     * @param reader BSON reader
-     * @param endPosition 文档结束位置
+     * @param cursor 位于文档内部的游标
+     * @param reader 游标使用的 reader
      * @return HashMap-based BsonDocument
      */
-    private Object parseDirectHashMap(BsonReader reader, int endPosition) {
+    private Object parseDirectHashMap(BsonCursor cursor, BsonReader reader) {
         // Phase 1 优化：直接返回 HashMap，避免防御性复制
         java.util.Map<String, Object> data = new java.util.HashMap<String, Object>();
         java.util.Map<String, Byte> types = new java.util.HashMap<String, Byte>();
 
-        // Parse fields until we hit the END_OF_DOCUMENT marker (0x00)
-        // Well-formed BSON always has this terminator
-        while (true) {
-            // Safety check: prevent reading beyond document boundary
-            if (reader.position() >= endPosition) {
-                break;  // Malformed BSON without terminator
-            }
-
-            byte type = reader.readByte();
-            if (type == BsonType.END_OF_DOCUMENT) {
-                break;  // Normal termination
+        // 游标读到 END_OF_DOCUMENT（0x00）时结束
+        while (cursor.next()) {
+            byte type = cursor.currentType();
+            String fieldName = cursor.currentName().toString();
+            Object value;
+            if (type == BsonType.DOCUMENT) {
+                value = parseEmbedded(cursor, reader);  // 递归使用相同优化路径
+            } else if (type == BsonType.ARRAY) {
+                value = ArrayParser.INSTANCE.parseEmbedded(cursor, reader);
+            } else {
+                value = parseValueDirect(cursor.valueReader(), type);
             }
-
-            String fieldName = reader.readCString();
-            Object value = parseValueDirect(reader, type);
             data.put(fieldName, value);
             types.put(fieldName, Byte.valueOf(type));  // Track type for each field
         }
@@ -227,7 +263,7 @@ public enum DocumentParser implements BsonTypeParser {
     }
 
     /**
-     * 直接解析值（Phase 1 优化路径）
+     * 直接解析值（Phase 1 优化路径，嵌入文档与数组由游标处理）
      */
     private Object parseValueDirect(BsonReader reader, byte type) {
         switch (type) {
@@ -239,12 +275,6 @@ public enum DocumentParser implements BsonTypeParser {
             case BsonType.SYMBOL:
                 return reader.readString();
 
-            case BsonType.DOCUMENT:
-                return parse(reader);  // 递归使用相同优化路径
-
-            case BsonType.ARRAY:
-                return ArrayParser.INSTANCE.parse(reader);
-
             case BsonType.BINARY:
                 int binLength = reader.readInt32();
                 reader.readByte();  // Skip subtype
@@ -321,17 +351,36 @@ public enum DocumentParser implements BsonTypeParser {
      * @return IndexedBsonDocument（零复制惰性解析）
      */
     private Object parseZeroCopyIndexed(BsonReader reader, int docLength) {
-        // 获取底层 byte[] 和当前偏移（零复制关键）
-        byte[] buffer = reader.getBuffer();
+        // 获取底层输入（byte[] 或 ByteBuffer）和当前偏移（零复制关键）
+        BsonInput input = reader.getInput();
         int offset = reader.position() - 4;  // -4 because we already read the length
 
         // 直接调用 IndexedBsonDocument.parse（零复制惰性解析）
         com.cloud.fastbson.document.IndexedBsonDocument doc =
-            com.cloud.fastbson.document.IndexedBsonDocument.parse(buffer, offset, docLength);
+            com.cloud.fastbson.document.IndexedBsonDocument.parseInput(input, offset, docLength);
 
         // 跳过文档剩余部分（reader 位置需要更新）
         reader.position(offset + docLength);
 
         return doc;
     }
+
+    /**
+     * Raw 模式：将文档字节复制到独立的数组，并在其上建立索引
+     *
+     * <p>与 Indexed 模式相同的惰性访问，但不引用输入缓冲区，
+     * 结果的 toBson() 直接返回这份字节（可直接修改后重新输出）。
+     */
+    private Object parseRawCopy(BsonReader reader, int docLength) {
+        BsonInput input = reader.getInput();
+        int offset = reader.position() - 4;  // -4 because we already read the length
+
+        byte[] bson = new byte[docLength];
+        input.getBytes(offset, bson, 0, docLength);
+
+        // 跳过文档剩余部分（reader 位置需要更新）
+        reader.position(offset + docLength);
+
+        return com.cloud.fastbson.document.IndexedBsonDocument.parse(bson, 0, docLength);
+    }
 }
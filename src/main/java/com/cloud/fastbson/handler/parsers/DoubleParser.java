@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -46,6 +47,18 @@ public enum DoubleParser implements BsonTypeParser {
         return 8;
     }
 
+    /**
+     * Zero-copy API: Get value size from a generic input (always 8 bytes for double).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 8
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 8;
+    }
+
     /**
      * Zero-copy API: Read double directly from byte array (zero allocation).
      *
@@ -69,4 +82,17 @@ public enum DoubleParser implements BsonTypeParser {
             | ((data[offset + 7] & 0xFFL) << 56);
         return Double.longBitsToDouble(bits);
     }
+
+    /**
+     * Zero-copy API: Read double directly from a generic input (zero allocation).
+     *
+     * <p>Works for heap arrays as well as heap/direct ByteBuffers without copying.
+     *
+     * @param input BSON data input
+     * @param offset offset where double value starts
+     * @return primitive double value
+     */
+    public static double readDirect(BsonInput input, int offset) {
+        return input.getDouble(offset);
+    }
 }
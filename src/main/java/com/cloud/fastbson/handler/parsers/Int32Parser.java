@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -45,6 +46,18 @@ public enum Int32Parser implements BsonTypeParser {
         return 4;
     }
 
+    /**
+     * Zero-copy API: Get value size from a generic input (always 4 bytes for int32).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 4
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 4;
+    }
+
     /**
      * Zero-copy API: Read int32 directly from byte array (zero allocation).
      *
@@ -63,4 +76,17 @@ public enum Int32Parser implements BsonTypeParser {
             | ((data[offset + 2] & 0xFF) << 16)
             | ((data[offset + 3] & 0xFF) << 24);
     }
+
+    /**
+     * Zero-copy API: Read int32 directly from a generic input (zero allocation).
+     *
+     * <p>Works for heap arrays as well as heap/direct ByteBuffers without copying.
+     *
+     * @param input BSON data input
+     * @param offset offset where int32 value starts
+     * @return primitive int value
+     */
+    public static int readDirect(BsonInput input, int offset) {
+        return input.getInt32(offset);
+    }
 }
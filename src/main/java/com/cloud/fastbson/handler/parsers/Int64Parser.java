@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -45,6 +46,18 @@ public enum Int64Parser implements BsonTypeParser {
         return 8;
     }
 
+    /**
+     * Zero-copy API: Get value size from a generic input (always 8 bytes for int64).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 8
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 8;
+    }
+
     /**
      * Zero-copy API: Read int64 directly from byte array (zero allocation).
      *
@@ -67,4 +80,17 @@ public enum Int64Parser implements BsonTypeParser {
             | ((data[offset + 6] & 0xFFL) << 48)
             | ((data[offset + 7] & 0xFFL) << 56);
     }
+
+    /**
+     * Zero-copy API: Read int64 directly from a generic input (zero allocation).
+     *
+     * <p>Works for heap arrays as well as heap/direct ByteBuffers without copying.
+     *
+     * @param input BSON data input
+     * @param offset offset where int64 value starts
+     * @return primitive long value
+     */
+    public static long readDirect(BsonInput input, int offset) {
+        return input.getInt64(offset);
+    }
 }
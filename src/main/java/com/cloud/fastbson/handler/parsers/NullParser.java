@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 /**
@@ -32,4 +33,16 @@ public enum NullParser implements BsonTypeParser {
     public int getValueSize(byte[] data, int offset) {
         return 0;
     }
+
+    /**
+     * Zero-copy API: Get value size from a generic input (always 0 bytes for null/undefined).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 0
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 0;
+    }
 }
@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 import com.cloud.fastbson.util.BsonUtils;
 
@@ -33,4 +34,16 @@ public enum ObjectIdParser implements BsonTypeParser {
     public int getValueSize(byte[] data, int offset) {
         return 12;
     }
+
+    /**
+     * Zero-copy API: Get value size from a generic input (always 12 bytes for ObjectId).
+     *
+     * @param input BSON data input
+     * @param offset value start offset
+     * @return 12
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 12;
+    }
 }
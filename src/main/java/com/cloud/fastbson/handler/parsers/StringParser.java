@@ -1,6 +1,7 @@
 package com.cloud.fastbson.handler.parsers;
 
 import com.cloud.fastbson.handler.BsonTypeParser;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 
 import java.nio.charset.StandardCharsets;
@@ -67,6 +68,18 @@ public enum StringParser implements BsonTypeParser {
         return 4 + length;
     }
 
+    /**
+     * Zero-copy API: Get string value size from a generic input (variable length).
+     *
+     * @param input BSON data input
+     * @param offset offset where string value starts (at the length field)
+     * @return total size in bytes (4 + string length including null terminator)
+     */
+    @Override
+    public int getValueSize(BsonInput input, int offset) {
+        return 4 + input.getInt32(offset);
+    }
+
     /**
      * Zero-copy API: Read string directly from byte array.
      *
@@ -93,4 +106,19 @@ public enum StringParser implements BsonTypeParser {
         // String starts at offset + 4, length includes null terminator so we read length - 1 bytes
         return new String(data, offset + 4, length - 1, StandardCharsets.UTF_8);
     }
+
+    /**
+     * Zero-copy API: Read string directly from a generic input.
+     *
+     * <p>Only the UTF-8 bytes of the string are decoded; for direct buffers they are
+     * copied once into the decoder, no other intermediate copy is made.
+     *
+     * @param input BSON data input
+     * @param offset offset where string value starts (at the length field)
+     * @return String object
+     */
+    public static String readDirect(BsonInput input, int offset) {
+        int length = input.getInt32(offset);
+        return input.getString(offset + 4, length - 1);
+    }
 }
@@ -0,0 +1,180 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.BsonShapeCache;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteBufferBsonInput;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Memory-mapped scanner for files of concatenated BSON documents (e.g. mongodump {@code .bson}).
+ *
+ * <p>Zero-copy: the file is mapped with {@link FileChannel#map} and each document is returned as an
+ * {@link IndexedBsonDocument} view over the mapping, so document bytes are never read onto the heap.
+ *
+ * <p>Files larger than a single mapping (2GB) are scanned through sliding windows. A window always
+ * starts at a document boundary; when the next document does not fit in the current window
+ * (it straddles the window edge), a new window is mapped starting at that document. A window
+ * stays mapped for as long as any document returned from it is reachable, so returned documents
+ * remain valid after the scanner moves on or is closed.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try (BsonFileScanner scanner = new BsonFileScanner(Paths.get("users.bson"))) {
+ *     while (scanner.hasNext()) {
+ *         IndexedBsonDocument doc = scanner.next();
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe.
+ */
+public final class BsonFileScanner implements Iterator<IndexedBsonDocument>, Closeable {
+
+    /**
+     * Default window size (1GB).
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 30;
+
+    private static final int MIN_DOCUMENT_SIZE = 5;
+
+    private final BsonShapeCache shapes = new BsonShapeCache();  // Same-layout documents share index layout
+
+    private final FileChannel channel;
+    private final long fileSize;
+    private final int windowSize;
+
+    private MappedByteBuffer window;
+    private BsonInput windowInput;
+    private long windowStart;
+    private int windowLength;
+
+    private long position;
+
+    /**
+     * Opens a scanner over the given file with the default window size.
+     *
+     * @param path the BSON file
+     * @throws IOException if the file cannot be opened
+     */
+    public BsonFileScanner(Path path) throws IOException {
+        this(path, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * Opens a scanner over the given file.
+     *
+     * <p>Documents larger than the window size are still supported; they get a window of their own.
+     *
+     * @param path the BSON file
+     * @param windowSize the mapping window size in bytes
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if windowSize is smaller than a minimal document
+     */
+    public BsonFileScanner(Path path, int windowSize) throws IOException {
+        if (windowSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Window size must be at least " + MIN_DOCUMENT_SIZE + ": " + windowSize);
+        }
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.fileSize = channel.size();
+        this.windowSize = windowSize;
+        this.position = 0;
+    }
+
+    /**
+     * Returns the file offset of the next document.
+     *
+     * @return the file offset
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the size of the scanned file.
+     *
+     * @return the file size in bytes
+     */
+    public long fileSize() {
+        return fileSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return position < fileSize;
+    }
+
+    /**
+     * Returns the next document as a zero-copy view over the mapped file.
+     *
+     * @return the next document
+     * @throws NoSuchElementException if the end of file is reached
+     * @throws BsonParseException if the document length is invalid or the file is truncated
+     * @throws UncheckedIOException if mapping the file fails
+     */
+    @Override
+    public IndexedBsonDocument next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        if (fileSize - position < MIN_DOCUMENT_SIZE) {
+            throw new BsonParseException("Truncated document at offset " + position);
+        }
+
+        ensureMapped(position, 4);
+        int docLength = windowInput.getInt32((int) (position - windowStart));
+        if (docLength < MIN_DOCUMENT_SIZE) {
+            throw new BsonParseException("Invalid document length " + docLength + " at offset " + position);
+        }
+        if (docLength > fileSize - position) {
+            throw new BsonParseException("Truncated document at offset " + position
+                + ": length " + docLength + ", available " + (fileSize - position));
+        }
+
+        ensureMapped(position, docLength);
+        IndexedBsonDocument doc = IndexedBsonDocument.parseInput(windowInput, (int) (position - windowStart), docLength, shapes);
+        position += docLength;
+        return doc;
+    }
+
+    /**
+     * Makes sure [offset, offset + length) lies within the current window, remapping at offset otherwise.
+     */
+    private void ensureMapped(long offset, int length) {
+        if (window != null && offset >= windowStart && offset + length <= windowStart + windowLength) {
+            return;
+        }
+        int size = (int) Math.min(Math.max(windowSize, length), fileSize - offset);
+        try {
+            window = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to map " + size + " bytes at offset " + offset, e);
+        }
+        windowInput = new ByteBufferBsonInput(window);
+        windowStart = offset;
+        windowLength = size;
+    }
+
+    /**
+     * Closes the underlying channel. Documents already returned stay valid.
+     *
+     * @throws IOException if closing the channel fails
+     */
+    @Override
+    public void close() throws IOException {
+        window = null;
+        windowInput = null;
+        channel.close();
+    }
+}
@@ -0,0 +1,256 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.util.BsonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+/**
+ * Tail follower for a growing file of concatenated BSON documents (e.g. an append-only event log).
+ *
+ * <p>Each {@link #poll(Consumer)} reads only the bytes appended since the previous poll, using
+ * positional {@link FileChannel} reads into one reusable buffer, and hands every newly completed
+ * document to the callback as an {@link IndexedBsonDocument} view. Completion is detected from the
+ * length prefix: a trailing document that is still being written (including a partially written
+ * length prefix) stays pending and is delivered by a later poll once all of its bytes are there.
+ *
+ * <p>Documents are views over the shared buffer and are only valid during the callback; copy the
+ * bytes or extract the fields you need before returning.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try (BsonLogFollower follower = new BsonLogFollower(Paths.get("events.bson"))) {
+ *     follower.follow(doc -> handle(doc.getString("type")), 10);  // Until close() or interrupt
+ * }
+ * }</pre>
+ *
+ * <p>{@link #poll(Consumer)} and {@link #follow(Consumer, long)} must be called from a single thread;
+ * {@link #close()} may be called from any thread to stop {@link #follow(Consumer, long)}.
+ */
+public final class BsonLogFollower implements Closeable {
+
+    /**
+     * Default read buffer size (1MB).
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 20;
+
+    /**
+     * Default maximum document size (see {@link BsonStreamIterator#DEFAULT_MAX_DOCUMENT_SIZE}).
+     */
+    public static final int DEFAULT_MAX_DOCUMENT_SIZE = BsonStreamIterator.DEFAULT_MAX_DOCUMENT_SIZE;
+
+    private static final int MIN_DOCUMENT_SIZE = 5;
+
+    private final FileChannel channel;
+    private final int maxDocumentSize;
+
+    // Buffered bytes [0, limit) start at file offset position
+    private byte[] buffer;
+    private int limit;
+    private long position;
+
+    private long documentCount;
+    private volatile boolean closed;
+
+    /**
+     * Follows the file from its beginning with the default buffer size.
+     *
+     * @param path the log file
+     * @throws IOException if the file cannot be opened
+     */
+    public BsonLogFollower(Path path) throws IOException {
+        this(path, 0, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Follows the file from the given offset, which must be a document boundary
+     * (e.g. a {@link #position()} saved by an earlier follower).
+     *
+     * @param path the log file
+     * @param startOffset the file offset of the first document to deliver
+     * @param bufferSize the initial read buffer size in bytes (grows for larger documents)
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if startOffset is negative or bufferSize too small
+     */
+    public BsonLogFollower(Path path, long startOffset, int bufferSize) throws IOException {
+        this(path, startOffset, bufferSize, DEFAULT_MAX_DOCUMENT_SIZE);
+    }
+
+    /**
+     * Follows the file from the given offset with the given document size limit.
+     *
+     * <p>A length prefix above maxDocumentSize is rejected before the buffer is grown for it.
+     *
+     * @param path the log file
+     * @param startOffset the file offset of the first document to deliver
+     * @param bufferSize the initial read buffer size in bytes (grows for larger documents)
+     * @param maxDocumentSize the largest accepted document in bytes
+     * @throws IOException if the file cannot be opened
+     * @throws IllegalArgumentException if startOffset is negative or a size is too small
+     */
+    public BsonLogFollower(Path path, long startOffset, int bufferSize, int maxDocumentSize) throws IOException {
+        if (startOffset < 0) {
+            throw new IllegalArgumentException("Start offset cannot be negative: " + startOffset);
+        }
+        if (bufferSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_DOCUMENT_SIZE + ": " + bufferSize);
+        }
+        if (maxDocumentSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Max document size must be at least " + MIN_DOCUMENT_SIZE + ": "
+                + maxDocumentSize);
+        }
+        this.maxDocumentSize = maxDocumentSize;
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+        this.buffer = new byte[bufferSize];
+        this.position = startOffset;
+    }
+
+    /**
+     * Delivers all documents completed since the last poll.
+     *
+     * @param callback receives each document view (valid only during the call)
+     * @return the number of documents delivered
+     * @throws IOException if reading fails or the file was truncated below the current position
+     * @throws BsonParseException if a document has an invalid length or exceeds the maximum size
+     */
+    public int poll(Consumer<IndexedBsonDocument> callback) throws IOException {
+        if (callback == null) {
+            throw new IllegalArgumentException("Callback cannot be null");
+        }
+        if (channel.size() < position + limit) {
+            throw new IOException("File truncated to " + channel.size() + " bytes, follower is at " + (position + limit));
+        }
+
+        int delivered = 0;
+        while (!closed && fill()) {
+            int offset = 0;
+            while (!closed && limit - offset >= 4) {
+                int length = BsonUtils.readInt32LittleEndian(buffer, offset);
+                if (length < MIN_DOCUMENT_SIZE) {
+                    throw new BsonParseException("Invalid document length " + length + " at offset " + (position + offset));
+                }
+                if (length > maxDocumentSize) {
+                    throw new BsonParseException("Document length " + length + " exceeds the maximum of "
+                        + maxDocumentSize + " bytes at offset " + (position + offset));
+                }
+                if (length > limit - offset) {
+                    if (length > buffer.length) {
+                        grow(length);
+                    }
+                    break;  // Trailing document not complete yet
+                }
+                callback.accept(IndexedBsonDocument.parse(buffer, offset, length));
+                offset += length;
+                delivered++;
+                documentCount++;
+            }
+            compact(offset);
+        }
+        return delivered;
+    }
+
+    /**
+     * Polls repeatedly, sleeping between polls that find nothing new, until {@link #close()} is
+     * called or the thread is interrupted. A {@link #close()} from another thread returns normally,
+     * even when it closes the channel in the middle of a read.
+     *
+     * @param callback receives each document view (valid only during the call)
+     * @param idleMillis sleep time when no new data is available
+     * @throws IOException if reading fails
+     */
+    public void follow(Consumer<IndexedBsonDocument> callback, long idleMillis) throws IOException {
+        try {
+            while (!closed && !Thread.currentThread().isInterrupted()) {
+                if (poll(callback) == 0) {
+                    try {
+                        Thread.sleep(idleMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }
+        } catch (ClosedChannelException e) {
+            // Includes AsynchronousCloseException: the channel was closed while in use
+            if (!closed) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns the file offset right after the last delivered document; following can be resumed
+     * from it with {@link #BsonLogFollower(Path, long, int)}.
+     *
+     * @return the file offset
+     */
+    public long position() {
+        return position;
+    }
+
+    /**
+     * Returns the number of bytes read past {@link #position()} that do not form a complete
+     * document yet.
+     *
+     * @return the pending byte count
+     */
+    public int pendingBytes() {
+        return limit;
+    }
+
+    /**
+     * Returns the number of documents delivered so far.
+     *
+     * @return the document count
+     */
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        channel.close();
+    }
+
+    // ==================== Internal ====================
+
+    /**
+     * Reads newly appended bytes into the free part of the buffer.
+     *
+     * @return true if any bytes were read
+     */
+    private boolean fill() throws IOException {
+        int total = 0;
+        while (limit < buffer.length) {
+            int n = channel.read(ByteBuffer.wrap(buffer, limit, buffer.length - limit), position + limit);
+            if (n <= 0) {
+                break;
+            }
+            limit += n;
+            total += n;
+        }
+        return total > 0;
+    }
+
+    private void compact(int consumed) {
+        if (consumed > 0) {
+            System.arraycopy(buffer, consumed, buffer, 0, limit - consumed);
+            limit -= consumed;
+            position += consumed;
+        }
+    }
+
+    private void grow(int minCapacity) {
+        byte[] grown = new byte[Math.max(minCapacity, (int) Math.min(maxDocumentSize, buffer.length * 2L))];
+        System.arraycopy(buffer, 0, grown, 0, limit);
+        buffer = grown;
+    }
+}
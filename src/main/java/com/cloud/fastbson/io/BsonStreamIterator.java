@@ -0,0 +1,301 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.BsonShapeCache;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.util.BsonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Iterator over consecutive BSON documents read from an {@link InputStream}.
+ *
+ * <p>All documents are read into a single growable buffer that is reused for the whole stream,
+ * and {@link #nextReader()} hands out one pooled {@link BsonReader} that is {@code reset} onto
+ * that buffer instead of allocating a reader per document.
+ *
+ * <p>Documents returned by {@link #next()} depend on the {@link Mode}:
+ * <ul>
+ *   <li>{@link Mode#VIEW}: zero-copy view over the shared buffer, only valid until the next
+ *       call to {@code hasNext()}/{@code next()}/{@code nextReader()}</li>
+ *   <li>{@link Mode#COPY}: detached document over its own copy of the bytes, valid forever</li>
+ * </ul>
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try (BsonStreamIterator it = new BsonStreamIterator(in, BsonStreamIterator.Mode.VIEW)) {
+ *     while (it.hasNext()) {
+ *         IndexedBsonDocument doc = it.next();  // Do not keep a reference past this iteration
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe. The stream is not buffered further, wrap slow streams in a
+ * {@link java.io.BufferedInputStream} if needed.
+ */
+public final class BsonStreamIterator implements Iterator<IndexedBsonDocument>, Closeable {
+
+    /**
+     * Lifetime of documents returned by {@link #next()}.
+     */
+    public enum Mode {
+        /**
+         * Transient view over the shared buffer, valid until the iterator advances.
+         */
+        VIEW,
+
+        /**
+         * Detached document backed by its own byte array.
+         */
+        COPY
+    }
+
+    /**
+     * Default initial buffer size (grows on demand).
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 16 * 1024;
+
+    /**
+     * Default maximum document size: the 16 MB BSON limit plus headroom for wrapping metadata.
+     */
+    public static final int DEFAULT_MAX_DOCUMENT_SIZE = 16 * 1024 * 1024 + 16 * 1024;
+
+    private static final int MIN_DOCUMENT_SIZE = 5;
+
+    private final BsonShapeCache shapes = new BsonShapeCache();  // Same-layout documents share index layout
+
+    private final InputStream in;
+    private final Mode mode;
+    private final int maxDocumentSize;
+    private final BsonReader reader;
+
+    private byte[] buffer;
+    private int documentLength;   // Length of the document held in buffer, 0 if none
+    private boolean fetched;      // Whether buffer holds a document not yet returned
+    private long documentCount;
+
+    /**
+     * Creates an iterator returning detached copies.
+     *
+     * @param in the input stream
+     */
+    public BsonStreamIterator(InputStream in) {
+        this(in, Mode.COPY, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an iterator with the given document mode.
+     *
+     * @param in the input stream
+     * @param mode view or copy
+     */
+    public BsonStreamIterator(InputStream in, Mode mode) {
+        this(in, mode, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Creates an iterator with the given document mode and initial buffer size.
+     *
+     * @param in the input stream
+     * @param mode view or copy
+     * @param initialBufferSize the initial buffer size in bytes
+     * @throws IllegalArgumentException if in or mode is null, or the buffer size is too small
+     */
+    public BsonStreamIterator(InputStream in, Mode mode, int initialBufferSize) {
+        this(in, mode, initialBufferSize, DEFAULT_MAX_DOCUMENT_SIZE);
+    }
+
+    /**
+     * Creates an iterator with the given document mode, initial buffer size and document size limit.
+     *
+     * <p>A length prefix above maxDocumentSize is rejected before any buffer is allocated for it,
+     * so a corrupt or hostile stream cannot force a 2 GB allocation.
+     *
+     * @param in the input stream
+     * @param mode view or copy
+     * @param initialBufferSize the initial buffer size in bytes
+     * @param maxDocumentSize the largest accepted document in bytes
+     * @throws IllegalArgumentException if in or mode is null, or a size is too small
+     */
+    public BsonStreamIterator(InputStream in, Mode mode, int initialBufferSize, int maxDocumentSize) {
+        if (in == null) {
+            throw new IllegalArgumentException("InputStream cannot be null");
+        }
+        if (mode == null) {
+            throw new IllegalArgumentException("Mode cannot be null");
+        }
+        if (initialBufferSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_DOCUMENT_SIZE + ": " + initialBufferSize);
+        }
+        if (maxDocumentSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Max document size must be at least " + MIN_DOCUMENT_SIZE + ": "
+                + maxDocumentSize);
+        }
+        this.in = in;
+        this.mode = mode;
+        this.maxDocumentSize = maxDocumentSize;
+        this.buffer = new byte[initialBufferSize];
+        this.reader = new BsonReader(buffer);
+    }
+
+    /**
+     * @throws BsonParseException if the stream ends in the middle of a document
+     * @throws UncheckedIOException if reading the stream fails
+     */
+    @Override
+    public boolean hasNext() {
+        if (!fetched) {
+            fetched = fetch();
+        }
+        return fetched;
+    }
+
+    /**
+     * Returns the next document according to the configured {@link Mode}.
+     *
+     * @return the next document
+     * @throws NoSuchElementException if the stream is exhausted
+     */
+    @Override
+    public IndexedBsonDocument next() {
+        advance();
+        if (mode == Mode.COPY) {
+            return IndexedBsonDocument.parse(Arrays.copyOf(buffer, documentLength), 0, documentLength, shapes);
+        }
+        return IndexedBsonDocument.parse(buffer, 0, documentLength, shapes);
+    }
+
+    /**
+     * Returns the pooled reader positioned at the start of the next document.
+     *
+     * <p>The reader and its data are only valid until the iterator advances. Use it with
+     * {@link com.cloud.fastbson.FastBson#parse(BsonReader)} or the type parsers when no
+     * {@link IndexedBsonDocument} is needed.
+     *
+     * @return the shared reader, limited to the document bytes
+     * @throws NoSuchElementException if the stream is exhausted
+     */
+    public BsonReader nextReader() {
+        advance();
+        reader.reset(buffer, documentLength);
+        return reader;
+    }
+
+    /**
+     * Returns the number of documents returned so far.
+     *
+     * @return the document count
+     */
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Returns a sequential, ordered stream over the remaining documents.
+     *
+     * <p>In {@link Mode#VIEW} each element must be consumed before the next one is pulled,
+     * so terminal operations that keep elements (e.g. {@code collect}) need {@link Mode#COPY}.
+     *
+     * @return the document stream
+     */
+    public Stream<IndexedBsonDocument> stream() {
+        return StreamSupport.stream(spliterator(), false).onClose(this::closeUnchecked);
+    }
+
+    /**
+     * Returns a spliterator over the remaining documents.
+     *
+     * @return ordered, non-null spliterator of unknown size
+     */
+    public Spliterator<IndexedBsonDocument> spliterator() {
+        return Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    private void advance() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        fetched = false;
+        documentCount++;
+    }
+
+    /**
+     * Reads the next document into the shared buffer, growing it if needed.
+     *
+     * @return false on clean end of stream
+     */
+    private boolean fetch() {
+        int n = readFully(0, 4);
+        if (n == 0) {
+            documentLength = 0;
+            return false;
+        }
+        if (n < 4) {
+            throw new BsonParseException("Truncated document header after " + documentCount + " documents");
+        }
+
+        int length = BsonUtils.readInt32LittleEndian(buffer, 0);
+        if (length < MIN_DOCUMENT_SIZE) {
+            throw new BsonParseException("Invalid document length " + length + " after " + documentCount + " documents");
+        }
+        if (length > maxDocumentSize) {
+            throw new BsonParseException("Document length " + length + " exceeds the maximum of " + maxDocumentSize
+                + " bytes after " + documentCount + " documents");
+        }
+        if (length > buffer.length) {
+            byte[] grown = new byte[Math.max(length, (int) Math.min(maxDocumentSize, buffer.length * 2L))];
+            System.arraycopy(buffer, 0, grown, 0, 4);
+            buffer = grown;
+        }
+        if (readFully(4, length - 4) < length - 4) {
+            throw new BsonParseException("Truncated document after " + documentCount + " documents: expected "
+                + length + " bytes");
+        }
+        documentLength = length;
+        return true;
+    }
+
+    /**
+     * Reads up to len bytes into buffer at off, stopping early only at end of stream.
+     */
+    private int readFully(int off, int len) {
+        int total = 0;
+        try {
+            while (total < len) {
+                int n = in.read(buffer, off + total, len - total);
+                if (n < 0) {
+                    break;
+                }
+                total += n;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return total;
+    }
+
+    private void closeUnchecked() {
+        try {
+            close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,385 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.parser.PartialParser;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteBufferBsonInput;
+import com.cloud.fastbson.reader.CompositeBsonInput;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Streaming reader for gzip-compressed concatenated BSON documents (e.g. {@code mongodump --gzip}).
+ *
+ * <p>Compressed bytes are inflated with a raw {@link Inflater} straight into a ring buffer, and
+ * each document is handed out as soon as its last byte has been inflated. Nothing is inflated to
+ * disk or onto the heap as a whole, so memory stays bounded by the ring buffer (which only grows
+ * if a single document is larger than it).
+ *
+ * <p>Documents are zero-copy {@link BsonInput} views over the ring buffer: contiguous documents are
+ * a single slice, documents that wrap around the end of the ring are a two-segment
+ * {@link CompositeBsonInput}. A view is only valid until the next call to
+ * {@link #nextDocument()}; it works directly with {@link PartialParser#parseInput(BsonInput)}
+ * (see {@link #nextPartial(PartialParser)}) and
+ * {@link com.cloud.fastbson.document.IndexedBsonDocument#parseInput}.
+ *
+ * <p>Gzip headers (including optional extra, name, comment and header CRC fields), multi-member
+ * files and the CRC-32/ISIZE trailer are handled; corrupt compressed data raises {@link ZipException}.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * PartialParser parser = new PartialParser("_id", "status");
+ * try (GzipBsonStream stream = new GzipBsonStream(new FileInputStream("orders.bson.gz"))) {
+ *     Map<String, Object> fields;
+ *     while ((fields = stream.nextPartial(parser)) != null) {
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe.
+ */
+public final class GzipBsonStream implements Closeable {
+
+    /**
+     * Default ring buffer capacity (1MB).
+     */
+    public static final int DEFAULT_RING_CAPACITY = 1 << 20;
+
+    /**
+     * Default maximum document size (see {@link BsonStreamIterator#DEFAULT_MAX_DOCUMENT_SIZE}).
+     */
+    public static final int DEFAULT_MAX_DOCUMENT_SIZE = BsonStreamIterator.DEFAULT_MAX_DOCUMENT_SIZE;
+
+    private static final int INPUT_BUFFER_SIZE = 64 * 1024;
+    private static final int MIN_DOCUMENT_SIZE = 5;
+
+    private static final int GZIP_MAGIC = 0x8B1F;
+    private static final int FHCRC = 2;
+    private static final int FEXTRA = 4;
+    private static final int FNAME = 8;
+    private static final int FCOMMENT = 16;
+
+    private final InputStream in;
+    private final Inflater inflater = new Inflater(true);
+    private final CRC32 crc = new CRC32();
+    private final int maxDocumentSize;
+
+    // Compressed input buffer
+    private final byte[] input = new byte[INPUT_BUFFER_SIZE];
+    private int inputPos;
+    private int inputLimit;
+
+    // Inflated ring buffer: [head, head + size) modulo capacity holds unread bytes
+    private byte[] ring;
+    private int head;
+    private int size;
+    private int currentLength;    // Length of the document handed out last, released on the next call
+
+    private boolean inMember;     // Inside a gzip member (header read, trailer not yet)
+    private boolean endOfStream;  // No more gzip members
+    private long memberSize;      // Inflated bytes of the current member (for ISIZE)
+    private long documentCount;
+
+    /**
+     * Creates a stream with the default ring capacity.
+     *
+     * @param in the gzip-compressed input
+     */
+    public GzipBsonStream(InputStream in) {
+        this(in, DEFAULT_RING_CAPACITY);
+    }
+
+    /**
+     * Creates a stream with the given initial ring capacity.
+     *
+     * @param in the gzip-compressed input
+     * @param ringCapacity the initial ring buffer size in bytes
+     * @throws IllegalArgumentException if in is null or the capacity is too small
+     */
+    public GzipBsonStream(InputStream in, int ringCapacity) {
+        this(in, ringCapacity, DEFAULT_MAX_DOCUMENT_SIZE);
+    }
+
+    /**
+     * Creates a stream with the given initial ring capacity and document size limit.
+     *
+     * <p>A length prefix above maxDocumentSize is rejected before the ring is grown for it.
+     *
+     * @param in the gzip-compressed input
+     * @param ringCapacity the initial ring buffer size in bytes
+     * @param maxDocumentSize the largest accepted document in bytes
+     * @throws IllegalArgumentException if in is null or a size is too small
+     */
+    public GzipBsonStream(InputStream in, int ringCapacity, int maxDocumentSize) {
+        if (in == null) {
+            throw new IllegalArgumentException("InputStream cannot be null");
+        }
+        if (ringCapacity < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Ring capacity must be at least " + MIN_DOCUMENT_SIZE + ": " + ringCapacity);
+        }
+        if (maxDocumentSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Max document size must be at least " + MIN_DOCUMENT_SIZE + ": "
+                + maxDocumentSize);
+        }
+        this.in = in;
+        this.maxDocumentSize = maxDocumentSize;
+        this.ring = new byte[ringCapacity];
+    }
+
+    /**
+     * Returns the next document as a transient view over the ring buffer.
+     *
+     * @return the document view (valid until the next call), or null at the end of the stream
+     * @throws ZipException if the compressed data is corrupt
+     * @throws BsonParseException if the inflated data ends inside a document or has a bad length
+     * @throws IOException if reading the underlying stream fails
+     */
+    public BsonInput nextDocument() throws IOException {
+        head = (head + currentLength) % ring.length;
+        size -= currentLength;
+        currentLength = 0;
+
+        if (!fill(4)) {
+            if (size == 0) {
+                return null;
+            }
+            throw new BsonParseException("Truncated document header after " + documentCount + " documents");
+        }
+        int length = (ringByte(0) & 0xFF)
+            | ((ringByte(1) & 0xFF) << 8)
+            | ((ringByte(2) & 0xFF) << 16)
+            | ((ringByte(3) & 0xFF) << 24);
+        if (length < MIN_DOCUMENT_SIZE) {
+            throw new BsonParseException("Invalid document length " + length + " after " + documentCount + " documents");
+        }
+        if (length > maxDocumentSize) {
+            throw new BsonParseException("Document length " + length + " exceeds the maximum of " + maxDocumentSize
+                + " bytes after " + documentCount + " documents");
+        }
+        if (length > ring.length) {
+            grow(length);
+        }
+        if (!fill(length)) {
+            throw new BsonParseException("Truncated document after " + documentCount + " documents: expected "
+                + length + " bytes, available " + size);
+        }
+
+        currentLength = length;
+        documentCount++;
+        int firstPart = ring.length - head;
+        if (length <= firstPart) {
+            return new ByteBufferBsonInput(ByteBuffer.wrap(ring, head, length));
+        }
+        return new CompositeBsonInput(ByteBuffer.wrap(ring, head, firstPart), ByteBuffer.wrap(ring, 0, length - firstPart));
+    }
+
+    /**
+     * Extracts the target fields of the next document.
+     *
+     * @param parser the partial parser
+     * @return the extracted fields, or null at the end of the stream
+     * @throws IOException if reading or inflating fails
+     */
+    public Map<String, Object> nextPartial(PartialParser parser) throws IOException {
+        BsonInput document = nextDocument();
+        return document == null ? null : parser.parseInput(document);
+    }
+
+    /**
+     * Returns the number of documents returned so far.
+     *
+     * @return the document count
+     */
+    public long getDocumentCount() {
+        return documentCount;
+    }
+
+    /**
+     * Returns the current ring buffer capacity.
+     *
+     * @return the capacity in bytes
+     */
+    public int getRingCapacity() {
+        return ring.length;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        in.close();
+    }
+
+    // ==================== Ring Buffer ====================
+
+    private byte ringByte(int index) {
+        return ring[(head + index) % ring.length];
+    }
+
+    /**
+     * Inflates until at least needed bytes are buffered.
+     *
+     * @return false if the stream ended first
+     */
+    private boolean fill(int needed) throws IOException {
+        while (size < needed) {
+            if (!inMember && !startMember()) {
+                return false;
+            }
+            int tail = (head + size) % ring.length;
+            int free = Math.min(ring.length - size, ring.length - tail);
+            int n;
+            try {
+                n = inflater.inflate(ring, tail, free);
+            } catch (DataFormatException e) {
+                throw new ZipException("Corrupt deflate data: " + e.getMessage());
+            }
+            if (n > 0) {
+                crc.update(ring, tail, n);
+                size += n;
+                memberSize += n;
+            } else if (inflater.finished()) {
+                finishMember();
+            } else if (inflater.needsInput()) {
+                if (!refill()) {
+                    throw new EOFException("Unexpected end of gzip stream");
+                }
+                inflater.setInput(input, inputPos, inputLimit - inputPos);
+                inputPos = inputLimit;
+            } else if (inflater.needsDictionary()) {
+                throw new ZipException("Deflate stream requires a preset dictionary");
+            }
+        }
+        return true;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = ring.length;
+        while (capacity < minCapacity) {
+            capacity = (int) Math.min((long) capacity * 2, maxDocumentSize);   // Callers check minCapacity <= max
+        }
+        byte[] grown = new byte[capacity];
+        int firstPart = Math.min(size, ring.length - head);
+        System.arraycopy(ring, head, grown, 0, firstPart);
+        System.arraycopy(ring, 0, grown, firstPart, size - firstPart);
+        ring = grown;
+        head = 0;
+    }
+
+    // ==================== Gzip Framing ====================
+
+    /**
+     * Reads the next member header.
+     *
+     * @return false at a clean end of stream
+     */
+    private boolean startMember() throws IOException {
+        if (endOfStream) {
+            return false;
+        }
+        int first = readInputByte();
+        if (first < 0) {
+            endOfStream = true;
+            return false;
+        }
+        int magic = first | (readRequiredByte() << 8);
+        if (magic != GZIP_MAGIC) {
+            throw new ZipException("Not in gzip format");
+        }
+        if (readRequiredByte() != 8) {
+            throw new ZipException("Unsupported gzip compression method");
+        }
+        int flags = readRequiredByte();
+        skipInput(6);  // MTIME, XFL, OS
+        if ((flags & FEXTRA) != 0) {
+            skipInput(readRequiredByte() | (readRequiredByte() << 8));
+        }
+        if ((flags & FNAME) != 0) {
+            skipCString();
+        }
+        if ((flags & FCOMMENT) != 0) {
+            skipCString();
+        }
+        if ((flags & FHCRC) != 0) {
+            skipInput(2);
+        }
+
+        inflater.reset();
+        crc.reset();
+        memberSize = 0;
+        inMember = true;
+        if (inputPos < inputLimit) {
+            inflater.setInput(input, inputPos, inputLimit - inputPos);
+            inputPos = inputLimit;
+        }
+        return true;
+    }
+
+    /**
+     * Verifies the member trailer once the deflate stream has finished.
+     */
+    private void finishMember() throws IOException {
+        // Give back the input the inflater did not consume (start of the trailer)
+        inputPos = inputLimit - inflater.getRemaining();
+        long expectedCrc = readInputInt();
+        long expectedSize = readInputInt();
+        if (expectedCrc != crc.getValue()) {
+            throw new ZipException("Corrupt gzip trailer: CRC mismatch");
+        }
+        if (expectedSize != (memberSize & 0xFFFFFFFFL)) {
+            throw new ZipException("Corrupt gzip trailer: size mismatch");
+        }
+        inMember = false;
+    }
+
+    private boolean refill() throws IOException {
+        int n = in.read(input, 0, input.length);
+        if (n <= 0) {
+            return false;
+        }
+        inputPos = 0;
+        inputLimit = n;
+        return true;
+    }
+
+    private int readInputByte() throws IOException {
+        if (inputPos == inputLimit && !refill()) {
+            return -1;
+        }
+        return input[inputPos++] & 0xFF;
+    }
+
+    private int readRequiredByte() throws IOException {
+        int b = readInputByte();
+        if (b < 0) {
+            throw new EOFException("Unexpected end of gzip stream");
+        }
+        return b;
+    }
+
+    private long readInputInt() throws IOException {
+        return (readRequiredByte() | (readRequiredByte() << 8) | (readRequiredByte() << 16)
+            | ((long) readRequiredByte() << 24)) & 0xFFFFFFFFL;
+    }
+
+    private void skipInput(int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            readRequiredByte();
+        }
+    }
+
+    private void skipCString() throws IOException {
+        while (readRequiredByte() != 0) {
+            // Skip until terminator
+        }
+    }
+}
@@ -0,0 +1,314 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.util.BsonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Demultiplexer for the {@code mongodump --archive} format.
+ *
+ * <p>Archive layout:
+ * <pre>
+ * magic        int32 0x8199E26D
+ * prelude      archive header document, one metadata document per collection, terminator
+ * blocks       namespace header { db, collection, EOF, CRC }, documents of that namespace, terminator
+ *              (blocks of different collections are interleaved; an EOF header closes a namespace)
+ * </pre>
+ * where a terminator is an int32 -1 (0xFFFFFFFF) in place of a document length. The archive ends
+ * at the end of the stream after the last block's terminator; a terminator in place of a
+ * namespace header is rejected.
+ *
+ * <p>Documents are read one at a time into a single reusable buffer and returned as
+ * {@link IndexedBsonDocument} views over it, so memory stays bounded by the largest document no
+ * matter how large the archive or its collections are. A document view is only valid until the
+ * next call to {@link #next()}; prelude documents are small and returned as detached copies.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try (MongoArchiveReader archive = new MongoArchiveReader(new BufferedInputStream(in))) {
+ *     while (archive.next()) {
+ *         String ns = archive.getNamespace();
+ *         IndexedBsonDocument doc = archive.getDocument();  // Valid until next()
+ *         ...
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Not thread-safe.
+ */
+public final class MongoArchiveReader implements Closeable {
+
+    /**
+     * Archive magic number (first four bytes, little-endian).
+     */
+    public static final int MAGIC = 0x8199E26D;
+
+    /**
+     * Default maximum document size (see {@link BsonStreamIterator#DEFAULT_MAX_DOCUMENT_SIZE}).
+     */
+    public static final int DEFAULT_MAX_DOCUMENT_SIZE = BsonStreamIterator.DEFAULT_MAX_DOCUMENT_SIZE;
+
+    private static final int TERMINATOR = -1;
+    private static final int MIN_DOCUMENT_SIZE = 5;
+    private static final int INITIAL_BUFFER_SIZE = 16 * 1024;
+
+    private final InputStream in;
+    private final int maxDocumentSize;
+    private final IndexedBsonDocument header;
+    private final List<IndexedBsonDocument> collectionMetadata;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int documentLength;
+
+    private boolean inBlock;          // Between a namespace header and its terminator
+    private boolean endOfArchive;
+    private String database;
+    private String collection;
+    private String namespace;
+    private IndexedBsonDocument document;
+    private final List<String> completedNamespaces = new ArrayList<String>();
+
+    /**
+     * Opens an archive and reads its magic number and prelude.
+     *
+     * @param in the archive stream (buffer it for best throughput)
+     * @throws IOException if reading fails
+     * @throws BsonParseException if the stream is not a valid archive
+     */
+    public MongoArchiveReader(InputStream in) throws IOException {
+        this(in, DEFAULT_MAX_DOCUMENT_SIZE);
+    }
+
+    /**
+     * Opens an archive with the given document size limit and reads its magic number and prelude.
+     *
+     * <p>A length prefix above maxDocumentSize is rejected before any buffer is allocated for it.
+     *
+     * @param in the archive stream (buffer it for best throughput)
+     * @param maxDocumentSize the largest accepted document in bytes
+     * @throws IOException if reading fails
+     * @throws BsonParseException if the stream is not a valid archive
+     * @throws IllegalArgumentException if in is null or the size is too small
+     */
+    public MongoArchiveReader(InputStream in, int maxDocumentSize) throws IOException {
+        if (in == null) {
+            throw new IllegalArgumentException("InputStream cannot be null");
+        }
+        if (maxDocumentSize < MIN_DOCUMENT_SIZE) {
+            throw new IllegalArgumentException("Max document size must be at least " + MIN_DOCUMENT_SIZE + ": "
+                + maxDocumentSize);
+        }
+        this.in = in;
+        this.maxDocumentSize = maxDocumentSize;
+
+        if (readFully(0, 4) < 4 || BsonUtils.readInt32LittleEndian(buffer, 0) != MAGIC) {
+            throw new BsonParseException("Not a mongodump archive: bad magic number");
+        }
+        if (!readEntry()) {
+            throw new BsonParseException("Archive prelude is missing the archive header");
+        }
+        this.header = detach();
+
+        List<IndexedBsonDocument> metadata = new ArrayList<IndexedBsonDocument>();
+        while (readEntry()) {
+            metadata.add(detach());
+        }
+        this.collectionMetadata = Collections.unmodifiableList(metadata);
+    }
+
+    /**
+     * Returns the archive header from the prelude (version, server_version, tool_version, ...).
+     *
+     * @return the header document
+     */
+    public IndexedBsonDocument getHeader() {
+        return header;
+    }
+
+    /**
+     * Returns the per-collection metadata documents from the prelude
+     * ({@code db}, {@code collection}, {@code metadata}, {@code size}, ...).
+     *
+     * @return unmodifiable list of metadata documents
+     */
+    public List<IndexedBsonDocument> getCollectionMetadata() {
+        return collectionMetadata;
+    }
+
+    /**
+     * Advances to the next document of any namespace.
+     *
+     * @return true if positioned on a document, false at the end of the archive
+     * @throws IOException if reading fails
+     * @throws BsonParseException if the archive is malformed or truncated
+     */
+    public boolean next() throws IOException {
+        document = null;
+        while (!endOfArchive) {
+            if (!inBlock) {
+                if (!startBlock()) {
+                    endOfArchive = true;
+                    return false;
+                }
+                continue;
+            }
+            if (readEntry()) {
+                document = IndexedBsonDocument.parse(buffer, 0, documentLength);
+                return true;
+            }
+            inBlock = false;  // Block terminator
+        }
+        return false;
+    }
+
+    /**
+     * Returns the current document as a view over the shared buffer.
+     *
+     * @return the document, valid until the next call to {@link #next()}
+     * @throws IllegalStateException if not positioned on a document
+     */
+    public IndexedBsonDocument getDocument() {
+        if (document == null) {
+            throw new IllegalStateException("Not positioned on a document");
+        }
+        return document;
+    }
+
+    /**
+     * Returns the namespace ({@code db.collection}) of the current document.
+     *
+     * @return the namespace
+     */
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * Returns the database of the current document.
+     *
+     * @return the database name
+     */
+    public String getDatabase() {
+        return database;
+    }
+
+    /**
+     * Returns the collection of the current document.
+     *
+     * @return the collection name
+     */
+    public String getCollection() {
+        return collection;
+    }
+
+    /**
+     * Returns the namespaces whose EOF block has been read so far, in order.
+     *
+     * @return unmodifiable view of completed namespaces
+     */
+    public List<String> getCompletedNamespaces() {
+        return Collections.unmodifiableList(completedNamespaces);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+
+    // ==================== Internal ====================
+
+    /**
+     * Reads the next namespace header.
+     *
+     * @return false at a clean end of stream
+     */
+    private boolean startBlock() throws IOException {
+        int n = readFully(0, 4);
+        if (n == 0) {
+            return false;
+        }
+        if (n < 4) {
+            throw new BsonParseException("Truncated archive block header");
+        }
+        if (!readDocumentBody()) {
+            throw new BsonParseException("Unexpected terminator in place of a namespace header");
+        }
+        IndexedBsonDocument blockHeader = IndexedBsonDocument.parse(buffer, 0, documentLength);
+        String db = blockHeader.getString("db", "");
+        String coll = blockHeader.getString("collection", "");
+        String ns = db + "." + coll;
+        if (!ns.equals(namespace)) {
+            database = db;
+            collection = coll;
+            namespace = ns;
+        }
+        if (blockHeader.getBoolean("EOF", false)) {
+            completedNamespaces.add(ns);
+        }
+        inBlock = true;
+        return true;
+    }
+
+    /**
+     * Reads a length-prefixed document into the buffer.
+     *
+     * @return false if a terminator was read instead
+     */
+    private boolean readEntry() throws IOException {
+        if (readFully(0, 4) < 4) {
+            throw new BsonParseException("Truncated archive: missing document or terminator");
+        }
+        return readDocumentBody();
+    }
+
+    /**
+     * Reads the rest of the document whose length prefix is at buffer[0..4).
+     */
+    private boolean readDocumentBody() throws IOException {
+        int length = BsonUtils.readInt32LittleEndian(buffer, 0);
+        if (length == TERMINATOR) {
+            return false;
+        }
+        if (length < MIN_DOCUMENT_SIZE) {
+            throw new BsonParseException("Invalid document length in archive: " + length);
+        }
+        if (length > maxDocumentSize) {
+            throw new BsonParseException("Document length in archive " + length + " exceeds the maximum of "
+                + maxDocumentSize + " bytes");
+        }
+        if (length > buffer.length) {
+            byte[] grown = new byte[Math.max(length, (int) Math.min(maxDocumentSize, buffer.length * 2L))];
+            System.arraycopy(buffer, 0, grown, 0, 4);
+            buffer = grown;
+        }
+        if (readFully(4, length - 4) < length - 4) {
+            throw new BsonParseException("Truncated archive: document of " + length + " bytes");
+        }
+        documentLength = length;
+        return true;
+    }
+
+    private IndexedBsonDocument detach() {
+        return IndexedBsonDocument.parse(Arrays.copyOf(buffer, documentLength));
+    }
+
+    private int readFully(int off, int len) throws IOException {
+        int total = 0;
+        while (total < len) {
+            int n = in.read(buffer, off + total, len - total);
+            if (n < 0) {
+                break;
+            }
+            total += n;
+        }
+        return total;
+    }
+}
@@ -1,5 +1,8 @@
 package com.cloud.fastbson.matcher;
 
+import com.cloud.fastbson.reader.ByteSlice;
+
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -13,6 +16,8 @@ import java.util.concurrent.ConcurrentHashMap;
  *   <li>小字段集（&lt;10）：使用数组线性查找</li>
  *   <li>大字段集（≥10）：使用 HashMap 查找</li>
  *   <li>字段名内部化：使用字符串池减少重复对象</li>
+ *   <li>字节级匹配：{@link #indexOf(ByteSlice)} 直接比较缓冲区中的 UTF-8 字段名与预编码的目标字节，
+ *       先按长度和首字节过滤，不创建 String、不查询字符串池，只有匹配的字段才需要进一步处理</li>
  * </ul>
  *
  * <p>线程安全性：
@@ -57,6 +62,21 @@ public class FieldMatcher {
      */
     private final boolean useArraySearch;
 
+    /**
+     * 目标字段名（按目标序号排列）
+     */
+    private final String[] targets;
+
+    /**
+     * 目标字段名的 UTF-8 编码（按目标序号排列）
+     */
+    private final byte[][] targetBytes;
+
+    /**
+     * 大字段集的字节级开放寻址表：槽内存放 目标序号 + 1，0 表示空槽（小字段集为 null）
+     */
+    private final int[] byteTable;
+
     /**
      * 构造函数（使用字段名集合）
      *
@@ -86,6 +106,10 @@ public class FieldMatcher {
                 this.fieldMap.put(internFieldName(field), Boolean.TRUE);
             }
         }
+
+        this.targets = targetFields.toArray(new String[0]);
+        this.targetBytes = encodeTargets(targets);
+        this.byteTable = useArraySearch ? null : buildByteTable(targetBytes);
     }
 
     /**
@@ -116,6 +140,10 @@ public class FieldMatcher {
                 this.fieldMap.put(internFieldName(field), Boolean.TRUE);
             }
         }
+
+        this.targets = targetFields.clone();
+        this.targetBytes = encodeTargets(targets);
+        this.byteTable = useArraySearch ? null : buildByteTable(targetBytes);
     }
 
     /**
@@ -146,6 +174,60 @@ public class FieldMatcher {
         }
     }
 
+    /**
+     * 字节级查找：返回缓冲区中的字段名对应的目标序号（不分配内存）
+     *
+     * <p>小字段集先比较长度和首字节，再逐字节比较；大字段集按 (长度, 首字节, 末字节)
+     * 哈希到开放寻址表，只对候选目标做逐字节比较。
+     *
+     * @param name 字段名的 UTF-8 字节视图（不含结尾 0x00）
+     * @return 目标序号（构造时的顺序），不匹配返回 -1
+     */
+    public int indexOf(ByteSlice name) {
+        if (name == null) {
+            return -1;
+        }
+        int length = name.length();
+        if (length == 0) {
+            return indexOfEmpty();
+        }
+        byte first = name.byteAt(0);
+
+        if (byteTable == null) {
+            // 数组线性查找：长度和首字节过滤
+            for (int i = 0; i < targetBytes.length; i++) {
+                byte[] target = targetBytes[i];
+                if (target.length == length && target[0] == first && name.contentEquals(target)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        // 开放寻址表查找
+        int mask = byteTable.length - 1;
+        int slot = hash(length, first, name.byteAt(length - 1)) & mask;
+        int entry;
+        while ((entry = byteTable[slot]) != 0) {
+            byte[] target = targetBytes[entry - 1];
+            if (target.length == length && target[0] == first && name.contentEquals(target)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 获取目标字段名
+     *
+     * @param index 目标序号（{@link #indexOf(ByteSlice)} 的返回值）
+     * @return 目标字段名
+     */
+    public String getTargetField(int index) {
+        return targets[index];
+    }
+
     /**
      * 获取目标字段数量
      *
@@ -164,6 +246,52 @@ public class FieldMatcher {
         return useArraySearch;
     }
 
+    private int indexOfEmpty() {
+        for (int i = 0; i < targetBytes.length; i++) {
+            if (targetBytes[i].length == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 预编码目标字段名为 UTF-8
+     */
+    private static byte[][] encodeTargets(String[] fields) {
+        byte[][] encoded = new byte[fields.length][];
+        for (int i = 0; i < fields.length; i++) {
+            encoded[i] = fields[i].getBytes(StandardCharsets.UTF_8);
+        }
+        return encoded;
+    }
+
+    /**
+     * 构建字节级开放寻址表（容量为 2 的幂且至少为目标数量的 2 倍）
+     */
+    private static int[] buildByteTable(byte[][] encoded) {
+        int capacity = Integer.highestOneBit(Math.max(encoded.length, 1) * 2 - 1) << 1;
+        int[] table = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < encoded.length; i++) {
+            byte[] target = encoded[i];
+            if (target.length == 0) {
+                continue;  // 空字段名由 indexOfEmpty() 处理
+            }
+            int slot = hash(target.length, target[0], target[target.length - 1]) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = i + 1;
+        }
+        return table;
+    }
+
+    private static int hash(int length, byte first, byte last) {
+        int h = (length * 31 + first) * 31 + last;
+        return h ^ (h >>> 7);
+    }
+
     /**
      * 内部化字段名（使用字符串池）
      *
@@ -0,0 +1,307 @@
+package com.cloud.fastbson.matcher;
+
+import com.cloud.fastbson.reader.ByteSlice;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 点号路径前缀树，用于部分解析时按层匹配嵌套字段（如 {@code address.city}、{@code payload.meta.ts}）。
+ *
+ * <p>每个目标路径按 "." 拆分为若干段，逐层插入树中：
+ * <ul>
+ *   <li>中间节点：对应需要进入的子文档（或数组），其余兄弟子树直接跳过</li>
+ *   <li>终止节点：对应目标字段，记录目标序号与原始路径（作为结果 Map 的 key，无需重复分配）</li>
+ *   <li>每个节点记录其子树内的全部目标序号，便于按层提前退出</li>
+ * </ul>
+ *
+ * <p>字段名本身可以包含 "."（BSON 允许），因此同一路径的每种连续段组合都会插入：
+ * 目标 {@code a.b.c} 既可匹配嵌套的 a → b → c，也可匹配顶层字面量字段 {@code "a.b.c"}
+ * 或 a → {@code "b.c"} 等形式。路径段数很少，组合数量可以忽略。
+ *
+ * <p>解析时每层通过 {@link Node#child(ByteSlice)} 直接用缓冲区中的字段名字节查找子节点
+ * （基于 {@link FieldMatcher#indexOf(ByteSlice)}），被跳过的字段不会创建 String。
+ *
+ * <p>线程安全性：构建完成后不可变，可在多个线程间共享。
+ *
+ * @author FastBSON
+ * @since 1.0.0
+ */
+public final class FieldPathTrie {
+
+    /**
+     * 根节点（对应顶层文档）
+     */
+    private final Node root;
+
+    /**
+     * 目标路径（按目标序号排列，已去重）
+     */
+    private final String[] targets;
+
+    /**
+     * 是否包含嵌套路径（否则等价于顶层字段匹配）
+     */
+    private final boolean nested;
+
+    /**
+     * 构造函数
+     *
+     * @param targetPaths 目标路径（点号分隔）
+     * @throws IllegalArgumentException 如果目标为空、包含 null 或空字符串
+     */
+    public FieldPathTrie(Collection<String> targetPaths) {
+        if (targetPaths == null || targetPaths.isEmpty()) {
+            throw new IllegalArgumentException("Target fields cannot be null or empty");
+        }
+        Set<String> distinct = new LinkedHashSet<String>(targetPaths.size() * 2);
+        for (String path : targetPaths) {
+            if (path == null || path.isEmpty()) {
+                throw new IllegalArgumentException("Target field cannot be null or empty");
+            }
+            distinct.add(path);
+        }
+
+        this.targets = distinct.toArray(new String[0]);
+        this.root = new Node(null);
+        boolean hasNested = false;
+        for (int id = 0; id < targets.length; id++) {
+            String[] segments = targets[id].split("\\.", -1);
+            hasNested |= segments.length > 1;
+            insert(root, segments, 0, id);
+        }
+        root.compile();
+        this.nested = hasNested;
+    }
+
+    /**
+     * 获取根节点
+     *
+     * @return 根节点
+     */
+    public Node getRoot() {
+        return root;
+    }
+
+    /**
+     * 获取目标数量（去重后）
+     *
+     * @return 目标数量
+     */
+    public int getTargetCount() {
+        return targets.length;
+    }
+
+    /**
+     * 获取目标路径
+     *
+     * @param targetId 目标序号
+     * @return 原始路径字符串
+     */
+    public String getTarget(int targetId) {
+        return targets[targetId];
+    }
+
+    /**
+     * 是否包含嵌套路径
+     *
+     * @return 任一目标包含 "." 时返回 true
+     */
+    public boolean isNested() {
+        return nested;
+    }
+
+    /**
+     * 插入 segments[from..] 的所有连续段组合
+     */
+    private void insert(Node node, String[] segments, int from, int id) {
+        node.addTargetId(id);
+        StringBuilder key = new StringBuilder();
+        for (int to = from; to < segments.length; to++) {
+            if (to > from) {
+                key.append('.');
+            }
+            key.append(segments[to]);
+            Node child = node.getOrCreate(key.toString());
+            if (to == segments.length - 1) {
+                child.addTargetId(id);
+                child.targetId = id;
+                child.path = targets[id];
+            } else {
+                insert(child, segments, to + 1, id);
+            }
+        }
+    }
+
+    /**
+     * 前缀树节点
+     */
+    public static final class Node {
+
+        /**
+         * 本层字段名（根节点为 null）
+         */
+        private final String name;
+
+        /**
+         * 子节点（按字段名索引）
+         */
+        private Map<String, Node> children = Collections.emptyMap();
+
+        /**
+         * 子节点字段名的字节级匹配器（无子节点时为 null）
+         */
+        private FieldMatcher childMatcher;
+
+        /**
+         * 子节点（与 childMatcher 的目标序号对应）
+         */
+        private Node[] childNodes;
+
+        /**
+         * 终止节点对应的目标序号（-1 表示非终止节点）
+         */
+        private int targetId = -1;
+
+        /**
+         * 终止节点对应的原始路径
+         */
+        private String path;
+
+        /**
+         * 子树内的全部目标序号（含自身）
+         */
+        private int[] targetIds = new int[0];
+
+        private Node(String name) {
+            this.name = name;
+        }
+
+        /**
+         * 查找子节点
+         *
+         * @param fieldName 字段名
+         * @return 子节点，不存在时返回 null
+         */
+        public Node child(String fieldName) {
+            return children.get(fieldName);
+        }
+
+        /**
+         * 按缓冲区中的字段名字节查找子节点（不分配内存）
+         *
+         * @param fieldName 字段名的 UTF-8 字节视图
+         * @return 子节点，不存在时返回 null
+         */
+        public Node child(ByteSlice fieldName) {
+            if (childMatcher == null) {
+                return null;
+            }
+            int index = childMatcher.indexOf(fieldName);
+            return index < 0 ? null : childNodes[index];
+        }
+
+        /**
+         * 获取全部子节点
+         *
+         * @return 子节点集合
+         */
+        public Collection<Node> children() {
+            return children.values();
+        }
+
+        /**
+         * 是否有子节点（需要进入子文档）
+         *
+         * @return 有子节点时返回 true
+         */
+        public boolean hasChildren() {
+            return !children.isEmpty();
+        }
+
+        /**
+         * 是否为目标字段
+         *
+         * @return 终止节点返回 true
+         */
+        public boolean isTarget() {
+            return targetId >= 0;
+        }
+
+        /**
+         * 获取目标序号
+         *
+         * @return 目标序号，非终止节点返回 -1
+         */
+        public int getTargetId() {
+            return targetId;
+        }
+
+        /**
+         * 获取目标路径（结果 Map 的 key）
+         *
+         * @return 原始路径，非终止节点返回 null
+         */
+        public String getPath() {
+            return path;
+        }
+
+        /**
+         * 获取本层字段名
+         *
+         * @return 字段名，根节点返回 null
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * 获取子树内的全部目标序号
+         *
+         * @return 目标序号数组（调用方不应修改）
+         */
+        public int[] getTargetIds() {
+            return targetIds;
+        }
+
+        private Node getOrCreate(String key) {
+            if (children.isEmpty()) {
+                children = new HashMap<String, Node>(4);
+            }
+            Node child = children.get(key);
+            if (child == null) {
+                child = new Node(key);
+                children.put(key, child);
+            }
+            return child;
+        }
+
+        private void compile() {
+            if (children.isEmpty()) {
+                return;
+            }
+            String[] names = children.keySet().toArray(new String[0]);
+            childMatcher = new FieldMatcher(names);
+            childNodes = new Node[names.length];
+            for (int i = 0; i < names.length; i++) {
+                childNodes[i] = children.get(names[i]);
+                childNodes[i].compile();
+            }
+        }
+
+        private void addTargetId(int id) {
+            for (int existing : targetIds) {
+                if (existing == id) {
+                    return;
+                }
+            }
+            targetIds = Arrays.copyOf(targetIds, targetIds.length + 1);
+            targetIds[targetIds.length - 1] = id;
+        }
+    }
+}
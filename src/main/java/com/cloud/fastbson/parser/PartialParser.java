@@ -3,11 +3,14 @@ package com.cloud.fastbson.parser;
 import com.cloud.fastbson.document.BsonArray;
 import com.cloud.fastbson.document.BsonDocument;
 import com.cloud.fastbson.handler.TypeHandler;
-import com.cloud.fastbson.matcher.FieldMatcher;
+import com.cloud.fastbson.matcher.FieldPathTrie;
+import com.cloud.fastbson.reader.BsonCursor;
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
-import com.cloud.fastbson.skipper.ValueSkipper;
 import com.cloud.fastbson.util.BsonType;
 
+import java.nio.ByteBuffer;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
@@ -19,6 +22,8 @@ import java.util.Set;
  * <ul>
  *   <li>只解析需要的字段，跳过其他字段</li>
  *   <li>提前退出：找到所有目标字段后立即停止解析</li>
+ *   <li>嵌套路径：支持 {@code "address.city"} 形式的点号路径，只进入目标路径上的子文档，
+ *       结果 Map 以完整路径为 key</li>
  *   <li>性能优化：避免解析整个文档</li>
  * </ul>
  *
@@ -29,7 +34,7 @@ import java.util.Set;
  * <p>使用示例：
  * <pre>{@code
  * // 创建解析器
- * PartialParser parser = new PartialParser("name", "age", "email");
+ * PartialParser parser = new PartialParser("name", "age", "address.city");
  * parser.setEarlyExit(true);
  *
  * // 解析 BSON 数据
@@ -39,6 +44,7 @@ import java.util.Set;
  * // 获取字段值
  * String name = (String) result.get("name");
  * Integer age = (Integer) result.get("age");
+ * String city = (String) result.get("address.city");
  * }</pre>
  *
  * @author FastBSON
@@ -47,9 +53,9 @@ import java.util.Set;
 public class PartialParser {
 
     /**
-     * 字段匹配器
+     * 目标路径前缀树（支持点号分隔的嵌套路径）
      */
-    private final FieldMatcher fieldMatcher;
+    private final FieldPathTrie pathTrie;
 
     /**
      * 类型处理器（用于解析匹配的字段）
@@ -64,13 +70,13 @@ public class PartialParser {
     /**
      * 构造函数（使用字段名数组）
      *
-     * @param targetFields 目标字段名数组
+     * @param targetFields 目标字段名数组（支持点号分隔的嵌套路径）
      */
     public PartialParser(String... targetFields) {
         if (targetFields == null || targetFields.length == 0) {
             throw new IllegalArgumentException("Target fields cannot be null or empty");
         }
-        this.fieldMatcher = new FieldMatcher(targetFields);
+        this.pathTrie = new FieldPathTrie(Arrays.asList(targetFields));
         this.typeHandler = new TypeHandler();
         this.earlyExit = true; // 默认启用提前退出
     }
@@ -78,13 +84,13 @@ public class PartialParser {
     /**
      * 构造函数（使用字段名集合）
      *
-     * @param targetFields 目标字段名集合
+     * @param targetFields 目标字段名集合（支持点号分隔的嵌套路径）
      */
     public PartialParser(Set<String> targetFields) {
         if (targetFields == null || targetFields.isEmpty()) {
             throw new IllegalArgumentException("Target fields cannot be null or empty");
         }
-        this.fieldMatcher = new FieldMatcher(targetFields);
+        this.pathTrie = new FieldPathTrie(targetFields);
         this.typeHandler = new TypeHandler();
         this.earlyExit = true;
     }
@@ -122,6 +128,42 @@ public class PartialParser {
         return parseDocument(reader);
     }
 
+    /**
+     * 解析 ByteBuffer（堆内或直接内存）中的 BSON 数据，提取目标字段
+     *
+     * <p>零拷贝：直接从 buffer 的 position 处读取，不会复制到堆内 byte[]，
+     * 也不会修改 buffer 的 position、limit 和字节序。
+     *
+     * @param buffer BSON 数据（从 position 到 limit）
+     * @return 包含目标字段的 Map
+     */
+    public Map<String, Object> parseBuffer(ByteBuffer buffer) {
+        if (buffer == null || buffer.remaining() < 5) {
+            throw new IllegalArgumentException("Invalid BSON data");
+        }
+
+        BsonReader reader = BsonReader.wrap(buffer);
+        return parseDocument(reader);
+    }
+
+    /**
+     * 解析任意 {@link BsonInput} 中的 BSON 数据，提取目标字段
+     *
+     * <p>适用于分段到达的数据（如 {@link BsonInput#composite(ByteBuffer...)}），
+     * 无需先拼接成连续的 byte[]；跨段的值由 BsonInput 透明处理。
+     *
+     * @param input BSON 数据（从索引 0 开始）
+     * @return 包含目标字段的 Map
+     */
+    public Map<String, Object> parseInput(BsonInput input) {
+        if (input == null || input.length() < 5) {
+            throw new IllegalArgumentException("Invalid BSON data");
+        }
+
+        BsonReader reader = BsonReader.wrap(input);
+        return parseDocument(reader);
+    }
+
     /**
      * 解析 BSON 文档
      *
@@ -130,61 +172,144 @@ public class PartialParser {
      */
     private Map<String, Object> parseDocument(BsonReader reader) {
         // 创建结果 Map
-        int targetFieldCount = fieldMatcher.getTargetFieldCount();
+        int targetFieldCount = pathTrie.getTargetCount();
         Map<String, Object> result = new HashMap<String, Object>(
             (int) (targetFieldCount / 0.75) + 1
         );
 
-        // 读取文档长度
-        reader.readInt32();
-
-        // 已找到的字段数量（用于提前退出）
-        int foundCount = 0;
-
-        // 创建 ValueSkipper（用于跳过不需要的字段）
-        ValueSkipper skipper = new ValueSkipper(reader);
+        // 游标读取文档长度并定位到根文档内部
+        BsonCursor cursor = new BsonCursor(reader);
 
-        // 遍历文档元素
-        while (true) {
-            // 读取类型码
-            byte type = reader.readByte();
+        // 已找到的目标（按目标序号，用于去重和提前退出）
+        boolean[] found = new boolean[targetFieldCount];
+        parseLevel(cursor, pathTrie.getRoot(), result, found);
+        return result;
+    }
 
-            // 如果遇到文档结束标记（0x00），退出循环
-            if (type == 0x00) {
-                break;
+    /**
+     * 扫描当前层级（根文档或嵌套子文档）的元素
+     *
+     * <p>只进入目标路径上的子文档，兄弟子树由 cursor.next() 自动跳过；
+     * 启用提前退出时，本层子树内的目标全部找到后立即返回。
+     *
+     * @param cursor 位于当前层级内部的游标
+     * @param node 当前层级对应的前缀树节点
+     * @param result 结果 Map
+     * @param found 已找到的目标
+     */
+    private void parseLevel(BsonCursor cursor, FieldPathTrie.Node node,
+                            Map<String, Object> result, boolean[] found) {
+        // 遍历文档元素（未读取的字段值由 cursor.next() 自动跳过）
+        while (cursor.next()) {
+            // 判断是否在目标路径上（字节级匹配，跳过的字段不创建 String）
+            FieldPathTrie.Node child = node.child(cursor.currentName());
+            if (child == null || allFound(child, found)) {
+                continue;
             }
 
-            // 读取字段名
-            String fieldName = reader.readCString();
-
-            // 判断是否为目标字段
-            if (fieldMatcher.matches(fieldName)) {
+            if (child.isTarget()) {
                 // 解析字段值 (直接使用parser，避免装箱转换)
-                Object value = typeHandler.getParsedValue(reader, type);
-                // 对于BsonDocument/BsonArray，需要转换为普通Object以保持API兼容
-                if (value instanceof BsonDocument) {
-                    // 暂时保留装箱行为以保持API兼容性
-                    // TODO: 考虑提供返回BsonDocument的高性能API
-                    value = convertDocumentToMap((BsonDocument) value);
-                } else if (value instanceof BsonArray) {
-                    value = convertArrayToList((BsonArray) value);
+                Object value = toPlainValue(cursor.readValue(typeHandler));
+                found[child.getTargetId()] = true;
+                result.put(child.getPath(), value);
+
+                // 既是目标又是其他目标的前缀（如 "address" 与 "address.city"）：从已解析的值中提取
+                if (child.hasChildren()) {
+                    resolveFromValue(child, value, result, found);
+                }
+            } else if (child.hasChildren()) {
+                byte type = cursor.currentType();
+                if (type == BsonType.DOCUMENT || type == BsonType.ARRAY) {
+                    // 只进入目标路径上的子文档
+                    cursor.stepInto();
+                    parseLevel(cursor, child, result, found);
+                    cursor.stepOut();
                 }
-                result.put(fieldName, value);
+            }
 
-                // 增加已找到的字段计数
-                foundCount++;
+            // 提前退出：如果本层子树内的目标已全部找到，立即返回
+            if (earlyExit && allFound(node, found)) {
+                break;
+            }
+        }
+    }
 
-                // 提前退出：如果已找到所有目标字段，立即返回
-                if (earlyExit && foundCount >= targetFieldCount) {
-                    break;
+    /**
+     * 从已解析的 Map/List 值中提取前缀节点下的目标
+     */
+    private void resolveFromValue(FieldPathTrie.Node node, Object value,
+                                  Map<String, Object> result, boolean[] found) {
+        for (FieldPathTrie.Node child : node.children()) {
+            Object childValue;
+            if (value instanceof Map) {
+                Map<?, ?> map = (Map<?, ?>) value;
+                if (!map.containsKey(child.getName())) {
+                    continue;
+                }
+                childValue = map.get(child.getName());
+            } else if (value instanceof java.util.List) {
+                java.util.List<?> list = (java.util.List<?>) value;
+                int index = parseIndex(child.getName());
+                if (index < 0 || index >= list.size()) {
+                    continue;
                 }
+                childValue = list.get(index);
             } else {
-                // 跳过不需要的字段值
-                skipper.skipValue(type);
+                continue;
+            }
+
+            if (child.isTarget() && !found[child.getTargetId()]) {
+                found[child.getTargetId()] = true;
+                result.put(child.getPath(), childValue);
+            }
+            if (child.hasChildren()) {
+                resolveFromValue(child, childValue, result, found);
             }
         }
+    }
 
-        return result;
+    /**
+     * 判断节点子树内的目标是否已全部找到
+     */
+    private static boolean allFound(FieldPathTrie.Node node, boolean[] found) {
+        for (int id : node.getTargetIds()) {
+            if (!found[id]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 解析数组下标（非数字返回 -1）
+     */
+    private static int parseIndex(String name) {
+        if (name.isEmpty() || name.length() > 9) {
+            return -1;
+        }
+        int index = 0;
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            index = index * 10 + (c - '0');
+        }
+        return index;
+    }
+
+    /**
+     * 对于BsonDocument/BsonArray，需要转换为普通Object以保持API兼容
+     */
+    private Object toPlainValue(Object value) {
+        if (value instanceof BsonDocument) {
+            // 暂时保留装箱行为以保持API兼容性
+            // TODO: 考虑提供返回BsonDocument的高性能API
+            return convertDocumentToMap((BsonDocument) value);
+        } else if (value instanceof BsonArray) {
+            return convertArrayToList((BsonArray) value);
+        }
+        return value;
     }
 
     /**
@@ -193,7 +318,7 @@ public class PartialParser {
      * @return 目标字段数量
      */
     public int getTargetFieldCount() {
-        return fieldMatcher.getTargetFieldCount();
+        return pathTrie.getTargetCount();
     }
 
     /**
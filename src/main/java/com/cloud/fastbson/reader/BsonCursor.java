@@ -0,0 +1,351 @@
+package com.cloud.fastbson.reader;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.handler.TypeHandler;
+import com.cloud.fastbson.skipper.ValueSkipper;
+import com.cloud.fastbson.util.BsonType;
+
+import java.util.Arrays;
+
+/**
+ * Pull-style cursor over the elements of a BSON document.
+ *
+ * <p>This is the low-level API for custom decoders: it replaces hand-written
+ * {@code readByte()/readCString()/skipValue()} loops over {@link BsonReader}.
+ * Field names are exposed as a reusable {@link ByteSlice} and compared with
+ * {@link #currentNameEquals(byte[])}, so scanning for a field never allocates
+ * a {@code String} per name.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * byte[] AGE = "age".getBytes(StandardCharsets.UTF_8);
+ * BsonCursor cursor = new BsonCursor(bsonData);   // Positioned inside the root document
+ * while (cursor.next()) {
+ *     if (cursor.currentNameEquals(AGE) && cursor.currentType() == BsonType.INT32) {
+ *         int age = cursor.readInt32();
+ *     } else if (cursor.currentType() == BsonType.DOCUMENT) {
+ *         cursor.stepInto();
+ *         ...                                     // next() now iterates the embedded document
+ *         cursor.stepOut();
+ *     }
+ *     // Values that are not read are skipped by the next call to next()
+ * }
+ * }</pre>
+ *
+ * <p>Each value can be read, skipped or stepped into at most once. Reads check
+ * the current type and throw {@link IllegalArgumentException} on a mismatch.
+ * A container is also left at its declared length when its 0x00 terminator is
+ * missing, the same leniency as the document parsers.
+ *
+ * <p>Not thread-safe.
+ */
+public final class BsonCursor {
+
+    private static final byte NONE = BsonType.END_OF_DOCUMENT;
+
+    private final BsonReader reader;
+    private final BsonInput input;
+    private final ValueSkipper skipper;
+    private final ByteSlice name = new ByteSlice();
+    private final ByteSlice value = new ByteSlice();
+
+    private int[] containerEnds = new int[8];   // Position after each open container's terminator
+    private int depth;
+
+    private byte type = NONE;                  // Type of the current element, NONE if there is none
+    private boolean consumed;                  // Whether the current value has been read/skipped
+    private boolean exhausted;                 // Whether the current container's terminator was read
+
+    /**
+     * Creates a cursor over a whole BSON document.
+     *
+     * @param bsonData the document bytes
+     */
+    public BsonCursor(byte[] bsonData) {
+        this(new BsonReader(bsonData));
+    }
+
+    /**
+     * Creates a cursor over the document starting at the reader's position.
+     *
+     * <p>The document length prefix is consumed immediately, so the cursor starts inside the
+     * root document and the first {@link #next()} moves to its first element. The reader is
+     * shared: its position follows the cursor.
+     *
+     * @param reader the reader
+     */
+    public BsonCursor(BsonReader reader) {
+        this.reader = reader;
+        this.input = reader.getInput();
+        this.skipper = new ValueSkipper(reader);
+        enter();
+    }
+
+    // ==================== Navigation ====================
+
+    /**
+     * Moves to the next element of the current container, skipping the current value if it
+     * was not read.
+     *
+     * @return true if positioned on an element, false at the end of the container
+     * @throws IllegalStateException if the cursor stepped out of the root document
+     */
+    public boolean next() {
+        if (depth == 0) {
+            throw new IllegalStateException("Cursor is outside of the root document");
+        }
+        if (type != NONE && !consumed) {
+            skipper.skipValue(type);
+        }
+        type = NONE;
+        if (exhausted) {
+            return false;
+        }
+        if (reader.position() >= containerEnds[depth - 1]) {
+            exhausted = true;  // Terminator missing: the container ends at its declared length
+            return false;
+        }
+
+        byte t = reader.readByte();
+        if (t == BsonType.END_OF_DOCUMENT) {
+            exhausted = true;
+            return false;
+        }
+
+        int start = reader.position();
+        int end = input.indexOf((byte) 0, start);
+        if (end < 0 || end >= reader.length()) {
+            throw new BsonParseException("Unterminated field name at offset " + start);
+        }
+        name.set(input, start, end - start);
+        reader.position(end + 1);
+        type = t;
+        consumed = false;
+        return true;
+    }
+
+    /**
+     * Skips the current value.
+     *
+     * @throws IllegalStateException if there is no unread current value
+     */
+    public void skip() {
+        checkUnread();
+        skipper.skipValue(type);
+        consumed = true;
+    }
+
+    /**
+     * Enters the current embedded document or array; {@link #next()} then iterates its elements.
+     *
+     * @throws IllegalArgumentException if the current value is not a document or array
+     * @throws IllegalStateException if there is no unread current value
+     */
+    public void stepInto() {
+        checkUnread();
+        if (type != BsonType.DOCUMENT && type != BsonType.ARRAY) {
+            throw new IllegalArgumentException("Current value is not a document or array, but 0x"
+                + Integer.toHexString(type & 0xFF));
+        }
+        consumed = true;
+        enter();
+    }
+
+    /**
+     * Leaves the current container, jumping past its remaining elements using its length prefix.
+     *
+     * <p>Afterwards the cursor is on the (consumed) container value in the parent, and
+     * {@link #next()} continues with the parent's next element. Stepping out of the root
+     * document positions the reader right after it.
+     *
+     * @throws IllegalStateException if the cursor is already outside of the root document
+     */
+    public void stepOut() {
+        if (depth == 0) {
+            throw new IllegalStateException("Cursor is outside of the root document");
+        }
+        reader.position(containerEnds[--depth]);
+        type = NONE;
+        exhausted = false;
+    }
+
+    /**
+     * Returns the nesting depth (1 inside the root document, 0 after stepping out of it).
+     *
+     * @return the depth
+     */
+    public int depth() {
+        return depth;
+    }
+
+    // ==================== Current Element ====================
+
+    /**
+     * Returns the type code of the current element.
+     *
+     * @return the BSON type, or {@link BsonType#END_OF_DOCUMENT} if not positioned on an element
+     */
+    public byte currentType() {
+        return type;
+    }
+
+    /**
+     * Returns the name of the current element as a reusable slice (valid until the next move).
+     *
+     * @return the name slice
+     * @throws IllegalStateException if not positioned on an element
+     */
+    public ByteSlice currentName() {
+        checkPositioned();
+        return name;
+    }
+
+    /**
+     * Compares the current element name with pre-encoded UTF-8 bytes, without allocating.
+     *
+     * @param utf8Name the expected name
+     * @return true if the names are equal
+     * @throws IllegalStateException if not positioned on an element
+     */
+    public boolean currentNameEquals(byte[] utf8Name) {
+        checkPositioned();
+        return name.contentEquals(utf8Name);
+    }
+
+    // ==================== Value Readers ====================
+
+    /**
+     * Reads the current Int32 value.
+     *
+     * @return the value
+     */
+    public int readInt32() {
+        consume(BsonType.INT32);
+        return reader.readInt32();
+    }
+
+    /**
+     * Reads the current Int64 value.
+     *
+     * @return the value
+     */
+    public long readInt64() {
+        consume(BsonType.INT64);
+        return reader.readInt64();
+    }
+
+    /**
+     * Reads the current Double value.
+     *
+     * @return the value
+     */
+    public double readDouble() {
+        consume(BsonType.DOUBLE);
+        return reader.readDouble();
+    }
+
+    /**
+     * Reads the current Boolean value.
+     *
+     * @return the value
+     */
+    public boolean readBoolean() {
+        consume(BsonType.BOOLEAN);
+        return reader.readByte() != 0;
+    }
+
+    /**
+     * Reads the current UTC DateTime value.
+     *
+     * @return milliseconds since the Unix epoch
+     */
+    public long readDateTime() {
+        consume(BsonType.DATE_TIME);
+        return reader.readInt64();
+    }
+
+    /**
+     * Reads the current String value (allocates the String).
+     *
+     * @return the value
+     */
+    public String readString() {
+        consume(BsonType.STRING);
+        return reader.readString();
+    }
+
+    /**
+     * Reads the current String value as a reusable UTF-8 slice (valid until the next move).
+     *
+     * @return the string bytes, without the trailing 0x00
+     */
+    public ByteSlice readStringSlice() {
+        consume(BsonType.STRING);
+        int length = reader.readInt32();
+        value.set(input, reader.position(), length - 1);
+        reader.skip(length);
+        return value;
+    }
+
+    /**
+     * Reads the current value of any type through the given handler.
+     *
+     * @param handler the type handler used to decode the value
+     * @return the decoded value
+     */
+    public Object readValue(TypeHandler handler) {
+        checkUnread();
+        consumed = true;
+        return handler.getParsedValue(reader, type);
+    }
+
+    /**
+     * Hands the current value to a custom decoder: marks it consumed and returns the shared
+     * reader, positioned at the first byte of the value. The caller must read the whole value.
+     *
+     * @return the reader
+     */
+    public BsonReader valueReader() {
+        checkUnread();
+        consumed = true;
+        return reader;
+    }
+
+    // ==================== Internal ====================
+
+    private void enter() {
+        int start = reader.position();
+        int length = reader.readInt32();
+        if (length < 4) {
+            throw new BsonParseException("Invalid document length " + length + " at offset " + start);
+        }
+        if (depth == containerEnds.length) {
+            containerEnds = Arrays.copyOf(containerEnds, depth * 2);
+        }
+        containerEnds[depth++] = start + length;
+        type = NONE;
+        exhausted = false;
+    }
+
+    private void consume(byte expected) {
+        checkUnread();
+        if (type != expected) {
+            throw new IllegalArgumentException("Current value is not 0x" + Integer.toHexString(expected & 0xFF)
+                + ", but 0x" + Integer.toHexString(type & 0xFF));
+        }
+        consumed = true;
+    }
+
+    private void checkPositioned() {
+        if (type == NONE) {
+            throw new IllegalStateException("Cursor is not positioned on an element");
+        }
+    }
+
+    private void checkUnread() {
+        checkPositioned();
+        if (consumed) {
+            throw new IllegalStateException("Current value has already been consumed");
+        }
+    }
+}
@@ -0,0 +1,147 @@
+package com.cloud.fastbson.reader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Random-access view over BSON bytes.
+ *
+ * <p>Abstracts the storage behind a BSON document so that the zero-copy
+ * parsers ({@link BsonReader}, {@link com.cloud.fastbson.document.IndexedBsonDocument},
+ * {@link com.cloud.fastbson.document.IndexedBsonArray}) can operate on a heap
+ * {@code byte[]} or a heap/direct {@link ByteBuffer} without first copying the
+ * data onto the heap.
+ *
+ * <p>All indexes are relative to the start of the input (index 0 is the first
+ * byte the input exposes) and all multi-byte values are read in little-endian
+ * order as per BSON specification, regardless of the byte order configured on
+ * any underlying buffer.
+ *
+ * <p>Implementations are expected to be immutable views; they never change the
+ * position, limit or byte order of the storage they wrap.
+ *
+ * @see ByteArrayBsonInput
+ * @see ByteBufferBsonInput
+ * @see CompositeBsonInput
+ */
+public interface BsonInput {
+
+    /**
+     * Wraps a byte array (zero-copy).
+     *
+     * @param data the BSON data
+     * @return input backed by the array
+     * @throws IllegalArgumentException if data is null
+     */
+    static BsonInput wrap(byte[] data) {
+        return new ByteArrayBsonInput(data);
+    }
+
+    /**
+     * Wraps the remaining bytes of a heap or direct buffer (zero-copy).
+     *
+     * <p>Index 0 of the returned input maps to {@code buffer.position()}.
+     * The buffer's own position, limit and byte order are left untouched.
+     *
+     * @param buffer the BSON data
+     * @return input backed by the buffer
+     * @throws IllegalArgumentException if buffer is null
+     */
+    static BsonInput wrap(ByteBuffer buffer) {
+        return new ByteBufferBsonInput(buffer);
+    }
+
+    /**
+     * Concatenates the remaining bytes of several heap or direct buffers (zero-copy).
+     *
+     * <p>Use this for documents that arrive split across several read buffers;
+     * values crossing segment boundaries are handled transparently.
+     *
+     * @param segments the BSON data segments, in order
+     * @return input spanning all segments
+     * @throws IllegalArgumentException if segments or any segment is null
+     */
+    static BsonInput composite(ByteBuffer... segments) {
+        return new CompositeBsonInput(segments);
+    }
+
+    /**
+     * Returns the number of bytes exposed by this input.
+     *
+     * @return the input length
+     */
+    int length();
+
+    /**
+     * Reads a single byte.
+     *
+     * @param index the byte index
+     * @return the byte value
+     */
+    byte getByte(int index);
+
+    /**
+     * Reads a 32-bit integer in little-endian byte order.
+     *
+     * @param index the index of the first byte
+     * @return the int32 value
+     */
+    int getInt32(int index);
+
+    /**
+     * Reads a 64-bit integer in little-endian byte order.
+     *
+     * @param index the index of the first byte
+     * @return the int64 value
+     */
+    long getInt64(int index);
+
+    /**
+     * Reads a 64-bit IEEE 754 double in little-endian byte order.
+     *
+     * @param index the index of the first byte
+     * @return the double value
+     */
+    default double getDouble(int index) {
+        return Double.longBitsToDouble(getInt64(index));
+    }
+
+    /**
+     * Finds the first occurrence of a byte at or after the given index.
+     *
+     * <p>Used to locate C-string terminators without materializing the string.
+     *
+     * @param value the byte to look for
+     * @param fromIndex the index to start searching from
+     * @return the index of the byte, or -1 if it does not occur before {@link #length()}
+     */
+    int indexOf(byte value, int fromIndex);
+
+    /**
+     * Decodes UTF-8 bytes into a String.
+     *
+     * @param index the index of the first byte
+     * @param length the number of bytes to decode
+     * @return the decoded string
+     */
+    String getString(int index, int length);
+
+    /**
+     * Copies bytes into the destination array.
+     *
+     * @param index the index of the first byte to copy
+     * @param dst the destination array
+     * @param dstOffset the offset in the destination array
+     * @param length the number of bytes to copy
+     */
+    void getBytes(int index, byte[] dst, int dstOffset, int length);
+
+    /**
+     * Returns the backing array when index {@code i} of this input is exactly
+     * element {@code i} of a heap array, enabling zero-copy fast paths.
+     *
+     * @return the backing array, or null if the input is not a plain byte array
+     */
+    default byte[] array() {
+        return null;
+    }
+}
@@ -2,6 +2,7 @@ package com.cloud.fastbson.reader;
 
 import com.cloud.fastbson.util.BsonUtils;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 
 /**
@@ -10,13 +11,27 @@ import java.nio.charset.StandardCharsets;
  * <p>Provides methods to read BSON primitive types from a byte array
  * in little-endian byte order as per BSON specification.
  *
+ * <p>Besides heap byte arrays, the reader can operate on any {@link BsonInput},
+ * e.g. a direct {@link ByteBuffer} from an NIO channel, without copying the
+ * data onto the heap first. Byte arrays keep their direct array-access path.
+ *
+ * <p>By default every read checks that enough bytes remain and reports underflow with an
+ * {@link IllegalArgumentException}. Input that has already been validated (for example with
+ * {@link com.cloud.fastbson.util.BsonValidator} or bytes written by this application) can be read
+ * in trusted mode via {@link #setTrusted(boolean)}, which drops those checks; malformed input then
+ * fails with whatever exception the underlying storage raises, or reads bytes past the reader's
+ * logical length when the backing buffer is larger.
+ *
  * <p>This class is NOT thread-safe and should be used within a single thread
  * or protected by ThreadLocal for multi-threaded scenarios.
  */
 public class BsonReader {
 
-    private byte[] buffer;
+    private byte[] buffer;      // Backing array (null when reading a non-array input)
+    private BsonInput input;    // Generic input (created lazily for arrays)
+    private int limit;
     private int position;
+    private boolean trusted;    // Skip per-read bounds checks (input validated beforehand)
 
     /**
      * Creates a new BsonReader with the given byte array.
@@ -29,9 +44,39 @@ public class BsonReader {
             throw new IllegalArgumentException("Buffer cannot be null");
         }
         this.buffer = buffer;
+        this.limit = buffer.length;
         this.position = 0;
     }
 
+    private BsonReader(BsonInput input) {
+        resetInput(input);
+    }
+
+    /**
+     * Creates a new BsonReader over the remaining bytes of a heap or direct buffer.
+     *
+     * <p>Zero-copy: the buffer is read in place and its position, limit and
+     * byte order are not modified.
+     *
+     * @param buffer the BSON data buffer
+     * @return reader positioned at the start of the buffer's remaining bytes
+     * @throws IllegalArgumentException if buffer is null
+     */
+    public static BsonReader wrap(ByteBuffer buffer) {
+        return new BsonReader(new ByteBufferBsonInput(buffer));
+    }
+
+    /**
+     * Creates a new BsonReader over the given input.
+     *
+     * @param input the BSON data input
+     * @return reader positioned at index 0 of the input
+     * @throws IllegalArgumentException if input is null
+     */
+    public static BsonReader wrap(BsonInput input) {
+        return new BsonReader(input);
+    }
+
     /**
      * Resets this reader with new data.
      * Used for object pooling to avoid creating new instances.
@@ -43,10 +88,71 @@ public class BsonReader {
         if (buffer == null) {
             throw new IllegalArgumentException("Buffer cannot be null");
         }
+        reset(buffer, buffer.length);
+    }
+
+    /**
+     * Resets this reader with the first {@code length} bytes of a (reusable) buffer.
+     * Used by streaming readers that refill one buffer that may be larger than the data.
+     *
+     * @param buffer the new BSON data buffer
+     * @param length the number of valid bytes in the buffer
+     * @throws IllegalArgumentException if buffer is null or length is out of range
+     */
+    public void reset(byte[] buffer, int length) {
+        if (buffer == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        if (length < 0 || length > buffer.length) {
+            throw new IllegalArgumentException(
+                String.format("Length %d out of range for buffer length %d", length, buffer.length));
+        }
+        if (input != null && input.array() != buffer) {
+            input = null;  // Rebuilt lazily over the new array; kept only when it already wraps this one
+        }
         this.buffer = buffer;
+        this.limit = length;
+        this.position = 0;
+    }
+
+    /**
+     * Resets this reader with a new input (heap array, heap or direct buffer).
+     * Used for object pooling to avoid creating new instances.
+     *
+     * @param input the new BSON data input
+     * @throws IllegalArgumentException if input is null
+     */
+    public void resetInput(BsonInput input) {
+        if (input == null) {
+            throw new IllegalArgumentException("Input cannot be null");
+        }
+        this.buffer = input.array();
+        this.input = input;
+        this.limit = input.length();
         this.position = 0;
     }
 
+    /**
+     * Enables or disables trusted mode (no per-read bounds checks).
+     *
+     * <p>The mode is kept across {@link #reset(byte[])} and {@link #resetInput(BsonInput)},
+     * so a pooled reader stays in the mode it was configured with.
+     *
+     * @param trusted true to skip bounds checks for input known to be well-formed
+     */
+    public void setTrusted(boolean trusted) {
+        this.trusted = trusted;
+    }
+
+    /**
+     * Returns whether this reader is in trusted mode.
+     *
+     * @return true if per-read bounds checks are skipped
+     */
+    public boolean isTrusted() {
+        return trusted;
+    }
+
     /**
      * Returns the current reading position.
      *
@@ -64,11 +170,31 @@ public class BsonReader {
      * like IndexedBsonDocument which builds a field index without copying data.
      *
      * @return the underlying byte buffer
+     * @throws UnsupportedOperationException if this reader is not backed by a byte array
      */
     public byte[] getBuffer() {
+        if (buffer == null) {
+            throw new UnsupportedOperationException(
+                "Reader is not backed by a byte array, use getInput() instead");
+        }
         return buffer;
     }
 
+    /**
+     * Returns the underlying input for zero-copy operations.
+     *
+     * <p>Unlike {@link #getBuffer()}, this works for every kind of backing storage
+     * and is what zero-copy parsers such as IndexedBsonDocument should use.
+     *
+     * @return the underlying input
+     */
+    public BsonInput getInput() {
+        if (input == null) {
+            input = new ByteArrayBsonInput(buffer);
+        }
+        return input;
+    }
+
     /**
      * Sets the reading position.
      *
@@ -79,9 +205,9 @@ public class BsonReader {
         if (position < 0) {
             throw new IllegalArgumentException("Position cannot be negative: " + position);
         }
-        if (position > buffer.length) {
+        if (position > limit) {
             throw new IllegalArgumentException(
-                String.format("Position %d exceeds buffer length %d", position, buffer.length)
+                String.format("Position %d exceeds buffer length %d", position, limit)
             );
         }
         this.position = position;
@@ -93,7 +219,7 @@ public class BsonReader {
      * @return the buffer length
      */
     public int length() {
-        return buffer.length;
+        return limit;
     }
 
     /**
@@ -102,7 +228,7 @@ public class BsonReader {
      * @return the remaining bytes
      */
     public int remaining() {
-        return buffer.length - position;
+        return limit - position;
     }
 
     /**
@@ -112,7 +238,7 @@ public class BsonReader {
      * @return true if enough bytes are available
      */
     public boolean hasRemaining(int bytes) {
-        return position + bytes <= buffer.length;
+        return position + bytes <= limit;
     }
 
     /**
@@ -122,8 +248,10 @@ public class BsonReader {
      * @throws IllegalArgumentException if buffer underflow
      */
     public byte readByte() {
-        BsonUtils.validateBufferSize(buffer, position, 1);
-        return buffer[position++];
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, 1);
+        }
+        return buffer != null ? buffer[position++] : input.getByte(position++);
     }
 
     /**
@@ -133,8 +261,12 @@ public class BsonReader {
      * @throws IllegalArgumentException if buffer underflow
      */
     public int readInt32() {
-        BsonUtils.validateBufferSize(buffer, position, 4);
-        int value = BsonUtils.readInt32LittleEndian(buffer, position);
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, 4);
+        }
+        int value = buffer != null
+            ? BsonUtils.readInt32LittleEndian(buffer, position)
+            : input.getInt32(position);
         position += 4;
         return value;
     }
@@ -146,8 +278,12 @@ public class BsonReader {
      * @throws IllegalArgumentException if buffer underflow
      */
     public long readInt64() {
-        BsonUtils.validateBufferSize(buffer, position, 8);
-        long value = BsonUtils.readInt64LittleEndian(buffer, position);
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, 8);
+        }
+        long value = buffer != null
+            ? BsonUtils.readInt64LittleEndian(buffer, position)
+            : input.getInt64(position);
         position += 8;
         return value;
     }
@@ -159,8 +295,12 @@ public class BsonReader {
      * @throws IllegalArgumentException if buffer underflow
      */
     public double readDouble() {
-        BsonUtils.validateBufferSize(buffer, position, 8);
-        double value = BsonUtils.readDoubleLittleEndian(buffer, position);
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, 8);
+        }
+        double value = buffer != null
+            ? BsonUtils.readDoubleLittleEndian(buffer, position)
+            : input.getDouble(position);
         position += 8;
         return value;
     }
@@ -173,10 +313,21 @@ public class BsonReader {
      */
     public String readCString() {
         int start = position;
-        while (position < buffer.length && buffer[position] != 0) {
+        if (buffer == null) {
+            int end = input.indexOf((byte) 0, start);
+            if (end < 0) {
+                position = limit;
+                throw new IllegalArgumentException(
+                    String.format("No null terminator found for C-string starting at position %d", start)
+                );
+            }
+            position = end + 1; // skip null terminator
+            return input.getString(start, end - start);
+        }
+        while (position < limit && buffer[position] != 0) {
             position++;
         }
-        if (position >= buffer.length) {
+        if (position >= limit) {
             throw new IllegalArgumentException(
                 String.format("No null terminator found for C-string starting at position %d", start)
             );
@@ -199,9 +350,13 @@ public class BsonReader {
                 String.format("Invalid string length: %d (must be at least 1)", length)
             );
         }
-        BsonUtils.validateBufferSize(buffer, position, length);
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, length);
+        }
         // length includes null terminator
-        String str = new String(buffer, position, length - 1, StandardCharsets.UTF_8);
+        String str = buffer != null
+            ? new String(buffer, position, length - 1, StandardCharsets.UTF_8)
+            : input.getString(position, length - 1);
         position += length;
         return str;
     }
@@ -220,9 +375,15 @@ public class BsonReader {
         if (length == 0) {
             return new byte[0];
         }
-        BsonUtils.validateBufferSize(buffer, position, length);
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, length);
+        }
         byte[] bytes = new byte[length];
-        System.arraycopy(buffer, position, bytes, 0, length);
+        if (buffer != null) {
+            System.arraycopy(buffer, position, bytes, 0, length);
+        } else {
+            input.getBytes(position, bytes, 0, length);
+        }
         position += length;
         return bytes;
     }
@@ -237,7 +398,9 @@ public class BsonReader {
         if (bytes < 0) {
             throw new IllegalArgumentException("Cannot skip negative bytes: " + bytes);
         }
-        BsonUtils.validateBufferSize(buffer, position, bytes);
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, bytes);
+        }
         position += bytes;
     }
 
@@ -248,8 +411,10 @@ public class BsonReader {
      * @throws IllegalArgumentException if buffer underflow
      */
     public byte peekByte() {
-        BsonUtils.validateBufferSize(buffer, position, 1);
-        return buffer[position];
+        if (!trusted) {
+            BsonUtils.validateBufferSize(limit, position, 1);
+        }
+        return buffer != null ? buffer[position] : input.getByte(position);
     }
 
     /**
@@ -258,6 +423,6 @@ public class BsonReader {
      * @return true if at end of buffer
      */
     public boolean isAtEnd() {
-        return position >= buffer.length;
+        return position >= limit;
     }
 }
@@ -0,0 +1,75 @@
+package com.cloud.fastbson.reader;
+
+import com.cloud.fastbson.util.BsonUtils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link BsonInput} backed by a heap byte array.
+ *
+ * <p>This is the input used by all {@code byte[]} entry points. Reads go
+ * straight to the array through {@link BsonUtils}, so wrapping an array costs
+ * a single small object and no data copy.
+ */
+public final class ByteArrayBsonInput implements BsonInput {
+
+    private final byte[] data;
+
+    /**
+     * Creates a new input over the given array.
+     *
+     * @param data the BSON data
+     * @throws IllegalArgumentException if data is null
+     */
+    public ByteArrayBsonInput(byte[] data) {
+        if (data == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        this.data = data;
+    }
+
+    @Override
+    public int length() {
+        return data.length;
+    }
+
+    @Override
+    public byte getByte(int index) {
+        return data[index];
+    }
+
+    @Override
+    public int getInt32(int index) {
+        return BsonUtils.readInt32LittleEndian(data, index);
+    }
+
+    @Override
+    public long getInt64(int index) {
+        return BsonUtils.readInt64LittleEndian(data, index);
+    }
+
+    @Override
+    public int indexOf(byte value, int fromIndex) {
+        for (int i = fromIndex; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getString(int index, int length) {
+        return new String(data, index, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void getBytes(int index, byte[] dst, int dstOffset, int length) {
+        System.arraycopy(data, index, dst, dstOffset, length);
+    }
+
+    @Override
+    public byte[] array() {
+        return data;
+    }
+}
@@ -0,0 +1,96 @@
+package com.cloud.fastbson.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link BsonInput} backed by a heap or direct {@link ByteBuffer}.
+ *
+ * <p>Exposes the bytes between the source buffer's position and limit at the
+ * time of construction. Reads use absolute {@code ByteBuffer} accessors on a
+ * little-endian duplicate, so the caller's buffer state (position, limit and
+ * byte order) is never modified and direct buffers are read in place without
+ * copying them onto the heap.
+ *
+ * <p>Only String and byte[] materialization copies bytes; primitives are read
+ * directly from the buffer.
+ */
+public final class ByteBufferBsonInput implements BsonInput {
+
+    private final ByteBuffer buffer;   // Little-endian duplicate of the source
+    private final int base;            // Absolute buffer index of input index 0
+    private final int length;
+
+    /**
+     * Creates a new input over the remaining bytes of the given buffer.
+     *
+     * @param source the BSON data (heap or direct)
+     * @throws IllegalArgumentException if source is null
+     */
+    public ByteBufferBsonInput(ByteBuffer source) {
+        if (source == null) {
+            throw new IllegalArgumentException("Buffer cannot be null");
+        }
+        this.buffer = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        this.base = source.position();
+        this.length = source.remaining();
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public byte getByte(int index) {
+        return buffer.get(base + index);
+    }
+
+    @Override
+    public int getInt32(int index) {
+        return buffer.getInt(base + index);
+    }
+
+    @Override
+    public long getInt64(int index) {
+        return buffer.getLong(base + index);
+    }
+
+    @Override
+    public double getDouble(int index) {
+        return buffer.getDouble(base + index);
+    }
+
+    @Override
+    public int indexOf(byte value, int fromIndex) {
+        for (int i = fromIndex; i < length; i++) {
+            if (buffer.get(base + i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getString(int index, int length) {
+        if (buffer.hasArray()) {
+            return new String(buffer.array(), buffer.arrayOffset() + base + index, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        getBytes(index, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void getBytes(int index, byte[] dst, int dstOffset, int length) {
+        if (buffer.hasArray()) {
+            System.arraycopy(buffer.array(), buffer.arrayOffset() + base + index, dst, dstOffset, length);
+            return;
+        }
+        // Java 8 has no absolute bulk get, read through a throwaway duplicate
+        ByteBuffer view = buffer.duplicate();
+        view.position(base + index);
+        view.get(dst, dstOffset, length);
+    }
+}
@@ -0,0 +1,117 @@
+package com.cloud.fastbson.reader;
+
+/**
+ * Reusable view of a byte range of a {@link BsonInput} (a field name, a string value, binary data).
+ *
+ * <p>Zero-copy API: streaming APIs hand out one slice instance and re-point it at the next range
+ * instead of allocating a {@code String} or {@code byte[]} per value. A slice is only valid until
+ * its producer moves on; call {@link #toString()} or {@link #toByteArray()} to keep the content.
+ *
+ * <p>For UTF-8 strings the range excludes the trailing 0x00.
+ */
+public final class ByteSlice {
+
+    private BsonInput input;
+    private int offset;
+    private int length;
+
+    /**
+     * Points this slice at a new range.
+     *
+     * @param input the input holding the bytes
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return this slice
+     */
+    public ByteSlice set(BsonInput input, int offset, int length) {
+        this.input = input;
+        this.offset = offset;
+        this.length = length;
+        return this;
+    }
+
+    /**
+     * Returns the input this slice points into.
+     *
+     * @return the input
+     */
+    public BsonInput input() {
+        return input;
+    }
+
+    /**
+     * Returns the index of the first byte within {@link #input()}.
+     *
+     * @return the offset
+     */
+    public int offset() {
+        return offset;
+    }
+
+    /**
+     * Returns the number of bytes in the slice.
+     *
+     * @return the length
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Returns the byte at the given slice index.
+     *
+     * @param index the index within the slice
+     * @return the byte value
+     */
+    public byte byteAt(int index) {
+        return input.getByte(offset + index);
+    }
+
+    /**
+     * Compares the slice with the given bytes without allocating.
+     *
+     * @param bytes the bytes to compare with (e.g. a pre-encoded UTF-8 field name)
+     * @return true if the contents are equal
+     */
+    public boolean contentEquals(byte[] bytes) {
+        if (bytes.length != length) {
+            return false;
+        }
+        byte[] array = input.array();
+        if (array != null) {
+            for (int i = 0; i < length; i++) {
+                if (array[offset + i] != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        for (int i = 0; i < length; i++) {
+            if (input.getByte(offset + i) != bytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Copies the slice contents.
+     *
+     * @return a new array with the slice bytes
+     */
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[length];
+        input.getBytes(offset, bytes, 0, length);
+        return bytes;
+    }
+
+    /**
+     * Decodes the slice as UTF-8 (allocates).
+     *
+     * @return the decoded string
+     */
+    @Override
+    public String toString() {
+        return input.getString(offset, length);
+    }
+}
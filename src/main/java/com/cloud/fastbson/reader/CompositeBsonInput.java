@@ -0,0 +1,187 @@
+package com.cloud.fastbson.reader;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@link BsonInput} over a sequence of buffer segments, e.g. the read buffers a
+ * document arrived in over the network.
+ *
+ * <p>The segments are logically concatenated without copying them into one
+ * contiguous array. Values that lie inside one segment are read directly from
+ * it; values that cross a segment boundary (a length prefix split in two, a
+ * string spanning several reads) are assembled byte by byte.
+ *
+ * <p>Each lookup finds its segment by a binary search over the segment start
+ * offsets, which is one or two comparisons for the usual handful of segments.
+ * Multi-byte reads ({@link #getBytes}, {@link #indexOf}) then walk the following
+ * segments directly.
+ *
+ * <p>Each segment exposes the bytes between its position and limit at the time
+ * of construction. The segment buffers' own state is never modified, and the
+ * input holds no lookup state, so it is safe to share across threads.
+ */
+public final class CompositeBsonInput implements BsonInput {
+
+    private final ByteBuffer[] segments;   // Little-endian slices of the sources
+    private final int[] starts;            // Input index of the first byte of each segment, plus total length
+    private final int length;
+
+    /**
+     * Creates a new input over the remaining bytes of the given segments, in order.
+     *
+     * @param segments the BSON data segments (heap or direct)
+     * @throws IllegalArgumentException if segments or any segment is null
+     */
+    public CompositeBsonInput(ByteBuffer... segments) {
+        if (segments == null) {
+            throw new IllegalArgumentException("Segments cannot be null");
+        }
+        this.segments = new ByteBuffer[segments.length];
+        this.starts = new int[segments.length + 1];
+        long total = 0;
+        for (int i = 0; i < segments.length; i++) {
+            if (segments[i] == null) {
+                throw new IllegalArgumentException("Segment " + i + " cannot be null");
+            }
+            this.segments[i] = segments[i].slice().order(ByteOrder.LITTLE_ENDIAN);
+            this.starts[i] = (int) total;
+            total += segments[i].remaining();
+            if (total > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Total segment length exceeds " + Integer.MAX_VALUE);
+            }
+        }
+        this.starts[segments.length] = (int) total;
+        this.length = (int) total;
+    }
+
+    /**
+     * Creates a new input over the remaining bytes of the given segments, in order.
+     *
+     * @param segments the BSON data segments (heap or direct)
+     * @throws IllegalArgumentException if segments or any segment is null
+     */
+    public CompositeBsonInput(List<ByteBuffer> segments) {
+        this(segments == null ? null : segments.toArray(new ByteBuffer[0]));
+    }
+
+    /**
+     * Returns the number of segments.
+     *
+     * @return the segment count
+     */
+    public int segmentCount() {
+        return segments.length;
+    }
+
+    @Override
+    public int length() {
+        return length;
+    }
+
+    @Override
+    public byte getByte(int index) {
+        int s = segmentOf(index);
+        return segments[s].get(index - starts[s]);
+    }
+
+    @Override
+    public int getInt32(int index) {
+        int s = segmentOf(index);
+        int local = index - starts[s];
+        if (local + 4 <= segments[s].limit()) {
+            return segments[s].getInt(local);
+        }
+        // Crosses a segment boundary
+        return (getByte(index) & 0xFF)
+            | ((getByte(index + 1) & 0xFF) << 8)
+            | ((getByte(index + 2) & 0xFF) << 16)
+            | ((getByte(index + 3) & 0xFF) << 24);
+    }
+
+    @Override
+    public long getInt64(int index) {
+        int s = segmentOf(index);
+        int local = index - starts[s];
+        if (local + 8 <= segments[s].limit()) {
+            return segments[s].getLong(local);
+        }
+        // Crosses a segment boundary
+        return (getInt32(index) & 0xFFFFFFFFL) | ((long) getInt32(index + 4) << 32);
+    }
+
+    @Override
+    public int indexOf(byte value, int fromIndex) {
+        if (fromIndex >= length) {
+            return -1;
+        }
+        for (int s = segmentOf(fromIndex); s < segments.length; s++) {
+            ByteBuffer segment = segments[s];
+            int end = segment.limit();
+            for (int i = Math.max(fromIndex - starts[s], 0); i < end; i++) {
+                if (segment.get(i) == value) {
+                    return starts[s] + i;
+                }
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String getString(int index, int length) {
+        int s = segmentOf(index);
+        ByteBuffer segment = segments[s];
+        int local = index - starts[s];
+        if (segment.hasArray() && local + length <= segment.limit()) {
+            return new String(segment.array(), segment.arrayOffset() + local, length, StandardCharsets.UTF_8);
+        }
+        byte[] bytes = new byte[length];
+        getBytes(index, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public void getBytes(int index, byte[] dst, int dstOffset, int length) {
+        int s = length == 0 ? 0 : segmentOf(index);
+        while (length > 0) {
+            ByteBuffer segment = segments[s];
+            int local = index - starts[s];
+            int n = Math.min(length, segment.limit() - local);
+            if (segment.hasArray()) {
+                System.arraycopy(segment.array(), segment.arrayOffset() + local, dst, dstOffset, n);
+            } else {
+                // Java 8 has no absolute bulk get, read through a throwaway duplicate
+                ByteBuffer view = segment.duplicate();
+                view.position(local);
+                view.get(dst, dstOffset, n);
+            }
+            index += n;
+            dstOffset += n;
+            length -= n;
+            s++;
+        }
+    }
+
+    /**
+     * Finds the segment containing the given input index.
+     */
+    private int segmentOf(int index) {
+        if (index < 0 || index >= length) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for length " + length);
+        }
+        // Last segment starting at or before index (skips empty segments)
+        int lo = 0;
+        int hi = segments.length - 1;
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (starts[mid] <= index) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+}
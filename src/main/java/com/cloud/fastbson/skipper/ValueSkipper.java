@@ -1,5 +1,6 @@
 package com.cloud.fastbson.skipper;
 
+import com.cloud.fastbson.reader.BsonInput;
 import com.cloud.fastbson.reader.BsonReader;
 import com.cloud.fastbson.util.BsonType;
 import com.cloud.fastbson.exception.InvalidBsonTypeException;
@@ -217,6 +218,49 @@ public class ValueSkipper {
         reader.skip(totalLength - 4); // 减去已读取的 4 字节长度字段
     }
 
+    /**
+     * 计算输入中指定位置的值所占字节数（不移动任何读取位置，不分配内存）
+     *
+     * <p>与 {@link #skipValue(byte)} 支持的类型相同，适用于直接按偏移量遍历原始字节的场景。
+     *
+     * @param input BSON 输入
+     * @param offset 值的起始偏移量（字段名结束符之后）
+     * @param type BSON 类型码
+     * @return 值的字节数
+     * @throws InvalidBsonTypeException 如果类型码无效
+     */
+    public static int getValueSize(BsonInput input, int offset, byte type) {
+        int fixedLength = FIXED_LENGTH_TABLE[type & 0xFF];
+        if (fixedLength >= 0) {
+            return fixedLength;
+        }
+
+        switch (type) {
+            case BsonType.STRING:
+            case BsonType.JAVASCRIPT:
+            case BsonType.SYMBOL:
+                return 4 + input.getInt32(offset);
+
+            case BsonType.DOCUMENT:
+            case BsonType.ARRAY:
+            case BsonType.JAVASCRIPT_WITH_SCOPE:
+                return input.getInt32(offset);
+
+            case BsonType.BINARY:
+                return 4 + 1 + input.getInt32(offset);
+
+            case BsonType.REGEX:
+                int optionsStart = input.indexOf((byte) 0, offset) + 1;
+                return input.indexOf((byte) 0, optionsStart) + 1 - offset;
+
+            case BsonType.DB_POINTER:
+                return 4 + input.getInt32(offset) + 12;
+
+            default:
+                throw new InvalidBsonTypeException(type);
+        }
+    }
+
     /**
      * 获取固定长度类型的字节数（用于测试）
      *
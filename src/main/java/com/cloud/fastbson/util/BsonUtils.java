@@ -96,13 +96,28 @@ public final class BsonUtils {
         if (buffer == null) {
             throw new IllegalArgumentException("Buffer cannot be null");
         }
+        validateBufferSize(buffer.length, position, required);
+    }
+
+    /**
+     * Validates that an input of the given length has at least the required number
+     * of bytes remaining.
+     *
+     * <p>Storage-agnostic variant used by readers over non-array inputs (e.g. ByteBuffer).
+     *
+     * @param length the total input length
+     * @param position the current position
+     * @param required the required number of bytes
+     * @throws IllegalArgumentException if insufficient bytes
+     */
+    public static void validateBufferSize(int length, int position, int required) {
         if (position < 0) {
             throw new IllegalArgumentException("Position cannot be negative: " + position);
         }
-        if (position + required > buffer.length) {
+        if (position + required > length) {
             throw new IllegalArgumentException(
                 String.format("Buffer underflow: position=%d, required=%d, available=%d",
-                    position, required, buffer.length - position)
+                    position, required, length - position)
             );
         }
     }
@@ -150,4 +165,31 @@ public final class BsonUtils {
         long bits = readInt64LittleEndian(buffer, offset);
         return Double.longBitsToDouble(bits);
     }
+
+    /**
+     * Writes an int32 value in little-endian byte order.
+     *
+     * @param buffer the byte array
+     * @param offset the starting offset
+     * @param value the int32 value
+     */
+    public static void writeInt32LittleEndian(byte[] buffer, int offset, int value) {
+        buffer[offset] = (byte) value;
+        buffer[offset + 1] = (byte) (value >>> 8);
+        buffer[offset + 2] = (byte) (value >>> 16);
+        buffer[offset + 3] = (byte) (value >>> 24);
+    }
+
+    /**
+     * Writes an int64 value in little-endian byte order.
+     *
+     * @param buffer the byte array
+     * @param offset the starting offset
+     * @param value the int64 value
+     */
+    public static void writeInt64LittleEndian(byte[] buffer, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            buffer[offset + i] = (byte) (value >>> (i * 8));
+        }
+    }
 }
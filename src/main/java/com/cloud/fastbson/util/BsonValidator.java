@@ -0,0 +1,346 @@
+package com.cloud.fastbson.util;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
+
+import java.util.Objects;
+
+/**
+ * Single-pass structural validator for untrusted BSON input (strict mode).
+ *
+ * <p>The parsers in this library assume well-formed input: {@code IndexedBsonDocument.parse}
+ * performs no checks at all, and {@code BsonReader} only checks buffer bounds. Bytes from an
+ * untrusted source should be validated once before parsing; afterwards every length, terminator
+ * and offset the parsers rely on is known to be consistent.
+ *
+ * <p>One pass over the document checks:
+ * <ul>
+ *   <li>Document lengths: at least 5 bytes, within the enclosing document, ending in 0x00</li>
+ *   <li>Element names: null-terminated within the document</li>
+ *   <li>Type codes: only types defined by the BSON specification</li>
+ *   <li>Value lengths: strings, binaries, code with scope and nested documents fit exactly
+ *       inside their container; strings end in 0x00</li>
+ *   <li>UTF-8: names, strings and regular expressions are well-formed UTF-8 (no overlong
+ *       encodings, surrogates or code points above U+10FFFF)</li>
+ *   <li>Booleans: 0x00 or 0x01</li>
+ *   <li>Nesting depth: at most {@link #DEFAULT_MAX_DEPTH} levels unless configured otherwise</li>
+ * </ul>
+ *
+ * <p>Array keys are not required to be consecutive indexes, matching the leniency of the
+ * MongoDB drivers.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * BsonValidator.validate(untrustedBytes);                     // Throws BsonParseException
+ * BsonDocument doc = IndexedBsonDocument.parse(untrustedBytes);
+ *
+ * // Or in one step:
+ * BsonDocument doc = FastBson.parseStrict(untrustedBytes);
+ * }</pre>
+ *
+ * <p>Thread-safe: stateless.
+ */
+public final class BsonValidator {
+
+    /**
+     * Default maximum nesting depth (the top-level document is depth 1), as enforced by MongoDB.
+     */
+    public static final int DEFAULT_MAX_DEPTH = 100;
+
+    private static final int MIN_DOCUMENT_LENGTH = 5;
+
+    private BsonValidator() {
+        // Utility class
+    }
+
+    /**
+     * Validates a complete BSON document.
+     *
+     * @param bsonData the document bytes (the document must span the whole array)
+     * @throws BsonParseException if the document is malformed
+     */
+    public static void validate(byte[] bsonData) {
+        Objects.requireNonNull(bsonData, "bsonData");
+        validate(new ByteArrayBsonInput(bsonData), 0, bsonData.length, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Validates the BSON document occupying the given array slice.
+     *
+     * @param data the data array
+     * @param offset document start offset
+     * @param length document length (must equal the declared length)
+     * @throws BsonParseException if the document is malformed
+     * @throws IllegalArgumentException if the slice is out of range
+     */
+    public static void validate(byte[] data, int offset, int length) {
+        Objects.requireNonNull(data, "data");
+        validate(new ByteArrayBsonInput(data), offset, length, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Validates the BSON document occupying the given input slice.
+     *
+     * @param input the input
+     * @param offset document start offset
+     * @param length document length (must equal the declared length)
+     * @throws BsonParseException if the document is malformed
+     * @throws IllegalArgumentException if the slice is out of range
+     */
+    public static void validate(BsonInput input, int offset, int length) {
+        validate(input, offset, length, DEFAULT_MAX_DEPTH);
+    }
+
+    /**
+     * Validates the BSON document occupying the given input slice with a custom depth limit.
+     *
+     * @param input the input
+     * @param offset document start offset
+     * @param length document length (must equal the declared length)
+     * @param maxDepth maximum nesting depth (the top-level document is depth 1)
+     * @throws BsonParseException if the document is malformed
+     * @throws IllegalArgumentException if the slice is out of range or maxDepth is not positive
+     */
+    public static void validate(BsonInput input, int offset, int length, int maxDepth) {
+        Objects.requireNonNull(input, "input");
+        if (offset < 0 || length < 0 || offset > input.length() - length) {
+            throw new IllegalArgumentException(
+                String.format("Range [%d, %d) out of bounds for input length %d",
+                    offset, (long) offset + length, input.length()));
+        }
+        if (maxDepth < 1) {
+            throw new IllegalArgumentException("Max depth must be positive: " + maxDepth);
+        }
+        int end = validateDocument(input, offset, offset + length, 1, maxDepth);
+        if (end != offset + length) {
+            throw error(offset, String.format("declared document length %d does not match available length %d",
+                end - offset, length));
+        }
+    }
+
+    /**
+     * Checks whether a byte array holds exactly one well-formed BSON document.
+     *
+     * @param bsonData the document bytes
+     * @return true if {@link #validate(byte[])} would succeed
+     */
+    public static boolean isValid(byte[] bsonData) {
+        if (bsonData == null) {
+            return false;
+        }
+        try {
+            validate(bsonData);
+            return true;
+        } catch (BsonParseException e) {
+            return false;
+        }
+    }
+
+    // ==================== Structure ====================
+
+    /**
+     * Validates a document (or array) starting at {@code start} that must end by {@code limit}.
+     *
+     * @return position after the document
+     */
+    private static int validateDocument(BsonInput input, int start, int limit, int depth, int maxDepth) {
+        if (depth > maxDepth) {
+            throw error(start, "nesting depth exceeds " + maxDepth);
+        }
+        if (limit - start < MIN_DOCUMENT_LENGTH) {
+            throw error(start, "truncated document");
+        }
+        int length = input.getInt32(start);
+        if (length < MIN_DOCUMENT_LENGTH || length > limit - start) {
+            throw error(start, "invalid document length " + length);
+        }
+        int end = start + length - 1;  // Terminator position
+        if (input.getByte(end) != BsonType.END_OF_DOCUMENT) {
+            throw error(end, "missing document terminator");
+        }
+
+        int pos = start + 4;
+        while (pos < end) {
+            byte type = input.getByte(pos);
+            if (type == BsonType.END_OF_DOCUMENT) {
+                throw error(pos, "document terminator before declared end");
+            }
+            int nameEnd = cStringEnd(input, pos + 1, end);
+            validateUtf8(input, pos + 1, nameEnd);
+            pos = validateValue(input, type, nameEnd + 1, end, depth, maxDepth);
+        }
+        return start + length;
+    }
+
+    /**
+     * Validates one value of the given type starting at {@code pos} that must end by {@code limit}.
+     *
+     * @return position after the value
+     */
+    private static int validateValue(BsonInput input, byte type, int pos, int limit, int depth, int maxDepth) {
+        switch (type) {
+            case BsonType.DOUBLE:
+            case BsonType.DATE_TIME:
+            case BsonType.TIMESTAMP:
+            case BsonType.INT64:
+                return fixed(pos, 8, limit);
+            case BsonType.INT32:
+                return fixed(pos, 4, limit);
+            case BsonType.OBJECT_ID:
+                return fixed(pos, 12, limit);
+            case BsonType.DECIMAL128:
+                return fixed(pos, 16, limit);
+            case BsonType.UNDEFINED:
+            case BsonType.NULL:
+            case BsonType.MIN_KEY:
+            case BsonType.MAX_KEY:
+                return pos;
+            case BsonType.BOOLEAN:
+                fixed(pos, 1, limit);
+                byte value = input.getByte(pos);
+                if (value != 0 && value != 1) {
+                    throw error(pos, "invalid boolean value " + value);
+                }
+                return pos + 1;
+            case BsonType.STRING:
+            case BsonType.JAVASCRIPT:
+            case BsonType.SYMBOL:
+                return validateString(input, pos, limit);
+            case BsonType.DOCUMENT:
+            case BsonType.ARRAY:
+                return validateDocument(input, pos, limit, depth + 1, maxDepth);
+            case BsonType.BINARY:
+                return validateBinary(input, pos, limit);
+            case BsonType.REGEX: {
+                int patternEnd = cStringEnd(input, pos, limit);
+                validateUtf8(input, pos, patternEnd);
+                int optionsEnd = cStringEnd(input, patternEnd + 1, limit);
+                validateUtf8(input, patternEnd + 1, optionsEnd);
+                return optionsEnd + 1;
+            }
+            case BsonType.DB_POINTER:
+                return fixed(validateString(input, pos, limit), 12, limit);
+            case BsonType.JAVASCRIPT_WITH_SCOPE:
+                return validateCodeWithScope(input, pos, limit, depth, maxDepth);
+            default:
+                throw error(pos - 1, String.format("invalid type code 0x%02X", type & 0xFF));
+        }
+    }
+
+    private static int validateString(BsonInput input, int pos, int limit) {
+        fixed(pos, 4, limit);
+        int length = input.getInt32(pos);
+        if (length < 1 || length > limit - pos - 4) {
+            throw error(pos, "invalid string length " + length);
+        }
+        int end = pos + 4 + length - 1;  // Terminator position
+        if (input.getByte(end) != 0) {
+            throw error(end, "missing string terminator");
+        }
+        validateUtf8(input, pos + 4, end);
+        return end + 1;
+    }
+
+    private static int validateBinary(BsonInput input, int pos, int limit) {
+        fixed(pos, 5, limit);
+        int length = input.getInt32(pos);
+        if (length < 0 || length > limit - pos - 5) {
+            throw error(pos, "invalid binary length " + length);
+        }
+        if (input.getByte(pos + 4) == 0x02) {
+            // Deprecated "binary (old)" subtype wraps the data in a second length prefix
+            if (length < 4 || input.getInt32(pos + 5) != length - 4) {
+                throw error(pos, "invalid old binary length");
+            }
+        }
+        return pos + 5 + length;
+    }
+
+    private static int validateCodeWithScope(BsonInput input, int pos, int limit, int depth, int maxDepth) {
+        fixed(pos, 4, limit);
+        int total = input.getInt32(pos);
+        // int32 total + string (int32 length + at least the terminator) + minimal document
+        if (total < 4 + 5 + MIN_DOCUMENT_LENGTH || total > limit - pos) {
+            throw error(pos, "invalid code with scope length " + total);
+        }
+        int end = pos + total;
+        int codeEnd = validateString(input, pos + 4, end);
+        int scopeEnd = validateDocument(input, codeEnd, end, depth + 1, maxDepth);
+        if (scopeEnd != end) {
+            throw error(pos, "code with scope length " + total + " does not match its contents");
+        }
+        return end;
+    }
+
+    /**
+     * Returns the position of the null terminator of the C-string starting at {@code pos},
+     * which must lie before {@code limit}.
+     */
+    private static int cStringEnd(BsonInput input, int pos, int limit) {
+        int end = input.indexOf((byte) 0, pos);
+        if (end < 0 || end >= limit) {
+            throw error(pos, "unterminated C-string");
+        }
+        return end;
+    }
+
+    private static int fixed(int pos, int size, int limit) {
+        if (size > limit - pos) {
+            throw error(pos, "truncated value");
+        }
+        return pos + size;
+    }
+
+    // ==================== UTF-8 ====================
+
+    /**
+     * Validates the UTF-8 bytes in [from, to) (RFC 3629: shortest form, no surrogates, at most U+10FFFF).
+     */
+    private static void validateUtf8(BsonInput input, int from, int to) {
+        int i = from;
+        while (i < to) {
+            int b = input.getByte(i);
+            if (b >= 0) {
+                i++;   // ASCII
+                continue;
+            }
+            int extra;
+            int codePoint;
+            int min;
+            if ((b & 0xE0) == 0xC0) {
+                extra = 1;
+                codePoint = b & 0x1F;
+                min = 0x80;
+            } else if ((b & 0xF0) == 0xE0) {
+                extra = 2;
+                codePoint = b & 0x0F;
+                min = 0x800;
+            } else if ((b & 0xF8) == 0xF0) {
+                extra = 3;
+                codePoint = b & 0x07;
+                min = 0x10000;
+            } else {
+                throw error(i, "invalid UTF-8 lead byte");
+            }
+            if (extra > to - i - 1) {
+                throw error(i, "truncated UTF-8 sequence");
+            }
+            for (int k = 1; k <= extra; k++) {
+                int c = input.getByte(i + k);
+                if ((c & 0xC0) != 0x80) {
+                    throw error(i + k, "invalid UTF-8 continuation byte");
+                }
+                codePoint = (codePoint << 6) | (c & 0x3F);
+            }
+            if (codePoint < min || codePoint > 0x10FFFF || (codePoint >= 0xD800 && codePoint <= 0xDFFF)) {
+                throw error(i, "invalid UTF-8 sequence");
+            }
+            i += extra + 1;
+        }
+    }
+
+    private static BsonParseException error(int position, String reason) {
+        return new BsonParseException("Invalid BSON at offset " + position + ": " + reason);
+    }
+}
@@ -0,0 +1,200 @@
+package com.cloud.fastbson.visitor;
+
+import com.cloud.fastbson.reader.ByteSlice;
+
+/**
+ * Push-style (SAX-like) callbacks for a single pass over a BSON document.
+ *
+ * <p>Driven by {@link BsonWalker}. Nothing is materialized: no document map, no field index.
+ * Field names, strings and binary payloads are delivered as {@link ByteSlice} views that are only
+ * valid during the callback; call {@code toString()} on a slice when a {@code String} is really
+ * needed, otherwise the hot path does not allocate.
+ *
+ * <p>Flow control:
+ * <ul>
+ *   <li>{@link #onField} is called before every value; returning {@link Result#SKIP} skips the
+ *       value without decoding it (fixed-length types via the skip table, documents and arrays
+ *       via their length prefix)</li>
+ *   <li>{@link #onStartDocument}/{@link #onStartArray} may return {@link Result#SKIP} to skip the
+ *       whole subtree; the matching end callback is then not called</li>
+ *   <li>{@link Result#STOP} ends the walk immediately</li>
+ * </ul>
+ *
+ * <p>All methods have empty defaults so visitors only override what they need.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * final long[] sum = {0};
+ * BsonWalker.walk(bsonData, new BsonVisitor() {
+ *     public void onInt32(ByteSlice name, int value) {
+ *         sum[0] += value;
+ *     }
+ * });
+ * }</pre>
+ */
+public interface BsonVisitor {
+
+    /**
+     * Flow control returned by {@link #onField}, {@link #onStartDocument} and {@link #onStartArray}.
+     */
+    enum Result {
+        /**
+         * Decode the value (or descend into the subtree).
+         */
+        CONTINUE,
+
+        /**
+         * Skip the value (or subtree) without decoding it.
+         */
+        SKIP,
+
+        /**
+         * Stop the walk.
+         */
+        STOP
+    }
+
+    /**
+     * Called before each value, with the type code and field name (array index for arrays).
+     *
+     * @param type the BSON type code
+     * @param name the field name
+     * @return flow control for this value
+     */
+    default Result onField(byte type, ByteSlice name) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called when an embedded document (or the root document) starts.
+     *
+     * @param name the field name, or null for the root document
+     * @return flow control for the subtree
+     */
+    default Result onStartDocument(ByteSlice name) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called when a document started by {@link #onStartDocument} ends.
+     */
+    default void onEndDocument() {
+    }
+
+    /**
+     * Called when an array starts.
+     *
+     * @param name the field name
+     * @return flow control for the subtree
+     */
+    default Result onStartArray(ByteSlice name) {
+        return Result.CONTINUE;
+    }
+
+    /**
+     * Called when an array started by {@link #onStartArray} ends.
+     */
+    default void onEndArray() {
+    }
+
+    /**
+     * Called for a Double value.
+     *
+     * @param name the field name
+     * @param value the value
+     */
+    default void onDouble(ByteSlice name, double value) {
+    }
+
+    /**
+     * Called for a String value.
+     *
+     * @param name the field name
+     * @param value the UTF-8 string bytes, without the trailing 0x00
+     */
+    default void onString(ByteSlice name, ByteSlice value) {
+    }
+
+    /**
+     * Called for a Binary value.
+     *
+     * @param name the field name
+     * @param subtype the binary subtype
+     * @param data the binary payload
+     */
+    default void onBinary(ByteSlice name, byte subtype, ByteSlice data) {
+    }
+
+    /**
+     * Called for an ObjectId value.
+     *
+     * @param name the field name
+     * @param id the 12 ObjectId bytes
+     */
+    default void onObjectId(ByteSlice name, ByteSlice id) {
+    }
+
+    /**
+     * Called for a Boolean value.
+     *
+     * @param name the field name
+     * @param value the value
+     */
+    default void onBoolean(ByteSlice name, boolean value) {
+    }
+
+    /**
+     * Called for a UTC DateTime value.
+     *
+     * @param name the field name
+     * @param millis milliseconds since the Unix epoch
+     */
+    default void onDateTime(ByteSlice name, long millis) {
+    }
+
+    /**
+     * Called for a Null value.
+     *
+     * @param name the field name
+     */
+    default void onNull(ByteSlice name) {
+    }
+
+    /**
+     * Called for an Int32 value.
+     *
+     * @param name the field name
+     * @param value the value
+     */
+    default void onInt32(ByteSlice name, int value) {
+    }
+
+    /**
+     * Called for a Timestamp value.
+     *
+     * @param name the field name
+     * @param value the raw 64-bit timestamp (increment in the low, seconds in the high 32 bits)
+     */
+    default void onTimestamp(ByteSlice name, long value) {
+    }
+
+    /**
+     * Called for an Int64 value.
+     *
+     * @param name the field name
+     * @param value the value
+     */
+    default void onInt64(ByteSlice name, long value) {
+    }
+
+    /**
+     * Called for the remaining types (Undefined, Regex, DBPointer, JavaScript, Symbol,
+     * JavaScriptWithScope, Decimal128, MinKey, MaxKey) with the raw encoded value.
+     *
+     * @param type the BSON type code
+     * @param name the field name
+     * @param value the encoded value bytes as laid out in the document
+     */
+    default void onOther(byte type, ByteSlice name, ByteSlice value) {
+    }
+}
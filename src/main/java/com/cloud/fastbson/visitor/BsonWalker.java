@@ -0,0 +1,210 @@
+package com.cloud.fastbson.visitor;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.reader.ByteSlice;
+import com.cloud.fastbson.skipper.ValueSkipper;
+import com.cloud.fastbson.util.BsonType;
+
+/**
+ * Drives a {@link BsonVisitor} over a BSON document in a single forward pass.
+ *
+ * <p>The walker reads straight from a {@link BsonReader}, so it works on every input the reader
+ * supports (byte arrays, heap/direct buffers, composite inputs). It allocates a handful of objects
+ * per walk and nothing per field: names and variable-length values are passed as two reusable
+ * {@link ByteSlice} instances, and skipped values go through {@link ValueSkipper}.
+ *
+ * <p>Not thread-safe; create one walker per thread or use the static helpers.
+ */
+public final class BsonWalker {
+
+    private final BsonReader reader;
+    private final BsonInput input;
+    private final ValueSkipper skipper;
+    private final ByteSlice name = new ByteSlice();
+    private final ByteSlice value = new ByteSlice();
+
+    private boolean stopped;
+
+    /**
+     * Creates a walker positioned at the reader's current position (the start of a document).
+     *
+     * @param reader the reader
+     */
+    public BsonWalker(BsonReader reader) {
+        this.reader = reader;
+        this.input = reader.getInput();
+        this.skipper = new ValueSkipper(reader);
+    }
+
+    /**
+     * Walks a whole BSON document.
+     *
+     * @param bsonData the document bytes
+     * @param visitor the visitor
+     * @return true if the walk completed, false if the visitor returned STOP
+     */
+    public static boolean walk(byte[] bsonData, BsonVisitor visitor) {
+        return new BsonWalker(new BsonReader(bsonData)).walk(visitor);
+    }
+
+    /**
+     * Walks the document at the reader's current position.
+     *
+     * @param reader the reader
+     * @param visitor the visitor
+     * @return true if the walk completed, false if the visitor returned STOP
+     */
+    public static boolean walk(BsonReader reader, BsonVisitor visitor) {
+        return new BsonWalker(reader).walk(visitor);
+    }
+
+    /**
+     * Walks the document at the reader's current position.
+     *
+     * <p>On completion the reader is positioned after the document. After a STOP its position
+     * is wherever the visitor stopped.
+     *
+     * @param visitor the visitor
+     * @return true if the walk completed, false if the visitor returned STOP
+     */
+    public boolean walk(BsonVisitor visitor) {
+        stopped = false;
+        BsonVisitor.Result result = visitor.onStartDocument(null);
+        if (result == BsonVisitor.Result.STOP) {
+            return false;
+        }
+        if (result == BsonVisitor.Result.SKIP) {
+            skipper.skipValue(BsonType.DOCUMENT);
+            return true;
+        }
+        reader.readInt32();
+        walkElements(visitor, false);
+        return !stopped;
+    }
+
+    /**
+     * Walks the elements of a document or array whose length prefix has been consumed.
+     */
+    private void walkElements(BsonVisitor visitor, boolean array) {
+        while (true) {
+            byte type = reader.readByte();
+            if (type == BsonType.END_OF_DOCUMENT) {
+                break;
+            }
+            readName();
+
+            BsonVisitor.Result result = visitor.onField(type, name);
+            if (result == BsonVisitor.Result.STOP) {
+                stopped = true;
+                return;
+            }
+            if (result == BsonVisitor.Result.SKIP) {
+                skipper.skipValue(type);
+                continue;
+            }
+
+            visitValue(visitor, type);
+            if (stopped) {
+                return;
+            }
+        }
+        if (array) {
+            visitor.onEndArray();
+        } else {
+            visitor.onEndDocument();
+        }
+    }
+
+    private void visitValue(BsonVisitor visitor, byte type) {
+        switch (type) {
+            case BsonType.DOUBLE:
+                visitor.onDouble(name, reader.readDouble());
+                break;
+
+            case BsonType.STRING: {
+                int length = reader.readInt32();
+                value.set(input, reader.position(), length - 1);
+                reader.skip(length);
+                visitor.onString(name, value);
+                break;
+            }
+
+            case BsonType.DOCUMENT:
+            case BsonType.ARRAY: {
+                boolean array = type == BsonType.ARRAY;
+                BsonVisitor.Result result = array ? visitor.onStartArray(name) : visitor.onStartDocument(name);
+                if (result == BsonVisitor.Result.STOP) {
+                    stopped = true;
+                } else if (result == BsonVisitor.Result.SKIP) {
+                    skipper.skipValue(type);
+                } else {
+                    reader.readInt32();
+                    walkElements(visitor, array);
+                }
+                break;
+            }
+
+            case BsonType.BINARY: {
+                int length = reader.readInt32();
+                byte subtype = reader.readByte();
+                value.set(input, reader.position(), length);
+                reader.skip(length);
+                visitor.onBinary(name, subtype, value);
+                break;
+            }
+
+            case BsonType.OBJECT_ID:
+                value.set(input, reader.position(), 12);
+                reader.skip(12);
+                visitor.onObjectId(name, value);
+                break;
+
+            case BsonType.BOOLEAN:
+                visitor.onBoolean(name, reader.readByte() != 0);
+                break;
+
+            case BsonType.DATE_TIME:
+                visitor.onDateTime(name, reader.readInt64());
+                break;
+
+            case BsonType.NULL:
+                visitor.onNull(name);
+                break;
+
+            case BsonType.INT32:
+                visitor.onInt32(name, reader.readInt32());
+                break;
+
+            case BsonType.TIMESTAMP:
+                visitor.onTimestamp(name, reader.readInt64());
+                break;
+
+            case BsonType.INT64:
+                visitor.onInt64(name, reader.readInt64());
+                break;
+
+            default: {
+                int start = reader.position();
+                skipper.skipValue(type);
+                value.set(input, start, reader.position() - start);
+                visitor.onOther(type, name, value);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Points the name slice at the next C-string and moves past it, without decoding it.
+     */
+    private void readName() {
+        int start = reader.position();
+        int end = input.indexOf((byte) 0, start);
+        if (end < 0 || end >= reader.length()) {
+            throw new BsonParseException("Unterminated field name at offset " + start);
+        }
+        name.set(input, start, end - start);
+        reader.position(end + 1);
+    }
+}
@@ -0,0 +1,52 @@
+package com.cloud.fastbson.wire;
+
+import com.cloud.fastbson.reader.BsonInput;
+
+/**
+ * CRC-32C (Castagnoli) as used by the OP_MSG checksum.
+ *
+ * <p>{@code java.util.zip.CRC32C} only exists since Java 9, so this is a plain
+ * table-driven implementation over {@link BsonInput}.
+ */
+final class Crc32c {
+
+    private static final int POLYNOMIAL = 0x82F63B78;  // Reflected Castagnoli polynomial
+
+    private static final int[] TABLE = new int[256];
+
+    static {
+        for (int i = 0; i < 256; i++) {
+            int crc = i;
+            for (int bit = 0; bit < 8; bit++) {
+                crc = (crc & 1) != 0 ? (crc >>> 1) ^ POLYNOMIAL : crc >>> 1;
+            }
+            TABLE[i] = crc;
+        }
+    }
+
+    private Crc32c() {
+    }
+
+    /**
+     * Computes the CRC-32C of a byte range.
+     *
+     * @param input the data
+     * @param offset the index of the first byte
+     * @param length the number of bytes
+     * @return the checksum
+     */
+    static int compute(BsonInput input, int offset, int length) {
+        int crc = 0xFFFFFFFF;
+        byte[] array = input.array();
+        if (array != null) {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                crc = (crc >>> 8) ^ TABLE[(crc ^ array[i]) & 0xFF];
+            }
+        } else {
+            for (int i = offset, end = offset + length; i < end; i++) {
+                crc = (crc >>> 8) ^ TABLE[(crc ^ input.getByte(i)) & 0xFF];
+            }
+        }
+        return ~crc;
+    }
+}
@@ -0,0 +1,420 @@
+package com.cloud.fastbson.wire;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
+import com.cloud.fastbson.reader.ByteBufferBsonInput;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Decoded MongoDB wire protocol OP_MSG frame.
+ *
+ * <p>Frame layout:
+ * <pre>
+ * MsgHeader   int32 messageLength, int32 requestID, int32 responseTo, int32 opCode (2013)
+ * flagBits    uint32 (bit 0 checksumPresent, bit 1 moreToCome, bit 16 exhaustAllowed)
+ * sections    kind 0: one BSON document (the body)
+ *             kind 1: int32 size, cstring identifier, BSON documents until size is consumed
+ * checksum    optional uint32 CRC-32C over all preceding bytes
+ * </pre>
+ *
+ * <p>Zero-copy: the body and every document of a kind-1 sequence are {@link IndexedBsonDocument}
+ * views over the frame's bytes. Sequence documents are only located during decoding (by walking their
+ * length prefixes); each one is indexed when it is first accessed, so a 100k-document insert batch
+ * costs one int per document until it is read.
+ *
+ * <p>The frame bytes must not be modified while the decoded message is in use.
+ */
+public final class OpMsg {
+
+    /**
+     * OP_MSG opcode.
+     */
+    public static final int OP_CODE = 2013;
+
+    /**
+     * Flag bit: a CRC-32C checksum follows the sections.
+     */
+    public static final int FLAG_CHECKSUM_PRESENT = 1;
+
+    /**
+     * Flag bit: another message follows without the receiver replying.
+     */
+    public static final int FLAG_MORE_TO_COME = 1 << 1;
+
+    /**
+     * Flag bit: the client is prepared for multiple replies (exhaust cursor).
+     */
+    public static final int FLAG_EXHAUST_ALLOWED = 1 << 16;
+
+    private static final int HEADER_SIZE = 16;
+    private static final int CHECKSUM_SIZE = 4;
+    private static final byte KIND_BODY = 0;
+    private static final byte KIND_DOCUMENT_SEQUENCE = 1;
+
+    private final BsonInput data;
+    private final int offset;
+    private final int messageLength;
+    private final int requestId;
+    private final int responseTo;
+    private final int flagBits;
+    private final IndexedBsonDocument body;
+    private final List<DocumentSequence> sequences;
+
+    private OpMsg(BsonInput data, int offset, int messageLength, int requestId, int responseTo,
+                  int flagBits, IndexedBsonDocument body, List<DocumentSequence> sequences) {
+        this.data = data;
+        this.offset = offset;
+        this.messageLength = messageLength;
+        this.requestId = requestId;
+        this.responseTo = responseTo;
+        this.flagBits = flagBits;
+        this.body = body;
+        this.sequences = sequences;
+    }
+
+    /**
+     * Decodes an OP_MSG frame starting at index 0 of the array (zero-copy).
+     *
+     * @param frame the frame bytes
+     * @return the decoded message
+     * @throws BsonParseException if the frame is malformed
+     */
+    public static OpMsg parse(byte[] frame) {
+        return parseInput(new ByteArrayBsonInput(frame), 0);
+    }
+
+    /**
+     * Decodes an OP_MSG frame starting at the buffer's position (zero-copy).
+     *
+     * <p>The buffer's position, limit and byte order are left untouched.
+     *
+     * @param frame the frame buffer (heap or direct)
+     * @return the decoded message
+     * @throws BsonParseException if the frame is malformed
+     */
+    public static OpMsg parseBuffer(ByteBuffer frame) {
+        return parseInput(new ByteBufferBsonInput(frame), 0);
+    }
+
+    /**
+     * Decodes an OP_MSG frame starting at the given input index (zero-copy).
+     *
+     * <p>The input may hold more bytes after the frame (e.g. a stream of frames); use
+     * {@link #getMessageLength()} to advance to the next one.
+     *
+     * @param input the input holding the frame
+     * @param offset the index of the first header byte
+     * @return the decoded message
+     * @throws BsonParseException if the frame is malformed
+     */
+    public static OpMsg parseInput(BsonInput input, int offset) {
+        int available = input.length() - offset;
+        if (available < HEADER_SIZE + 4) {
+            throw new BsonParseException("Truncated OP_MSG header: " + available + " bytes");
+        }
+        int messageLength = input.getInt32(offset);
+        int requestId = input.getInt32(offset + 4);
+        int responseTo = input.getInt32(offset + 8);
+        int opCode = input.getInt32(offset + 12);
+        int flagBits = input.getInt32(offset + 16);
+
+        if (opCode != OP_CODE) {
+            throw new BsonParseException("Not an OP_MSG frame, opCode: " + opCode);
+        }
+        if (messageLength < HEADER_SIZE + 4 || messageLength > available) {
+            throw new BsonParseException("Invalid OP_MSG length " + messageLength + ", available " + available);
+        }
+
+        int end = offset + messageLength;
+        if ((flagBits & FLAG_CHECKSUM_PRESENT) != 0) {
+            end -= CHECKSUM_SIZE;
+            if (end < offset + HEADER_SIZE + 4) {
+                throw new BsonParseException("OP_MSG too short for checksum: " + messageLength);
+            }
+        }
+
+        IndexedBsonDocument body = null;
+        List<DocumentSequence> sequences = new ArrayList<DocumentSequence>(1);
+        int pos = offset + HEADER_SIZE + 4;
+        while (pos < end) {
+            byte kind = input.getByte(pos++);
+            if (kind == KIND_BODY) {
+                if (body != null) {
+                    throw new BsonParseException("OP_MSG has more than one body section");
+                }
+                int docLength = checkDocument(input, pos, end);
+                body = IndexedBsonDocument.parseInput(input, pos, docLength);
+                pos += docLength;
+            } else if (kind == KIND_DOCUMENT_SEQUENCE) {
+                DocumentSequence sequence = DocumentSequence.parse(input, pos, end);
+                sequences.add(sequence);
+                pos += sequence.sectionSize;
+            } else {
+                throw new BsonParseException("Unsupported OP_MSG section kind: " + kind);
+            }
+        }
+        if (body == null) {
+            throw new BsonParseException("OP_MSG has no body section");
+        }
+
+        return new OpMsg(input, offset, messageLength, requestId, responseTo, flagBits, body,
+            sequences.isEmpty() ? Collections.<DocumentSequence>emptyList() : Collections.unmodifiableList(sequences));
+    }
+
+    /**
+     * Validates the document length prefix at pos and returns it.
+     */
+    private static int checkDocument(BsonInput input, int pos, int end) {
+        if (end - pos < 5) {
+            throw new BsonParseException("Truncated document in OP_MSG at offset " + pos);
+        }
+        int docLength = input.getInt32(pos);
+        if (docLength < 5 || docLength > end - pos) {
+            throw new BsonParseException("Invalid document length " + docLength + " in OP_MSG at offset " + pos);
+        }
+        return docLength;
+    }
+
+    // ==================== Header ====================
+
+    /**
+     * Returns the total frame length, including the header and checksum.
+     *
+     * @return the message length in bytes
+     */
+    public int getMessageLength() {
+        return messageLength;
+    }
+
+    /**
+     * Returns the request identifier.
+     *
+     * @return the requestID header field
+     */
+    public int getRequestId() {
+        return requestId;
+    }
+
+    /**
+     * Returns the requestID of the message this one responds to.
+     *
+     * @return the responseTo header field
+     */
+    public int getResponseTo() {
+        return responseTo;
+    }
+
+    /**
+     * Returns the raw flag bits.
+     *
+     * @return the flagBits field
+     */
+    public int getFlagBits() {
+        return flagBits;
+    }
+
+    /**
+     * Returns whether a CRC-32C checksum follows the sections.
+     *
+     * @return true if the checksumPresent bit is set
+     */
+    public boolean isChecksumPresent() {
+        return (flagBits & FLAG_CHECKSUM_PRESENT) != 0;
+    }
+
+    /**
+     * Returns whether another message follows without waiting for a reply.
+     *
+     * @return true if the moreToCome bit is set
+     */
+    public boolean isMoreToCome() {
+        return (flagBits & FLAG_MORE_TO_COME) != 0;
+    }
+
+    /**
+     * Returns whether the client accepts multiple replies.
+     *
+     * @return true if the exhaustAllowed bit is set
+     */
+    public boolean isExhaustAllowed() {
+        return (flagBits & FLAG_EXHAUST_ALLOWED) != 0;
+    }
+
+    // ==================== Sections ====================
+
+    /**
+     * Returns the kind-0 body document.
+     *
+     * @return zero-copy view of the body
+     */
+    public IndexedBsonDocument getBody() {
+        return body;
+    }
+
+    /**
+     * Returns all kind-1 document sequences in frame order.
+     *
+     * @return unmodifiable list of sequences
+     */
+    public List<DocumentSequence> getSequences() {
+        return sequences;
+    }
+
+    /**
+     * Returns the kind-1 document sequence with the given identifier (e.g. "documents", "updates").
+     *
+     * @param identifier the sequence identifier
+     * @return the sequence, or null if absent
+     */
+    public DocumentSequence getSequence(String identifier) {
+        for (DocumentSequence sequence : sequences) {
+            if (sequence.identifier.equals(identifier)) {
+                return sequence;
+            }
+        }
+        return null;
+    }
+
+    // ==================== Checksum ====================
+
+    /**
+     * Returns the CRC-32C checksum carried by the frame.
+     *
+     * @return the checksum (unsigned 32-bit value stored in an int)
+     * @throws IllegalStateException if the frame has no checksum
+     */
+    public int getChecksum() {
+        if (!isChecksumPresent()) {
+            throw new IllegalStateException("OP_MSG has no checksum");
+        }
+        return data.getInt32(offset + messageLength - CHECKSUM_SIZE);
+    }
+
+    /**
+     * Verifies the CRC-32C checksum against the frame bytes.
+     *
+     * <p>Decoding never computes the checksum, so proxies that only inspect traffic don't pay
+     * for it; call this when integrity matters.
+     *
+     * @return true if the checksum matches, or the frame has no checksum
+     */
+    public boolean isChecksumValid() {
+        if (!isChecksumPresent()) {
+            return true;
+        }
+        return Crc32c.compute(data, offset, messageLength - CHECKSUM_SIZE) == getChecksum();
+    }
+
+    /**
+     * Kind-1 section: an identifier and a run of documents located by their length prefixes.
+     */
+    public static final class DocumentSequence implements Iterable<IndexedBsonDocument> {
+
+        private final BsonInput data;
+        private final String identifier;
+        private final int[] offsets;   // Each document's length is its own int32 prefix, checked while parsing
+        private final int sectionSize;
+
+        private DocumentSequence(BsonInput data, String identifier, int[] offsets, int sectionSize) {
+            this.data = data;
+            this.identifier = identifier;
+            this.offsets = offsets;
+            this.sectionSize = sectionSize;
+        }
+
+        private static DocumentSequence parse(BsonInput input, int pos, int end) {
+            if (end - pos < 5) {
+                throw new BsonParseException("Truncated OP_MSG document sequence at offset " + pos);
+            }
+            int size = input.getInt32(pos);
+            if (size < 5 || size > end - pos) {
+                throw new BsonParseException("Invalid OP_MSG document sequence size " + size + " at offset " + pos);
+            }
+            int sectionEnd = pos + size;
+            int nameStart = pos + 4;
+            int nameEnd = input.indexOf((byte) 0, nameStart);
+            if (nameEnd < 0 || nameEnd >= sectionEnd) {
+                throw new BsonParseException("Unterminated OP_MSG document sequence identifier at offset " + nameStart);
+            }
+            String identifier = input.getString(nameStart, nameEnd - nameStart);
+
+            int[] offsets = new int[16];
+            int count = 0;
+            int docPos = nameEnd + 1;
+            while (docPos < sectionEnd) {
+                int docLength = checkDocument(input, docPos, sectionEnd);
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count] = docPos;
+                count++;
+                docPos += docLength;
+            }
+            return new DocumentSequence(input, identifier, Arrays.copyOf(offsets, count), size);
+        }
+
+        /**
+         * Returns the sequence identifier (e.g. "documents" for insert).
+         *
+         * @return the identifier
+         */
+        public String getIdentifier() {
+            return identifier;
+        }
+
+        /**
+         * Returns the number of documents in the sequence.
+         *
+         * @return the document count
+         */
+        public int size() {
+            return offsets.length;
+        }
+
+        /**
+         * Returns the document at the given position as a zero-copy view.
+         *
+         * <p>Each call builds a fresh index; keep the returned document if it is accessed repeatedly.
+         *
+         * @param index the document position
+         * @return the document view
+         * @throws IndexOutOfBoundsException if index is out of range
+         */
+        public IndexedBsonDocument get(int index) {
+            if (index < 0 || index >= offsets.length) {
+                throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + offsets.length);
+            }
+            int docOffset = offsets[index];
+            return IndexedBsonDocument.parseInput(data, docOffset, data.getInt32(docOffset));
+        }
+
+        @Override
+        public Iterator<IndexedBsonDocument> iterator() {
+            return new Iterator<IndexedBsonDocument>() {
+                private int next = 0;
+
+                @Override
+                public boolean hasNext() {
+                    return next < offsets.length;
+                }
+
+                @Override
+                public IndexedBsonDocument next() {
+                    if (next >= offsets.length) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(next++);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,1190 @@
+package com.cloud.fastbson.writer;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.util.BsonType;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * BSON encoder streaming to an {@link OutputStream} or {@link WritableByteChannel} through a
+ * fixed ring of buffers, for documents and batches too large to build in memory.
+ *
+ * <p>The writing API mirrors {@link BsonWriter}. Bytes accumulate in {@code chunkCount} buffers
+ * of {@code chunkSize} bytes, allocated once; when all of them are full, the oldest one is
+ * written to the sink and reused, so memory stays constant however much is written. The
+ * buffers are direct for channel sinks, and heap buffers for streams (which would copy a
+ * direct buffer back to the heap anyway).
+ *
+ * <p>A length prefix is back-patched when its document or array ends:
+ * <ul>
+ *   <li>in the buffers, while its bytes have not been written yet;</li>
+ *   <li>by a positional write, if the sink is a {@link SeekableByteChannel} such as a
+ *       {@link FileChannel} (not opened in append mode);</li>
+ *   <li>otherwise it cannot be patched: on a stream, a document is only guaranteed to fit if
+ *       it is at most {@code chunkSize * (chunkCount - 1)} bytes, and a larger one throws
+ *       {@link IllegalStateException} once its prefix would have to be sent. Write such documents
+ *       with {@link #writeDocument(DocumentContent)}, which runs the content twice: a sizing
+ *       pass that only counts bytes, then a writing pass that emits each length up front.</li>
+ * </ul>
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * try (BsonStreamWriter writer = new BsonStreamWriter(Files.newOutputStream(path))) {
+ *     for (Order order : orders) {            // A batch of small documents
+ *         writer.writeStartDocument()
+ *               .writeInt64("id", order.id())
+ *               .writeString("customer", order.customer())
+ *               .writeEndDocument();
+ *     }
+ *     writer.writeDocument(w -> {             // One huge document on a stream
+ *         w.writeStartArray("lines");
+ *         for (Line line : lines) {
+ *             w.writeStartDocument().writeInt32("qty", line.qty()).writeEndDocument();
+ *         }
+ *         w.writeEndArray();
+ *     });
+ * }
+ * }</pre>
+ *
+ * <p>Strings, binaries and raw values are streamed through the buffers whatever their size;
+ * boxed values ({@link #writeValue(String, byte, Object)}) and non-indexed documents and arrays
+ * are encoded with an internal {@link BsonWriter} first, which grows to the largest such value.
+ * Indexed documents and arrays are copied as raw bytes from their input, straight into the
+ * current heap buffer when they fit, otherwise through one reusable array.
+ *
+ * <p>If a write throws, the data already sent to the sink is undefined. This class is NOT
+ * thread-safe.
+ */
+public final class BsonStreamWriter implements Closeable, Flushable {
+
+    private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    private static final int DEFAULT_CHUNK_COUNT = 4;
+    private static final int MIN_CHUNK_SIZE = 16;
+    private static final int STAGING_SIZE = 1024;
+    private static final int INITIAL_DEPTH = 8;
+    private static final int DOCUMENT_LEVEL = -1;   // Marker in arrayIndexes for a document level
+    private static final int UNPATCHED = -1;        // Marker in lengths for a prefix patched on close
+    private static final int VALUE_OFFSET = 6;      // Length prefix, type byte, empty name in the scratch writer
+
+    private final OutputStream out;                 // Non-null for stream sinks
+    private final WritableByteChannel channel;      // Non-null for channel sinks
+    private final SeekableByteChannel seekable;     // Non-null when prefixes can be patched on the sink
+    private final long origin;                      // Sink position of the first written byte
+
+    private final ByteBuffer[] chunks;
+    private final int chunkSize;
+    private int head;                               // Oldest chunk not yet written to the sink
+    private int used;                               // Chunks holding data; all but the last are full
+    private long flushed;                           // Bytes written to the sink
+    private long position;                          // Bytes written in total, flushed or not
+
+    private long[] starts = new long[INITIAL_DEPTH];       // Length prefix position per open level
+    private int[] arrayIndexes = new int[INITIAL_DEPTH];   // Next array index, or DOCUMENT_LEVEL
+    private int[] lengths = new int[INITIAL_DEPTH];        // Length written up front, or UNPATCHED
+    private int depth;
+
+    private boolean sizing;                         // First pass of writeDocument(content): count only
+    private boolean replaying;                      // Second pass: lengths come from sizes
+    private int[] sizes = new int[INITIAL_DEPTH];   // Container lengths in opening order
+    private int[] sizeSlots = new int[INITIAL_DEPTH];
+    private int sizeCount;
+    private int sizeCursor;
+
+    private final byte[] staging = new byte[STAGING_SIZE];
+    private final ByteBuffer patch = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+    private BsonWriter scratch;
+    private byte[] raw;                             // Copy of an indexed value too large for staging
+    private boolean closed;
+
+    /**
+     * Writes the content of one document; called twice by
+     * {@link BsonStreamWriter#writeDocument(DocumentContent)} when the sink cannot seek, so it
+     * must write the same fields both times.
+     */
+    public interface DocumentContent {
+
+        /**
+         * Writes the fields of the document (its start and end are written by the caller).
+         *
+         * @param writer the writer
+         * @throws IOException if the sink fails
+         */
+        void writeTo(BsonStreamWriter writer) throws IOException;
+    }
+
+    /**
+     * Creates a writer on a stream with the default buffers (4 x 64 KB).
+     *
+     * @param out the stream
+     */
+    public BsonStreamWriter(OutputStream out) {
+        this(out, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+    }
+
+    /**
+     * Creates a writer on a stream.
+     *
+     * @param out the stream
+     * @param chunkSize size of each buffer in bytes (at least 16)
+     * @param chunkCount number of buffers (at least 1)
+     * @throws IllegalArgumentException if out is null or a size is out of range
+     */
+    public BsonStreamWriter(OutputStream out, int chunkSize, int chunkCount) {
+        this.out = checkNotNull(out, "out");
+        this.channel = null;
+        this.seekable = null;
+        this.origin = 0;
+        this.chunkSize = checkChunkSize(chunkSize);
+        this.chunks = new ByteBuffer[checkChunkCount(chunkCount)];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = ByteBuffer.allocate(chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.used = 1;
+    }
+
+    /**
+     * Creates a writer on a channel with the default buffers (4 x 64 KB).
+     *
+     * @param channel the channel
+     * @throws IOException if the position of a seekable channel cannot be read
+     */
+    public BsonStreamWriter(WritableByteChannel channel) throws IOException {
+        this(channel, DEFAULT_CHUNK_SIZE, DEFAULT_CHUNK_COUNT);
+    }
+
+    /**
+     * Creates a writer on a channel. If the channel is a {@link SeekableByteChannel}, writing
+     * starts at its current position and length prefixes are patched in place.
+     *
+     * @param channel the channel
+     * @param chunkSize size of each direct buffer in bytes (at least 16)
+     * @param chunkCount number of direct buffers (at least 1)
+     * @throws IOException if the position of a seekable channel cannot be read
+     * @throws IllegalArgumentException if channel is null or a size is out of range
+     */
+    public BsonStreamWriter(WritableByteChannel channel, int chunkSize, int chunkCount) throws IOException {
+        this.out = null;
+        this.channel = checkNotNull(channel, "channel");
+        this.seekable = channel instanceof SeekableByteChannel ? (SeekableByteChannel) channel : null;
+        this.origin = seekable != null ? seekable.position() : 0;
+        this.chunkSize = checkChunkSize(chunkSize);
+        this.chunks = new ByteBuffer[checkChunkCount(chunkCount)];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = ByteBuffer.allocateDirect(chunkSize).order(ByteOrder.LITTLE_ENDIAN);
+        }
+        this.used = 1;
+    }
+
+    // ==================== Output ====================
+
+    /**
+     * Returns the number of bytes written, including bytes still buffered.
+     *
+     * @return the written size
+     */
+    public long size() {
+        return position;
+    }
+
+    /**
+     * Returns the current nesting depth (0 when no document is open).
+     *
+     * @return the number of open documents and arrays
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns whether length prefixes already sent to the sink can be patched in place.
+     *
+     * @return true for seekable channel sinks
+     */
+    public boolean isSeekable() {
+        return seekable != null;
+    }
+
+    /**
+     * Sends buffered bytes to the sink. On a sink that cannot seek, bytes from the length
+     * prefix of the outermost open document onwards stay buffered.
+     *
+     * @throws IOException if the sink fails
+     */
+    @Override
+    public void flush() throws IOException {
+        checkOpen();
+        if (sizing) {
+            return;
+        }
+        long unpatched = firstUnpatchedStart();
+        if (unpatched < 0 || seekable != null) {
+            for (; used > 1; used--) {
+                writeChunk(chunks[head]);
+                head = (head + 1) % chunks.length;
+            }
+            writeChunk(chunks[head]);
+        } else {
+            while (used > 1 && unpatched >= flushed + chunkSize) {
+                writeChunk(chunks[head]);
+                head = (head + 1) % chunks.length;
+                used--;
+            }
+        }
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Flushes and closes the sink.
+     *
+     * <p>If a document is still open, only the complete documents before it are sent; on a
+     * seekable sink, the open document's bytes already sent by an earlier {@link #flush()}
+     * (with its length prefix still zero) are truncated away.
+     *
+     * @throws IOException if the sink fails
+     * @throws IllegalStateException if a document or array is still open (the sink is closed
+     *                               with the complete documents only)
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        try {
+            if (depth == 0) {
+                flush();
+            } else if (!sizing) {
+                flushComplete(starts[0]);
+            }
+        } finally {
+            closed = true;
+            if (out != null) {
+                out.close();
+            } else {
+                channel.close();
+            }
+        }
+        if (depth != 0) {
+            throw new IllegalStateException("Document is not complete: " + depth + " level(s) still open");
+        }
+    }
+
+    // ==================== Documents and Arrays ====================
+
+    /**
+     * Starts a top-level document, or a document element inside an array.
+     *
+     * @return this writer
+     * @throws IllegalStateException if the current level is a document (a name is required)
+     */
+    public BsonStreamWriter writeStartDocument() throws IOException {
+        if (depth > 0) {
+            writeElementName(BsonType.DOCUMENT);
+        }
+        return push(DOCUMENT_LEVEL);
+    }
+
+    /**
+     * Starts an embedded document field.
+     */
+    public BsonStreamWriter writeStartDocument(String name) throws IOException {
+        writeName(BsonType.DOCUMENT, name);
+        return push(DOCUMENT_LEVEL);
+    }
+
+    /**
+     * Starts an embedded document field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeStartDocument(FieldKey name) throws IOException {
+        writeName(BsonType.DOCUMENT, name);
+        return push(DOCUMENT_LEVEL);
+    }
+
+    /**
+     * Ends the current document and back-patches its length.
+     *
+     * @return this writer
+     * @throws IllegalStateException if the current level is not a document, or if the prefix
+     *                               was already sent to a sink that cannot seek
+     */
+    public BsonStreamWriter writeEndDocument() throws IOException {
+        if (depth == 0 || arrayIndexes[depth - 1] != DOCUMENT_LEVEL) {
+            throw new IllegalStateException("No open document to end");
+        }
+        return pop();
+    }
+
+    /**
+     * Starts an array field.
+     */
+    public BsonStreamWriter writeStartArray(String name) throws IOException {
+        writeName(BsonType.ARRAY, name);
+        return push(0);
+    }
+
+    /**
+     * Starts an array field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeStartArray(FieldKey name) throws IOException {
+        writeName(BsonType.ARRAY, name);
+        return push(0);
+    }
+
+    /**
+     * Starts an array element inside an array.
+     *
+     * @throws IllegalStateException if the current level is not an array
+     */
+    public BsonStreamWriter writeStartArray() throws IOException {
+        writeElementName(BsonType.ARRAY);
+        return push(0);
+    }
+
+    /**
+     * Ends the current array and back-patches its length.
+     *
+     * @throws IllegalStateException if the current level is not an array
+     */
+    public BsonStreamWriter writeEndArray() throws IOException {
+        if (depth == 0 || arrayIndexes[depth - 1] == DOCUMENT_LEVEL) {
+            throw new IllegalStateException("No open array to end");
+        }
+        return pop();
+    }
+
+    /**
+     * Writes a top-level document whose fields are produced by content. On a seekable sink the
+     * content runs once; otherwise it runs a first time to compute the length of every document
+     * and array it opens (nothing is written), then a second time to write them with their
+     * lengths known, so the document may be of any size.
+     *
+     * @param content writes the fields of the document
+     * @return this writer
+     * @throws IOException if the sink fails
+     * @throws IllegalStateException if a document is already open, or if the two passes do not
+     *                               write the same structure
+     */
+    public BsonStreamWriter writeDocument(DocumentContent content) throws IOException {
+        checkNotNull(content, "content");
+        if (depth != 0 || sizing || replaying) {
+            throw new IllegalStateException("Content documents are written at the top level");
+        }
+        if (seekable != null) {
+            writeStartDocument();
+            content.writeTo(this);
+            return writeEndDocument();
+        }
+
+        long mark = position;
+        sizeCount = 0;
+        sizing = true;
+        try {
+            writeStartDocument();
+            content.writeTo(this);
+            writeEndDocument();
+        } finally {
+            sizing = false;
+            position = mark;
+            depth = 0;
+        }
+
+        sizeCursor = 0;
+        replaying = true;
+        try {
+            writeStartDocument();
+            content.writeTo(this);
+            writeEndDocument();
+        } finally {
+            replaying = false;
+        }
+        if (sizeCursor != sizeCount) {
+            throw new IllegalStateException("Document content changed between the sizing and the writing pass");
+        }
+        return this;
+    }
+
+    // ==================== Int32 / Int64 / Double / Boolean / DateTime / Null ====================
+
+    /**
+     * Writes an int32 field.
+     */
+    public BsonStreamWriter writeInt32(String name, int value) throws IOException {
+        writeName(BsonType.INT32, name);
+        putInt32(value);
+        return this;
+    }
+
+    /**
+     * Writes an int32 field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeInt32(FieldKey name, int value) throws IOException {
+        writeName(BsonType.INT32, name);
+        putInt32(value);
+        return this;
+    }
+
+    /**
+     * Writes an int32 array element.
+     */
+    public BsonStreamWriter writeInt32(int value) throws IOException {
+        writeElementName(BsonType.INT32);
+        putInt32(value);
+        return this;
+    }
+
+    /**
+     * Writes an int64 field.
+     */
+    public BsonStreamWriter writeInt64(String name, long value) throws IOException {
+        writeName(BsonType.INT64, name);
+        putInt64(value);
+        return this;
+    }
+
+    /**
+     * Writes an int64 field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeInt64(FieldKey name, long value) throws IOException {
+        writeName(BsonType.INT64, name);
+        putInt64(value);
+        return this;
+    }
+
+    /**
+     * Writes an int64 array element.
+     */
+    public BsonStreamWriter writeInt64(long value) throws IOException {
+        writeElementName(BsonType.INT64);
+        putInt64(value);
+        return this;
+    }
+
+    /**
+     * Writes a double field.
+     */
+    public BsonStreamWriter writeDouble(String name, double value) throws IOException {
+        writeName(BsonType.DOUBLE, name);
+        putInt64(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a double field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeDouble(FieldKey name, double value) throws IOException {
+        writeName(BsonType.DOUBLE, name);
+        putInt64(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a double array element.
+     */
+    public BsonStreamWriter writeDouble(double value) throws IOException {
+        writeElementName(BsonType.DOUBLE);
+        putInt64(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a boolean field.
+     */
+    public BsonStreamWriter writeBoolean(String name, boolean value) throws IOException {
+        writeName(BsonType.BOOLEAN, name);
+        putByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Writes a boolean field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeBoolean(FieldKey name, boolean value) throws IOException {
+        writeName(BsonType.BOOLEAN, name);
+        putByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Writes a boolean array element.
+     */
+    public BsonStreamWriter writeBoolean(boolean value) throws IOException {
+        writeElementName(BsonType.BOOLEAN);
+        putByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Writes a UTC datetime field (milliseconds since the epoch).
+     */
+    public BsonStreamWriter writeDateTime(String name, long millis) throws IOException {
+        writeName(BsonType.DATE_TIME, name);
+        putInt64(millis);
+        return this;
+    }
+
+    /**
+     * Writes a UTC datetime field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeDateTime(FieldKey name, long millis) throws IOException {
+        writeName(BsonType.DATE_TIME, name);
+        putInt64(millis);
+        return this;
+    }
+
+    /**
+     * Writes a UTC datetime array element.
+     */
+    public BsonStreamWriter writeDateTime(long millis) throws IOException {
+        writeElementName(BsonType.DATE_TIME);
+        putInt64(millis);
+        return this;
+    }
+
+    /**
+     * Writes a null field.
+     */
+    public BsonStreamWriter writeNull(String name) throws IOException {
+        writeName(BsonType.NULL, name);
+        return this;
+    }
+
+    /**
+     * Writes a null field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeNull(FieldKey name) throws IOException {
+        writeName(BsonType.NULL, name);
+        return this;
+    }
+
+    /**
+     * Writes a null array element.
+     */
+    public BsonStreamWriter writeNull() throws IOException {
+        writeElementName(BsonType.NULL);
+        return this;
+    }
+
+    // ==================== String / ObjectId / Binary ====================
+
+    /**
+     * Writes a UTF-8 string field of any length (unpaired surrogates become '?').
+     *
+     * @throws IllegalArgumentException if value is null
+     */
+    public BsonStreamWriter writeString(String name, String value) throws IOException {
+        checkNotNull(value, "value");
+        writeName(BsonType.STRING, name);
+        putString(value);
+        return this;
+    }
+
+    /**
+     * Writes a UTF-8 string field with a pre-encoded name.
+     */
+    public BsonStreamWriter writeString(FieldKey name, String value) throws IOException {
+        checkNotNull(value, "value");
+        writeName(BsonType.STRING, name);
+        putString(value);
+        return this;
+    }
+
+    /**
+     * Writes a UTF-8 string array element.
+     */
+    public BsonStreamWriter writeString(String value) throws IOException {
+        checkNotNull(value, "value");
+        writeElementName(BsonType.STRING);
+        putString(value);
+        return this;
+    }
+
+    /**
+     * Writes an ObjectId field from its 24-character hex representation.
+     *
+     * @throws IllegalArgumentException if hex is not 24 hex digits
+     */
+    public BsonStreamWriter writeObjectId(String name, String hex) throws IOException {
+        return writeValue(name, BsonType.OBJECT_ID, checkNotNull(hex, "hex"));
+    }
+
+    /**
+     * Writes an ObjectId field from its 12 raw bytes.
+     *
+     * @throws IllegalArgumentException if id is not 12 bytes
+     */
+    public BsonStreamWriter writeObjectId(String name, byte[] id) throws IOException {
+        return writeValue(name, BsonType.OBJECT_ID, checkNotNull(id, "id"));
+    }
+
+    /**
+     * Writes a binary field.
+     */
+    public BsonStreamWriter writeBinary(String name, byte subtype, byte[] data) throws IOException {
+        return writeBinary(name, subtype, data, 0, checkNotNull(data, "data").length);
+    }
+
+    /**
+     * Writes a binary field from a slice of an array (streamed through the buffers).
+     */
+    public BsonStreamWriter writeBinary(String name, byte subtype, byte[] data, int offset, int length)
+            throws IOException {
+        checkRange(data, offset, length);
+        writeName(BsonType.BINARY, name);
+        putBinary(subtype, data, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes a binary array element.
+     */
+    public BsonStreamWriter writeBinary(byte subtype, byte[] data) throws IOException {
+        checkRange(data, 0, checkNotNull(data, "data").length);
+        writeElementName(BsonType.BINARY);
+        putBinary(subtype, data, 0, data.length);
+        return this;
+    }
+
+    // ==================== Raw and Generic Values ====================
+
+    /**
+     * Writes a field whose value is already encoded.
+     *
+     * @param name the field name
+     * @param type the BSON type of the value
+     * @param data array holding the encoded value
+     * @param offset value start offset
+     * @param length value length in bytes
+     * @return this writer
+     */
+    public BsonStreamWriter writeRawValue(String name, byte type, byte[] data, int offset, int length)
+            throws IOException {
+        checkRange(data, offset, length);
+        writeName(type, name);
+        putBytes(data, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes an array element whose value is already encoded.
+     */
+    public BsonStreamWriter writeRawValue(byte type, byte[] data, int offset, int length) throws IOException {
+        checkRange(data, offset, length);
+        writeElementName(type);
+        putBytes(data, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes a field from a boxed value (see {@link BsonWriter#writeValue(String, byte, Object)}).
+     *
+     * @throws IllegalArgumentException if the type is unknown or the value does not match it
+     */
+    public BsonStreamWriter writeValue(String name, byte type, Object value) throws IOException {
+        BsonWriter encoded = encode(type, value);
+        writeName(type, name);
+        putBytes(encoded.getBuffer(), VALUE_OFFSET, encoded.size() - VALUE_OFFSET);
+        return this;
+    }
+
+    /**
+     * Writes an array element from a boxed value.
+     */
+    public BsonStreamWriter writeValue(byte type, Object value) throws IOException {
+        BsonWriter encoded = encode(type, value);
+        writeElementName(type);
+        putBytes(encoded.getBuffer(), VALUE_OFFSET, encoded.size() - VALUE_OFFSET);
+        return this;
+    }
+
+    /**
+     * Writes any {@link BsonDocument} as a top-level document or as an array element;
+     * {@link IndexedBsonDocument}s are copied as raw bytes.
+     *
+     * @param document the document
+     * @return this writer
+     */
+    public BsonStreamWriter writeDocument(BsonDocument document) throws IOException {
+        checkNotNull(document, "document");
+        checkOpen();
+        if (document instanceof IndexedBsonDocument) {
+            if (depth > 0) {
+                writeElementName(BsonType.DOCUMENT);
+            }
+            putIndexed((IndexedBsonDocument) document);
+            return this;
+        }
+        if (depth > 0) {
+            return writeValue(BsonType.DOCUMENT, document);
+        }
+        BsonWriter encoded = scratch();
+        encoded.writeDocument(document);
+        putBytes(encoded.getBuffer(), 0, encoded.size());
+        return this;
+    }
+
+    /**
+     * Writes any {@link BsonDocument} as an embedded document field;
+     * {@link IndexedBsonDocument}s are copied as raw bytes.
+     */
+    public BsonStreamWriter writeDocument(String name, BsonDocument document) throws IOException {
+        checkNotNull(document, "document");
+        if (document instanceof IndexedBsonDocument) {
+            writeName(BsonType.DOCUMENT, name);
+            putIndexed((IndexedBsonDocument) document);
+            return this;
+        }
+        return writeValue(name, BsonType.DOCUMENT, document);
+    }
+
+    /**
+     * Writes any {@link BsonArray} as an array field; {@link IndexedBsonArray}s are copied as raw bytes.
+     */
+    public BsonStreamWriter writeArray(String name, BsonArray array) throws IOException {
+        checkNotNull(array, "array");
+        if (array instanceof IndexedBsonArray) {
+            writeName(BsonType.ARRAY, name);
+            putIndexed((IndexedBsonArray) array);
+            return this;
+        }
+        return writeValue(name, BsonType.ARRAY, array);
+    }
+
+    // ==================== Internal: Structure ====================
+
+    private BsonStreamWriter push(int arrayIndex) throws IOException {
+        checkOpen();
+        if (depth == starts.length) {
+            starts = Arrays.copyOf(starts, depth * 2);
+            arrayIndexes = Arrays.copyOf(arrayIndexes, depth * 2);
+            lengths = Arrays.copyOf(lengths, depth * 2);
+            sizeSlots = Arrays.copyOf(sizeSlots, depth * 2);
+        }
+        int length = UNPATCHED;
+        if (sizing) {
+            if (sizeCount == sizes.length) {
+                sizes = Arrays.copyOf(sizes, sizeCount * 2);
+            }
+            sizeSlots[depth] = sizeCount++;
+        } else if (replaying) {
+            if (sizeCursor == sizeCount) {
+                throw new IllegalStateException("Document content changed between the sizing and the writing pass");
+            }
+            length = sizes[sizeCursor++];
+        }
+        starts[depth] = position;
+        arrayIndexes[depth] = arrayIndex;
+        lengths[depth] = length;
+        depth++;
+        putInt32(length == UNPATCHED ? 0 : length);  // Patched by pop() unless known
+        return this;
+    }
+
+    private BsonStreamWriter pop() throws IOException {
+        putByte(BsonType.END_OF_DOCUMENT);
+        int level = --depth;
+        long length = position - starts[level];
+        if (length > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Document exceeds the maximum BSON size: " + length);
+        }
+        if (sizing) {
+            sizes[sizeSlots[level]] = (int) length;
+        } else if (lengths[level] != UNPATCHED) {
+            if (lengths[level] != length) {
+                throw new IllegalStateException("Document content changed between the sizing and the writing pass");
+            }
+        } else {
+            patchInt32(starts[level], (int) length);
+        }
+        return this;
+    }
+
+    /**
+     * Returns the prefix position of the outermost open level whose length is not known, or -1.
+     */
+    private long firstUnpatchedStart() {
+        for (int i = 0; i < depth; i++) {
+            if (lengths[i] == UNPATCHED) {
+                return starts[i];
+            }
+        }
+        return -1;
+    }
+
+    private void writeName(byte type, String name) throws IOException {
+        checkNotNull(name, "name");
+        checkDocumentLevel();
+        putByte(type);
+        putUtf8(name, true);
+        putByte((byte) 0);
+    }
+
+    private void writeName(byte type, FieldKey name) throws IOException {
+        checkNotNull(name, "name");
+        checkDocumentLevel();
+        int length = name.getByteLength();
+        byte[] bytes = length <= staging.length ? staging : new byte[length];
+        name.copyBytes(bytes, 0);
+        for (int i = 0; i < length; i++) {
+            if (bytes[i] == 0) {
+                throw new IllegalArgumentException("Field name cannot contain a null character: " + name);
+            }
+        }
+        putByte(type);
+        putBytes(bytes, 0, length);
+        putByte((byte) 0);
+    }
+
+    private void checkDocumentLevel() {
+        checkOpen();
+        if (depth == 0) {
+            throw new IllegalStateException("No open document: call writeStartDocument() first");
+        }
+        if (arrayIndexes[depth - 1] != DOCUMENT_LEVEL) {
+            throw new IllegalStateException("Array elements are written without a name");
+        }
+    }
+
+    /**
+     * Writes the type byte and the next index name of an array element.
+     */
+    private void writeElementName(byte type) throws IOException {
+        checkOpen();
+        if (depth == 0 || arrayIndexes[depth - 1] == DOCUMENT_LEVEL) {
+            throw new IllegalStateException("A field name is required outside of an array");
+        }
+        int index = arrayIndexes[depth - 1]++;
+        byte[] b = staging;
+        b[0] = type;
+        int digits = 1;
+        for (int v = index; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = 1 + digits;
+        int v = index;
+        do {
+            b[--pos] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        b[1 + digits] = 0;
+        putBytes(b, 0, 2 + digits);
+    }
+
+    private void checkOpen() {
+        if (closed) {
+            throw new IllegalStateException("Writer is closed");
+        }
+    }
+
+    // ==================== Internal: Values ====================
+
+    private void putByte(byte value) throws IOException {
+        position++;
+        if (sizing) {
+            return;
+        }
+        ByteBuffer chunk = chunks[(head + used - 1) % chunks.length];
+        if (!chunk.hasRemaining()) {
+            chunk = nextChunk();
+        }
+        chunk.put(value);
+    }
+
+    private void putInt32(int value) throws IOException {
+        position += 4;
+        if (sizing) {
+            return;
+        }
+        ByteBuffer chunk = chunks[(head + used - 1) % chunks.length];
+        if (chunk.remaining() >= 4) {
+            chunk.putInt(value);
+        } else {
+            for (int i = 0; i < 4; i++) {
+                staging[i] = (byte) (value >>> (i * 8));
+            }
+            copy(staging, 0, 4);
+        }
+    }
+
+    private void putInt64(long value) throws IOException {
+        position += 8;
+        if (sizing) {
+            return;
+        }
+        ByteBuffer chunk = chunks[(head + used - 1) % chunks.length];
+        if (chunk.remaining() >= 8) {
+            chunk.putLong(value);
+        } else {
+            for (int i = 0; i < 8; i++) {
+                staging[i] = (byte) (value >>> (i * 8));
+            }
+            copy(staging, 0, 8);
+        }
+    }
+
+    private void putBytes(byte[] data, int offset, int length) throws IOException {
+        position += length;
+        if (!sizing) {
+            copy(data, offset, length);
+        }
+    }
+
+    /**
+     * Writes an int32 length, the UTF-8 bytes and the terminator.
+     */
+    private void putString(String value) throws IOException {
+        int length = BsonWriter.utf8Length(value);
+        putInt32(length + 1);
+        if (sizing) {
+            position += length + 1;
+            return;
+        }
+        putUtf8(value, false);
+        putByte((byte) 0);
+    }
+
+    /**
+     * Encodes s as UTF-8 through the staging array, a segment at a time.
+     */
+    private void putUtf8(String s, boolean cString) throws IOException {
+        int segment = staging.length / 3;
+        for (int from = 0, length = s.length(); from < length; ) {
+            int to = Math.min(length, from + segment);
+            if (to < length && Character.isHighSurrogate(s.charAt(to - 1))) {
+                to--;  // Keep surrogate pairs in one segment
+            }
+            putBytes(staging, 0, BsonWriter.encodeUtf8(s, from, to, staging, 0, cString));
+            from = to;
+        }
+    }
+
+    /**
+     * Copies an indexed document's bytes from its input, without going through toBson().
+     */
+    private void putIndexed(IndexedBsonDocument document) throws IOException {
+        int length = document.getBsonLength();
+        ByteBuffer chunk = rawChunk(length);
+        if (chunk != null) {
+            document.copyBsonTo(chunk.array(), chunk.arrayOffset() + chunk.position());
+            chunk.position(chunk.position() + length);
+        } else if (!sizing) {
+            byte[] bytes = rawBuffer(length);
+            document.copyBsonTo(bytes, 0);
+            copy(bytes, 0, length);
+        }
+        position += length;
+    }
+
+    /**
+     * Copies an indexed array's bytes from its input, without decoding its elements.
+     */
+    private void putIndexed(IndexedBsonArray array) throws IOException {
+        int length = array.getBsonLength();
+        ByteBuffer chunk = rawChunk(length);
+        if (chunk != null) {
+            array.copyBsonTo(chunk.array(), chunk.arrayOffset() + chunk.position());
+            chunk.position(chunk.position() + length);
+        } else if (!sizing) {
+            byte[] bytes = rawBuffer(length);
+            array.copyBsonTo(bytes, 0);
+            copy(bytes, 0, length);
+        }
+        position += length;
+    }
+
+    /**
+     * The current chunk if raw bytes of the given length can be copied straight into it
+     * (heap chunk with enough room, and not sizing), otherwise null.
+     */
+    private ByteBuffer rawChunk(int length) {
+        if (sizing) {
+            return null;
+        }
+        ByteBuffer chunk = chunks[(head + used - 1) % chunks.length];
+        return chunk.hasArray() && chunk.remaining() >= length ? chunk : null;
+    }
+
+    /**
+     * The staging array if length fits, otherwise a reusable array grown to the largest raw value.
+     */
+    private byte[] rawBuffer(int length) {
+        if (length <= staging.length) {
+            return staging;
+        }
+        if (raw == null || raw.length < length) {
+            raw = new byte[length];
+        }
+        return raw;
+    }
+
+    private void putBinary(byte subtype, byte[] data, int offset, int length) throws IOException {
+        putInt32(length);
+        putByte(subtype);
+        putBytes(data, offset, length);
+    }
+
+    /**
+     * Encodes a boxed value with the scratch writer as the single field of a document with an
+     * empty name; the value starts at {@link #VALUE_OFFSET}.
+     */
+    private BsonWriter encode(byte type, Object value) {
+        BsonWriter encoded = scratch();
+        encoded.writeStartDocument().writeValue("", type, value);
+        return encoded;
+    }
+
+    private BsonWriter scratch() {
+        if (scratch == null) {
+            scratch = new BsonWriter();
+        } else {
+            scratch.reset();
+        }
+        return scratch;
+    }
+
+    // ==================== Internal: Buffers ====================
+
+    /**
+     * Copies bytes into the ring, moving to the next chunk as each one fills up.
+     */
+    private void copy(byte[] data, int offset, int length) throws IOException {
+        ByteBuffer chunk = chunks[(head + used - 1) % chunks.length];
+        while (length > 0) {
+            if (!chunk.hasRemaining()) {
+                chunk = nextChunk();
+            }
+            int n = Math.min(length, chunk.remaining());
+            chunk.put(data, offset, n);
+            offset += n;
+            length -= n;
+        }
+    }
+
+    /**
+     * Sends the buffered bytes before an absolute position and drops the rest, truncating a
+     * seekable sink that already holds bytes past it.
+     */
+    private void flushComplete(long end) throws IOException {
+        while (used > 0 && flushed < end) {
+            ByteBuffer chunk = chunks[head];
+            chunk.position((int) Math.min(chunk.position(), end - flushed));
+            writeChunk(chunk);
+            head = (head + 1) % chunks.length;
+            used--;
+        }
+        if (seekable != null && flushed > end) {
+            seekable.truncate(origin + end);
+        }
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Makes the next chunk current, writing the oldest one to the sink if all are in use.
+     */
+    private ByteBuffer nextChunk() throws IOException {
+        if (used == chunks.length) {
+            long unpatched = firstUnpatchedStart();
+            if (seekable == null && unpatched >= 0 && unpatched < flushed + chunkSize) {
+                throw new IllegalStateException("Open document exceeds the " + (long) chunkSize * chunks.length
+                    + " buffered bytes and the sink cannot seek; write it with writeDocument(DocumentContent)");
+            }
+            writeChunk(chunks[head]);
+            head = (head + 1) % chunks.length;
+            used--;
+        }
+        used++;
+        return chunks[(head + used - 1) % chunks.length];
+    }
+
+    /**
+     * Writes the filled part of a chunk to the sink and clears it.
+     */
+    private void writeChunk(ByteBuffer chunk) throws IOException {
+        chunk.flip();
+        flushed += chunk.limit();
+        if (out != null) {
+            out.write(chunk.array(), chunk.arrayOffset(), chunk.limit());
+        } else {
+            while (chunk.hasRemaining()) {
+                channel.write(chunk);
+            }
+        }
+        chunk.clear();
+    }
+
+    /**
+     * Writes a length prefix at an absolute position, in the ring or on the seekable sink
+     * (a prefix may straddle both).
+     */
+    private void patchInt32(long pos, int value) throws IOException {
+        int onSink = (int) Math.max(0, Math.min(4, flushed - pos));
+        for (int i = onSink; i < 4; i++) {
+            long offset = pos + i - flushed;
+            ByteBuffer chunk = chunks[(head + (int) (offset / chunkSize)) % chunks.length];
+            chunk.put((int) (offset % chunkSize), (byte) (value >>> (i * 8)));
+        }
+        if (onSink == 0) {
+            return;
+        }
+        patch.clear();
+        patch.putInt(0, value).limit(onSink);
+        long target = origin + pos;
+        if (seekable instanceof FileChannel) {
+            FileChannel file = (FileChannel) seekable;
+            while (patch.hasRemaining()) {
+                file.write(patch, target + patch.position());
+            }
+        } else {
+            long saved = seekable.position();
+            seekable.position(target);
+            while (patch.hasRemaining()) {
+                seekable.write(patch);
+            }
+            seekable.position(saved);
+        }
+    }
+
+    private static int checkChunkSize(int chunkSize) {
+        if (chunkSize < MIN_CHUNK_SIZE) {
+            throw new IllegalArgumentException("Chunk size must be at least " + MIN_CHUNK_SIZE + ": " + chunkSize);
+        }
+        return chunkSize;
+    }
+
+    private static int checkChunkCount(int chunkCount) {
+        if (chunkCount < 1) {
+            throw new IllegalArgumentException("Chunk count must be at least 1: " + chunkCount);
+        }
+        return chunkCount;
+    }
+
+    private static <T> T checkNotNull(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        return value;
+    }
+
+    private static void checkRange(byte[] data, int offset, int length) {
+        checkNotNull(data, "data");
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IllegalArgumentException(
+                String.format("Range [%d, %d) out of bounds for length %d", offset, (long) offset + length, data.length));
+        }
+    }
+}
@@ -0,0 +1,1320 @@
+package com.cloud.fastbson.writer;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.types.BinaryData;
+import com.cloud.fastbson.types.DBPointer;
+import com.cloud.fastbson.types.Decimal128;
+import com.cloud.fastbson.types.JavaScriptWithScope;
+import com.cloud.fastbson.types.RegexValue;
+import com.cloud.fastbson.types.Timestamp;
+import com.cloud.fastbson.util.BsonType;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Low-level BSON encoder writing into a reusable, growable byte buffer.
+ *
+ * <p>Documents and arrays are opened and closed explicitly; their int32 length prefixes are
+ * reserved when opened and back-patched when closed, so nothing is buffered per field. Values
+ * are written straight into the buffer in little-endian order: primitive overloads never box,
+ * strings are UTF-8 encoded in place, and array keys ("0", "1", ...) are generated as digits.
+ * After the buffer has grown to the working size, writing a document allocates nothing.
+ *
+ * <p>Usage:
+ * <pre>{@code
+ * static final FieldKey USER_ID = FieldKey.of("userId");   // Pre-encoded name
+ *
+ * BsonWriter writer = new BsonWriter();
+ * writer.writeStartDocument()
+ *       .writeInt64(USER_ID, 42L)
+ *       .writeString("name", "alice")
+ *       .writeStartArray("scores")
+ *           .writeInt32(90).writeInt32(85)
+ *       .writeEndArray()
+ *       .writeEndDocument();
+ * byte[] bson = writer.toByteArray();
+ *
+ * writer.reset();   // Reuse the buffer for the next document
+ * }</pre>
+ *
+ * <p>Inside a document every value needs a name; inside an array values are written without a
+ * name and receive the next index. Several top-level documents may be written back to back
+ * (e.g. a batch for a stream), each starting with {@link #writeStartDocument()}.
+ *
+ * <p>If a write throws (e.g. a name containing a null character), the partially written data is
+ * undefined; call {@link #reset()} before reusing the writer.
+ *
+ * <p>This class is NOT thread-safe, like {@link com.cloud.fastbson.reader.BsonReader}.
+ */
+public final class BsonWriter {
+
+    private static final int DEFAULT_CAPACITY = 256;
+    private static final int INITIAL_DEPTH = 8;
+    private static final int DOCUMENT_LEVEL = -1;   // Marker in arrayIndexes for a document level
+
+    private byte[] buffer;
+    private int position;
+
+    private int[] starts = new int[INITIAL_DEPTH];         // Length prefix position per open level
+    private int[] arrayIndexes = new int[INITIAL_DEPTH];   // Next array index, or DOCUMENT_LEVEL
+    private int depth;
+
+    /**
+     * Creates a writer with the default initial capacity.
+     */
+    public BsonWriter() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates a writer with the given initial capacity (the buffer grows as needed).
+     *
+     * @param initialCapacity initial buffer size in bytes
+     * @throws IllegalArgumentException if initialCapacity is negative
+     */
+    public BsonWriter(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Initial capacity cannot be negative: " + initialCapacity);
+        }
+        this.buffer = new byte[initialCapacity];
+    }
+
+    /**
+     * Discards all written data, keeping the buffer for reuse.
+     */
+    public void reset() {
+        position = 0;
+        depth = 0;
+    }
+
+    // ==================== Output ====================
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return the written size
+     */
+    public int size() {
+        return position;
+    }
+
+    /**
+     * Returns the current nesting depth (0 when no document is open).
+     *
+     * @return the number of open documents and arrays
+     */
+    public int depth() {
+        return depth;
+    }
+
+    /**
+     * Returns the internal buffer for zero-copy hand-off; only the first {@link #size()} bytes
+     * are valid, and the contents change on the next write or reset.
+     *
+     * @return the internal buffer
+     */
+    public byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Returns a copy of the written bytes.
+     *
+     * @return the encoded documents
+     * @throws IllegalStateException if a document or array is still open
+     */
+    public byte[] toByteArray() {
+        checkClosed();
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * Writes the written bytes to a stream.
+     *
+     * @param out the stream
+     * @throws IOException if the stream fails
+     * @throws IllegalStateException if a document or array is still open
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        checkClosed();
+        out.write(buffer, 0, position);
+    }
+
+    // ==================== Documents and Arrays ====================
+
+    /**
+     * Starts a top-level document, or a document element inside an array.
+     *
+     * @return this writer
+     * @throws IllegalStateException if the current level is a document (a name is required)
+     */
+    public BsonWriter writeStartDocument() {
+        if (depth > 0) {
+            writeElementName(BsonType.DOCUMENT);
+        }
+        return push(DOCUMENT_LEVEL);
+    }
+
+    /**
+     * Starts an embedded document field.
+     *
+     * @param name the field name
+     * @return this writer
+     */
+    public BsonWriter writeStartDocument(String name) {
+        writeName(BsonType.DOCUMENT, name);
+        return push(DOCUMENT_LEVEL);
+    }
+
+    /**
+     * Starts an embedded document field with a pre-encoded name.
+     *
+     * @param name the field name
+     * @return this writer
+     */
+    public BsonWriter writeStartDocument(FieldKey name) {
+        writeName(BsonType.DOCUMENT, name);
+        return push(DOCUMENT_LEVEL);
+    }
+
+    /**
+     * Ends the current document and back-patches its length.
+     *
+     * @return this writer
+     * @throws IllegalStateException if the current level is not a document
+     */
+    public BsonWriter writeEndDocument() {
+        if (depth == 0 || arrayIndexes[depth - 1] != DOCUMENT_LEVEL) {
+            throw new IllegalStateException("No open document to end");
+        }
+        return pop();
+    }
+
+    /**
+     * Starts an array field.
+     *
+     * @param name the field name
+     * @return this writer
+     */
+    public BsonWriter writeStartArray(String name) {
+        writeName(BsonType.ARRAY, name);
+        return push(0);
+    }
+
+    /**
+     * Starts an array field with a pre-encoded name.
+     *
+     * @param name the field name
+     * @return this writer
+     */
+    public BsonWriter writeStartArray(FieldKey name) {
+        writeName(BsonType.ARRAY, name);
+        return push(0);
+    }
+
+    /**
+     * Starts a top-level array, or an array element inside an array.
+     *
+     * @return this writer
+     * @throws IllegalStateException if the current level is a document (a name is required)
+     */
+    public BsonWriter writeStartArray() {
+        if (depth > 0) {
+            writeElementName(BsonType.ARRAY);
+        }
+        return push(0);
+    }
+
+    /**
+     * Ends the current array and back-patches its length.
+     *
+     * @return this writer
+     * @throws IllegalStateException if the current level is not an array
+     */
+    public BsonWriter writeEndArray() {
+        if (depth == 0 || arrayIndexes[depth - 1] == DOCUMENT_LEVEL) {
+            throw new IllegalStateException("No open array to end");
+        }
+        return pop();
+    }
+
+    // ==================== Int32 / Int64 / Double / Boolean ====================
+
+    /**
+     * Writes an int32 field.
+     */
+    public BsonWriter writeInt32(String name, int value) {
+        writeName(BsonType.INT32, name);
+        putInt32(value);
+        return this;
+    }
+
+    /**
+     * Writes an int32 field with a pre-encoded name.
+     */
+    public BsonWriter writeInt32(FieldKey name, int value) {
+        writeName(BsonType.INT32, name);
+        putInt32(value);
+        return this;
+    }
+
+    /**
+     * Writes an int32 array element.
+     */
+    public BsonWriter writeInt32(int value) {
+        writeElementName(BsonType.INT32);
+        putInt32(value);
+        return this;
+    }
+
+    /**
+     * Writes an int64 field.
+     */
+    public BsonWriter writeInt64(String name, long value) {
+        writeName(BsonType.INT64, name);
+        putInt64(value);
+        return this;
+    }
+
+    /**
+     * Writes an int64 field with a pre-encoded name.
+     */
+    public BsonWriter writeInt64(FieldKey name, long value) {
+        writeName(BsonType.INT64, name);
+        putInt64(value);
+        return this;
+    }
+
+    /**
+     * Writes an int64 array element.
+     */
+    public BsonWriter writeInt64(long value) {
+        writeElementName(BsonType.INT64);
+        putInt64(value);
+        return this;
+    }
+
+    /**
+     * Writes a double field.
+     */
+    public BsonWriter writeDouble(String name, double value) {
+        writeName(BsonType.DOUBLE, name);
+        putInt64(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a double field with a pre-encoded name.
+     */
+    public BsonWriter writeDouble(FieldKey name, double value) {
+        writeName(BsonType.DOUBLE, name);
+        putInt64(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a double array element.
+     */
+    public BsonWriter writeDouble(double value) {
+        writeElementName(BsonType.DOUBLE);
+        putInt64(Double.doubleToRawLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a boolean field.
+     */
+    public BsonWriter writeBoolean(String name, boolean value) {
+        writeName(BsonType.BOOLEAN, name);
+        putByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Writes a boolean field with a pre-encoded name.
+     */
+    public BsonWriter writeBoolean(FieldKey name, boolean value) {
+        writeName(BsonType.BOOLEAN, name);
+        putByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    /**
+     * Writes a boolean array element.
+     */
+    public BsonWriter writeBoolean(boolean value) {
+        writeElementName(BsonType.BOOLEAN);
+        putByte(value ? (byte) 1 : (byte) 0);
+        return this;
+    }
+
+    // ==================== DateTime / Null ====================
+
+    /**
+     * Writes a UTC datetime field (milliseconds since the epoch).
+     */
+    public BsonWriter writeDateTime(String name, long millis) {
+        writeName(BsonType.DATE_TIME, name);
+        putInt64(millis);
+        return this;
+    }
+
+    /**
+     * Writes a UTC datetime (milliseconds since the epoch) field with a pre-encoded name.
+     */
+    public BsonWriter writeDateTime(FieldKey name, long millis) {
+        writeName(BsonType.DATE_TIME, name);
+        putInt64(millis);
+        return this;
+    }
+
+    /**
+     * Writes a UTC datetime (milliseconds since the epoch) array element.
+     */
+    public BsonWriter writeDateTime(long millis) {
+        writeElementName(BsonType.DATE_TIME);
+        putInt64(millis);
+        return this;
+    }
+
+    /**
+     * Writes a null field.
+     */
+    public BsonWriter writeNull(String name) {
+        writeName(BsonType.NULL, name);
+        return this;
+    }
+
+    /**
+     * Writes a null field with a pre-encoded name.
+     */
+    public BsonWriter writeNull(FieldKey name) {
+        writeName(BsonType.NULL, name);
+        return this;
+    }
+
+    /**
+     * Writes a null array element.
+     */
+    public BsonWriter writeNull() {
+        writeElementName(BsonType.NULL);
+        return this;
+    }
+
+    // ==================== String ====================
+
+    /**
+     * Writes a UTF-8 string field (encoded in place; unpaired surrogates become '?').
+     *
+     * @throws IllegalArgumentException if value is null
+     */
+    public BsonWriter writeString(String name, String value) {
+        writeName(BsonType.STRING, name);
+        putString(value);
+        return this;
+    }
+
+    /**
+     * Writes a UTF-8 string field with a pre-encoded name.
+     */
+    public BsonWriter writeString(FieldKey name, String value) {
+        writeName(BsonType.STRING, name);
+        putString(value);
+        return this;
+    }
+
+    /**
+     * Writes a UTF-8 string array element.
+     */
+    public BsonWriter writeString(String value) {
+        writeElementName(BsonType.STRING);
+        putString(value);
+        return this;
+    }
+
+    // ==================== ObjectId ====================
+
+    /**
+     * Writes an ObjectId field from its 24-character hex representation.
+     *
+     * @throws IllegalArgumentException if hex is not 24 hex digits
+     */
+    public BsonWriter writeObjectId(String name, String hex) {
+        writeName(BsonType.OBJECT_ID, name);
+        putObjectIdHex(hex);
+        return this;
+    }
+
+    /**
+     * Writes an ObjectId field with a pre-encoded name.
+     */
+    public BsonWriter writeObjectId(FieldKey name, String hex) {
+        writeName(BsonType.OBJECT_ID, name);
+        putObjectIdHex(hex);
+        return this;
+    }
+
+    /**
+     * Writes an ObjectId array element.
+     */
+    public BsonWriter writeObjectId(String hex) {
+        writeElementName(BsonType.OBJECT_ID);
+        putObjectIdHex(hex);
+        return this;
+    }
+
+    /**
+     * Writes an ObjectId field from its 12 raw bytes.
+     *
+     * @throws IllegalArgumentException if id is not 12 bytes
+     */
+    public BsonWriter writeObjectId(String name, byte[] id) {
+        writeName(BsonType.OBJECT_ID, name);
+        putObjectId(id);
+        return this;
+    }
+
+    /**
+     * Writes an ObjectId field with a pre-encoded name.
+     */
+    public BsonWriter writeObjectId(FieldKey name, byte[] id) {
+        writeName(BsonType.OBJECT_ID, name);
+        putObjectId(id);
+        return this;
+    }
+
+    /**
+     * Writes an ObjectId array element.
+     */
+    public BsonWriter writeObjectId(byte[] id) {
+        writeElementName(BsonType.OBJECT_ID);
+        putObjectId(id);
+        return this;
+    }
+
+    // ==================== Binary ====================
+
+    /**
+     * Writes a binary field.
+     */
+    public BsonWriter writeBinary(String name, byte subtype, byte[] data) {
+        return writeBinary(name, subtype, data, 0, checkNotNull(data, "data").length);
+    }
+
+    /**
+     * Writes a binary field from a slice of an array.
+     */
+    public BsonWriter writeBinary(String name, byte subtype, byte[] data, int offset, int length) {
+        checkRange(data, offset, length);
+        writeName(BsonType.BINARY, name);
+        putBinary(subtype, data, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes a binary field with a pre-encoded name.
+     */
+    public BsonWriter writeBinary(FieldKey name, byte subtype, byte[] data) {
+        checkRange(data, 0, checkNotNull(data, "data").length);
+        writeName(BsonType.BINARY, name);
+        putBinary(subtype, data, 0, data.length);
+        return this;
+    }
+
+    /**
+     * Writes a binary array element.
+     */
+    public BsonWriter writeBinary(byte subtype, byte[] data) {
+        checkRange(data, 0, checkNotNull(data, "data").length);
+        writeElementName(BsonType.BINARY);
+        putBinary(subtype, data, 0, data.length);
+        return this;
+    }
+
+    // ==================== Rare Types ====================
+
+    /**
+     * Writes a MongoDB internal timestamp field.
+     */
+    public BsonWriter writeTimestamp(String name, int seconds, int increment) {
+        writeName(BsonType.TIMESTAMP, name);
+        putInt32(increment);
+        putInt32(seconds);
+        return this;
+    }
+
+    /**
+     * Writes a Decimal128 field from its 16 little-endian bytes.
+     */
+    public BsonWriter writeDecimal128(String name, byte[] bytes) {
+        checkNotNull(bytes, "bytes");
+        if (bytes.length != 16) {
+            throw new IllegalArgumentException("Decimal128 must be 16 bytes: " + bytes.length);
+        }
+        writeName(BsonType.DECIMAL128, name);
+        putBytes(bytes, 0, 16);
+        return this;
+    }
+
+    /**
+     * Writes a regular expression field.
+     */
+    public BsonWriter writeRegex(String name, String pattern, String options) {
+        writeName(BsonType.REGEX, name);
+        putRegex(pattern, options);
+        return this;
+    }
+
+    /**
+     * Writes a JavaScript code field.
+     */
+    public BsonWriter writeJavaScript(String name, String code) {
+        writeName(BsonType.JAVASCRIPT, name);
+        putString(code);
+        return this;
+    }
+
+    /**
+     * Writes a symbol field.
+     */
+    public BsonWriter writeSymbol(String name, String symbol) {
+        writeName(BsonType.SYMBOL, name);
+        putString(symbol);
+        return this;
+    }
+
+    /**
+     * Writes a MinKey field.
+     */
+    public BsonWriter writeMinKey(String name) {
+        writeName(BsonType.MIN_KEY, name);
+        return this;
+    }
+
+    /**
+     * Writes a MaxKey field.
+     */
+    public BsonWriter writeMaxKey(String name) {
+        writeName(BsonType.MAX_KEY, name);
+        return this;
+    }
+
+    /**
+     * Writes an undefined (deprecated) field.
+     */
+    public BsonWriter writeUndefined(String name) {
+        writeName(BsonType.UNDEFINED, name);
+        return this;
+    }
+
+    // ==================== Raw and Generic Values ====================
+
+    /**
+     * Writes a field whose value is already encoded (e.g. a document or array copied from other BSON).
+     *
+     * @param name the field name
+     * @param type the BSON type of the value
+     * @param data array holding the encoded value
+     * @param offset value start offset
+     * @param length value length in bytes
+     * @return this writer
+     */
+    public BsonWriter writeRawValue(String name, byte type, byte[] data, int offset, int length) {
+        checkRange(data, offset, length);
+        writeName(type, name);
+        putBytes(data, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes an array element whose value is already encoded.
+     *
+     * @param type the BSON type of the value
+     * @param data array holding the encoded value
+     * @param offset value start offset
+     * @param length value length in bytes
+     * @return this writer
+     */
+    public BsonWriter writeRawValue(byte type, byte[] data, int offset, int length) {
+        checkRange(data, offset, length);
+        writeElementName(type);
+        putBytes(data, offset, length);
+        return this;
+    }
+
+    /**
+     * Writes a field from a boxed value as returned by {@code BsonDocument.get(...)}.
+     *
+     * <p>Accepted values per type: Number (numeric types and DATE_TIME), Boolean, String
+     * (STRING, JAVASCRIPT, SYMBOL and hex OBJECT_ID), byte[] (OBJECT_ID and subtype-0 BINARY),
+     * {@link BinaryData}, {@link RegexValue}, {@link Timestamp}, {@link Decimal128},
+     * {@link DBPointer}, {@link JavaScriptWithScope}, {@link BsonDocument} and {@link BsonArray};
+     * the value is ignored for NULL, UNDEFINED, MIN_KEY and MAX_KEY. The legacy forms returned
+     * by {@code HashMapBsonDocument} are accepted as well: "pattern/options" strings, raw int64
+     * timestamps, 16-byte Decimal128 arrays and {namespace, id} / {code, scope} pairs.
+     *
+     * @param name the field name
+     * @param type the BSON type
+     * @param value the value
+     * @return this writer
+     * @throws IllegalArgumentException if the type is unknown or the value does not match it
+     */
+    public BsonWriter writeValue(String name, byte type, Object value) {
+        checkValue(type, value);
+        writeName(type, name);
+        putValue(type, value);
+        return this;
+    }
+
+    /**
+     * Writes an array element from a boxed value (see {@link #writeValue(String, byte, Object)}).
+     *
+     * @param type the BSON type
+     * @param value the value
+     * @return this writer
+     */
+    public BsonWriter writeValue(byte type, Object value) {
+        checkValue(type, value);
+        writeElementName(type);
+        putValue(type, value);
+        return this;
+    }
+
+    // ==================== Document and Array Values ====================
+
+    /**
+     * Writes any {@link BsonDocument} as the top-level document or as an array element.
+     *
+     * <p>{@link IndexedBsonDocument}s are copied as raw bytes; other implementations are
+     * encoded field by field in their {@code fieldNames()} order.
+     *
+     * @param document the document
+     * @return this writer
+     */
+    public BsonWriter writeDocument(BsonDocument document) {
+        checkNotNull(document, "document");
+        if (depth > 0) {
+            writeElementName(BsonType.DOCUMENT);
+        }
+        putDocument(document);
+        return this;
+    }
+
+    /**
+     * Writes any {@link BsonDocument} as an embedded document field.
+     *
+     * @param name the field name
+     * @param document the document
+     * @return this writer
+     */
+    public BsonWriter writeDocument(String name, BsonDocument document) {
+        checkNotNull(document, "document");
+        writeName(BsonType.DOCUMENT, name);
+        putDocument(document);
+        return this;
+    }
+
+    /**
+     * Writes any {@link BsonArray} as an array field.
+     *
+     * @param name the field name
+     * @param array the array
+     * @return this writer
+     */
+    public BsonWriter writeArray(String name, BsonArray array) {
+        checkNotNull(array, "array");
+        writeName(BsonType.ARRAY, name);
+        putArray(array);
+        return this;
+    }
+
+    /**
+     * Writes any {@link BsonArray} as an array element.
+     *
+     * @param array the array
+     * @return this writer
+     */
+    public BsonWriter writeArray(BsonArray array) {
+        checkNotNull(array, "array");
+        writeElementName(BsonType.ARRAY);
+        putArray(array);
+        return this;
+    }
+
+    // ==================== Internal: Structure ====================
+
+    private BsonWriter push(int arrayIndex) {
+        if (depth == starts.length) {
+            starts = Arrays.copyOf(starts, depth * 2);
+            arrayIndexes = Arrays.copyOf(arrayIndexes, depth * 2);
+        }
+        starts[depth] = position;
+        arrayIndexes[depth] = arrayIndex;
+        depth++;
+        ensureCapacity(4);
+        position += 4;  // Length prefix, patched by pop()
+        return this;
+    }
+
+    private BsonWriter pop() {
+        putByte(BsonType.END_OF_DOCUMENT);
+        int start = starts[--depth];
+        writeInt32At(start, position - start);
+        return this;
+    }
+
+    private void checkClosed() {
+        if (depth != 0) {
+            throw new IllegalStateException("Document is not complete: " + depth + " level(s) still open");
+        }
+    }
+
+    /**
+     * Writes the type byte and name of a document field.
+     */
+    private void writeName(byte type, String name) {
+        checkNotNull(name, "name");
+        checkDocumentLevel();
+        int length = name.length();
+        ensureCapacity(2 + length * 3);
+        buffer[position++] = type;
+        putUtf8(name, 0, length, true);
+        buffer[position++] = 0;
+    }
+
+    private void writeName(byte type, FieldKey name) {
+        checkNotNull(name, "name");
+        checkDocumentLevel();
+        int length = name.getByteLength();
+        ensureCapacity(2 + length);
+        buffer[position] = type;
+        name.copyBytes(buffer, position + 1);
+        for (int i = position + 1, end = i + length; i < end; i++) {
+            if (buffer[i] == 0) {
+                throw new IllegalArgumentException("Field name cannot contain a null character: " + name);
+            }
+        }
+        position += 1 + length;
+        buffer[position++] = 0;
+    }
+
+    private void checkDocumentLevel() {
+        if (depth == 0) {
+            throw new IllegalStateException("No open document: call writeStartDocument() first");
+        }
+        if (arrayIndexes[depth - 1] != DOCUMENT_LEVEL) {
+            throw new IllegalStateException("Array elements are written without a name");
+        }
+    }
+
+    /**
+     * Writes the type byte and the next index name of an array element.
+     */
+    private void writeElementName(byte type) {
+        if (depth == 0 || arrayIndexes[depth - 1] == DOCUMENT_LEVEL) {
+            throw new IllegalStateException("A field name is required outside of an array");
+        }
+        int index = arrayIndexes[depth - 1]++;
+        ensureCapacity(12);
+        buffer[position++] = type;
+        // Decimal digits of the index, most significant first
+        int digits = 1;
+        for (int v = index; v >= 10; v /= 10) {
+            digits++;
+        }
+        int pos = position + digits;
+        position = pos;
+        int v = index;
+        do {
+            buffer[--pos] = (byte) ('0' + v % 10);
+            v /= 10;
+        } while (v != 0);
+        buffer[position++] = 0;
+    }
+
+    // ==================== Internal: Values ====================
+
+    private void putByte(byte value) {
+        ensureCapacity(1);
+        buffer[position++] = value;
+    }
+
+    private void putInt32(int value) {
+        ensureCapacity(4);
+        writeInt32At(position, value);
+        position += 4;
+    }
+
+    private void writeInt32At(int pos, int value) {
+        buffer[pos] = (byte) value;
+        buffer[pos + 1] = (byte) (value >>> 8);
+        buffer[pos + 2] = (byte) (value >>> 16);
+        buffer[pos + 3] = (byte) (value >>> 24);
+    }
+
+    private void putInt64(long value) {
+        ensureCapacity(8);
+        byte[] b = buffer;
+        int p = position;
+        b[p] = (byte) value;
+        b[p + 1] = (byte) (value >>> 8);
+        b[p + 2] = (byte) (value >>> 16);
+        b[p + 3] = (byte) (value >>> 24);
+        b[p + 4] = (byte) (value >>> 32);
+        b[p + 5] = (byte) (value >>> 40);
+        b[p + 6] = (byte) (value >>> 48);
+        b[p + 7] = (byte) (value >>> 56);
+        position = p + 8;
+    }
+
+    private void putBytes(byte[] data, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(data, offset, buffer, position, length);
+        position += length;
+    }
+
+    /**
+     * Writes an int32 length, the UTF-8 bytes and the terminator.
+     */
+    private void putString(String value) {
+        checkNotNull(value, "value");
+        int length = value.length();
+        ensureCapacity(5 + length * 3);
+        int start = position;
+        position += 4;
+        putUtf8(value, 0, length, false);
+        buffer[position++] = 0;
+        writeInt32At(start, position - start - 4);
+    }
+
+    private void putCString(String value) {
+        checkNotNull(value, "value");
+        int length = value.length();
+        ensureCapacity(1 + length * 3);
+        putUtf8(value, 0, length, true);
+        buffer[position++] = 0;
+    }
+
+    /**
+     * Encodes chars as UTF-8 (capacity for 3 bytes per char must be ensured by the caller).
+     */
+    private void putUtf8(String s, int from, int to, boolean cString) {
+        position = encodeUtf8(s, from, to, buffer, position, cString);
+    }
+
+    /**
+     * Encodes chars [from, to) as UTF-8 into b at p and returns the new end; b must have room
+     * for 3 bytes per char. Shared with {@link BsonStreamWriter}.
+     */
+    static int encodeUtf8(String s, int from, int to, byte[] b, int p, boolean cString) {
+        int i = from;
+        // ASCII fast path
+        while (i < to) {
+            char c = s.charAt(i);
+            if (c >= 0x80 || c == 0) {
+                break;
+            }
+            b[p++] = (byte) c;
+            i++;
+        }
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c == 0 && cString) {
+                    throw new IllegalArgumentException("C-string cannot contain a null character: " + s);
+                }
+                b[p++] = (byte) c;
+            } else if (c < 0x800) {
+                b[p++] = (byte) (0xC0 | (c >> 6));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                b[p++] = (byte) (0xF0 | (cp >> 18));
+                b[p++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                b[p++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                b[p++] = '?';  // Unpaired surrogate, as String.getBytes(UTF_8)
+            } else {
+                b[p++] = (byte) (0xE0 | (c >> 12));
+                b[p++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                b[p++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        return p;
+    }
+
+    /**
+     * Returns the UTF-8 length of s as encoded by {@link #encodeUtf8}.
+     */
+    static int utf8Length(String s) {
+        int length = s.length();
+        int bytes = length;
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                if (c < 0x800) {
+                    bytes++;
+                } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(s.charAt(i + 1))) {
+                    bytes += 2;  // 4 bytes for 2 chars
+                    i++;
+                } else if (!Character.isSurrogate(c)) {
+                    bytes += 2;
+                }
+            }
+        }
+        return bytes;
+    }
+
+    private void putObjectId(byte[] id) {
+        checkNotNull(id, "id");
+        if (id.length != 12) {
+            throw new IllegalArgumentException("ObjectId must be 12 bytes: " + id.length);
+        }
+        putBytes(id, 0, 12);
+    }
+
+    private void putObjectIdHex(String hex) {
+        checkNotNull(hex, "hex");
+        if (hex.length() != 24) {
+            throw new IllegalArgumentException("ObjectId hex string must be 24 characters: " + hex);
+        }
+        ensureCapacity(12);
+        for (int i = 0; i < 12; i++) {
+            int high = Character.digit(hex.charAt(i * 2), 16);
+            int low = Character.digit(hex.charAt(i * 2 + 1), 16);
+            if (high < 0 || low < 0) {
+                throw new IllegalArgumentException("Invalid ObjectId hex string: " + hex);
+            }
+            buffer[position + i] = (byte) ((high << 4) | low);
+        }
+        position += 12;
+    }
+
+    private void putBinary(byte subtype, byte[] data, int offset, int length) {
+        ensureCapacity(5 + length);
+        writeInt32At(position, length);
+        buffer[position + 4] = subtype;
+        position += 5;
+        System.arraycopy(data, offset, buffer, position, length);
+        position += length;
+    }
+
+    private void putRegex(String pattern, String options) {
+        putCString(pattern);
+        putCString(options);
+    }
+
+    private void putDocument(BsonDocument document) {
+        if (document instanceof IndexedBsonDocument) {
+            IndexedBsonDocument indexed = (IndexedBsonDocument) document;
+            int length = indexed.getBsonLength();
+            ensureCapacity(length);
+            indexed.copyBsonTo(buffer, position);  // Straight from the document's input
+            position += length;
+            return;
+        }
+        push(DOCUMENT_LEVEL);
+        for (String name : document.fieldNames()) {
+            byte type = document.getType(name);
+            switch (type) {
+                case BsonType.INT32:
+                    writeInt32(name, document.getInt32(name));
+                    break;
+                case BsonType.INT64:
+                    writeInt64(name, document.getInt64(name));
+                    break;
+                case BsonType.DOUBLE:
+                    writeDouble(name, document.getDouble(name));
+                    break;
+                case BsonType.BOOLEAN:
+                    writeBoolean(name, document.getBoolean(name));
+                    break;
+                case BsonType.DATE_TIME:
+                    writeDateTime(name, document.getDateTime(name));
+                    break;
+                case BsonType.STRING:
+                    writeString(name, document.getString(name));
+                    break;
+                case BsonType.DOCUMENT:
+                    writeDocument(name, document.getDocument(name));
+                    break;
+                case BsonType.ARRAY:
+                    writeArray(name, document.getArray(name));
+                    break;
+                default:
+                    writeValue(name, type, boxedValue(document, name));
+                    break;
+            }
+        }
+        pop();
+    }
+
+    private void putArray(BsonArray array) {
+        if (array instanceof IndexedBsonArray) {
+            IndexedBsonArray indexed = (IndexedBsonArray) array;
+            int length = indexed.getBsonLength();
+            ensureCapacity(length);
+            indexed.copyBsonTo(buffer, position);  // Straight from the array's input
+            position += length;
+            return;
+        }
+        push(0);
+        for (int i = 0, size = array.size(); i < size; i++) {
+            byte type = array.getType(i);
+            switch (type) {
+                case BsonType.INT32:
+                    writeInt32(array.getInt32(i));
+                    break;
+                case BsonType.INT64:
+                    writeInt64(array.getInt64(i));
+                    break;
+                case BsonType.DOUBLE:
+                    writeDouble(array.getDouble(i));
+                    break;
+                case BsonType.BOOLEAN:
+                    writeBoolean(array.getBoolean(i));
+                    break;
+                case BsonType.STRING:
+                    writeString(array.getString(i));
+                    break;
+                case BsonType.DOCUMENT:
+                    writeDocument(array.getDocument(i));
+                    break;
+                case BsonType.ARRAY:
+                    writeArray(array.getArray(i));
+                    break;
+                default:
+                    writeValue(type, boxedValue(array, i));
+                    break;
+            }
+        }
+        pop();
+    }
+
+    /**
+     * Boxed value of a field whose type has no typed getter (ObjectId, binary, regex, timestamp, ...).
+     * get() is deprecated only to steer callers to the typed getters, which these types lack.
+     */
+    @SuppressWarnings("deprecation")
+    private static Object boxedValue(BsonDocument document, String name) {
+        return document.get(name);
+    }
+
+    /**
+     * Boxed value of an element whose type has no typed getter (see {@link #boxedValue(BsonDocument, String)}).
+     */
+    @SuppressWarnings("deprecation")
+    private static Object boxedValue(BsonArray array, int index) {
+        return array.get(index);
+    }
+
+    /**
+     * Checks that a boxed value matches its type before anything is written.
+     */
+    private static void checkValue(byte type, Object value) {
+        if (!BsonType.isValidType(type) || type == BsonType.END_OF_DOCUMENT) {
+            throw new IllegalArgumentException(String.format("Invalid BSON type: 0x%02X", type & 0xFF));
+        }
+        if (!isValueOfType(type, value)) {
+            throw new IllegalArgumentException(String.format("Invalid value for BSON type %s: %s",
+                BsonType.getTypeName(type), value == null ? "null" : value.getClass().getName()));
+        }
+    }
+
+    private static boolean isValueOfType(byte type, Object value) {
+        switch (type) {
+            case BsonType.NULL:
+            case BsonType.UNDEFINED:
+            case BsonType.MIN_KEY:
+            case BsonType.MAX_KEY:
+                return true;
+            case BsonType.INT32:
+            case BsonType.INT64:
+            case BsonType.DOUBLE:
+            case BsonType.DATE_TIME:
+                return value instanceof Number;
+            case BsonType.BOOLEAN:
+                return value instanceof Boolean;
+            case BsonType.STRING:
+            case BsonType.JAVASCRIPT:
+            case BsonType.SYMBOL:
+                return value instanceof String;
+            case BsonType.OBJECT_ID:
+                return value instanceof String || value instanceof byte[];
+            case BsonType.BINARY:
+                return value instanceof BinaryData || value instanceof byte[];
+            case BsonType.REGEX:
+                return value instanceof RegexValue || value instanceof String;
+            case BsonType.TIMESTAMP:
+                return value instanceof Timestamp || value instanceof Number;
+            case BsonType.DECIMAL128:
+                return value instanceof Decimal128 || value instanceof byte[];
+            case BsonType.DB_POINTER:
+                return value instanceof DBPointer || isPair(value, String.class);
+            case BsonType.JAVASCRIPT_WITH_SCOPE:
+                return value instanceof JavaScriptWithScope || isPair(value, BsonDocument.class);
+            case BsonType.DOCUMENT:
+                return value instanceof BsonDocument;
+            case BsonType.ARRAY:
+                return value instanceof BsonArray;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * Legacy {namespace, id} / {code, scope} pairs produced by the HashMap parse path.
+     */
+    private static boolean isPair(Object value, Class<?> second) {
+        if (!(value instanceof Object[])) {
+            return false;
+        }
+        Object[] pair = (Object[]) value;
+        return pair.length == 2 && pair[0] instanceof String && second.isInstance(pair[1]);
+    }
+
+    /**
+     * Writes a boxed value (already checked by {@link #checkValue(byte, Object)}).
+     */
+    private void putValue(byte type, Object value) {
+        switch (type) {
+            case BsonType.INT32:
+                putInt32(((Number) value).intValue());
+                break;
+            case BsonType.INT64:
+            case BsonType.DATE_TIME:
+                putInt64(((Number) value).longValue());
+                break;
+            case BsonType.DOUBLE:
+                putInt64(Double.doubleToRawLongBits(((Number) value).doubleValue()));
+                break;
+            case BsonType.BOOLEAN:
+                putByte(((Boolean) value) ? (byte) 1 : (byte) 0);
+                break;
+            case BsonType.STRING:
+            case BsonType.JAVASCRIPT:
+            case BsonType.SYMBOL:
+                putString((String) value);
+                break;
+            case BsonType.OBJECT_ID:
+                if (value instanceof byte[]) {
+                    putObjectId((byte[]) value);
+                } else {
+                    putObjectIdHex((String) value);
+                }
+                break;
+            case BsonType.BINARY:
+                if (value instanceof byte[]) {
+                    byte[] data = (byte[]) value;
+                    putBinary((byte) 0, data, 0, data.length);
+                } else {
+                    BinaryData binary = (BinaryData) value;
+                    putBinary(binary.subtype, binary.data, 0, binary.data.length);
+                }
+                break;
+            case BsonType.REGEX:
+                if (value instanceof RegexValue) {
+                    RegexValue regex = (RegexValue) value;
+                    putRegex(regex.pattern, regex.options);
+                } else {
+                    // Legacy "pattern/options": options never contain '/'
+                    String regex = (String) value;
+                    int slash = regex.lastIndexOf('/');
+                    putRegex(slash < 0 ? regex : regex.substring(0, slash), slash < 0 ? "" : regex.substring(slash + 1));
+                }
+                break;
+            case BsonType.TIMESTAMP:
+                if (value instanceof Timestamp) {
+                    Timestamp timestamp = (Timestamp) value;
+                    putInt32(timestamp.increment);
+                    putInt32(timestamp.seconds);
+                } else {
+                    putInt64(((Number) value).longValue());
+                }
+                break;
+            case BsonType.DECIMAL128:
+                byte[] decimal = value instanceof Decimal128 ? ((Decimal128) value).bytes : (byte[]) value;
+                if (decimal.length != 16) {
+                    throw new IllegalArgumentException("Decimal128 must be 16 bytes: " + decimal.length);
+                }
+                putBytes(decimal, 0, 16);
+                break;
+            case BsonType.DB_POINTER:
+                if (value instanceof DBPointer) {
+                    DBPointer pointer = (DBPointer) value;
+                    putString(pointer.namespace);
+                    putObjectIdHex(pointer.id);
+                } else {
+                    Object[] pointer = (Object[]) value;
+                    putString((String) pointer[0]);
+                    putObjectIdHex((String) pointer[1]);
+                }
+                break;
+            case BsonType.JAVASCRIPT_WITH_SCOPE:
+                String code;
+                BsonDocument scope;
+                if (value instanceof JavaScriptWithScope) {
+                    code = ((JavaScriptWithScope) value).code;
+                    scope = ((JavaScriptWithScope) value).scope;
+                } else {
+                    code = (String) ((Object[]) value)[0];
+                    scope = (BsonDocument) ((Object[]) value)[1];
+                }
+                ensureCapacity(4);
+                int start = position;
+                position += 4;
+                putString(code);
+                putDocument(scope);
+                writeInt32At(start, position - start);
+                break;
+            case BsonType.DOCUMENT:
+                putDocument((BsonDocument) value);
+                break;
+            case BsonType.ARRAY:
+                putArray((BsonArray) value);
+                break;
+            default:
+                // NULL, UNDEFINED, MIN_KEY, MAX_KEY: no value bytes
+                break;
+        }
+    }
+
+    // ==================== Internal: Buffer ====================
+
+    private void ensureCapacity(int required) {
+        if (required > buffer.length - position) {
+            grow(required);
+        }
+    }
+
+    private void grow(int required) {
+        long needed = (long) position + required;
+        if (needed > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("BSON output exceeds maximum array size");
+        }
+        int newCapacity = (int) Math.max(needed, Math.min((long) buffer.length * 2, Integer.MAX_VALUE - 8));
+        buffer = Arrays.copyOf(buffer, Math.max(newCapacity, 16));
+    }
+
+    private static <T> T checkNotNull(T value, String name) {
+        if (value == null) {
+            throw new IllegalArgumentException(name + " cannot be null");
+        }
+        return value;
+    }
+
+    private static void checkRange(byte[] data, int offset, int length) {
+        checkNotNull(data, "data");
+        if (offset < 0 || length < 0 || offset > data.length - length) {
+            throw new IllegalArgumentException(
+                String.format("Range [%d, %d) out of bounds for length %d", offset, (long) offset + length, data.length));
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.cloud.fastbson.document.BsonDocument;
 import com.cloud.fastbson.document.BsonDocumentFactory;
 import com.cloud.fastbson.document.IndexedBsonDocument;
 import com.cloud.fastbson.document.fast.FastBsonDocumentFactory;
+import com.cloud.fastbson.exception.BsonParseException;
 import com.cloud.fastbson.reader.BsonReader;
 import org.junit.jupiter.api.Test;
 
@@ -82,6 +83,29 @@ public class FastBsonTest {
         assertArrayEquals(bsonData, result);
     }
 
+    // ==================== parseStrict() Tests ====================
+
+    @Test
+    public void testParseStrict_ValidDocument() {
+        byte[] bsonData = createSimpleBsonDocument();
+
+        BsonDocument doc = FastBson.parseStrict(bsonData);
+
+        assertTrue(doc instanceof IndexedBsonDocument);
+        assertEquals("Alice", doc.getString("name"));
+        assertEquals(30, doc.getInt32("age"));
+        assertEquals(30, FastBson.parseStrict(ByteBuffer.wrap(bsonData)).getInt32("age"));
+    }
+
+    @Test
+    public void testParseStrict_RejectsMalformedDocument() {
+        byte[] bsonData = createSimpleBsonDocument();
+        bsonData[bsonData.length - 1] = 1;  // Corrupt the terminator
+
+        assertThrows(BsonParseException.class, () -> FastBson.parseStrict(bsonData));
+        assertThrows(BsonParseException.class, () -> FastBson.parseStrict(ByteBuffer.wrap(bsonData)));
+    }
+
     // ==================== parse(BsonReader) Tests ====================
 
     @Test
@@ -0,0 +1,72 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 字段查找基准：String 字段名 vs 预编译 FieldKey
+ *
+ * 模拟热点循环：在大量同结构文档上反复读取同一组 10 个字段（50 个 Int32 字段的文档）。
+ * 1. stringName - 每次按 String 查找（哈希 + 二分查找 + 逐字符比较）
+ * 2. fieldKey - 使用 FieldKey（槽位提示命中时只做一次哈希比较和一次字节比较）
+ *
+ * 文档在 Setup 阶段预先解析，只测量字段查找与取值。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldKeyBenchmark {
+
+    private static final int FIELD_COUNT = 50;
+    private static final int DOC_COUNT = 100;
+    private static final int READ_COUNT = 10;
+
+    private IndexedBsonDocument[] docs;
+    private String[] names;
+    private FieldKey[] keys;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        byte[] bsonData = BsonTestDataGenerator.generateNumericHeavyDocument(FIELD_COUNT);
+        docs = new IndexedBsonDocument[DOC_COUNT];
+        for (int i = 0; i < DOC_COUNT; i++) {
+            docs[i] = IndexedBsonDocument.parse(bsonData.clone());
+        }
+        names = new String[READ_COUNT];
+        keys = new FieldKey[READ_COUNT];
+        for (int i = 0; i < READ_COUNT; i++) {
+            // 只读 Int32 字段（偶数序号），分散在整个文档中
+            names[i] = "field" + (i * 4);
+            keys[i] = FieldKey.of(names[i]);
+        }
+    }
+
+    @Benchmark
+    public void stringName(Blackhole bh) {
+        for (IndexedBsonDocument doc : docs) {
+            for (String name : names) {
+                bh.consume(doc.getInt32(name));
+            }
+        }
+    }
+
+    @Benchmark
+    public void fieldKey(Blackhole bh) {
+        for (IndexedBsonDocument doc : docs) {
+            for (FieldKey key : keys) {
+                bh.consume(doc.getInt32(key));
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
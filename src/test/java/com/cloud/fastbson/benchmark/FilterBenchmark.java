@@ -0,0 +1,112 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.FastBson;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.filter.BsonFilter;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 过滤基准：先物化再判断 vs 谓词下推
+ *
+ * 模拟流处理中丢弃 90% 文档的场景：1000 个文档（50 个字段），条件
+ * {@code status == 0 && region in ("north", "east")}，约 10% 的文档通过第一个条件。
+ *
+ * 对比三种方式：
+ * 1. materialize - FastBson.parse 物化为 FastBsonDocument 后按字段判断（当前做法）
+ * 2. indexed - IndexedBsonDocument.parse 建立索引后用 BsonFilter 判断
+ * 3. raw - BsonFilter 直接在原始字节上判断，不建立任何结构
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FilterBenchmark {
+
+    private static final int DOC_COUNT = 1000;
+    private static final int FIELD_COUNT = 50;
+    private static final String[] REGIONS = {"north", "south", "east", "west"};
+
+    private byte[][] documents;
+    private BsonFilter filter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FastBson.useFastFactory();
+        documents = new byte[DOC_COUNT][];
+        for (int i = 0; i < DOC_COUNT; i++) {
+            documents[i] = generateDocument(i);
+        }
+        filter = BsonFilter.and(
+            BsonFilter.eq("status", 0),
+            BsonFilter.in("region", "north", "east"));
+    }
+
+    @Benchmark
+    public void materialize(Blackhole bh) {
+        int matched = 0;
+        for (byte[] bson : documents) {
+            com.cloud.fastbson.document.BsonDocument doc = FastBson.parse(bson);
+            String region = doc.getString("region");
+            if (doc.getInt32("status", -1) == 0 && ("north".equals(region) || "east".equals(region))) {
+                matched++;
+            }
+        }
+        bh.consume(matched);
+    }
+
+    @Benchmark
+    public void indexed(Blackhole bh) {
+        int matched = 0;
+        for (byte[] bson : documents) {
+            if (filter.matches(IndexedBsonDocument.parse(bson))) {
+                matched++;
+            }
+        }
+        bh.consume(matched);
+    }
+
+    @Benchmark
+    public void raw(Blackhole bh) {
+        int matched = 0;
+        for (byte[] bson : documents) {
+            if (filter.matches(bson)) {
+                matched++;
+            }
+        }
+        bh.consume(matched);
+    }
+
+    /**
+     * 生成测试文档：混合类型字段，status 与 region 放在中间位置
+     */
+    private static byte[] generateDocument(int seq) {
+        BsonDocument doc = new BsonDocument();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (i == FIELD_COUNT / 2) {
+                doc.put("status", new BsonInt32(seq % 10));
+                doc.put("region", new BsonString(REGIONS[seq % REGIONS.length]));
+            }
+            doc.put("field" + i, i % 2 == 0 ? new BsonInt32(i * 100) : new BsonString("value_" + i));
+        }
+
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        BsonBinaryWriter writer = new BsonBinaryWriter(buffer);
+        new org.bson.codecs.BsonDocumentCodec().encode(writer, doc,
+            org.bson.codecs.EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
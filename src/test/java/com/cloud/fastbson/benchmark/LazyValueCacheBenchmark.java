@@ -0,0 +1,116 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 惰性文档取值基准：定长类型直接读取 vs 装箱缓存
+ *
+ * 对比两种取值策略（50 个字段，Int32/Int64 各半）：
+ * 1. direct - 当前实现：定长类型每次直接从字节读取，不装箱、不缓存
+ * 2. boxedCache - 旧实现：首次读取装箱写入 Object[]，之后每次命中需强转拆箱
+ *
+ * 测试场景：
+ * 1. firstAccess - 解析后每个字段读取一次（扫描、过滤的典型用法）
+ * 2. repeatedAccess - 同一文档上反复读取全部字段（缓存全部命中）
+ *
+ * boxedCache 按旧实现的路径模拟：每次取值都做一次字段查找，未命中时读取并装箱写入缓存。
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyValueCacheBenchmark {
+
+    private static final int FIELD_COUNT = 50;
+
+    private byte[] bsonData;
+    private String[] fieldNames;
+
+    /**
+     * 已解析文档（repeatedAccess 使用，缓存已预热）
+     */
+    private IndexedBsonDocument parsedDoc;
+    private Object[] warmCache;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bsonData = BsonTestDataGenerator.generateNumericHeavyDocument(FIELD_COUNT);
+        fieldNames = new String[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            fieldNames[i] = "field" + i;
+        }
+        parsedDoc = IndexedBsonDocument.parse(bsonData);
+        warmCache = new Object[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            readBoxed(parsedDoc, warmCache, i);
+        }
+    }
+
+    // ==================== 首次访问 ====================
+
+    @Benchmark
+    public void direct_firstAccess(Blackhole bh) {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(bsonData);
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            bh.consume(readDirect(doc, i));
+        }
+    }
+
+    @Benchmark
+    public void boxedCache_firstAccess(Blackhole bh) {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(bsonData);
+        Object[] cache = new Object[FIELD_COUNT];
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            bh.consume(readBoxed(doc, cache, i));
+        }
+    }
+
+    // ==================== 重复访问 ====================
+
+    @Benchmark
+    public void direct_repeatedAccess(Blackhole bh) {
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            bh.consume(readDirect(parsedDoc, i));
+        }
+    }
+
+    @Benchmark
+    public void boxedCache_repeatedAccess(Blackhole bh) {
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            bh.consume(readBoxed(parsedDoc, warmCache, i));
+        }
+    }
+
+    // ==================== 取值策略 ====================
+
+    /**
+     * 当前实现：按类型直接读取
+     */
+    private long readDirect(IndexedBsonDocument doc, int i) {
+        return (i & 1) == 0 ? doc.getInt32(fieldNames[i]) : doc.getInt64(fieldNames[i]);
+    }
+
+    /**
+     * 旧实现：未命中时查找、读取并装箱写入缓存；命中时仍需查找与类型检查，再强转拆箱
+     */
+    private long readBoxed(IndexedBsonDocument doc, Object[] cache, int i) {
+        Object cached = cache[i];
+        if (cached == null) {
+            cached = doc.get(fieldNames[i]);
+            cache[i] = cached;
+        } else if (doc.getType(fieldNames[i]) == 0) {
+            return -1;
+        }
+        return ((Number) cached).longValue();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,95 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.document.BsonMerger;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 合并基准：解码后 Map 合并再编码 vs 原始字节拷贝
+ *
+ * 把 10 个字段的补充文档（其中 3 个与主文档冲突）叠加到 50 个字段的主文档上，输出新的 BSON。
+ *
+ * 对比三种方式：
+ * 1. driverPutAll - MongoDB Driver 解码两个文档，putAll 后重新编码（当前做法）
+ * 2. merge - BsonMerger 浅合并，按索引查找冲突字段后直接拷贝元素字节
+ * 3. deepMerge - BsonMerger 深合并，两边都是子文档的字段递归合并
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MergeBenchmark {
+
+    private static final int BASE_FIELDS = 50;
+    private static final int OVERLAY_FIELDS = 10;
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private byte[] baseData;
+    private byte[] overlayData;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BsonDocument base = new BsonDocument();
+        for (int i = 0; i < BASE_FIELDS; i++) {
+            base.put("field" + i, i % 2 == 0 ? new BsonInt32(i * 100) : new BsonString("value_" + i));
+        }
+        base.put("customer", new BsonDocument("id", new BsonInt32(7)).append("tier", new BsonString("basic")));
+        baseData = encode(base);
+
+        BsonDocument overlay = new BsonDocument();
+        for (int i = 0; i < OVERLAY_FIELDS; i++) {
+            // field0, field10, field20 conflict with the base; the rest are new
+            String name = i < 3 ? "field" + (i * 10) : "extra" + i;
+            overlay.put(name, new BsonString("enriched_" + i));
+        }
+        overlay.put("customer", new BsonDocument("tier", new BsonString("gold")).append("since", new BsonInt32(2019)));
+        overlayData = encode(overlay);
+    }
+
+    @Benchmark
+    public void driverPutAll(Blackhole bh) {
+        BsonDocument base = decode(baseData);
+        base.putAll(decode(overlayData));
+        bh.consume(encode(base));
+    }
+
+    @Benchmark
+    public void merge(Blackhole bh) {
+        bh.consume(BsonMerger.merge(IndexedBsonDocument.parse(baseData), IndexedBsonDocument.parse(overlayData)));
+    }
+
+    @Benchmark
+    public void deepMerge(Blackhole bh) {
+        bh.consume(BsonMerger.merge(IndexedBsonDocument.parse(baseData), IndexedBsonDocument.parse(overlayData), true));
+    }
+
+    private static BsonDocument decode(byte[] bson) {
+        return CODEC.decode(new BsonBinaryReader(ByteBuffer.wrap(bson)), DecoderContext.builder().build());
+    }
+
+    private static byte[] encode(BsonDocument doc) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), doc, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
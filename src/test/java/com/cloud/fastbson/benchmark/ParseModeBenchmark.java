@@ -0,0 +1,72 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.FastBson;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.util.BsonValidator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 解析模式基准：可信模式 vs 严格校验模式
+ *
+ * 使用 50 个混合类型字段的文档，对比：
+ * 1. readerChecked / readerTrusted - 完整解析（DocumentParser）时 BsonReader 逐次读取是否做边界检查
+ * 2. indexTrusted - IndexedBsonDocument.parse，不做任何校验（可信输入）
+ * 3. indexStrict - FastBson.parseStrict，先用 BsonValidator 单遍校验再建立索引（不可信输入）
+ * 4. validateOnly - 仅 BsonValidator 校验的开销
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParseModeBenchmark {
+
+    private byte[] bsonData;
+    private BsonReader checkedReader;
+    private BsonReader trustedReader;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        FastBson.useFastFactory();
+        bsonData = BsonTestDataGenerator.generateDocument(50);
+        checkedReader = new BsonReader(bsonData);
+        trustedReader = new BsonReader(bsonData);
+        trustedReader.setTrusted(true);
+    }
+
+    @Benchmark
+    public void readerChecked(Blackhole bh) {
+        checkedReader.reset(bsonData);
+        bh.consume(FastBson.parse(checkedReader));
+    }
+
+    @Benchmark
+    public void readerTrusted(Blackhole bh) {
+        trustedReader.reset(bsonData);
+        bh.consume(FastBson.parse(trustedReader));
+    }
+
+    @Benchmark
+    public void indexTrusted(Blackhole bh) {
+        bh.consume(IndexedBsonDocument.parse(bsonData));
+    }
+
+    @Benchmark
+    public void indexStrict(Blackhole bh) {
+        bh.consume(FastBson.parseStrict(bsonData));
+    }
+
+    @Benchmark
+    public void validateOnly() {
+        BsonValidator.validate(bsonData);
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,112 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.document.BsonProjector;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 投影基准：解析后重新编码 vs 原始字节拷贝
+ *
+ * 从 50 个字段的文档中选取 5 个顶层字段和 1 个嵌套字段（address.city），输出新的 BSON。
+ *
+ * 对比三种方式：
+ * 1. driverReencode - MongoDB Driver 解码为 BsonDocument，挑选字段后重新编码（当前做法）
+ * 2. raw - BsonProjector 直接在原始字节上扫描并拷贝被选字段
+ * 3. indexed - IndexedBsonDocument 建立索引后由 BsonProjector 按索引拷贝
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProjectionBenchmark {
+
+    private static final int FIELD_COUNT = 50;
+    private static final String[] TOP_LEVEL = {"field3", "field10", "field21", "field34", "field47"};
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private byte[] bsonData;
+    private BsonProjector projector;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bsonData = generateDocument();
+        String[] paths = new String[TOP_LEVEL.length + 1];
+        System.arraycopy(TOP_LEVEL, 0, paths, 0, TOP_LEVEL.length);
+        paths[TOP_LEVEL.length] = "address.city";
+        projector = new BsonProjector(paths);
+    }
+
+    @Benchmark
+    public void driverReencode(Blackhole bh) {
+        BsonDocument source = CODEC.decode(new BsonBinaryReader(ByteBuffer.wrap(bsonData)),
+            DecoderContext.builder().build());
+
+        BsonDocument projected = new BsonDocument();
+        for (String name : TOP_LEVEL) {
+            if (source.containsKey(name)) {
+                projected.put(name, source.get(name));
+            }
+        }
+        BsonDocument address = source.getDocument("address");
+        BsonDocument city = new BsonDocument();
+        if (address.containsKey("city")) {
+            city.put("city", address.get("city"));
+        }
+        projected.put("address", city);
+
+        bh.consume(encode(projected));
+    }
+
+    @Benchmark
+    public void raw(Blackhole bh) {
+        bh.consume(projector.project(bsonData));
+    }
+
+    @Benchmark
+    public void indexed(Blackhole bh) {
+        bh.consume(projector.project(IndexedBsonDocument.parse(bsonData)));
+    }
+
+    /**
+     * 生成测试文档：混合类型字段，中间插入嵌套的 address 文档
+     */
+    private static byte[] generateDocument() {
+        BsonDocument doc = new BsonDocument();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            if (i == FIELD_COUNT / 2) {
+                doc.put("address", new BsonDocument()
+                    .append("street", new BsonString("1 Main St"))
+                    .append("city", new BsonString("Springfield"))
+                    .append("zip", new BsonString("12345")));
+            }
+            doc.put("field" + i, i % 2 == 0 ? new BsonInt32(i * 100) : new BsonString("value_" + i));
+        }
+        return encode(doc);
+    }
+
+    private static byte[] encode(BsonDocument doc) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), doc, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,105 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.writer.BsonStreamWriter;
+import com.cloud.fastbson.writer.BsonWriter;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 流式编码基准：整批在内存中编码后写出 vs 固定缓冲区流式写出
+ *
+ * 导出 10000 个小文档（每个 5 个字段）到一个丢弃数据的输出端。
+ *
+ * 对比三种方式：
+ * 1. inMemory - BsonWriter 编码整批后 writeTo(OutputStream)，峰值内存与批次大小成正比
+ * 2. streamToOutputStream - BsonStreamWriter 写入 OutputStream，4 x 64 KB 堆缓冲区
+ * 3. streamToChannel - BsonStreamWriter 写入 WritableByteChannel，4 x 64 KB 直接缓冲区
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StreamWriterBenchmark {
+
+    private static final int DOCUMENT_COUNT = 10000;
+
+    private static final OutputStream DISCARD_STREAM = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+
+    private static final WritableByteChannel DISCARD_CHANNEL = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            src.position(src.limit());
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    @Benchmark
+    public void inMemory() throws IOException {
+        BsonWriter writer = new BsonWriter();
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            writer.writeStartDocument()
+                .writeInt64("id", i)
+                .writeString("name", "user_" + (i & 1023))
+                .writeInt32("age", i % 100)
+                .writeDouble("score", i * 0.5)
+                .writeBoolean("active", (i & 1) == 0)
+                .writeEndDocument();
+        }
+        writer.writeTo(DISCARD_STREAM);
+    }
+
+    @Benchmark
+    public void streamToOutputStream() throws IOException {
+        BsonStreamWriter writer = new BsonStreamWriter(DISCARD_STREAM);
+        writeBatch(writer);
+        writer.flush();
+    }
+
+    @Benchmark
+    public void streamToChannel() throws IOException {
+        BsonStreamWriter writer = new BsonStreamWriter(DISCARD_CHANNEL);
+        writeBatch(writer);
+        writer.flush();
+    }
+
+    private static void writeBatch(BsonStreamWriter writer) throws IOException {
+        for (int i = 0; i < DOCUMENT_COUNT; i++) {
+            writer.writeStartDocument()
+                .writeInt64("id", i)
+                .writeString("name", "user_" + (i & 1023))
+                .writeInt32("age", i % 100)
+                .writeDouble("score", i * 0.5)
+                .writeBoolean("active", (i & 1) == 0)
+                .writeEndDocument();
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
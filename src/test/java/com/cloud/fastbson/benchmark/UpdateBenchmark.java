@@ -0,0 +1,86 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import org.bson.BsonBinaryReader;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonString;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.DecoderContext;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 更新基准：原地修改 vs 解码后重新编码
+ *
+ * 对 50 个字段的文档修改一个 int32 字段和一个字符串字段，输出新的 BSON。
+ *
+ * 对比三种方式：
+ * 1. driverReencode - MongoDB Driver 解码为 BsonDocument，修改后整体重新编码（当前做法）
+ * 2. inPlaceInt32 - IndexedBsonDocument.setInt32 直接覆盖原始字节中的 4 个字节
+ * 3. spliceString - IndexedBsonDocument.setString 改变长度，只拼接变化的区间
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UpdateBenchmark {
+
+    private static final int FIELD_COUNT = 50;
+
+    private static final BsonDocumentCodec CODEC = new BsonDocumentCodec();
+
+    private byte[] bsonData;
+    private int counter;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        BsonDocument doc = new BsonDocument();
+        for (int i = 0; i < FIELD_COUNT; i++) {
+            doc.put("field" + i, i % 2 == 0 ? new BsonInt32(i * 100) : new BsonString("value_" + i));
+        }
+        bsonData = encode(doc);
+    }
+
+    @Benchmark
+    public void driverReencode(Blackhole bh) {
+        BsonDocument doc = CODEC.decode(new BsonBinaryReader(ByteBuffer.wrap(bsonData)),
+            DecoderContext.builder().build());
+        doc.put("field20", new BsonInt32(++counter));
+        doc.put("field21", new BsonString("updated_" + (counter & 7)));
+        bh.consume(encode(doc));
+    }
+
+    @Benchmark
+    public void inPlaceInt32(Blackhole bh) {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(bsonData);
+        doc.setInt32("field20", ++counter);
+        bh.consume(doc.toBson());
+    }
+
+    @Benchmark
+    public void spliceString(Blackhole bh) {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(bsonData);
+        doc.setInt32("field20", ++counter);
+        doc.setString("field21", "updated_" + (counter & 7));
+        bh.consume(doc.toBson());
+    }
+
+    private static byte[] encode(BsonDocument doc) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        CODEC.encode(new BsonBinaryWriter(buffer), doc, EncoderContext.builder().build());
+        return buffer.toByteArray();
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -0,0 +1,139 @@
+package com.cloud.fastbson.benchmark;
+
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.writer.BsonWriter;
+import org.bson.BsonBinaryWriter;
+import org.bson.io.BasicOutputBuffer;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 编码基准：FastBSON BsonWriter vs MongoDB BsonBinaryWriter
+ *
+ * 每次编码同一个 50 字段文档（Int32/Int64/Double/String/Boolean 各 10 个，外加一个子文档），对比：
+ * 1. driverWriter - org.bson BsonBinaryWriter + BasicOutputBuffer（每次新建缓冲区）
+ * 2. stringNames - 复用 BsonWriter，字段名为 String（逐次 UTF-8 编码）
+ * 3. fieldKeys - 复用 BsonWriter，字段名为预编译的 FieldKey（直接拷贝字节）
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WriterBenchmark {
+
+    private static final int FIELDS_PER_TYPE = 10;
+
+    private String[] names;
+    private FieldKey[] keys;
+    private String[] strings;
+    private BsonWriter writer;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        names = new String[FIELDS_PER_TYPE * 5];
+        keys = new FieldKey[names.length];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "field" + i;
+            keys[i] = FieldKey.of(names[i]);
+        }
+        strings = new String[FIELDS_PER_TYPE];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = "value_" + i;
+        }
+        writer = new BsonWriter();
+    }
+
+    @Benchmark
+    public void driverWriter(Blackhole bh) {
+        BasicOutputBuffer buffer = new BasicOutputBuffer();
+        BsonBinaryWriter w = new BsonBinaryWriter(buffer);
+        w.writeStartDocument();
+        int n = 0;
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            w.writeInt32(names[n++], i);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            w.writeInt64(names[n++], i * 1000000007L);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            w.writeDouble(names[n++], i * 0.5);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            w.writeString(names[n++], strings[i]);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            w.writeBoolean(names[n++], (i & 1) == 0);
+        }
+        w.writeStartDocument("address");
+        w.writeString("city", "Beijing");
+        w.writeInt32("zip", 100000);
+        w.writeEndDocument();
+        w.writeEndDocument();
+        w.flush();
+        bh.consume(buffer.toByteArray());
+    }
+
+    @Benchmark
+    public void stringNames(Blackhole bh) {
+        writer.reset();
+        writer.writeStartDocument();
+        int n = 0;
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeInt32(names[n++], i);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeInt64(names[n++], i * 1000000007L);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeDouble(names[n++], i * 0.5);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeString(names[n++], strings[i]);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeBoolean(names[n++], (i & 1) == 0);
+        }
+        writer.writeStartDocument("address")
+            .writeString("city", "Beijing")
+            .writeInt32("zip", 100000)
+            .writeEndDocument();
+        writer.writeEndDocument();
+        bh.consume(writer.toByteArray());
+    }
+
+    @Benchmark
+    public void fieldKeys(Blackhole bh) {
+        writer.reset();
+        writer.writeStartDocument();
+        int n = 0;
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeInt32(keys[n++], i);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeInt64(keys[n++], i * 1000000007L);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeDouble(keys[n++], i * 0.5);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeString(keys[n++], strings[i]);
+        }
+        for (int i = 0; i < FIELDS_PER_TYPE; i++) {
+            writer.writeBoolean(keys[n++], (i & 1) == 0);
+        }
+        writer.writeStartDocument("address")
+            .writeString("city", "Beijing")
+            .writeInt32("zip", 100000)
+            .writeEndDocument();
+        writer.writeEndDocument();
+        bh.consume(writer.toByteArray());
+    }
+
+    public static void main(String[] args) throws Exception {
+        org.openjdk.jmh.Main.main(args);
+    }
+}
@@ -8,6 +8,8 @@ import com.cloud.fastbson.document.fast.FastBsonDocumentFactory;
 import com.cloud.fastbson.document.hashmap.HashMapBsonDocumentFactory;
 import com.cloud.fastbson.handler.parsers.DocumentParser;
 import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.util.BsonValidator;
+import com.cloud.fastbson.writer.BsonWriter;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.MethodSource;
@@ -149,6 +151,44 @@ public class BsonCompatibilityTest {
         }
     }
 
+    /**
+     * Test that documents re-encoded with BsonWriter round-trip through IndexedBsonDocument.
+     */
+    @ParameterizedTest(name = "{index}: {0}")
+    @MethodSource("provideTestCases")
+    public void testWriterRoundTrip(BsonTestCase testCase) {
+        byte[] data = testCase.getBsonData();
+
+        IndexedBsonDocument indexedDoc = IndexedBsonDocument.parse(data, 0, data.length);
+        BsonDocument fastBsonDoc = parseWithFactory(data, FastBsonDocumentFactory.INSTANCE);
+        BsonDocument hashMapDoc = parseWithFactory(data, HashMapBsonDocumentFactory.INSTANCE);
+
+        // Indexed documents are copied raw, so the bytes must be identical
+        assertArrayEquals(data, new BsonWriter().writeDocument(indexedDoc).toByteArray(),
+            "IndexedBsonDocument re-encoding changed the bytes for: " + testCase.getName());
+
+        BsonDocument[] sources = {fastBsonDoc, hashMapDoc};
+        for (BsonDocument source : sources) {
+            String implementation = source.getClass().getSimpleName();
+            byte[] encoded = new BsonWriter().writeDocument(source).toByteArray();
+
+            assertDoesNotThrow(() -> BsonValidator.validate(encoded),
+                implementation + " re-encoding is not valid BSON for: " + testCase.getName());
+
+            IndexedBsonDocument roundTrip = IndexedBsonDocument.parse(encoded, 0, encoded.length);
+            assertEquals(indexedDoc.size(), roundTrip.size(),
+                String.format("Field count mismatch after re-encoding %s for: %s",
+                    implementation, testCase.getName()));
+
+            for (TestExpectation expectation : testCase.getExpectations()) {
+                String fieldPath = expectation.getFieldPath();
+                assertValuesEqual(expectation.getExpectedValue(), getNestedValue(roundTrip, fieldPath),
+                    String.format("Value mismatch for field '%s' after re-encoding %s in test: %s",
+                        fieldPath, implementation, testCase.getName()));
+            }
+        }
+    }
+
     /**
      * Test that isEmpty() is consistent across implementations.
      */
@@ -0,0 +1,227 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BsonMerger}.
+ */
+public class BsonMergerTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates a document from encoded elements.
+     */
+    private static byte[] doc(byte[]... elements) {
+        int length = 5;
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(length);
+        for (byte[] element : elements) {
+            buffer.put(element);
+        }
+        buffer.put((byte) 0);
+        return buffer.array();
+    }
+
+    private static byte[] int32(String name, int value) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(nameBytes.length + 6).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BsonType.INT32).put(nameBytes).put((byte) 0).putInt(value);
+        return buffer.array();
+    }
+
+    private static byte[] string(String name, String value) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(nameBytes.length + valueBytes.length + 7)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BsonType.STRING).put(nameBytes).put((byte) 0)
+            .putInt(valueBytes.length + 1).put(valueBytes).put((byte) 0);
+        return buffer.array();
+    }
+
+    private static byte[] embedded(byte type, String name, byte[] document) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(nameBytes.length + document.length + 2);
+        buffer.put(type).put(nameBytes).put((byte) 0).put(document);
+        return buffer.array();
+    }
+
+    private static byte[] subdoc(String name, byte[] document) {
+        return embedded(BsonType.DOCUMENT, name, document);
+    }
+
+    private static byte[] array(String name, byte[] document) {
+        return embedded(BsonType.ARRAY, name, document);
+    }
+
+    /**
+     * Merges via bytes and via the (eager and incremental) index, checks all agree, and returns the result.
+     */
+    private static byte[] merge(byte[] base, byte[] overlay, boolean deep) {
+        byte[] result = BsonMerger.merge(base, overlay, deep);
+        assertArrayEquals(result, BsonMerger.merge(IndexedBsonDocument.parse(base), IndexedBsonDocument.parse(overlay), deep));
+        assertArrayEquals(result, BsonMerger.merge(IndexedBsonDocument.parseIncremental(base),
+            IndexedBsonDocument.parseIncremental(overlay), deep));
+        return result;
+    }
+
+    // ==================== Shallow Merge ====================
+
+    @Test
+    public void testMerge_OverlayWinsAndNewFieldsAppended() {
+        byte[] base = doc(int32("a", 1), string("b", "x"), int32("c", 2));
+        byte[] overlay = doc(int32("d", 3), string("b", "longer value"));
+
+        assertArrayEquals(doc(int32("a", 1), string("b", "longer value"), int32("c", 2), int32("d", 3)),
+            merge(base, overlay, false));
+    }
+
+    @Test
+    public void testMerge_EmptyInputs() {
+        byte[] sample = doc(int32("a", 1), subdoc("s", doc(int32("x", 1))));
+        byte[] empty = doc();
+
+        assertArrayEquals(sample, merge(sample, empty, false));
+        assertArrayEquals(sample, merge(empty, sample, true));
+        assertArrayEquals(empty, merge(empty, empty, true));
+    }
+
+    @Test
+    public void testMerge_ShallowReplacesEmbeddedDocumentWhole() {
+        byte[] base = doc(int32("a", 1), subdoc("s", doc(int32("x", 1), int32("y", 2))));
+        byte[] overlay = doc(subdoc("s", doc(int32("y", 20))));
+
+        assertArrayEquals(doc(int32("a", 1), subdoc("s", doc(int32("y", 20)))), merge(base, overlay, false));
+    }
+
+    @Test
+    public void testMerge_NonAsciiNames() {
+        byte[] base = doc(int32("名前", 1), int32("é", 2));
+        byte[] overlay = doc(int32("é", 3), int32("😀", 4));
+
+        assertArrayEquals(doc(int32("名前", 1), int32("é", 3), int32("😀", 4)), merge(base, overlay, false));
+    }
+
+    // ==================== Deep Merge ====================
+
+    @Test
+    public void testMerge_DeepMergesEmbeddedDocuments() {
+        byte[] base = doc(
+            int32("a", 1),
+            subdoc("s", doc(int32("x", 1), int32("y", 2), subdoc("g", doc(int32("p", 1))))),
+            int32("z", 9));
+        byte[] overlay = doc(
+            subdoc("s", doc(int32("y", 20), subdoc("g", doc(int32("q", 2))), string("w", "new"))),
+            int32("b", 5));
+
+        byte[] expected = doc(
+            int32("a", 1),
+            subdoc("s", doc(int32("x", 1), int32("y", 20), subdoc("g", doc(int32("p", 1), int32("q", 2))),
+                string("w", "new"))),
+            int32("z", 9),
+            int32("b", 5));
+        assertArrayEquals(expected, merge(base, overlay, true));
+    }
+
+    @Test
+    public void testMerge_DeepTypeConflictsTakeOverlay() {
+        byte[] base = doc(
+            subdoc("d", doc(int32("x", 1))),
+            int32("i", 1),
+            array("arr", doc(int32("0", 1), int32("1", 2))));
+        byte[] overlay = doc(
+            int32("d", 7),
+            subdoc("i", doc(int32("y", 2))),
+            array("arr", doc(int32("0", 9))));
+
+        assertArrayEquals(doc(int32("d", 7), subdoc("i", doc(int32("y", 2))), array("arr", doc(int32("0", 9)))),
+            merge(base, overlay, true));
+    }
+
+    @Test
+    public void testMerge_RandomAgainstMapModel() {
+        Random random = new Random(42);
+        String[] names = {"a", "b", "c", "d", "e", "f", "g", "h", "Aa", "BB"};   // "Aa" and "BB" share a hash
+        for (int round = 0; round < 300; round++) {
+            Map<String, byte[]> base = randomFields(random, names);
+            Map<String, byte[]> overlay = randomFields(random, names);
+
+            Map<String, byte[]> expected = new LinkedHashMap<String, byte[]>(base);
+            expected.putAll(overlay);
+
+            assertArrayEquals(encode(expected), merge(encode(base), encode(overlay), false), "round " + round);
+        }
+    }
+
+    private static Map<String, byte[]> randomFields(Random random, String[] names) {
+        Map<String, byte[]> fields = new LinkedHashMap<String, byte[]>();
+        int count = random.nextInt(names.length + 1);
+        for (int i = 0; i < count; i++) {
+            String name = names[random.nextInt(names.length)];
+            fields.put(name, random.nextBoolean()
+                ? int32(name, random.nextInt())
+                : string(name, "v" + random.nextInt(1000)));
+        }
+        return fields;
+    }
+
+    private static byte[] encode(Map<String, byte[]> fields) {
+        List<byte[]> elements = new ArrayList<byte[]>(fields.values());
+        return doc(elements.toArray(new byte[0][]));
+    }
+
+    // ==================== Inputs ====================
+
+    @Test
+    public void testMerge_DocumentsAtOffsetAndInBuffers() {
+        byte[] base = doc(int32("a", 1), subdoc("s", doc(int32("x", 1))));
+        byte[] overlay = doc(subdoc("s", doc(int32("y", 2))), int32("b", 2));
+        byte[] padded = new byte[base.length + 9];
+        System.arraycopy(base, 0, padded, 6, base.length);
+        ByteBuffer direct = ByteBuffer.allocateDirect(overlay.length);
+        direct.put(overlay).flip();
+
+        byte[] expected = doc(int32("a", 1), subdoc("s", doc(int32("x", 1), int32("y", 2))), int32("b", 2));
+        assertArrayEquals(expected, BsonMerger.merge(IndexedBsonDocument.parse(padded, 6, base.length),
+            IndexedBsonDocument.parseBuffer(direct), true));
+    }
+
+    @Test
+    public void testMerge_ResultIsIndependentOfInputs() {
+        byte[] base = doc(int32("a", 1));
+        byte[] overlay = doc(int32("b", 2));
+        IndexedBsonDocument baseDoc = IndexedBsonDocument.parse(base);
+
+        byte[] result = BsonMerger.merge(baseDoc, IndexedBsonDocument.parse(overlay));
+        baseDoc.setInt32("a", 100);
+
+        IndexedBsonDocument merged = IndexedBsonDocument.parse(result);
+        assertEquals(1, merged.getInt32("a"));
+        assertEquals(2, merged.getInt32("b"));
+    }
+
+    @Test
+    public void testMerge_NullInput() {
+        IndexedBsonDocument sample = IndexedBsonDocument.parse(doc(int32("a", 1)));
+
+        assertThrows(NullPointerException.class, () -> BsonMerger.merge(null, sample));
+        assertThrows(NullPointerException.class, () -> BsonMerger.merge(sample, null, true));
+        assertThrows(NullPointerException.class, () -> BsonMerger.merge((byte[]) null, new byte[5], false));
+    }
+}
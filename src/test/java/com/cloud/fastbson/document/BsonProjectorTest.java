@@ -0,0 +1,254 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BsonProjector}.
+ */
+public class BsonProjectorTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates a document from encoded elements.
+     */
+    private static byte[] doc(byte[]... elements) {
+        int length = 5;
+        for (byte[] element : elements) {
+            length += element.length;
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(length);
+        for (byte[] element : elements) {
+            buffer.put(element);
+        }
+        buffer.put((byte) 0);
+        return buffer.array();
+    }
+
+    private static byte[] int32(String name, int value) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(nameBytes.length + 6).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BsonType.INT32).put(nameBytes).put((byte) 0).putInt(value);
+        return buffer.array();
+    }
+
+    private static byte[] string(String name, String value) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(nameBytes.length + valueBytes.length + 7)
+            .order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put(BsonType.STRING).put(nameBytes).put((byte) 0)
+            .putInt(valueBytes.length + 1).put(valueBytes).put((byte) 0);
+        return buffer.array();
+    }
+
+    private static byte[] embedded(byte type, String name, byte[] document) {
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(nameBytes.length + document.length + 2);
+        buffer.put(type).put(nameBytes).put((byte) 0).put(document);
+        return buffer.array();
+    }
+
+    private static byte[] subdoc(String name, byte[] document) {
+        return embedded(BsonType.DOCUMENT, name, document);
+    }
+
+    /**
+     * Sample document: {_id, name, status, address: {city, zip, geo: {lat, lng}}, tags: [..], score}.
+     */
+    private static byte[] sample() {
+        return doc(
+            int32("_id", 1),
+            string("name", "alice"),
+            int32("status", 3),
+            subdoc("address", doc(
+                string("city", "Paris"),
+                string("zip", "75001"),
+                subdoc("geo", doc(int32("lat", 48), int32("lng", 2))))),
+            embedded(BsonType.ARRAY, "tags", doc(string("0", "a"), string("1", "b"))),
+            int32("score", 99));
+    }
+
+    /**
+     * Projects via raw bytes and via the (eager and incremental) index, checks all agree, and returns the result.
+     */
+    private static byte[] project(BsonProjector projector, byte[] bson) {
+        byte[] raw = projector.project(bson);
+        byte[] indexed = projector.project(IndexedBsonDocument.parse(bson));
+        assertArrayEquals(raw, indexed, "raw and indexed projections must be identical");
+        assertArrayEquals(raw, projector.project(IndexedBsonDocument.parseIncremental(bson)));
+        return raw;
+    }
+
+    private static List<String> fieldNames(BsonDocument document) {
+        List<String> names = new ArrayList<String>();
+        for (String name : document.fieldNames()) {
+            names.add(name);
+        }
+        return names;
+    }
+
+    // ==================== Top-Level Fields ====================
+
+    @Test
+    public void testProject_TopLevelFieldsCopiedVerbatim() {
+        byte[] result = project(new BsonProjector("status", "_id"), sample());
+
+        assertArrayEquals(doc(int32("_id", 1), int32("status", 3)), result);
+    }
+
+    @Test
+    public void testProject_KeepsDocumentOrder() {
+        IndexedBsonDocument result = IndexedBsonDocument.parse(
+            project(new BsonProjector("score", "name", "_id"), sample()));
+
+        assertEquals(Arrays.asList("_id", "name", "score"), fieldNames(result));
+        assertEquals("alice", result.getString("name"));
+        assertEquals(99, result.getInt32("score"));
+    }
+
+    @Test
+    public void testProject_WholeEmbeddedValues() {
+        byte[] bson = sample();
+        IndexedBsonDocument result = IndexedBsonDocument.parse(project(new BsonProjector("address", "tags"), bson));
+
+        assertEquals(2, result.size());
+        assertEquals("Paris", result.getDocument("address").getString("city"));
+        assertEquals(48, result.getDocument("address").getDocument("geo").getInt32("lat"));
+        assertEquals("b", result.getArray("tags").getString(1));
+    }
+
+    @Test
+    public void testProject_MissingFieldsOmitted() {
+        assertArrayEquals(doc(int32("_id", 1)), project(new BsonProjector("_id", "missing"), sample()));
+        assertArrayEquals(doc(), project(new BsonProjector("missing"), sample()));
+    }
+
+    @Test
+    public void testProject_AllFieldsReproducesInput() {
+        byte[] bson = sample();
+
+        assertArrayEquals(bson,
+            project(new BsonProjector("_id", "name", "status", "address", "tags", "score"), bson));
+    }
+
+    // ==================== Dotted Paths ====================
+
+    @Test
+    public void testProject_NestedPath() {
+        byte[] result = project(new BsonProjector("_id", "address.city"), sample());
+
+        assertArrayEquals(doc(int32("_id", 1), subdoc("address", doc(string("city", "Paris")))), result);
+    }
+
+    @Test
+    public void testProject_DeepNestedPaths() {
+        byte[] result = project(new BsonProjector("address.geo.lng", "address.zip"), sample());
+
+        assertArrayEquals(doc(subdoc("address", doc(
+            string("zip", "75001"),
+            subdoc("geo", doc(int32("lng", 2)))))), result);
+    }
+
+    @Test
+    public void testProject_ParentPathWinsOverSubPath() {
+        byte[] bson = sample();
+        byte[] whole = project(new BsonProjector("address"), bson);
+
+        assertArrayEquals(whole, project(new BsonProjector("address.city", "address"), bson));
+        assertArrayEquals(whole, project(new BsonProjector("address", "address.geo.lat"), bson));
+    }
+
+    @Test
+    public void testProject_MissingSubFieldYieldsEmptyDocument() {
+        byte[] result = project(new BsonProjector("address.country"), sample());
+
+        assertArrayEquals(doc(subdoc("address", doc())), result);
+    }
+
+    @Test
+    public void testProject_NonDocumentParentOmitted() {
+        assertArrayEquals(doc(), project(new BsonProjector("name.first"), sample()));
+        assertArrayEquals(doc(), project(new BsonProjector("tags.0"), sample()));
+    }
+
+    // ==================== Edge Cases ====================
+
+    @Test
+    public void testProject_DuplicateNameUsesFirstOccurrence() {
+        byte[] bson = doc(int32("a", 1), int32("b", 2), int32("a", 3));
+
+        assertArrayEquals(doc(int32("a", 1)), new BsonProjector("a").project(bson));
+        assertArrayEquals(doc(int32("a", 1)),
+            new BsonProjector("a").project(IndexedBsonDocument.parse(bson)));
+    }
+
+    @Test
+    public void testProject_ManyPaths() {
+        List<byte[]> elements = new ArrayList<byte[]>();
+        List<String> paths = new ArrayList<String>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(int32("f" + i, i));
+            if (i % 3 != 0) {
+                paths.add("f" + i);
+            }
+        }
+        paths.add("missing");
+        IndexedBsonDocument result = IndexedBsonDocument.parse(
+            project(new BsonProjector(paths), doc(elements.toArray(new byte[0][]))));
+
+        assertEquals(66, result.size());
+        assertEquals(98, result.getInt32("f98"));
+        assertFalse(result.contains("f99"));
+    }
+
+    @Test
+    public void testProject_DocumentAtOffset() {
+        byte[] bson = sample();
+        byte[] padded = new byte[bson.length + 7];
+        System.arraycopy(bson, 0, padded, 5, bson.length);
+        BsonProjector projector = new BsonProjector("name", "address.zip");
+
+        byte[] expected = projector.project(bson);
+        assertArrayEquals(expected,
+            projector.project(new com.cloud.fastbson.reader.ByteArrayBsonInput(padded), 5));
+        assertArrayEquals(expected, projector.project(IndexedBsonDocument.parse(padded, 5, bson.length)));
+    }
+
+    @Test
+    public void testProject_ProjectorIsReusable() {
+        BsonProjector projector = new BsonProjector("_id");
+
+        assertArrayEquals(doc(int32("_id", 1)), projector.project(sample()));
+        assertArrayEquals(doc(int32("_id", 7)), projector.project(doc(int32("x", 0), int32("_id", 7))));
+    }
+
+    @Test
+    public void testConstructor_InvalidPaths() {
+        assertThrows(IllegalArgumentException.class, () -> new BsonProjector());
+        assertThrows(IllegalArgumentException.class, () -> new BsonProjector((String) null));
+        assertThrows(IllegalArgumentException.class, () -> new BsonProjector(""));
+        assertThrows(IllegalArgumentException.class, () -> new BsonProjector("a..b"));
+        assertThrows(IllegalArgumentException.class, () -> new BsonProjector("a."));
+        assertThrows(IllegalArgumentException.class, () -> new BsonProjector(new ArrayList<String>()));
+    }
+
+    @Test
+    public void testProject_NullInput() {
+        BsonProjector projector = new BsonProjector("a");
+
+        assertThrows(NullPointerException.class, () -> projector.project((byte[]) null));
+        assertThrows(NullPointerException.class, () -> projector.project((IndexedBsonDocument) null));
+    }
+}
@@ -0,0 +1,187 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BsonShapeCache.
+ */
+public class BsonShapeCacheTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "_id": id, "name": "<name>", "score": score, "tags": ["x"], "active": true }
+     */
+    private byte[] createUser(int id, String name, double score) {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("_id\0".getBytes(StandardCharsets.UTF_8)).putInt(id);
+        byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+        buffer.put(BsonType.STRING).put("name\0".getBytes(StandardCharsets.UTF_8))
+            .putInt(nameBytes.length + 1).put(nameBytes).put((byte) 0);
+        buffer.put(BsonType.DOUBLE).put("score\0".getBytes(StandardCharsets.UTF_8)).putDouble(score);
+        buffer.put(BsonType.ARRAY).put("tags\0".getBytes(StandardCharsets.UTF_8));
+        int tags = buffer.position();
+        buffer.putInt(0);
+        buffer.put(BsonType.STRING).put("0\0".getBytes(StandardCharsets.UTF_8)).putInt(2)
+            .put("x\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 0);
+        buffer.putInt(tags, buffer.position() - tags);
+        buffer.put(BsonType.BOOLEAN).put("active\0".getBytes(StandardCharsets.UTF_8)).put((byte) 1);
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Creates a document of INT32 fields with the given names (value = position).
+     */
+    private byte[] createInts(String... names) {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < names.length; i++) {
+            buffer.put(BsonType.INT32).put((names[i] + "\0").getBytes(StandardCharsets.UTF_8)).putInt(i);
+        }
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private IndexedBsonDocument parse(byte[] bson, BsonShapeCache shapes) {
+        return IndexedBsonDocument.parse(bson, 0, bson.length, shapes);
+    }
+
+    // ==================== Hit Tests ====================
+
+    @Test
+    public void testSameShape_ReusesIndex() {
+        BsonShapeCache shapes = new BsonShapeCache();
+
+        for (int i = 0; i < 10; i++) {
+            // Variable-length name: value offsets differ between documents
+            IndexedBsonDocument doc = parse(createUser(i, "user-" + i + "-" + repeat(i), i * 1.5), shapes);
+            assertEquals(i, doc.getInt32("_id"));
+            assertEquals("user-" + i + "-" + repeat(i), doc.getString("name"));
+            assertEquals(i * 1.5, doc.getDouble("score"), 0.0);
+            assertEquals("x", doc.getArray("tags").getString(0));
+            assertTrue(doc.getBoolean("active"));
+            assertFalse(doc.contains("missing"));
+            assertEquals(5, doc.size());
+        }
+
+        assertEquals(1, shapes.getMissCount());
+        assertEquals(9, shapes.getHitCount());
+        assertEquals(1, shapes.size());
+    }
+
+    @Test
+    public void testCachedIndexMatchesNormalParse() {
+        BsonShapeCache shapes = new BsonShapeCache();
+        parse(createUser(1, "a", 1.0), shapes);
+
+        byte[] bson = createUser(2, "bbbbbbbb", 2.0);
+        IndexedBsonDocument cached = parse(bson, shapes);
+        IndexedBsonDocument normal = IndexedBsonDocument.parse(bson);
+
+        assertEquals(1, shapes.getHitCount());
+        assertEquals(normal.fieldNames(), cached.fieldNames());
+        assertEquals(normal.toJson(), cached.toJson());
+    }
+
+    @Test
+    public void testMultipleShapes() {
+        BsonShapeCache shapes = new BsonShapeCache();
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(1, parse(createInts("a", "b", "c"), shapes).getInt32("b"));
+            assertEquals(0, parse(createInts("x", "y"), shapes).getInt32("x"));
+        }
+
+        assertEquals(2, shapes.size());
+        assertEquals(2, shapes.getMissCount());
+        assertEquals(8, shapes.getHitCount());
+    }
+
+    // ==================== Mismatch Tests ====================
+
+    @Test
+    public void testMismatch_FallsBackToNormalParse() {
+        BsonShapeCache shapes = new BsonShapeCache();
+        parse(createInts("a", "b", "c"), shapes);
+
+        // Same first field, different later name
+        assertEquals(2, parse(createInts("a", "b", "d"), shapes).getInt32("d"));
+        // Fewer fields
+        assertEquals(1, parse(createInts("a", "b"), shapes).getInt32("b"));
+        // More fields
+        IndexedBsonDocument more = parse(createInts("a", "b", "c", "e"), shapes);
+        assertEquals(3, more.getInt32("e"));
+        assertEquals(4, more.size());
+        // Name that is a prefix of the cached name
+        assertEquals(0, parse(createInts("", "b", "c"), shapes).getInt32(""));
+
+        assertEquals(0, shapes.getHitCount());
+        assertEquals(5, shapes.getMissCount());
+    }
+
+    @Test
+    public void testMismatch_DifferentType() {
+        BsonShapeCache shapes = new BsonShapeCache();
+        parse(createUser(1, "a", 1.0), shapes);
+
+        byte[] bson = createUser(2, "b", 2.0);
+        bson[4] = BsonType.INT64;  // Same first name, different type
+        assertNull(shapes.bind(new ByteArrayBsonInput(bson), 0, bson.length));
+    }
+
+    @Test
+    public void testEviction() {
+        BsonShapeCache shapes = new BsonShapeCache(2);
+
+        parse(createInts("a"), shapes);
+        parse(createInts("b"), shapes);
+        parse(createInts("a"), shapes);  // Hit, "a" becomes most recent
+        parse(createInts("c"), shapes);  // Evicts "b"
+        parse(createInts("a"), shapes);  // Hit
+        parse(createInts("b"), shapes);  // Miss
+
+        assertEquals(2, shapes.size());
+        assertEquals(2, shapes.getHitCount());
+        assertEquals(4, shapes.getMissCount());
+
+        shapes.clear();
+        assertEquals(0, shapes.size());
+        assertEquals(0, shapes.getHitCount());
+    }
+
+    @Test
+    public void testEmptyDocumentAndNullCache() {
+        BsonShapeCache shapes = new BsonShapeCache();
+        byte[] empty = {5, 0, 0, 0, 0};
+
+        assertTrue(parse(empty, shapes).isEmpty());
+        assertTrue(parse(empty, shapes).isEmpty());
+        assertEquals(0, shapes.size());
+        assertEquals(0, shapes.getHitCount());
+        assertEquals(0, shapes.getMissCount());
+        assertEquals(1, parse(createInts("a", "b"), null).getInt32("b"));
+        assertThrows(IllegalArgumentException.class, () -> new BsonShapeCache(0));
+    }
+
+    private static String repeat(int n) {
+        char[] chars = new char[n];
+        Arrays.fill(chars, 'z');
+        return new String(chars);
+    }
+}
@@ -0,0 +1,228 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.document.fast.FastBsonDocumentFactory;
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link FieldKey} lookups.
+ */
+public class FieldKeyTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates a document of INT32 fields with the given names (value = position).
+     */
+    private byte[] createInts(String... names) {
+        ByteBuffer buffer = ByteBuffer.allocate(64 + names.length * 32).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < names.length; i++) {
+            buffer.put(BsonType.INT32).put((names[i] + "\0").getBytes(StandardCharsets.UTF_8)).putInt(i);
+        }
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Creates a document with one field of each commonly used type.
+     */
+    private byte[] createMixed() {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("i\0".getBytes(StandardCharsets.UTF_8)).putInt(42);
+        buffer.put(BsonType.INT64).put("l\0".getBytes(StandardCharsets.UTF_8)).putLong(1L << 40);
+        buffer.put(BsonType.DOUBLE).put("d\0".getBytes(StandardCharsets.UTF_8)).putDouble(2.5);
+        buffer.put(BsonType.BOOLEAN).put("b\0".getBytes(StandardCharsets.UTF_8)).put((byte) 1);
+        buffer.put(BsonType.STRING).put("s\0".getBytes(StandardCharsets.UTF_8)).putInt(3)
+            .put("hi\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.DATE_TIME).put("t\0".getBytes(StandardCharsets.UTF_8)).putLong(1000L);
+        buffer.put(BsonType.NULL).put("n\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.DOCUMENT).put("o\0".getBytes(StandardCharsets.UTF_8))
+            .putInt(12).put(BsonType.INT32).put("x\0".getBytes(StandardCharsets.UTF_8)).putInt(7).put((byte) 0);
+        buffer.put(BsonType.ARRAY).put("a\0".getBytes(StandardCharsets.UTF_8))
+            .putInt(12).put(BsonType.INT32).put("0\0".getBytes(StandardCharsets.UTF_8)).putInt(9).put((byte) 0);
+        buffer.put(BsonType.OBJECT_ID).put("id\0".getBytes(StandardCharsets.UTF_8))
+            .put(new byte[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12});
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    // ==================== FieldKey Tests ====================
+
+    @Test
+    public void testOf_CarriesNameBytesAndHash() {
+        FieldKey key = FieldKey.of("userId");
+
+        assertEquals("userId", key.getName());
+        assertArrayEquals("userId".getBytes(StandardCharsets.UTF_8), key.getBytes());
+        assertEquals("userId".hashCode(), key.hashCode());
+        assertEquals(FieldKey.of("userId"), key);
+        assertNotEquals(FieldKey.of("user"), key);
+        assertEquals("userId", key.toString());
+    }
+
+    @Test
+    public void testOf_NullName() {
+        assertThrows(IllegalArgumentException.class, () -> FieldKey.of(null));
+    }
+
+    @Test
+    public void testGetBytes_ReturnsCopy() {
+        FieldKey key = FieldKey.of("abc");
+        key.getBytes()[0] = 'x';
+
+        assertEquals(0, IndexedBsonDocument.parse(createInts("abc")).getInt32(key));
+    }
+
+    // ==================== IndexedBsonDocument Tests ====================
+
+    @Test
+    public void testIndexed_AllAccessors() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createMixed());
+
+        assertEquals(42, doc.getInt32(FieldKey.of("i")));
+        assertEquals(1L << 40, doc.getInt64(FieldKey.of("l")));
+        assertEquals(2.5, doc.getDouble(FieldKey.of("d")), 0.0);
+        assertTrue(doc.getBoolean(FieldKey.of("b")));
+        assertEquals("hi", doc.getString(FieldKey.of("s")));
+        assertEquals(1000L, doc.getDateTime(FieldKey.of("t")));
+        assertTrue(doc.isNull(FieldKey.of("n")));
+        assertEquals(7, doc.getDocument(FieldKey.of("o")).getInt32("x"));
+        assertEquals(9, doc.getArray(FieldKey.of("a")).getInt32(0));
+        assertEquals("0102030405060708090a0b0c", doc.getObjectId(FieldKey.of("id")));
+        assertEquals(BsonType.DOUBLE, doc.getType(FieldKey.of("d")));
+        assertTrue(doc.contains(FieldKey.of("s")));
+    }
+
+    @Test
+    public void testIndexed_DefaultValues() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createMixed());
+        FieldKey missing = FieldKey.of("missing");
+        FieldKey str = FieldKey.of("s");
+
+        assertEquals(42, doc.getInt32(FieldKey.of("i"), -1));
+        assertEquals(-1, doc.getInt32(missing, -1));
+        assertEquals(-1, doc.getInt32(str, -1));  // Wrong type
+        assertEquals(-1L, doc.getInt64(missing, -1L));
+        assertEquals(1L << 40, doc.getInt64(FieldKey.of("l"), -1L));
+        assertEquals(-1.0, doc.getDouble(missing, -1.0), 0.0);
+        assertEquals(2.5, doc.getDouble(FieldKey.of("d"), -1.0), 0.0);
+        assertFalse(doc.getBoolean(missing, false));
+        assertTrue(doc.getBoolean(FieldKey.of("b"), false));
+        assertEquals("def", doc.getString(missing, "def"));
+        assertEquals("def", doc.getString(FieldKey.of("i"), "def"));
+        assertEquals("hi", doc.getString(str, "def"));
+        assertEquals(-1L, doc.getDateTime(missing, -1L));
+        assertEquals(1000L, doc.getDateTime(FieldKey.of("t"), -1L));
+    }
+
+    @Test
+    public void testIndexed_MissingAndWrongType() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createMixed());
+        FieldKey missing = FieldKey.of("missing");
+
+        assertFalse(doc.contains(missing));
+        assertEquals(0, doc.getType(missing));
+        assertFalse(doc.isNull(missing));
+        assertFalse(doc.isNull(FieldKey.of("i")));
+        assertThrows(NullPointerException.class, () -> doc.getInt32(missing));
+        assertThrows(IllegalArgumentException.class, () -> doc.getInt32(FieldKey.of("s")));
+    }
+
+    @Test
+    public void testIndexed_HintFollowsSlot() {
+        FieldKey key = FieldKey.of("c");
+        IndexedBsonDocument first = IndexedBsonDocument.parse(createInts("a", "b", "c", "d"));
+
+        assertEquals(2, first.getInt32(key));
+        int hint = key.slotHint;
+        assertEquals(2, IndexedBsonDocument.parse(createInts("a", "b", "c", "d")).getInt32(key));
+        assertEquals(hint, key.slotHint);
+
+        // Different shape: stale hint is verified, the lookup falls back and moves the hint
+        IndexedBsonDocument other = IndexedBsonDocument.parse(createInts("c", "x", "y", "z", "w"));
+        assertEquals(0, other.getInt32(key));
+        assertEquals(0, other.getInt32(FieldKey.of("c")));
+    }
+
+    @Test
+    public void testIndexed_StaleHintOutOfRange() {
+        FieldKey key = FieldKey.of("f9");
+        String[] names = new String[10];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "f" + i;
+        }
+        assertEquals(9, IndexedBsonDocument.parse(createInts(names)).getInt32(key));
+
+        IndexedBsonDocument small = IndexedBsonDocument.parse(createInts("f9"));
+        assertEquals(0, small.getInt32(key));
+        assertFalse(IndexedBsonDocument.parse(createInts("a")).contains(key));
+    }
+
+    @Test
+    public void testIndexed_HashCollisions() {
+        // "Aa" and "BB" share a hash; more fields than the insertion sort threshold
+        String[] names = new String[30];
+        for (int i = 0; i < 28; i++) {
+            names[i] = "field" + i;
+        }
+        names[28] = "BB";
+        names[29] = "Aa";
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createInts(names));
+
+        assertEquals(28, doc.getInt32(FieldKey.of("BB")));
+        assertEquals(29, doc.getInt32(FieldKey.of("Aa")));
+        assertFalse(doc.contains(FieldKey.of("C#")));
+
+        FieldKey shared = FieldKey.of("Aa");
+        assertEquals(29, doc.getInt32(shared));
+        assertEquals(0, IndexedBsonDocument.parse(createInts("Aa", "BB")).getInt32(shared));
+    }
+
+    @Test
+    public void testIndexed_NonAsciiName() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createInts("名字", "city"));
+
+        assertEquals(0, doc.getInt32(FieldKey.of("名字")));
+        assertEquals(1, doc.getInt32(FieldKey.of("city")));
+    }
+
+    @Test
+    public void testIndexed_Incremental() {
+        FieldKey key = FieldKey.of("c");
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createInts("a", "b", "c", "d"));
+
+        assertEquals(2, doc.getInt32(key));
+        assertFalse(doc.isFullyIndexed());
+        assertFalse(doc.contains(FieldKey.of("missing")));
+        assertTrue(doc.isFullyIndexed());
+        assertEquals(2, doc.getInt32(key));
+    }
+
+    // ==================== Default Implementation Tests ====================
+
+    @Test
+    public void testDefault_DelegatesToName() {
+        BsonDocument doc = FastBsonDocumentFactory.INSTANCE.newDocumentBuilder()
+            .putInt32("i", 5)
+            .putString("s", "v")
+            .build();
+
+        assertEquals(5, doc.getInt32(FieldKey.of("i")));
+        assertEquals("v", doc.getString(FieldKey.of("s")));
+        assertTrue(doc.contains(FieldKey.of("s")));
+        assertEquals(-1, doc.getInt32(FieldKey.of("missing"), -1));
+    }
+}
@@ -169,9 +169,11 @@ public class IndexedBson100PercentCoverageTest {
 
         // Add multiple fields
         for (int i = 0; i < 5; i++) {
-            buffer.put((byte) 0x10);
+            byte[] value = ("v" + (i * 100) + "\0").getBytes(StandardCharsets.UTF_8);
+            buffer.put((byte) 0x02);
             buffer.put(("field" + i + "\0").getBytes(StandardCharsets.UTF_8));
-            buffer.putInt(i * 100);
+            buffer.putInt(value.length);
+            buffer.put(value);
         }
 
         buffer.put((byte) 0x00);
@@ -203,8 +205,8 @@ public class IndexedBson100PercentCoverageTest {
                     startLatch.await();
 
                     // Access field - this will trigger ensureCache
-                    int value = doc.getInt32("field" + fieldIndex);
-                    assertEquals(fieldIndex * 100, value);
+                    String value = doc.getString("field" + fieldIndex);
+                    assertEquals("v" + (fieldIndex * 100), value);
 
                 } catch (Throwable t) {
                     errors.add(t);
@@ -242,9 +244,11 @@ public class IndexedBson100PercentCoverageTest {
 
         // Add multiple elements
         for (int i = 0; i < 5; i++) {
-            buffer.put((byte) 0x10);
+            byte[] value = ("v" + (i * 111) + "\0").getBytes(StandardCharsets.UTF_8);
+            buffer.put((byte) 0x02);
             buffer.put((i + "\0").getBytes(StandardCharsets.UTF_8));
-            buffer.putInt(i * 111);
+            buffer.putInt(value.length);
+            buffer.put(value);
         }
 
         buffer.put((byte) 0x00);
@@ -275,8 +279,8 @@ public class IndexedBson100PercentCoverageTest {
                     startLatch.await();
 
                     // Access element - triggers ensureCache
-                    int value = array.getInt32(index);
-                    assertEquals(index * 111, value);
+                    String value = array.getString(index);
+                    assertEquals("v" + (index * 111), value);
 
                 } catch (Throwable t) {
                     errors.add(t);
@@ -607,10 +607,11 @@ public class IndexedBsonAdditionalCoverageTest {
             "linearSearch", int.class, String.class, int.class);
         linearSearchMethod.setAccessible(true);
 
-        // Get the fields array to understand the structure
-        Field fieldsField = IndexedBsonDocument.class.getDeclaredField("fields");
-        fieldsField.setAccessible(true);
-        Object[] docFields = (Object[]) fieldsField.get(doc);
+        // Get the packed index to understand the structure
+        Field indexField = IndexedBsonDocument.class.getDeclaredField("index");
+        indexField.setAccessible(true);
+        int[] docIndex = (int[]) indexField.get(doc);
+        assertEquals(5 * IndexedBsonDocument.STRIDE, docIndex.length);
 
         // Call linearSearch with parameters that will cause backward search to hit hash mismatch
         // Start at index 2, search for a field with a different hash
@@ -491,6 +491,25 @@ public class IndexedBsonArrayTest {
         assertEquals(v1, v1_2);
     }
 
+    @Test
+    public void testCache_FixedWidthValuesAreNotCached() {
+        byte[] bsonData = createMixedArray();
+        IndexedBsonArray array = IndexedBsonArray.parse(bsonData, 0, bsonData.length);
+
+        // Primitive getters and get() read fixed-width values in place
+        assertEquals(42, array.getInt32(0));
+        assertEquals(3.14, array.getDouble(2), 0.0);
+        assertTrue(array.getBoolean(3));
+        assertEquals(42, array.get(0));
+        assertNull(array.get(4));
+        assertTrue(array.toString().contains("cached=0"));
+
+        // Strings are decoded once and cached
+        String value = array.getString(1);
+        assertSame(value, array.get(1));
+        assertTrue(array.toString().contains("cached=1"));
+    }
+
     // ==================== Generic get() Method Tests ====================
 
     @Test
@@ -1317,8 +1336,9 @@ public class IndexedBsonArrayTest {
         array.getInt32(0);
         array.getInt32(1);
 
+        // INT32 elements are read in place and never cached
         String str = array.toString();
-        assertTrue(str.contains("cached=2"));
+        assertTrue(str.contains("cached=0"));
     }
 
     @Test
@@ -1331,8 +1351,9 @@ public class IndexedBsonArrayTest {
         array.getInt32(1);
         array.getInt32(2);
 
+        // INT32 elements are read in place and never cached
         String str = array.toString();
-        assertTrue(str.contains("cached=3"));
+        assertTrue(str.contains("cached=0"));
     }
 
     /**
@@ -1449,10 +1470,10 @@ public class IndexedBsonArrayTest {
         Object val1 = array.get(1);
         Object val2 = array.get(2);
 
-        // Second access - hit cache
-        assertSame(val0, array.get(0));
+        // Second access - strings hit the cache, fixed-width values are re-read
+        assertEquals(val0, array.get(0));
         assertSame(val1, array.get(1));
-        assertSame(val2, array.get(2));
+        assertEquals(val2, array.get(2));
     }
 
     /**
@@ -1928,18 +1949,12 @@ public class IndexedBsonArrayTest {
         byte[] bsonData = createInt32Array();
         IndexedBsonArray array = IndexedBsonArray.parse(bsonData, 0, bsonData.length);
 
-        // Access an element to force cache initialization
+        // INT32 elements are never cached: install an empty cache via reflection
         array.get(0);
-
-        // Use reflection to set all cache slots to null
         java.lang.reflect.Field cacheField = IndexedBsonArray.class.getDeclaredField("cache");
         cacheField.setAccessible(true);
-        Object[] cache = (Object[]) cacheField.get(array);
-
-        // Clear all cache slots
-        for (int i = 0; i < cache.length; i++) {
-            cache[i] = null;
-        }
+        assertNull(cacheField.get(array));
+        cacheField.set(array, new Object[array.size()]);
 
         // Now call toString() which calls countCached()
         // Should hit "cache != null" branch but return 0 because all slots are null
@@ -0,0 +1,220 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.FastBson;
+import com.cloud.fastbson.handler.parsers.DocumentParser;
+import com.cloud.fastbson.parser.PartialParser;
+import com.cloud.fastbson.reader.BsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for parsing BSON straight from heap and direct ByteBuffers (zero-copy input).
+ */
+public class IndexedBsonByteBufferTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "name": "Alice", "age": 30, "score": 95.5, "active": true, "ts": 1700000000000L,
+     *            "oid": ObjectId, "bin": Binary[1,2,3], "addr": { "city": "Paris" }, "tags": ["a", 7] }
+     */
+    private byte[] createBsonDocument() {
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put((byte) 0x02);
+        buffer.put("name\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(6);
+        buffer.put("Alice\0".getBytes(StandardCharsets.UTF_8));
+
+        buffer.put((byte) 0x10);
+        buffer.put("age\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(30);
+
+        buffer.put((byte) 0x01);
+        buffer.put("score\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putDouble(95.5);
+
+        buffer.put((byte) 0x08);
+        buffer.put("active\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 1);
+
+        buffer.put((byte) 0x12);
+        buffer.put("ts\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putLong(1700000000000L);
+
+        buffer.put((byte) 0x07);
+        buffer.put("oid\0".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 12; i++) {
+            buffer.put((byte) i);
+        }
+
+        buffer.put((byte) 0x05);
+        buffer.put("bin\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(3);
+        buffer.put((byte) 0x00);
+        buffer.put(new byte[]{1, 2, 3});
+
+        buffer.put((byte) 0x03);
+        buffer.put("addr\0".getBytes(StandardCharsets.UTF_8));
+        int nestedStart = buffer.position();
+        buffer.putInt(0);
+        buffer.put((byte) 0x02);
+        buffer.put("city\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(6);
+        buffer.put("Paris\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 0x00);
+        buffer.putInt(nestedStart, buffer.position() - nestedStart);
+
+        buffer.put((byte) 0x04);
+        buffer.put("tags\0".getBytes(StandardCharsets.UTF_8));
+        int arrayStart = buffer.position();
+        buffer.putInt(0);
+        buffer.put((byte) 0x02);
+        buffer.put("0\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(2);
+        buffer.put("a\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 0x10);
+        buffer.put("1\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(7);
+        buffer.put((byte) 0x00);
+        buffer.putInt(arrayStart, buffer.position() - arrayStart);
+
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Copies BSON bytes into a direct buffer, preceded by some unrelated bytes.
+     */
+    private ByteBuffer toDirectBuffer(byte[] bson) {
+        ByteBuffer buffer = ByteBuffer.allocateDirect(bson.length + 16);
+        buffer.put(new byte[16]);
+        buffer.put(bson);
+        buffer.flip();
+        buffer.position(16);
+        return buffer;
+    }
+
+    private void assertDocument(BsonDocument doc) {
+        assertEquals(9, doc.size());
+        assertEquals("Alice", doc.getString("name"));
+        assertEquals(30, doc.getInt32("age"));
+        assertEquals(95.5, doc.getDouble("score"), 0.0);
+        assertTrue(doc.getBoolean("active"));
+        assertEquals(1700000000000L, doc.getInt64("ts"));
+        assertEquals("000102030405060708090a0b", doc.getObjectId("oid"));
+        assertEquals("Paris", doc.getDocument("addr").getString("city"));
+
+        BsonArray tags = doc.getArray("tags");
+        assertEquals(2, tags.size());
+        assertEquals("a", tags.getString(0));
+        assertEquals(7, tags.getInt32(1));
+    }
+
+    // ==================== IndexedBsonDocument Tests ====================
+
+    @Test
+    public void testParse_DirectBuffer() {
+        byte[] bson = createBsonDocument();
+        ByteBuffer buffer = toDirectBuffer(bson);
+
+        IndexedBsonDocument doc = IndexedBsonDocument.parseBuffer(buffer);
+
+        assertDocument(doc);
+        assertArrayEquals(new byte[]{1, 2, 3}, doc.getBinary("bin"));
+        assertTrue(doc.fieldNames().contains("addr"));
+        // Buffer state must be untouched
+        assertEquals(16, buffer.position());
+        assertEquals(ByteOrder.BIG_ENDIAN, buffer.order());
+    }
+
+    @Test
+    public void testParse_HeapBuffer() {
+        byte[] bson = createBsonDocument();
+        ByteBuffer buffer = ByteBuffer.allocate(bson.length + 3);
+        buffer.position(3);
+        buffer.put(bson);
+        buffer.position(3);
+
+        assertDocument(IndexedBsonDocument.parseBuffer(buffer));
+    }
+
+    @Test
+    public void testParse_DirectBuffer_ReadsLive() {
+        byte[] bson = createBsonDocument();
+        ByteBuffer buffer = toDirectBuffer(bson);
+        IndexedBsonDocument doc = IndexedBsonDocument.parseBuffer(buffer);
+
+        // No intermediate copy: modifying the buffer is visible through the view
+        int agePos = 16 + new String(bson, StandardCharsets.ISO_8859_1).indexOf("age\0") + 4;
+        buffer.order(ByteOrder.LITTLE_ENDIAN).putInt(agePos, 31);
+
+        assertEquals(31, doc.getInt32("age"));
+    }
+
+    @Test
+    public void testToBson_DirectBuffer() {
+        byte[] bson = createBsonDocument();
+
+        IndexedBsonDocument doc = IndexedBsonDocument.parseBuffer(toDirectBuffer(bson));
+
+        assertArrayEquals(bson, doc.toBson());
+    }
+
+    // ==================== Other Parse Modes Tests ====================
+
+    @Test
+    public void testFastBsonParse_DirectBuffer() {
+        assertDocument(FastBson.parse(toDirectBuffer(createBsonDocument())));
+    }
+
+    @Test
+    public void testPartialParser_DirectBuffer() {
+        PartialParser parser = new PartialParser("age", "addr");
+
+        Map<String, Object> result = parser.parseBuffer(toDirectBuffer(createBsonDocument()));
+
+        assertEquals(2, result.size());
+        assertEquals(30, result.get("age"));
+        assertEquals("Paris", ((Map<?, ?>) result.get("addr")).get("city"));
+    }
+
+    @Test
+    public void testPartialParser_InvalidBuffer() {
+        PartialParser parser = new PartialParser("age");
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parseBuffer(null));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseBuffer(ByteBuffer.allocateDirect(4)));
+    }
+
+    @Test
+    public void testDocumentParser_AllFactories_DirectBuffer() {
+        BsonDocumentFactory original = FastBson.getDocumentFactory();
+        try {
+            FastBson.useHashMapFactory();
+            assertDocument(FastBson.parse(BsonReader.wrap(toDirectBuffer(createBsonDocument()))));
+
+            FastBson.useFastFactory();
+            assertDocument(FastBson.parse(BsonReader.wrap(toDirectBuffer(createBsonDocument()))));
+
+            FastBson.useIndexedFactory();
+            BsonReader reader = BsonReader.wrap(toDirectBuffer(createBsonDocument()));
+            BsonDocument doc = (BsonDocument) DocumentParser.INSTANCE.parse(reader);
+            assertTrue(doc instanceof IndexedBsonDocument);
+            assertDocument(doc);
+            assertTrue(reader.isAtEnd());
+        } finally {
+            FastBson.setDocumentFactory(original);
+        }
+    }
+}
@@ -146,9 +146,10 @@ public class IndexedBsonFinal100PercentTest {
         int startPos = buffer.position();
         buffer.putInt(0);
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("x\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(42);
+        buffer.putInt(4);
+        buffer.put("v42\0".getBytes(StandardCharsets.UTF_8));
 
         buffer.put((byte) 0x00);
 
@@ -167,14 +168,14 @@ public class IndexedBsonFinal100PercentTest {
         // Thread 1 and 2 both try to create cache simultaneously
         Thread t1 = new Thread(() -> {
             try {
-                doc.getInt32("x");
+                doc.getString("x");
             } catch (Exception e) {
             }
         });
 
         Thread t2 = new Thread(() -> {
             try {
-                doc.getInt32("x");
+                doc.getString("x");
             } catch (Exception e) {
             }
         });
@@ -250,17 +251,20 @@ public class IndexedBsonFinal100PercentTest {
         int startPos = buffer.position();
         buffer.putInt(0);
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("f1\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(10);
+        buffer.putInt(4);
+        buffer.put("v10\0".getBytes(StandardCharsets.UTF_8));
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("f2\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(20);
+        buffer.putInt(4);
+        buffer.put("v20\0".getBytes(StandardCharsets.UTF_8));
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("f3\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(30);
+        buffer.putInt(4);
+        buffer.put("v30\0".getBytes(StandardCharsets.UTF_8));
 
         buffer.put((byte) 0x00);
 
@@ -271,7 +275,7 @@ public class IndexedBsonFinal100PercentTest {
         IndexedBsonDocument doc = IndexedBsonDocument.parse(bson);
 
         // Access only f1 to populate cache partially
-        doc.getInt32("f1");
+        doc.getString("f1");
 
         // toString calls countCached - should count only non-null entries
         // This covers: cache != null AND iterating through with some null entries
@@ -381,9 +385,10 @@ public class IndexedBsonFinal100PercentTest {
         int startPos = buffer.position();
         buffer.putInt(0);
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("0\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(42);
+        buffer.putInt(4);
+        buffer.put("v42\0".getBytes(StandardCharsets.UTF_8));
 
         buffer.put((byte) 0x00);
 
@@ -401,14 +406,14 @@ public class IndexedBsonFinal100PercentTest {
         // Multithreading to trigger race
         Thread t1 = new Thread(() -> {
             try {
-                array.getInt32(0);
+                array.getString(0);
             } catch (Exception e) {
             }
         });
 
         Thread t2 = new Thread(() -> {
             try {
-                array.getInt32(0);
+                array.getString(0);
             } catch (Exception e) {
             }
         });
@@ -482,17 +487,20 @@ public class IndexedBsonFinal100PercentTest {
         int startPos = buffer.position();
         buffer.putInt(0);
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("0\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(10);
+        buffer.putInt(4);
+        buffer.put("v10\0".getBytes(StandardCharsets.UTF_8));
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("1\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(20);
+        buffer.putInt(4);
+        buffer.put("v20\0".getBytes(StandardCharsets.UTF_8));
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("2\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(30);
+        buffer.putInt(4);
+        buffer.put("v30\0".getBytes(StandardCharsets.UTF_8));
 
         buffer.put((byte) 0x00);
 
@@ -503,7 +511,7 @@ public class IndexedBsonFinal100PercentTest {
         IndexedBsonArray array = IndexedBsonArray.parse(bson, 0, endPos - startPos);
 
         // Access only element 0 to populate cache partially
-        array.getInt32(0);
+        array.getString(0);
 
         // toString calls countCached
         String str = array.toString();
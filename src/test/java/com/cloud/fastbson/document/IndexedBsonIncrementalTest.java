@@ -0,0 +1,179 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for IndexedBsonDocument incremental indexing (parseIncremental).
+ */
+public class IndexedBsonIncrementalTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "ts": 1000L, "level": "INFO", "host": "web-1",
+     *            "payload": { "a": 1, "b": "x" }, "f0": 0, ..., "f{n-1}": n-1 }
+     */
+    private byte[] createLogRecord(int extraFields) {
+        ByteBuffer buffer = ByteBuffer.allocate(256 + extraFields * 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put(BsonType.INT64).put("ts\0".getBytes(StandardCharsets.UTF_8)).putLong(1000L);
+        buffer.put(BsonType.STRING).put("level\0".getBytes(StandardCharsets.UTF_8)).putInt(5)
+            .put("INFO\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.STRING).put("host\0".getBytes(StandardCharsets.UTF_8)).putInt(6)
+            .put("web-1\0".getBytes(StandardCharsets.UTF_8));
+
+        buffer.put(BsonType.DOCUMENT).put("payload\0".getBytes(StandardCharsets.UTF_8));
+        int payload = buffer.position();
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("a\0".getBytes(StandardCharsets.UTF_8)).putInt(1);
+        buffer.put(BsonType.STRING).put("b\0".getBytes(StandardCharsets.UTF_8)).putInt(2)
+            .put("x\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 0);
+        buffer.putInt(payload, buffer.position() - payload);
+
+        for (int i = 0; i < extraFields; i++) {
+            buffer.put(BsonType.INT32).put(("f" + i + "\0").getBytes(StandardCharsets.UTF_8)).putInt(i);
+        }
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    // ==================== Incremental Scan Tests ====================
+
+    @Test
+    public void testLookup_ScansOnlyPrefix() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createLogRecord(100));
+        assertEquals(0, doc.getIndexedFieldCount());
+        assertFalse(doc.isFullyIndexed());
+
+        assertEquals("INFO", doc.getString("level"));
+        assertEquals(2, doc.getIndexedFieldCount());
+
+        // Already indexed field: no further scanning
+        assertEquals(1000L, doc.getInt64("ts"));
+        assertEquals(2, doc.getIndexedFieldCount());
+
+        // Resume from the last indexed position
+        assertEquals("web-1", doc.getString("host"));
+        assertEquals(3, doc.getIndexedFieldCount());
+        assertEquals(5, doc.getInt32("f5"));
+        assertEquals(10, doc.getIndexedFieldCount());
+        assertFalse(doc.isFullyIndexed());
+    }
+
+    @Test
+    public void testLookup_MissingFieldCompletesIndex() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createLogRecord(20));
+
+        assertFalse(doc.contains("missing"));
+        assertTrue(doc.isFullyIndexed());
+        assertEquals(24, doc.getIndexedFieldCount());
+
+        // Binary search over the completed index
+        for (int i = 0; i < 20; i++) {
+            assertEquals(i, doc.getInt32("f" + i));
+        }
+        assertEquals("INFO", doc.getString("level"));
+        assertNull(doc.get("missing"));
+    }
+
+    @Test
+    public void testFieldKeyLookup_NonAsciiNameMatchesEagerIndex() {
+        ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("a\0".getBytes(StandardCharsets.UTF_8)).putInt(1);
+        buffer.put(BsonType.INT32).put("\u540d\u524d\0".getBytes(StandardCharsets.UTF_8)).putInt(7);
+        buffer.put(BsonType.INT32).put("\u00e9\0".getBytes(StandardCharsets.UTF_8)).putInt(9);
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        byte[] bson = Arrays.copyOf(buffer.array(), endPos);
+        FieldKey name = FieldKey.of("\u540d\u524d");
+        FieldKey accent = FieldKey.of("\u00e9");
+
+        assertEquals(7, IndexedBsonDocument.parse(bson).getInt32(name));
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(bson);
+        assertEquals(7, doc.getInt32(name));
+        assertEquals(2, doc.getIndexedFieldCount());
+        assertEquals(9, doc.getInt32(accent));
+        assertFalse(doc.contains(FieldKey.of("\u540d")));
+        assertTrue(doc.isFullyIndexed());
+        assertEquals(7, doc.getInt32(name));  // Binary search over the completed index
+    }
+
+    @Test
+    public void testCachedValuesSurviveIndexGrowth() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createLogRecord(50));
+
+        assertEquals("INFO", doc.getString("level"));
+        assertEquals(49, doc.getInt32("f49"));  // Index and cache grow past initial capacity
+        assertSame(doc.getString("level"), doc.getString("level"));
+        assertEquals(49, doc.getInt32("f49"));
+    }
+
+    @Test
+    public void testWholeDocumentOperations() {
+        byte[] bson = createLogRecord(5);
+        IndexedBsonDocument eager = IndexedBsonDocument.parse(bson);
+
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(bson);
+        assertEquals(9, doc.size());
+        assertTrue(doc.isFullyIndexed());
+
+        IndexedBsonDocument doc2 = IndexedBsonDocument.parseIncremental(bson);
+        assertEquals(eager.fieldNames(), doc2.fieldNames());
+        Iterator<String> names = doc2.fieldNames().iterator();
+        assertEquals("ts", names.next());
+
+        IndexedBsonDocument doc3 = IndexedBsonDocument.parseIncremental(bson);
+        assertFalse(doc3.isEmpty());
+        assertEquals(9, doc3.getFieldCount());
+        assertTrue(IndexedBsonDocument.parseIncremental(new byte[]{5, 0, 0, 0, 0}).isEmpty());
+    }
+
+    @Test
+    public void testEmbeddedDocumentInheritsMode() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createLogRecord(10));
+
+        IndexedBsonDocument payload = (IndexedBsonDocument) doc.getDocument("payload");
+        assertFalse(payload.isFullyIndexed());
+        assertEquals(1, payload.getInt32("a"));
+        assertEquals(1, payload.getIndexedFieldCount());
+        assertEquals("x", payload.getString("b"));
+        assertEquals(4, doc.getIndexedFieldCount());
+    }
+
+    @Test
+    public void testConcurrentLookups() throws Exception {
+        final IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createLogRecord(200));
+        final boolean[] failed = new boolean[1];
+        Thread[] threads = new Thread[4];
+        for (int t = 0; t < threads.length; t++) {
+            final int start = t;
+            threads[t] = new Thread(() -> {
+                for (int i = start; i < 200; i += 3) {
+                    if (doc.getInt32("f" + i) != i) {
+                        failed[0] = true;
+                    }
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        assertFalse(failed[0]);
+        assertEquals(204, doc.size());
+    }
+}
@@ -2,14 +2,11 @@ package com.cloud.fastbson.document;
 
 import org.junit.jupiter.api.Test;
 
-import java.lang.reflect.Array;
-import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
-import java.util.Comparator;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -26,8 +23,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * 2. We need a hash match BUT length mismatch
  * 3. Strings with same hash usually have same length (by design of Java hashCode)
  *
- * Solution: Use reflection to manually construct a FieldIndex array with
- * a field that has a crafted hash but different length.
+ * Solution: Use reflection to overwrite the hash in the packed field index
+ * with a crafted hash for a name of different length.
  */
 public class IndexedBsonLine263CoverageTest {
 
@@ -59,62 +56,25 @@ public class IndexedBsonLine263CoverageTest {
         // Parse normally
         IndexedBsonDocument doc = IndexedBsonDocument.parse(bson);
 
-        // Now use reflection to modify the FieldIndex array
+        // Now use reflection to modify the packed field index
         // We'll change the nameHash of the field to match a different string
-        Field fieldsField = IndexedBsonDocument.class.getDeclaredField("fields");
-        fieldsField.setAccessible(true);
-        Object[] fields = (Object[]) fieldsField.get(doc);
-
-        // Get the FieldIndex class
-        Class<?> fieldIndexClass = Class.forName("com.cloud.fastbson.document.IndexedBsonDocument$FieldIndex");
-
-        // Get the current field
-        Object field = fields[0];
-
-        // Get fields from FieldIndex
-        Field nameHashField = fieldIndexClass.getDeclaredField("nameHash");
-        Field nameOffsetField = fieldIndexClass.getDeclaredField("nameOffset");
-        Field nameLengthField = fieldIndexClass.getDeclaredField("nameLength");
-        Field valueOffsetField = fieldIndexClass.getDeclaredField("valueOffset");
-        Field valueSizeField = fieldIndexClass.getDeclaredField("valueSize");
-        Field typeField = fieldIndexClass.getDeclaredField("type");
-
-        nameHashField.setAccessible(true);
-        nameOffsetField.setAccessible(true);
-        nameLengthField.setAccessible(true);
-        valueOffsetField.setAccessible(true);
-        valueSizeField.setAccessible(true);
-        typeField.setAccessible(true);
-
-        // Create a new FieldIndex with "hello"'s hash but different length
-        // We want to search for a string that has same hash as "hello" but different length
-        // Since we can't easily find such a collision, we'll fake it by modifying the hash
+        Field indexField = IndexedBsonDocument.class.getDeclaredField("index");
+        indexField.setAccessible(true);
+        int[] index = (int[]) indexField.get(doc);
+        assertEquals(IndexedBsonDocument.STRIDE, index.length);
 
         // Original: field name is "hello" (5 chars)
-        // We'll change the nameHash to match "hi" (2 chars) but keep nameLength as 5
-        int helloHash = "hello".hashCode();
-        int hiHash = "hi".hashCode();
-
-        // Actually, let's do the opposite: keep the data as "hello" but set hash to "hi"'s hash
+        // Keep the data as "hello" but set hash to "hi"'s hash (2 chars)
         // When we search for "hi", binary search will find a hash match,
         // but matchesFieldName will detect length mismatch (5 != 2)
+        int hiHash = "hi".hashCode();
+        assertEquals("hello".hashCode(), index[0]);
+        assertEquals(valueOffset - startPos, index[1]);
+        assertEquals(4, index[2]);
+        assertEquals((5 << 8) | 0x10, index[3]);
+        assertEquals(nameOffset - startPos, index[1] - 5 - 1);
 
-        Constructor<?> constructor = fieldIndexClass.getDeclaredConstructor(
-            int.class, int.class, int.class, int.class, int.class, byte.class);
-        constructor.setAccessible(true);
-
-        // Create modified FieldIndex: hash of "hi" but actual field is "hello"
-        Object modifiedField = constructor.newInstance(
-            hiHash,           // nameHash - set to "hi"'s hash
-            nameOffset - startPos, // nameOffset
-            5,                // nameLength - "hello" has 5 chars
-            valueOffset - startPos, // valueOffset
-            4,                // valueSize (int32 = 4 bytes)
-            (byte) 0x10       // type (INT32)
-        );
-
-        // Replace the field
-        fields[0] = modifiedField;
+        index[0] = hiHash;
 
         // Now search for "hi" - it will find hash match but length mismatch!
         // This should trigger line 263
@@ -160,32 +120,23 @@ public class IndexedBsonLine263CoverageTest {
         IndexedBsonDocument doc = IndexedBsonDocument.parse(bson);
 
         // Use reflection to modify hashes
-        Field fieldsField = IndexedBsonDocument.class.getDeclaredField("fields");
-        fieldsField.setAccessible(true);
-        Object[] fields = (Object[]) fieldsField.get(doc);
-
-        Class<?> fieldIndexClass = Class.forName("com.cloud.fastbson.document.IndexedBsonDocument$FieldIndex");
-        Constructor<?> constructor = fieldIndexClass.getDeclaredConstructor(
-            int.class, int.class, int.class, int.class, int.class, byte.class);
-        constructor.setAccessible(true);
+        Field indexField = IndexedBsonDocument.class.getDeclaredField("index");
+        indexField.setAccessible(true);
+        int[] index = (int[]) indexField.get(doc);
+        int stride = IndexedBsonDocument.STRIDE;
 
         // Set both fields to have same hash but different lengths
         int targetHash = 12345; // Arbitrary hash
 
-        // Field 1: hash=12345, length=3 ("abc")
-        Object field1 = constructor.newInstance(
-            targetHash, nameOffset1 - startPos, 3, valueOffset1 - startPos, 4, (byte) 0x10);
-
-        // Field 2: hash=12345, length=5 ("defgh")
-        Object field2 = constructor.newInstance(
-            targetHash, nameOffset2 - startPos, 5, valueOffset2 - startPos, 4, (byte) 0x10);
-
-        // Create new fields array sorted by hash
-        Object[] newFields = (Object[]) Array.newInstance(fieldIndexClass, 2);
-        newFields[0] = field1;
-        newFields[1] = field2;
-
-        fieldsField.set(doc, newFields);
+        // Field 1: hash=12345, length=3 ("abc"); Field 2: hash=12345, length=5 ("defgh")
+        // Equal hashes keep the index sorted
+        assertEquals(2 * stride, index.length);
+        index[0] = targetHash;
+        index[stride] = targetHash;
+        assertEquals(3 + 5, (index[3] >>> 8) + (index[stride + 3] >>> 8));
+        assertEquals(nameOffset1 + nameOffset2 - 2 * startPos,
+            index[1] - 3 - 1 + index[stride + 1] - 5 - 1);
+        assertEquals(valueOffset1 + valueOffset2 - 2 * startPos, index[1] + index[stride + 1]);
 
         // Now search for a string with hash 12345
         // Binary search will find one of the fields
@@ -0,0 +1,238 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the packed int[] field index of IndexedBsonDocument and IndexedBsonArray.
+ */
+public class IndexedBsonPackedIndexTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates a document of INT32 fields with the given names (value = position).
+     */
+    private byte[] createInts(String... names) {
+        ByteBuffer buffer = ByteBuffer.allocate(64 + names.length * 32).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < names.length; i++) {
+            buffer.put(BsonType.INT32).put((names[i] + "\0").getBytes(StandardCharsets.UTF_8)).putInt(i);
+        }
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Creates an array of INT32 values 0..count-1 (times 3).
+     */
+    private byte[] createIntArray(int count) {
+        ByteBuffer buffer = ByteBuffer.allocate(16 + count * 16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < count; i++) {
+            buffer.put(BsonType.INT32).put((i + "\0").getBytes(StandardCharsets.UTF_8)).putInt(i * 3);
+        }
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private IndexedBsonArray parseArray(byte[] bson) {
+        return IndexedBsonArray.parse(bson, 0, bson.length);
+    }
+
+    // ==================== Document Index Tests ====================
+
+    @Test
+    public void testDocument_IndexIsExactlySized() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createInts("a", "b", "c"));
+
+        assertEquals(3 * IndexedBsonDocument.STRIDE, doc.indexSize());
+        assertEquals(0, doc.getInt32("a"));
+        assertEquals(2, doc.getInt32("c"));
+        assertEquals(0, IndexedBsonDocument.parse(createInts()).indexSize());
+    }
+
+    @Test
+    public void testDocument_ManyFieldsWithCollisions() {
+        // More fields than the insertion sort threshold, including colliding names ("Aa" / "BB")
+        String[] names = new String[40];
+        for (int i = 0; i < 38; i++) {
+            names[i] = "field" + i;
+        }
+        names[38] = "Aa";
+        names[39] = "BB";
+        assertEquals("Aa".hashCode(), "BB".hashCode());
+
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createInts(names));
+
+        assertEquals(40 * IndexedBsonDocument.STRIDE, doc.indexSize());
+        for (int i = 0; i < names.length; i++) {
+            assertEquals(i, doc.getInt32(names[i]));
+            assertEquals(BsonType.INT32, doc.getType(names[i]));
+        }
+        assertFalse(doc.contains("C#"));  // Same hash as "Aa", not present
+        assertEquals(40, doc.fieldNames().size());
+    }
+
+    @Test
+    public void testDocument_SmallDocumentWithCollisions() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createInts("BB", "x", "Aa"));
+
+        assertEquals(0, doc.getInt32("BB"));
+        assertEquals(1, doc.getInt32("x"));
+        assertEquals(2, doc.getInt32("Aa"));
+    }
+
+    @Test
+    public void testDocument_ShapeCacheBindsPackedIndex() {
+        BsonShapeCache shapes = new BsonShapeCache();
+        byte[] bson = createInts("z", "y", "x", "w");
+
+        IndexedBsonDocument first = IndexedBsonDocument.parse(bson, 0, bson.length, shapes);
+        IndexedBsonDocument second = IndexedBsonDocument.parse(bson, 0, bson.length, shapes);
+
+        assertEquals(1, shapes.getHitCount());
+        assertEquals(first.indexSize(), second.indexSize());
+        assertEquals(3, second.getInt32("w"));
+        assertEquals(first.fieldNames(), second.fieldNames());
+    }
+
+    @Test
+    public void testDocument_IncrementalIndexGrows() {
+        String[] names = new String[20];
+        for (int i = 0; i < names.length; i++) {
+            names[i] = "f" + i;
+        }
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createInts(names));
+
+        assertEquals(19, doc.getInt32("f19"));
+        assertEquals(20, doc.getIndexedFieldCount());
+        assertFalse(doc.contains("missing"));
+        assertTrue(doc.isFullyIndexed());
+        assertEquals(7, doc.getInt32("f7"));
+    }
+
+    // ==================== Array Index Tests ====================
+
+    @Test
+    public void testArray_FixedWidthHasNoIndex() {
+        // 1234 elements: keys with one to four digits
+        IndexedBsonArray array = parseArray(createIntArray(1234));
+
+        assertEquals(0, array.indexSize());
+        assertEquals(1234, array.size());
+        for (int i = 0; i < 1234; i++) {
+            assertEquals(i * 3, array.getInt32(i));
+        }
+        assertEquals(BsonType.INT32, array.getType(1233));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.getInt32(1234));
+    }
+
+    @Test
+    public void testArray_FixedWidthTypes() {
+        ByteBuffer buffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < 12; i++) {
+            buffer.put(BsonType.DOUBLE).put((i + "\0").getBytes(StandardCharsets.UTF_8)).putDouble(i + 0.5);
+        }
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        IndexedBsonArray doubles = parseArray(Arrays.copyOf(buffer.array(), endPos));
+
+        assertEquals(0, doubles.indexSize());
+        assertEquals(11.5, doubles.getDouble(11), 0.0);
+
+        buffer.clear();
+        buffer.putInt(0);
+        for (int i = 0; i < 11; i++) {
+            buffer.put(BsonType.NULL).put((i + "\0").getBytes(StandardCharsets.UTF_8));
+        }
+        buffer.put((byte) 0);
+        endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        IndexedBsonArray nulls = parseArray(Arrays.copyOf(buffer.array(), endPos));
+
+        assertEquals(0, nulls.indexSize());
+        assertEquals(11, nulls.size());
+        assertNull(nulls.get(10));
+        assertEquals(BsonType.NULL, nulls.getType(10));
+    }
+
+    @Test
+    public void testArray_MixedTypesMaterializeIndex() {
+        // 150 INT32 elements, then a string: the index is built at element 150
+        ByteBuffer buffer = ByteBuffer.allocate(4096).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < 150; i++) {
+            buffer.put(BsonType.INT32).put((i + "\0").getBytes(StandardCharsets.UTF_8)).putInt(i);
+        }
+        buffer.put(BsonType.STRING).put("150\0".getBytes(StandardCharsets.UTF_8)).putInt(3)
+            .put("hi\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.INT64).put("151\0".getBytes(StandardCharsets.UTF_8)).putLong(1L << 40);
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        IndexedBsonArray array = parseArray(Arrays.copyOf(buffer.array(), endPos));
+
+        assertEquals(152, array.size());
+        assertEquals(152 * 2, array.indexSize());
+        for (int i = 0; i < 150; i++) {
+            assertEquals(i, array.getInt32(i));
+        }
+        assertEquals("hi", array.getString(150));
+        assertEquals(1L << 40, array.getInt64(151));
+    }
+
+    @Test
+    public void testArray_NonCanonicalKeysMaterializeIndex() {
+        // Same type throughout, but keys are not "0", "1", ...: offsets cannot be derived
+        ByteBuffer buffer = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("0\0".getBytes(StandardCharsets.UTF_8)).putInt(10);
+        buffer.put(BsonType.INT32).put("key\0".getBytes(StandardCharsets.UTF_8)).putInt(20);
+        buffer.put(BsonType.INT32).put("2\0".getBytes(StandardCharsets.UTF_8)).putInt(30);
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        IndexedBsonArray array = parseArray(Arrays.copyOf(buffer.array(), endPos));
+
+        assertEquals(3 * 2, array.indexSize());
+        assertEquals(10, array.getInt32(0));
+        assertEquals(20, array.getInt32(1));
+        assertEquals(30, array.getInt32(2));
+    }
+
+    @Test
+    public void testArray_VariableWidthAndEmpty() {
+        ByteBuffer buffer = ByteBuffer.allocate(128).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put(BsonType.STRING).put("0\0".getBytes(StandardCharsets.UTF_8)).putInt(2)
+            .put("a\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.STRING).put("1\0".getBytes(StandardCharsets.UTF_8)).putInt(3)
+            .put("bc\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        IndexedBsonArray strings = parseArray(Arrays.copyOf(buffer.array(), endPos));
+
+        assertEquals(2 * 2, strings.indexSize());
+        assertEquals("bc", strings.getString(1));
+
+        IndexedBsonArray empty = parseArray(createIntArray(0));
+        assertEquals(0, empty.size());
+        assertTrue(empty.isEmpty());
+        assertEquals(0, empty.getType(0));
+    }
+}
@@ -376,13 +376,15 @@ public class IndexedBsonUltraAggressiveCoverageTest {
         int startPos = buffer.position();
         buffer.putInt(0);
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("0\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(100);
+        buffer.putInt(5);
+        buffer.put("v100\0".getBytes(StandardCharsets.UTF_8));
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("1\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(200);
+        buffer.putInt(5);
+        buffer.put("v200\0".getBytes(StandardCharsets.UTF_8));
 
         buffer.put((byte) 0x00);
 
@@ -398,7 +400,7 @@ public class IndexedBsonUltraAggressiveCoverageTest {
         cacheField.set(array, null);
 
         // Access element - triggers ensureCache
-        assertEquals(100, array.getInt32(0));
+        assertEquals("v100", array.getString(0));
 
         // Verify cache was created
         Object[] cache = (Object[]) cacheField.get(array);
@@ -406,7 +408,7 @@ public class IndexedBsonUltraAggressiveCoverageTest {
 
         // Reset and access again
         cacheField.set(array, null);
-        assertEquals(200, array.getInt32(1));
+        assertEquals("v200", array.getString(1));
 
         cache = (Object[]) cacheField.get(array);
         assertNotNull(cache);
@@ -529,13 +531,15 @@ public class IndexedBsonUltraAggressiveCoverageTest {
         int startPos = buffer.position();
         buffer.putInt(0);
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("f1\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(10);
+        buffer.putInt(4);
+        buffer.put("v10\0".getBytes(StandardCharsets.UTF_8));
 
-        buffer.put((byte) 0x10);
+        buffer.put((byte) 0x02);
         buffer.put("f2\0".getBytes(StandardCharsets.UTF_8));
-        buffer.putInt(20);
+        buffer.putInt(4);
+        buffer.put("v20\0".getBytes(StandardCharsets.UTF_8));
 
         buffer.put((byte) 0x00);
 
@@ -551,18 +555,18 @@ public class IndexedBsonUltraAggressiveCoverageTest {
         cacheField.set(doc, null);
 
         // Access field - triggers ensureCache with cache == null at line 304
-        assertEquals(10, doc.getInt32("f1"));
+        assertEquals("v10", doc.getString("f1"));
 
         // Verify cache was created
         Object[] cache = (Object[]) cacheField.get(doc);
         assertNotNull(cache);
 
         // Access again - should use existing cache
-        assertEquals(10, doc.getInt32("f1"));
+        assertEquals("v10", doc.getString("f1"));
 
         // Set cache to null again and access different field
         cacheField.set(doc, null);
-        assertEquals(20, doc.getInt32("f2"));
+        assertEquals("v20", doc.getString("f2"));
 
         cache = (Object[]) cacheField.get(doc);
         assertNotNull(cache);
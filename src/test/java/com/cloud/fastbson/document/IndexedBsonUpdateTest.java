@@ -0,0 +1,395 @@
+package com.cloud.fastbson.document;
+
+import com.cloud.fastbson.document.raw.RawBsonDocumentFactory;
+import com.cloud.fastbson.util.BsonType;
+import com.cloud.fastbson.util.BsonValidator;
+import com.cloud.fastbson.writer.BsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for in-place and splice updates on {@link IndexedBsonDocument}.
+ */
+public class IndexedBsonUpdateTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * { "id": 1, "count": 10L, "score": 1.5, "active": true, "ts": 1000 (datetime), "name": "Alice" }
+     */
+    private byte[] createFlat() {
+        return new BsonWriter()
+            .writeStartDocument()
+            .writeInt32("id", 1)
+            .writeInt64("count", 10L)
+            .writeDouble("score", 1.5)
+            .writeBoolean("active", true)
+            .writeDateTime("ts", 1000L)
+            .writeString("name", "Alice")
+            .writeEndDocument()
+            .toByteArray();
+    }
+
+    /**
+     * { "a": { "b": { "c": "x", "n": 1 }, "tail": "t" }, "tags": ["p", "q"], "after": 7 }
+     */
+    private byte[] createNested(String c) {
+        return new BsonWriter()
+            .writeStartDocument()
+            .writeStartDocument("a")
+                .writeStartDocument("b")
+                    .writeString("c", c)
+                    .writeInt32("n", 1)
+                .writeEndDocument()
+                .writeString("tail", "t")
+            .writeEndDocument()
+            .writeStartArray("tags")
+                .writeString("p")
+                .writeString("q")
+            .writeEndArray()
+            .writeInt32("after", 7)
+            .writeEndDocument()
+            .toByteArray();
+    }
+
+    /**
+     * Encodes string fields in the given order.
+     */
+    private byte[] encode(Map<String, String> fields) {
+        BsonWriter writer = new BsonWriter().writeStartDocument();
+        for (Map.Entry<String, String> e : fields.entrySet()) {
+            writer.writeString(e.getKey(), e.getValue());
+        }
+        return writer.writeEndDocument().toByteArray();
+    }
+
+    // ==================== In-place Updates ====================
+
+    @Test
+    public void testFixedWidth_OverwrittenInPlace() {
+        byte[] data = createFlat();
+        byte[] original = data.clone();
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(data);
+
+        doc.setInt32("id", 42)
+            .setInt64("count", -5L)
+            .setDouble("score", 9.75)
+            .setBoolean("active", false)
+            .setDateTime("ts", 123456789L);
+
+        assertArrayEquals(original, data, "Updates must not modify the input");
+        byte[] bson = doc.toBson();
+        assertEquals(original.length, bson.length);
+        assertEquals(42, doc.getInt32("id"));
+        assertEquals(-5L, doc.getInt64("count"));
+        assertEquals(9.75, doc.getDouble("score"));
+        assertFalse(doc.getBoolean("active"));
+        assertEquals(123456789L, doc.getDateTime("ts"));
+        assertEquals("Alice", doc.getString("name"));
+
+        // Only value bytes changed: a fresh parse of the result sees the new values
+        IndexedBsonDocument reparsed = IndexedBsonDocument.parse(bson);
+        assertEquals(42, reparsed.getInt32("id"));
+        assertEquals(9.75, reparsed.getDouble("score"));
+        assertArrayEquals(Arrays.copyOf(original, 4), Arrays.copyOf(bson, 4));  // Length unchanged
+    }
+
+    @Test
+    public void testFixedWidth_CopiesOnceThenInPlace() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createFlat());
+
+        doc.setInt32("id", 2);
+        byte[] owned = doc.toBson();
+        doc.setInt32("id", 3);
+        byte[] copied = doc.toBson();
+        doc.setInt32("id", 4).setDouble("score", 2.5);
+
+        assertNotSame(owned, copied);
+        assertEquals(2, IndexedBsonDocument.parse(owned).getInt32("id"), "Returned bytes must not change");
+        assertEquals(3, IndexedBsonDocument.parse(copied).getInt32("id"), "Returned bytes must not change");
+        assertEquals(4, doc.getInt32("id"));
+        assertEquals(2.5, doc.getDouble("score"));
+    }
+
+    @Test
+    public void testFixedWidth_FieldKeyOverloads() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createFlat());
+        FieldKey id = FieldKey.of("id");
+        FieldKey count = FieldKey.of("count");
+        FieldKey score = FieldKey.of("score");
+        FieldKey active = FieldKey.of("active");
+        FieldKey ts = FieldKey.of("ts");
+
+        for (int i = 0; i < 3; i++) {
+            doc.setInt32(id, doc.getInt32(id) + 1)
+                .setInt64(count, doc.getInt64(count) * 2)
+                .setDouble(score, doc.getDouble(score) + 0.5)
+                .setBoolean(active, !doc.getBoolean(active))
+                .setDateTime(ts, doc.getDateTime(ts) + 1);
+        }
+
+        assertEquals(4, doc.getInt32("id"));
+        assertEquals(80L, doc.getInt64("count"));
+        assertEquals(3.0, doc.getDouble("score"));
+        assertFalse(doc.getBoolean("active"));
+        assertEquals(1003L, doc.getDateTime("ts"));
+    }
+
+    @Test
+    public void testFixedWidth_ChildViewWritesIntoParentBytes() {
+        IndexedBsonDocument root = IndexedBsonDocument.parse(createNested("x"));
+        IndexedBsonDocument b = (IndexedBsonDocument) root.getDocument("a").getDocument("b");
+        byte[] before = root.toBson();
+
+        b.setInt32("n", 99);
+
+        assertEquals(1, IndexedBsonDocument.parse(before).getDocument("a").getDocument("b").getInt32("n"));
+        assertEquals(99, root.getDocument("a").getDocument("b").getInt32("n"));
+        assertEquals(99, IndexedBsonDocument.parse(root.toBson()).getDocument("a").getDocument("b").getInt32("n"));
+    }
+
+    // ==================== Splice Updates ====================
+
+    @Test
+    public void testSetString_ResizesAndLeavesInputUntouched() {
+        byte[] data = createFlat();
+        byte[] original = data.clone();
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(data);
+        assertEquals("Alice", doc.getString("name"));  // Cached before the update
+
+        doc.setString("name", "Bartholomew");
+
+        assertArrayEquals(original, data, "Splices must not modify the input");
+        byte[] bson = doc.toBson();
+        assertEquals(data.length + 6, bson.length);
+        BsonValidator.validate(bson);
+        assertEquals("Bartholomew", doc.getString("name"));
+        assertEquals(1, doc.getInt32("id"));
+        assertEquals(1000L, doc.getDateTime("ts"));
+        assertSame(bson, doc.toBson(), "Spliced documents own an exactly sized array");
+
+        doc.setString("name", "Al");
+        assertEquals(data.length - 3, doc.toBson().length);
+        assertEquals("Al", IndexedBsonDocument.parse(doc.toBson()).getString("name"));
+    }
+
+    @Test
+    public void testSetFixedWidth_TypeChangeIsSpliced() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createFlat());
+
+        doc.setInt64("id", 1L << 40);
+        doc.setInt32("count", 3);
+
+        assertEquals(BsonType.INT64, doc.getType("id"));
+        assertEquals(1L << 40, doc.getInt64("id"));
+        assertEquals(3, doc.getInt32("count"));
+        BsonValidator.validate(doc.toBson());
+    }
+
+    @Test
+    public void testAppendAndRemove_MatchEncodedBytes() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createFlat());
+
+        doc.setInt32("added", 5);
+        doc.setNull("nothing");
+        assertTrue(doc.remove("count"));
+        assertTrue(doc.remove("name"));
+        assertFalse(doc.remove("missing"));
+
+        byte[] expected = new BsonWriter()
+            .writeStartDocument()
+            .writeInt32("id", 1)
+            .writeDouble("score", 1.5)
+            .writeBoolean("active", true)
+            .writeDateTime("ts", 1000L)
+            .writeInt32("added", 5)
+            .writeNull("nothing")
+            .writeEndDocument()
+            .toByteArray();
+        assertArrayEquals(expected, doc.toBson());
+        assertEquals(6, doc.size());
+        assertEquals(5, doc.getInt32(FieldKey.of("added")));
+        assertTrue(doc.isNull("nothing"));
+        assertFalse(doc.contains("count"));
+    }
+
+    @Test
+    public void testSetValueDocumentAndArray() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(createFlat());
+        BsonDocument child = IndexedBsonDocument.parse(createFlat());
+        BsonArray array = IndexedBsonDocument.parse(createNested("x")).getArray("tags");
+
+        doc.setDocument("child", child)
+            .setArray("tags", array)
+            .setValue("code", BsonType.JAVASCRIPT, "return 1;");
+
+        BsonValidator.validate(doc.toBson());
+        assertEquals("Alice", doc.getDocument("child").getString("name"));
+        assertEquals("q", doc.getArray("tags").getString(1));
+        assertEquals(BsonType.JAVASCRIPT, doc.getType("code"));
+        assertThrows(IllegalArgumentException.class, () -> doc.setValue("bad", BsonType.INT32, "text"));
+        BsonValidator.validate(doc.toBson());
+    }
+
+    // ==================== Nested Documents ====================
+
+    @Test
+    public void testNestedSplice_FixesEnclosingLengths() {
+        IndexedBsonDocument root = IndexedBsonDocument.parse(createNested("x"));
+        BsonDocument a = root.getDocument("a");
+        IndexedBsonDocument b = (IndexedBsonDocument) a.getDocument("b");
+        BsonArray tags = root.getArray("tags");
+
+        b.setString("c", "a much longer value");
+
+        assertArrayEquals(createNested("a much longer value"), root.toBson());
+        assertEquals("a much longer value", b.getString("c"));
+        assertEquals("t", a.getString("tail"));
+        assertEquals(7, root.getInt32("after"));
+        assertEquals("q", root.getArray("tags").getString(1));
+        assertEquals("q", tags.getString(1), "Old array views keep reading the old bytes");
+
+        // Views stay linked: a later in-place update is visible through the root
+        b.setInt32("n", 2);
+        assertEquals(2, IndexedBsonDocument.parse(root.toBson()).getDocument("a").getDocument("b").getInt32("n"));
+    }
+
+    @Test
+    public void testNestedSplice_SiblingViewsRelocated() {
+        byte[] data = new BsonWriter()
+            .writeStartDocument()
+            .writeStartDocument("first").writeString("s", "1").writeEndDocument()
+            .writeStartDocument("second").writeInt32("v", 2).writeEndDocument()
+            .writeEndDocument()
+            .toByteArray();
+        IndexedBsonDocument root = IndexedBsonDocument.parse(data);
+        IndexedBsonDocument first = (IndexedBsonDocument) root.getDocument("first");
+        IndexedBsonDocument second = (IndexedBsonDocument) root.getDocument("second");
+
+        first.setString("s", "one hundred");
+        second.setInt32("v", 3);      // In place, at the relocated position
+        second.setString("w", "new");  // Splice through the relocated view
+
+        BsonDocument reparsed = IndexedBsonDocument.parse(root.toBson());
+        assertEquals("one hundred", reparsed.getDocument("first").getString("s"));
+        assertEquals(3, reparsed.getDocument("second").getInt32("v"));
+        assertEquals("new", reparsed.getDocument("second").getString("w"));
+        BsonValidator.validate(root.toBson());
+    }
+
+    @Test
+    public void testReplacedChildIsDetached() {
+        IndexedBsonDocument root = IndexedBsonDocument.parse(createNested("x"));
+        IndexedBsonDocument oldA = (IndexedBsonDocument) root.getDocument("a");
+
+        root.setString("a", "replaced");
+        oldA.setString("tail", "changed");
+
+        assertEquals("replaced", root.getString("a"));
+        assertEquals("changed", oldA.getString("tail"));
+        assertEquals(7, root.getInt32("after"));
+        BsonValidator.validate(root.toBson());
+    }
+
+    // ==================== Other Inputs ====================
+
+    @Test
+    public void testIncrementalDocument() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parseIncremental(createFlat());
+        assertEquals(1, doc.getInt32("id"));  // Only a prefix indexed
+
+        doc.setString("name", "Zed").setInt32("extra", 1);
+        assertTrue(doc.remove("count"));
+
+        assertEquals("Zed", doc.getString("name"));
+        assertEquals(1, doc.getInt32("extra"));
+        assertFalse(doc.contains("count"));
+        assertEquals(6, doc.size());
+        BsonValidator.validate(doc.toBson());
+    }
+
+    @Test
+    public void testByteBufferDocument_MovedToHeap() {
+        byte[] data = createFlat();
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+        IndexedBsonDocument doc = IndexedBsonDocument.parseBuffer(direct);
+
+        doc.setInt32("id", 7);
+
+        assertEquals(1, IndexedBsonDocument.parseBuffer(direct).getInt32("id"), "Buffer must not be modified");
+        assertEquals(7, doc.getInt32("id"));
+        byte[] bson = doc.toBson();
+        assertSame(bson, doc.toBson());
+        doc.setInt32("id", 8);  // The heap array was handed out: copied again
+        assertEquals(7, IndexedBsonDocument.parse(bson).getInt32("id"));
+        assertEquals(8, doc.getInt32("id"));
+    }
+
+    @Test
+    public void testFactoryEmptyDocuments_Independent() {
+        BsonDocumentFactory[] factories = {IndexedBsonDocumentFactory.INSTANCE, RawBsonDocumentFactory.INSTANCE};
+        for (BsonDocumentFactory factory : factories) {
+            IndexedBsonDocument first = (IndexedBsonDocument) factory.emptyDocument();
+            first.setInt32("leak", 1);
+
+            BsonDocument second = factory.emptyDocument();
+            assertNotSame(first, second);
+            assertTrue(second.isEmpty(), factory.getName());
+            assertArrayEquals(new byte[]{5, 0, 0, 0, 0}, second.toBson());
+        }
+    }
+
+    @Test
+    public void testSliceDocument() {
+        byte[] one = createFlat();
+        byte[] two = new byte[one.length + 10];
+        System.arraycopy(one, 0, two, 5, one.length);
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(two, 5, one.length);
+
+        doc.setString("name", "Bob");
+
+        assertEquals(one.length - 2, doc.toBson().length);
+        assertEquals("Bob", IndexedBsonDocument.parse(doc.toBson()).getString("name"));
+    }
+
+    // ==================== Consistency ====================
+
+    @Test
+    public void testRandomUpdates_MatchModel() {
+        Random random = new Random(42);
+        Map<String, String> model = new LinkedHashMap<String, String>();
+        List<String> names = new ArrayList<String>();
+        for (int i = 0; i < 12; i++) {
+            names.add("f" + i);
+        }
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(encode(model));
+
+        for (int step = 0; step < 500; step++) {
+            String name = names.get(random.nextInt(names.size()));
+            if (random.nextInt(4) == 0) {
+                assertEquals(model.remove(name) != null, doc.remove(name));
+            } else {
+                char[] chars = new char[random.nextInt(20)];
+                Arrays.fill(chars, (char) ('a' + random.nextInt(26)));
+                String value = new String(chars);
+                model.put(name, value);
+                doc.setString(name, value);
+            }
+            assertArrayEquals(encode(model), doc.toBson(), "Mismatch at step " + step);
+            assertEquals(model.size(), doc.size());
+        }
+        for (Map.Entry<String, String> e : model.entrySet()) {
+            assertEquals(e.getValue(), doc.getString(e.getKey()));
+        }
+    }
+}
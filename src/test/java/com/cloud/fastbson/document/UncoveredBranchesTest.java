@@ -133,8 +133,8 @@ public class UncoveredBranchesTest {
         byte[] bsonData = createSimpleBsonDocument();
         IndexedBsonDocument doc = IndexedBsonDocument.parse(bsonData);
 
-        // Access a field to initialize cache
-        doc.getInt32("age");
+        // Access a string field to initialize cache (fixed-width values are not cached)
+        doc.getString("name");
 
         // Use reflection to clear all cache entries
         java.lang.reflect.Field cacheField = IndexedBsonDocument.class.getDeclaredField("cache");
@@ -152,14 +152,12 @@ public class UncoveredBranchesTest {
         byte[] bsonData = createSimpleArray();
         IndexedBsonArray array = IndexedBsonArray.parse(bsonData, 0, bsonData.length);
 
-        // Access an element to initialize cache
+        // Fixed-width elements are never cached: install an empty cache via reflection
         array.get(0);
-
-        // Use reflection to clear all cache entries
         java.lang.reflect.Field cacheField = IndexedBsonArray.class.getDeclaredField("cache");
         cacheField.setAccessible(true);
-        Object[] cache = (Object[]) cacheField.get(array);
-        Arrays.fill(cache, null);
+        assertNull(cacheField.get(array));
+        cacheField.set(array, new Object[array.size()]);
 
         // Call toString which invokes countCached
         String str = array.toString();
@@ -259,9 +257,9 @@ public class UncoveredBranchesTest {
     }
 
     /**
-     * Branch #8: DocumentParser:210
-     * while (true) { if (reader.position() >= endPosition) break; }
-     * Need: reader.position() >= endPosition (loop exit via position check, not terminator)
+     * Branch #8: DocumentParser.parseDirectHashMap
+     * while (cursor.next()) - the cursor stops at the declared document length
+     * Need: loop exit via position check, not terminator
      *
      * This tests defensive code for malformed BSON missing the 0x00 terminator.
      * We test this by creating a BSON document missing the terminator.
@@ -270,7 +268,7 @@ public class UncoveredBranchesTest {
     public void testDocumentParser_LoopEndCondition() throws Exception {
         // Test the defensive position check in DocumentParser.parseDirectHashMap
         // We need to create malformed BSON without terminator to trigger:
-        // if (reader.position() >= endPosition) break;
+        // the cursor's position check against the declared document length
 
         // Create BSON data WITHOUT the 0x00 terminator
         ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
@@ -304,21 +302,19 @@ public class UncoveredBranchesTest {
         // Access parseDirectHashMap method
         java.lang.reflect.Method parseMethod = documentParserClass.getDeclaredMethod(
             "parseDirectHashMap",
-            com.cloud.fastbson.reader.BsonReader.class,
-            int.class
+            com.cloud.fastbson.reader.BsonCursor.class,
+            com.cloud.fastbson.reader.BsonReader.class
         );
         parseMethod.setAccessible(true);
 
-        // Create a BsonReader
+        // Create a BsonReader and a cursor (the cursor reads the document length field)
         com.cloud.fastbson.reader.BsonReader reader =
             new com.cloud.fastbson.reader.BsonReader(malformedBson);
+        com.cloud.fastbson.reader.BsonCursor cursor = new com.cloud.fastbson.reader.BsonCursor(reader);
 
-        // Skip the document length field
-        reader.readInt32();
-
-        // Call parseDirectHashMap with endPosition
-        // The method should exit via position check since there's no 0x00 terminator
-        Object result = parseMethod.invoke(documentParser, reader, endPos);
+        // Call parseDirectHashMap
+        // The cursor should stop at the declared length since there's no 0x00 terminator
+        Object result = parseMethod.invoke(documentParser, cursor, reader);
 
         // Should return a valid HashMap document (defensive code handles missing terminator gracefully)
         assertNotNull(result);
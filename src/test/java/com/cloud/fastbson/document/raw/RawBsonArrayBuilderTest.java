@@ -0,0 +1,87 @@
+package com.cloud.fastbson.document.raw;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.hashmap.HashMapBsonDocumentBuilder;
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RawBsonArrayBuilder}.
+ */
+public class RawBsonArrayBuilderTest {
+
+    @Test
+    public void testBuild_AllBuilderTypes() {
+        BsonArray nested = new RawBsonArrayBuilder().addInt32(7).build();
+
+        BsonArray array = new RawBsonArrayBuilder()
+            .addInt32(1)
+            .addInt64(2L)
+            .addDouble(3.5)
+            .addBoolean(true)
+            .addString("five")
+            .addDocument(new HashMapBsonDocumentBuilder().putInt32("x", 6).build())
+            .addArray(nested)
+            .addNull()
+            .addObjectId("507f1f77bcf86cd799439011")
+            .addDateTime(1700000000000L)
+            .addBinary((byte) 0, new byte[]{1, 2})
+            .build();
+
+        assertTrue(array instanceof IndexedBsonArray);
+        assertEquals(11, array.size());
+        assertEquals(1, array.getInt32(0));
+        assertEquals(2L, array.getInt64(1));
+        assertEquals(3.5, array.getDouble(2));
+        assertTrue(array.getBoolean(3));
+        assertEquals("five", array.getString(4));
+        assertEquals(6, array.getDocument(5).getInt32("x"));
+        assertEquals(7, array.getArray(6).getInt32(0));
+        assertEquals(BsonType.NULL, array.getType(7));
+        assertEquals(BsonType.OBJECT_ID, array.getType(8));
+        assertEquals(BsonType.DATE_TIME, array.getType(9));
+        assertEquals(BsonType.BINARY, array.getType(10));
+    }
+
+    @Test
+    public void testBuild_ToBsonUsesIndexKeys() {
+        IndexedBsonArray array = (IndexedBsonArray) new RawBsonArrayBuilder()
+            .addInt32(10)
+            .addInt32(20)
+            .build();
+
+        byte[] expected = {
+            19, 0, 0, 0,
+            0x10, '0', 0, 10, 0, 0, 0,
+            0x10, '1', 0, 20, 0, 0, 0,
+            0
+        };
+        assertArrayEquals(expected, array.toBson());
+    }
+
+    @Test
+    public void testBuild_CalledTwice_ThrowsException() {
+        RawBsonArrayBuilder builder = new RawBsonArrayBuilder();
+        builder.addInt32(1);
+        assertNotNull(builder.build());
+
+        assertThrows(IllegalStateException.class, () -> builder.build());
+    }
+
+    @Test
+    public void testReset_AndEstimateSize() {
+        RawBsonArrayBuilder builder = new RawBsonArrayBuilder();
+        builder.estimateSize(50);
+        BsonArray first = builder.addString("a").build();
+
+        builder.reset();
+        BsonArray second = builder.addInt32(1).addInt32(2).build();
+
+        assertEquals("a", first.getString(0));
+        assertEquals(2, second.size());
+        assertEquals(2, second.getInt32(1));
+    }
+}
@@ -0,0 +1,193 @@
+package com.cloud.fastbson.document.raw;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.document.hashmap.HashMapBsonDocumentBuilder;
+import com.cloud.fastbson.types.RegexValue;
+import com.cloud.fastbson.util.BsonType;
+import com.cloud.fastbson.util.BsonValidator;
+import com.cloud.fastbson.writer.BsonWriter;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RawBsonDocumentBuilder}.
+ */
+public class RawBsonDocumentBuilderTest {
+
+    // ==================== Build ====================
+
+    @Test
+    public void testBuild_AllBuilderTypes() {
+        byte[] binary = {1, 2, 3};
+        BsonDocument doc = new RawBsonDocumentBuilder()
+            .putInt32("int", 42)
+            .putInt64("long", 123L)
+            .putDouble("double", 3.14)
+            .putBoolean("bool", true)
+            .putString("str", "value")
+            .putObjectId("oid", "507f1f77bcf86cd799439011")
+            .putDateTime("date", 1700000000000L)
+            .putNull("nullField")
+            .putBinary("bin", (byte) 0, binary)
+            .build();
+
+        assertTrue(doc instanceof IndexedBsonDocument);
+        assertEquals(9, doc.size());
+        assertEquals(42, doc.getInt32("int"));
+        assertEquals(123L, doc.getInt64("long"));
+        assertEquals(3.14, doc.getDouble("double"));
+        assertTrue(doc.getBoolean("bool"));
+        assertEquals("value", doc.getString("str"));
+        assertEquals("507f1f77bcf86cd799439011", doc.getObjectId("oid"));
+        assertEquals(1700000000000L, doc.getDateTime("date"));
+        assertTrue(doc.isNull("nullField"));
+        assertEquals(BsonType.BINARY, doc.getType("bin"));
+    }
+
+    @Test
+    public void testBuild_ToBsonIsWireReady() {
+        BsonDocument doc = new RawBsonDocumentBuilder()
+            .putString("name", "Alice")
+            .putInt32("age", 30)
+            .build();
+
+        byte[] expected = new BsonWriter()
+            .writeStartDocument()
+            .writeString("name", "Alice")
+            .writeInt32("age", 30)
+            .writeEndDocument()
+            .toByteArray();
+
+        byte[] bson = doc.toBson();
+        assertArrayEquals(expected, bson);
+        assertSame(bson, doc.toBson(), "toBson() should return the backing bytes without copying");
+        assertDoesNotThrow(() -> BsonValidator.validate(bson));
+    }
+
+    @Test
+    public void testBuild_KeepsInsertionOrder() {
+        BsonDocument doc = new RawBsonDocumentBuilder()
+            .putInt32("z", 1)
+            .putInt32("a", 2)
+            .putInt32("m", 3)
+            .build();
+
+        byte[] expected = new BsonWriter()
+            .writeStartDocument()
+            .writeInt32("z", 1)
+            .writeInt32("a", 2)
+            .writeInt32("m", 3)
+            .writeEndDocument()
+            .toByteArray();
+        assertArrayEquals(expected, doc.toBson());
+    }
+
+    @Test
+    public void testBuild_EmptyDocument() {
+        BsonDocument doc = new RawBsonDocumentBuilder().build();
+
+        assertTrue(doc.isEmpty());
+        assertArrayEquals(new byte[]{5, 0, 0, 0, 0}, doc.toBson());
+    }
+
+    @Test
+    public void testBuild_CalledTwice_ThrowsException() {
+        RawBsonDocumentBuilder builder = new RawBsonDocumentBuilder();
+        builder.putInt32("value", 42);
+        assertNotNull(builder.build());
+
+        assertThrows(IllegalStateException.class, () -> builder.build());
+        assertThrows(IllegalStateException.class, () -> builder.putInt32("other", 1));
+    }
+
+    // ==================== Nested and Complex Values ====================
+
+    @Test
+    public void testPutDocumentAndArray_FromAnyImplementation() {
+        BsonDocument hashMapDoc = new HashMapBsonDocumentBuilder()
+            .putString("city", "Beijing")
+            .build();
+        BsonDocument rawDoc = new RawBsonDocumentBuilder()
+            .putInt32("x", 1)
+            .build();
+        BsonArray array = new RawBsonArrayBuilder()
+            .addInt32(1)
+            .addString("two")
+            .build();
+
+        BsonDocument doc = new RawBsonDocumentBuilder()
+            .putDocument("address", hashMapDoc)
+            .putDocument("point", rawDoc)
+            .putArray("items", array)
+            .build();
+
+        assertEquals("Beijing", doc.getDocument("address").getString("city"));
+        assertEquals(1, doc.getDocument("point").getInt32("x"));
+        assertEquals(2, doc.getArray("items").size());
+        assertEquals("two", doc.getArray("items").getString(1));
+    }
+
+    @Test
+    public void testPutComplex() {
+        BsonDocument doc = new RawBsonDocumentBuilder()
+            .putComplex("regex", BsonType.REGEX, new RegexValue("^a.*", "i"))
+            .putComplex("js", BsonType.JAVASCRIPT, "function() {}")
+            .putComplex("max", BsonType.MAX_KEY, null)
+            .build();
+
+        assertEquals(BsonType.REGEX, doc.getType("regex"));
+        assertEquals(BsonType.JAVASCRIPT, doc.getType("js"));
+        assertEquals(BsonType.MAX_KEY, doc.getType("max"));
+        assertDoesNotThrow(() -> BsonValidator.validate(doc.toBson()));
+    }
+
+    @Test
+    public void testPutComplex_MismatchedValue_ThrowsException() {
+        RawBsonDocumentBuilder builder = new RawBsonDocumentBuilder();
+
+        assertThrows(IllegalArgumentException.class,
+            () -> builder.putComplex("ts", BsonType.TIMESTAMP, "not a timestamp"));
+    }
+
+    // ==================== Reuse ====================
+
+    @Test
+    public void testReset_AfterBuild() {
+        RawBsonDocumentBuilder builder = new RawBsonDocumentBuilder();
+        BsonDocument first = builder.putInt32("value", 1).build();
+
+        builder.reset();
+        BsonDocument second = builder.putString("other", "x").build();
+
+        assertEquals(1, first.getInt32("value"), "Earlier documents must not share the write buffer");
+        assertFalse(second.contains("value"));
+        assertEquals("x", second.getString("other"));
+    }
+
+    @Test
+    public void testReset_DiscardsFields() {
+        RawBsonDocumentBuilder builder = new RawBsonDocumentBuilder();
+        builder.putInt32("value", 42);
+        builder.reset();
+        builder.reset();
+
+        assertTrue(builder.build().isEmpty());
+    }
+
+    @Test
+    public void testEstimateSize() {
+        RawBsonDocumentBuilder builder = new RawBsonDocumentBuilder();
+        builder.estimateSize(100);
+        for (int i = 0; i < 100; i++) {
+            builder.putInt32("field" + i, i);
+        }
+        builder.estimateSize(1000);  // Ignored once fields have been written
+
+        BsonDocument doc = builder.build();
+        assertEquals(100, doc.size());
+        assertEquals(99, doc.getInt32("field99"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.cloud.fastbson.document.raw;
+
+import com.cloud.fastbson.FastBson;
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.BsonDocumentFactory;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.handler.parsers.ArrayParser;
+import com.cloud.fastbson.handler.parsers.DocumentParser;
+import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.util.BsonType;
+import com.cloud.fastbson.writer.BsonWriter;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link RawBsonDocumentFactory} and its use by DocumentParser/ArrayParser.
+ */
+public class RawBsonDocumentFactoryTest {
+
+    private static byte[] createDocument() {
+        return new BsonWriter()
+            .writeStartDocument()
+            .writeString("name", "Alice")
+            .writeInt32("age", 30)
+            .writeJavaScript("code", "return 1;")
+            .writeSymbol("sym", "s")
+            .writeStartDocument("address")
+                .writeString("city", "Beijing")
+            .writeEndDocument()
+            .writeStartArray("tags")
+                .writeString("a")
+                .writeInt64(2L)
+            .writeEndArray()
+            .writeEndDocument()
+            .toByteArray();
+    }
+
+    private static BsonDocument parseRaw(BsonReader reader) {
+        BsonDocumentFactory original = FastBson.getDocumentFactory();
+        try {
+            FastBson.useRawFactory();
+            return FastBson.parse(reader);
+        } finally {
+            FastBson.setDocumentFactory(original);
+        }
+    }
+
+    // ==================== Factory ====================
+
+    @Test
+    public void testFactoryMethods() {
+        RawBsonDocumentFactory factory = RawBsonDocumentFactory.INSTANCE;
+
+        assertTrue(factory.newDocumentBuilder() instanceof RawBsonDocumentBuilder);
+        assertTrue(factory.newArrayBuilder() instanceof RawBsonArrayBuilder);
+        assertTrue(factory.emptyDocument().isEmpty());
+        assertArrayEquals(new byte[]{5, 0, 0, 0, 0}, factory.emptyDocument().toBson());
+        assertTrue(factory.emptyArray().isEmpty());
+        assertFalse(factory.requiresExternalDependencies());
+        assertEquals("Raw (BSON bytes)", factory.getName());
+        assertEquals(factory.getName(), factory.toString());
+    }
+
+    // ==================== DocumentParser ====================
+
+    @Test
+    public void testParse_ReturnsOwnedCopy() {
+        byte[] data = createDocument();
+
+        BsonDocument doc = parseRaw(new BsonReader(data));
+
+        assertTrue(doc instanceof IndexedBsonDocument);
+        byte[] bson = doc.toBson();
+        assertArrayEquals(data, bson);
+        assertNotSame(data, bson);  // Must not reference the input buffer
+
+        // Overwriting the input does not affect the parsed document
+        java.util.Arrays.fill(data, (byte) 0);
+        assertEquals("Alice", doc.getString("name"));
+        assertEquals(30, doc.getInt32("age"));
+        assertEquals("Beijing", doc.getDocument("address").getString("city"));
+    }
+
+    @Test
+    public void testParse_KeepsAllTypes() {
+        BsonDocument doc = parseRaw(new BsonReader(createDocument()));
+
+        // The builder path of other factories folds these into plain strings
+        assertEquals(BsonType.JAVASCRIPT, doc.getType("code"));
+        assertEquals(BsonType.SYMBOL, doc.getType("sym"));
+        assertEquals(2L, doc.getArray("tags").getInt64(1));
+    }
+
+    @Test
+    public void testParse_AdvancesReaderPastDocument() {
+        byte[] one = createDocument();
+        byte[] two = new byte[one.length * 2];
+        System.arraycopy(one, 0, two, 0, one.length);
+        System.arraycopy(one, 0, two, one.length, one.length);
+
+        BsonReader reader = new BsonReader(two);
+        BsonDocument first = parseRaw(reader);
+        assertEquals(one.length, reader.position());
+        BsonDocument second = parseRaw(reader);
+
+        assertEquals(two.length, reader.position());
+        assertEquals(first.size(), second.size());
+    }
+
+    @Test
+    public void testParse_DirectByteBuffer() {
+        byte[] data = createDocument();
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+
+        BsonDocument doc = parseRaw(BsonReader.wrap(direct));
+
+        assertArrayEquals(data, doc.toBson());
+        assertEquals("Alice", doc.getString("name"));
+    }
+
+    @Test
+    public void testParse_ModifyAndReEmit() {
+        BsonDocument parsed = parseRaw(new BsonReader(createDocument()));
+
+        BsonDocument modified = RawBsonDocumentFactory.INSTANCE.newDocumentBuilder()
+            .putDocument("user", parsed)
+            .putBoolean("verified", true)
+            .build();
+
+        BsonDocument reparsed = IndexedBsonDocument.parse(modified.toBson());
+        assertEquals("Alice", reparsed.getDocument("user").getString("name"));
+        assertTrue(reparsed.getBoolean("verified"));
+    }
+
+    // ==================== ArrayParser ====================
+
+    @Test
+    public void testArrayParser_ReturnsOwnedCopy() {
+        byte[] data = new BsonWriter()
+            .writeStartArray()
+                .writeInt32(1)
+                .writeString("two")
+            .writeEndArray()
+            .toByteArray();
+
+        BsonDocumentFactory original = FastBson.getDocumentFactory();
+        try {
+            ArrayParser.INSTANCE.setFactory(RawBsonDocumentFactory.INSTANCE);
+            BsonArray array = (BsonArray) ArrayParser.INSTANCE.parse(new BsonReader(data));
+
+            assertTrue(array instanceof IndexedBsonArray);
+            assertArrayEquals(data, ((IndexedBsonArray) array).toBson());
+            assertEquals("two", array.getString(1));
+        } finally {
+            ArrayParser.INSTANCE.setFactory(original);
+            DocumentParser.INSTANCE.setFactory(original);
+        }
+    }
+}
@@ -0,0 +1,342 @@
+package com.cloud.fastbson.filter;
+
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.document.fast.FastBsonDocumentFactory;
+import com.cloud.fastbson.reader.ByteArrayBsonInput;
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BsonFilter 测试：每个条件同时在原始字节、IndexedBsonDocument 与 FastBsonDocument 上求值。
+ */
+public class BsonFilterTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * 构造测试文档：
+     * {name: "Alice", age: 30, score: 88.5, big: 1L<<40, active: true, nothing: null,
+     *  ts: Date(1000), address: {city: "Beijing", geo: {zip: 100000}}, tags: ["a"], 名字: "x"}
+     */
+    private byte[] createDocument() {
+        byte[] geo = document(buffer -> buffer.put(BsonType.INT32).put(cstring("zip")).putInt(100000));
+        byte[] address = document(buffer -> {
+            putString(buffer, "city", "Beijing");
+            buffer.put(BsonType.DOCUMENT).put(cstring("geo")).put(geo);
+        });
+        byte[] tags = document(buffer -> putString(buffer, "0", "a"));
+        return document(buffer -> {
+            putString(buffer, "name", "Alice");
+            buffer.put(BsonType.INT32).put(cstring("age")).putInt(30);
+            buffer.put(BsonType.DOUBLE).put(cstring("score")).putDouble(88.5);
+            buffer.put(BsonType.INT64).put(cstring("big")).putLong(1L << 40);
+            buffer.put(BsonType.BOOLEAN).put(cstring("active")).put((byte) 1);
+            buffer.put(BsonType.NULL).put(cstring("nothing"));
+            buffer.put(BsonType.DATE_TIME).put(cstring("ts")).putLong(1000L);
+            buffer.put(BsonType.DOCUMENT).put(cstring("address")).put(address);
+            buffer.put(BsonType.ARRAY).put(cstring("tags")).put(tags);
+            putString(buffer, "名字", "x");
+        });
+    }
+
+    private interface Fields {
+        void write(ByteBuffer buffer);
+    }
+
+    private static byte[] document(Fields fields) {
+        ByteBuffer buffer = ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        fields.write(buffer);
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private static byte[] cstring(String s) {
+        return (s + "\0").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buffer, String name, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.put(BsonType.STRING).put(cstring(name)).putInt(bytes.length + 1).put(bytes).put((byte) 0);
+    }
+
+    /**
+     * 在三种输入上求值并要求结果一致
+     */
+    private boolean eval(BsonFilter filter) {
+        byte[] bson = createDocument();
+        boolean raw = filter.matches(bson);
+        assertEquals(raw, filter.matches(IndexedBsonDocument.parse(bson)), "IndexedBsonDocument: " + filter);
+        assertEquals(raw, filter.matches(toFastDocument()), "FastBsonDocument: " + filter);
+        return raw;
+    }
+
+    /**
+     * 在原始字节与 IndexedBsonDocument 上求值并要求结果一致
+     */
+    private static boolean evalOn(BsonFilter filter, byte[] bson) {
+        boolean raw = filter.matches(bson);
+        assertEquals(raw, filter.matches(IndexedBsonDocument.parse(bson)), "IndexedBsonDocument: " + filter);
+        return raw;
+    }
+
+    private BsonDocument toFastDocument() {
+        BsonDocument geo = FastBsonDocumentFactory.INSTANCE.newDocumentBuilder().putInt32("zip", 100000).build();
+        BsonDocument address = FastBsonDocumentFactory.INSTANCE.newDocumentBuilder()
+            .putString("city", "Beijing").putDocument("geo", geo).build();
+        return FastBsonDocumentFactory.INSTANCE.newDocumentBuilder()
+            .putString("name", "Alice")
+            .putInt32("age", 30)
+            .putDouble("score", 88.5)
+            .putInt64("big", 1L << 40)
+            .putBoolean("active", true)
+            .putNull("nothing")
+            .putDateTime("ts", 1000L)
+            .putDocument("address", address)
+            .putArray("tags", FastBsonDocumentFactory.INSTANCE.newArrayBuilder().addString("a").build())
+            .putString("名字", "x")
+            .build();
+    }
+
+    // ==================== Comparison Tests ====================
+
+    @Test
+    public void testEq_Numbers() {
+        assertTrue(eval(BsonFilter.eq("age", 30)));
+        assertFalse(eval(BsonFilter.eq("age", 31)));
+        assertTrue(eval(BsonFilter.eq("age", 30.0)));        // Int32 vs double
+        assertTrue(eval(BsonFilter.eq("score", 88.5)));
+        assertTrue(eval(BsonFilter.eq("big", 1L << 40)));
+        assertFalse(eval(BsonFilter.eq("name", 30)));        // Incomparable types
+        assertFalse(eval(BsonFilter.eq("missing", 30)));
+    }
+
+    @Test
+    public void testEq_StringsAndBooleans() {
+        assertTrue(eval(BsonFilter.eq("name", "Alice")));
+        assertFalse(eval(BsonFilter.eq("name", "Alic")));
+        assertFalse(eval(BsonFilter.eq("name", "Alice2")));
+        assertTrue(eval(BsonFilter.eq("名字", "x")));
+        assertTrue(eval(BsonFilter.eq("active", true)));
+        assertFalse(eval(BsonFilter.eq("active", false)));
+        assertFalse(eval(BsonFilter.eq("age", "30")));
+    }
+
+    @Test
+    public void testNe_MatchesMissingAndOtherTypes() {
+        assertFalse(eval(BsonFilter.ne("age", 30)));
+        assertTrue(eval(BsonFilter.ne("age", 31)));
+        assertTrue(eval(BsonFilter.ne("missing", 30)));
+        assertTrue(eval(BsonFilter.ne("name", 30)));
+        assertFalse(eval(BsonFilter.ne("name", "Alice")));
+        assertTrue(eval(BsonFilter.ne("active", false)));
+        assertTrue(eval(BsonFilter.ne("score", 1.0)));
+    }
+
+    @Test
+    public void testOrderedComparisons() {
+        assertTrue(eval(BsonFilter.gt("age", 29)));
+        assertFalse(eval(BsonFilter.gt("age", 30)));
+        assertTrue(eval(BsonFilter.gte("age", 30)));
+        assertTrue(eval(BsonFilter.lt("age", 30.5)));
+        assertTrue(eval(BsonFilter.lte("score", 88.5)));
+        assertFalse(eval(BsonFilter.lt("score", 88)));
+        assertTrue(eval(BsonFilter.gt("big", Integer.MAX_VALUE)));
+        assertTrue(eval(BsonFilter.gt("name", "Al")));
+        assertTrue(eval(BsonFilter.lt("name", "Bob")));
+        assertTrue(eval(BsonFilter.gte("name", "Alice")));
+        assertFalse(eval(BsonFilter.lte("name", "Alb")));
+        assertFalse(eval(BsonFilter.gt("name", 0)));
+        assertFalse(eval(BsonFilter.gt("nothing", 0)));
+    }
+
+    @Test
+    public void testRange() {
+        assertTrue(eval(BsonFilter.range("age", 18, 65)));
+        assertTrue(eval(BsonFilter.range("age", 30, 31)));
+        assertFalse(eval(BsonFilter.range("age", 18, 30)));   // Upper bound exclusive
+        assertTrue(eval(BsonFilter.range("score", 80.0, 90.0)));
+        assertFalse(eval(BsonFilter.range("name", 0, 100)));
+        assertTrue(eval(BsonFilter.dateRange("ts", 1000L, 2000L)));
+        assertFalse(eval(BsonFilter.dateRange("ts", 0L, 1000L)));
+        assertFalse(eval(BsonFilter.dateRange("age", 0L, 100L)));  // Not a DateTime
+        assertFalse(eval(BsonFilter.range("ts", 0, 2000)));        // Numbers do not match dates
+    }
+
+    @Test
+    public void testIn() {
+        assertTrue(eval(BsonFilter.in("age", 1, 30, 50)));
+        assertFalse(eval(BsonFilter.in("age", 1, 2)));
+        assertTrue(eval(BsonFilter.in("address.city", "Shanghai", "Beijing")));
+        assertFalse(eval(BsonFilter.in("address.city", "Shanghai")));
+        assertFalse(eval(BsonFilter.in("missing", "x")));
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.in("age", new long[0]));
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.in("name", "a", null));
+    }
+
+    // ==================== Metadata Tests ====================
+
+    @Test
+    public void testNumbers_NegativeZeroEqualsZero() {
+        byte[] bson = document(buffer -> buffer.put(BsonType.DOUBLE).put(cstring("z")).putDouble(-0.0));
+
+        assertTrue(evalOn(BsonFilter.eq("z", 0L), bson));
+        assertTrue(evalOn(BsonFilter.eq("z", 0.0), bson));
+        assertTrue(evalOn(BsonFilter.in("z", 0L), bson));
+        assertTrue(evalOn(BsonFilter.gte("z", 0.0), bson));
+        assertFalse(evalOn(BsonFilter.lt("z", 0.0), bson));
+        assertFalse(evalOn(BsonFilter.ne("z", 0L), bson));
+    }
+
+    @Test
+    public void testNumbers_NaNOnlyEqualsNaN() {
+        byte[] bson = document(buffer -> {
+            buffer.put(BsonType.DOUBLE).put(cstring("nan")).putDouble(Double.NaN);
+            buffer.put(BsonType.INT32).put(cstring("five")).putInt(5);
+        });
+
+        assertTrue(evalOn(BsonFilter.eq("nan", Double.NaN), bson));
+        assertFalse(evalOn(BsonFilter.gt("nan", 5L), bson));
+        assertFalse(evalOn(BsonFilter.gte("nan", Double.NaN), bson));
+        assertFalse(evalOn(BsonFilter.lte("nan", Double.NaN), bson));
+        assertFalse(evalOn(BsonFilter.lt("nan", 5.0), bson));
+        assertFalse(evalOn(BsonFilter.eq("nan", 0L), bson));
+        assertFalse(evalOn(BsonFilter.range("nan", Double.NaN, Double.POSITIVE_INFINITY), bson));
+        assertFalse(evalOn(BsonFilter.eq("five", Double.NaN), bson));
+        assertFalse(evalOn(BsonFilter.gt("five", Double.NaN), bson));
+        assertFalse(evalOn(BsonFilter.lt("five", Double.NaN), bson));
+        assertTrue(evalOn(BsonFilter.ne("five", Double.NaN), bson));
+    }
+
+    @Test
+    public void testNumbers_LongAndDoubleComparedExactly() {
+        long big = (1L << 53) + 1;   // Not representable as a double
+        byte[] bson = document(buffer -> {
+            buffer.put(BsonType.INT64).put(cstring("big")).putLong(big);
+            buffer.put(BsonType.DOUBLE).put(cstring("d")).putDouble(0x1p53);
+            buffer.put(BsonType.INT64).put(cstring("max")).putLong(Long.MAX_VALUE);
+        });
+
+        assertFalse(evalOn(BsonFilter.eq("big", 0x1p53), bson));
+        assertTrue(evalOn(BsonFilter.gt("big", 0x1p53), bson));
+        assertTrue(evalOn(BsonFilter.lt("d", big), bson));
+        assertFalse(evalOn(BsonFilter.eq("d", big), bson));
+        assertTrue(evalOn(BsonFilter.eq("d", 1L << 53), bson));
+        assertTrue(evalOn(BsonFilter.lt("max", 0x1p63), bson));   // 2^63 is above Long.MAX_VALUE
+        assertTrue(evalOn(BsonFilter.gt("big", Double.NEGATIVE_INFINITY), bson));
+        assertTrue(evalOn(BsonFilter.lt("big", Double.POSITIVE_INFINITY), bson));
+        assertTrue(evalOn(BsonFilter.gt("d", 9007199254740991L), bson));
+    }
+
+    @Test
+    public void testExists() {
+        assertTrue(eval(BsonFilter.exists("name")));
+        assertTrue(eval(BsonFilter.exists("nothing")));     // Null value exists
+        assertFalse(eval(BsonFilter.exists("missing")));
+        assertTrue(eval(BsonFilter.exists("missing", false)));
+        assertFalse(eval(BsonFilter.exists("age", false)));
+        assertTrue(eval(BsonFilter.exists("address.geo.zip")));
+        assertFalse(eval(BsonFilter.exists("address.geo.zip.x")));
+    }
+
+    @Test
+    public void testType() {
+        assertTrue(eval(BsonFilter.type("age", BsonType.INT32)));
+        assertFalse(eval(BsonFilter.type("age", BsonType.INT64)));
+        assertTrue(eval(BsonFilter.type("nothing", BsonType.NULL)));
+        assertTrue(eval(BsonFilter.type("address", BsonType.DOCUMENT)));
+        assertTrue(eval(BsonFilter.type("tags", BsonType.ARRAY)));
+        assertFalse(eval(BsonFilter.type("missing", BsonType.NULL)));
+    }
+
+    // ==================== Path Tests ====================
+
+    @Test
+    public void testDottedPaths() {
+        assertTrue(eval(BsonFilter.eq("address.city", "Beijing")));
+        assertTrue(eval(BsonFilter.eq("address.geo.zip", 100000)));
+        assertFalse(eval(BsonFilter.eq("address.zip", 100000)));
+        assertFalse(eval(BsonFilter.eq("name.first", "Alice")));  // Not a document
+        assertFalse(eval(BsonFilter.eq("tags.0", "a")));          // Arrays are not traversed
+    }
+
+    @Test
+    public void testInvalidPaths() {
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.eq(null, 1));
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.eq("", 1));
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.eq("a..b", 1));
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.eq("a", (String) null));
+    }
+
+    // ==================== Logical Tests ====================
+
+    @Test
+    public void testAndOrNot() {
+        assertTrue(eval(BsonFilter.and(BsonFilter.eq("name", "Alice"), BsonFilter.gt("age", 18))));
+        assertFalse(eval(BsonFilter.and(BsonFilter.eq("name", "Alice"), BsonFilter.gt("age", 40))));
+        assertTrue(eval(BsonFilter.or(BsonFilter.eq("name", "Bob"), BsonFilter.gt("age", 18))));
+        assertFalse(eval(BsonFilter.or(BsonFilter.eq("name", "Bob"), BsonFilter.exists("missing"))));
+        assertTrue(eval(BsonFilter.not(BsonFilter.eq("name", "Bob"))));
+        assertTrue(eval(BsonFilter.and(
+            BsonFilter.or(BsonFilter.eq("active", false), BsonFilter.in("address.city", "Beijing")),
+            BsonFilter.not(BsonFilter.exists("deleted")))));
+    }
+
+    @Test
+    public void testAnd_ShortCircuits() {
+        // The second clause would fail on the malformed value if it were evaluated
+        byte[] bson = document(buffer -> {
+            buffer.put(BsonType.INT32).put(cstring("a")).putInt(1);
+            buffer.put((byte) 0x42).put(cstring("b"));  // Invalid type, never reached
+        });
+        assertFalse(BsonFilter.and(BsonFilter.eq("a", 2), BsonFilter.exists("b")).matches(bson));
+        assertTrue(BsonFilter.or(BsonFilter.eq("a", 1), BsonFilter.exists("b")).matches(bson));
+    }
+
+    @Test
+    public void testLogical_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.and());
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.or((BsonFilter) null));
+        assertThrows(IllegalArgumentException.class, () -> BsonFilter.not(null));
+    }
+
+    // ==================== Input Tests ====================
+
+    @Test
+    public void testMatches_OffsetsAndBuffers() {
+        byte[] bson = createDocument();
+        byte[] padded = new byte[bson.length + 7];
+        System.arraycopy(bson, 0, padded, 7, bson.length);
+        BsonFilter filter = BsonFilter.eq("address.geo.zip", 100000);
+
+        assertTrue(filter.matches(padded, 7));
+        assertTrue(filter.matches(new ByteArrayBsonInput(padded), 7));
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(bson.length);
+        direct.put(bson).flip();
+        assertTrue(filter.matches(direct));
+        assertEquals(0, direct.position());
+
+        assertThrows(NullPointerException.class, () -> filter.matches((byte[]) null));
+        assertThrows(NullPointerException.class, () -> filter.matches((BsonDocument) null));
+    }
+
+    @Test
+    public void testToString() {
+        BsonFilter filter = BsonFilter.and(
+            BsonFilter.eq("a", 1), BsonFilter.not(BsonFilter.in("b", "x", "y")), BsonFilter.range("c", 1.5, 2.5));
+
+        assertEquals("{\"$and\":[{\"a\":{\"$eq\":1}},{\"$not\":{\"b\":{\"$in\":[\"x\",\"y\"]}}},"
+            + "{\"c\":{\"$gte\":1.5,\"$lt\":2.5}}]}", filter.toString());
+    }
+}
@@ -0,0 +1,192 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BsonFileScanner.
+ */
+public class BsonFileScannerTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("fastbson-scanner", ".bson");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "i": i, "s": "<padding>" }
+     */
+    private byte[] createDocument(int i, int padding) {
+        byte[] str = new byte[padding];
+        Arrays.fill(str, (byte) 'x');
+        ByteBuffer buffer = ByteBuffer.allocate(64 + padding).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put((byte) 0x10);
+        buffer.put("i\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(i);
+
+        buffer.put((byte) 0x02);
+        buffer.put("s\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(padding + 1);
+        buffer.put(str);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private void writeDocuments(int count, int padding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            out.write(createDocument(i, padding));
+        }
+        Files.write(file, out.toByteArray());
+    }
+
+    // ==================== Scan Tests ====================
+
+    @Test
+    public void testScan_SingleWindow() throws IOException {
+        writeDocuments(10, 3);
+
+        try (BsonFileScanner scanner = new BsonFileScanner(file)) {
+            for (int i = 0; i < 10; i++) {
+                assertTrue(scanner.hasNext());
+                IndexedBsonDocument doc = scanner.next();
+                assertEquals(i, doc.getInt32("i"));
+                assertEquals("xxx", doc.getString("s"));
+            }
+            assertFalse(scanner.hasNext());
+            assertEquals(scanner.fileSize(), scanner.position());
+            assertThrows(NoSuchElementException.class, scanner::next);
+        }
+    }
+
+    @Test
+    public void testScan_DocumentsStraddleWindowEdges() throws IOException {
+        // 25-byte documents over 64-byte windows: every window edge cuts a document
+        writeDocuments(50, 5);
+
+        try (BsonFileScanner scanner = new BsonFileScanner(file, 64)) {
+            int count = 0;
+            while (scanner.hasNext()) {
+                IndexedBsonDocument doc = scanner.next();
+                assertEquals(count, doc.getInt32("i"));
+                assertEquals("xxxxx", doc.getString("s"));
+                count++;
+            }
+            assertEquals(50, count);
+        }
+    }
+
+    @Test
+    public void testScan_DocumentLargerThanWindow() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(createDocument(0, 1));
+        out.write(createDocument(1, 300));
+        out.write(createDocument(2, 1));
+        Files.write(file, out.toByteArray());
+
+        try (BsonFileScanner scanner = new BsonFileScanner(file, 32)) {
+            assertEquals(0, scanner.next().getInt32("i"));
+            IndexedBsonDocument big = scanner.next();
+            assertEquals(1, big.getInt32("i"));
+            assertEquals(300, big.getString("s").length());
+            assertEquals(2, scanner.next().getInt32("i"));
+            assertFalse(scanner.hasNext());
+        }
+    }
+
+    @Test
+    public void testScan_DocumentsValidAfterWindowMovesAndClose() throws IOException {
+        writeDocuments(4, 5);
+
+        IndexedBsonDocument first;
+        IndexedBsonDocument last = null;
+        try (BsonFileScanner scanner = new BsonFileScanner(file, 32)) {
+            first = scanner.next();
+            while (scanner.hasNext()) {
+                last = scanner.next();
+            }
+        }
+
+        assertEquals(0, first.getInt32("i"));
+        assertEquals(3, last.getInt32("i"));
+        assertArrayEquals(createDocument(3, 5), last.toBson());
+    }
+
+    @Test
+    public void testScan_EmptyFile() throws IOException {
+        try (BsonFileScanner scanner = new BsonFileScanner(file)) {
+            assertFalse(scanner.hasNext());
+            assertEquals(0, scanner.fileSize());
+        }
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testScan_TruncatedDocument() throws IOException {
+        byte[] doc = createDocument(0, 5);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(doc);
+        out.write(doc, 0, doc.length - 3);
+        Files.write(file, out.toByteArray());
+
+        try (BsonFileScanner scanner = new BsonFileScanner(file)) {
+            assertEquals(0, scanner.next().getInt32("i"));
+            assertTrue(scanner.hasNext());
+            assertThrows(BsonParseException.class, scanner::next);
+        }
+    }
+
+    @Test
+    public void testScan_TrailingGarbageShorterThanHeader() throws IOException {
+        Files.write(file, new byte[]{1, 2});
+
+        try (BsonFileScanner scanner = new BsonFileScanner(file)) {
+            assertThrows(BsonParseException.class, scanner::next);
+        }
+    }
+
+    @Test
+    public void testScan_InvalidLength() throws IOException {
+        Files.write(file, new byte[]{2, 0, 0, 0, 0, 0});
+
+        try (BsonFileScanner scanner = new BsonFileScanner(file)) {
+            assertThrows(BsonParseException.class, scanner::next);
+        }
+    }
+
+    @Test
+    public void testConstructor_InvalidWindowSize() {
+        assertThrows(IllegalArgumentException.class, () -> new BsonFileScanner(file, 4));
+    }
+}
@@ -0,0 +1,242 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BsonLogFollower.
+ */
+public class BsonLogFollowerTest {
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("fastbson-follower", ".bson");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "i": i, "s": "<padding>" }
+     */
+    private byte[] createDocument(int i, int padding) {
+        byte[] str = new byte[padding];
+        Arrays.fill(str, (byte) 'x');
+        ByteBuffer buffer = ByteBuffer.allocate(64 + padding).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put((byte) 0x10);
+        buffer.put("i\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(i);
+
+        buffer.put((byte) 0x02);
+        buffer.put("s\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(padding + 1);
+        buffer.put(str);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private void append(byte[] data, int from, int to) throws IOException {
+        Files.write(file, Arrays.copyOfRange(data, from, to), StandardOpenOption.APPEND);
+    }
+
+    // ==================== Follow Tests ====================
+
+    @Test
+    public void testPoll_NewDocuments() throws IOException {
+        List<Integer> seen = new ArrayList<Integer>();
+        try (BsonLogFollower follower = new BsonLogFollower(file)) {
+            assertEquals(0, follower.poll(doc -> seen.add(doc.getInt32("i"))));
+
+            append(createDocument(0, 3), 0, createDocument(0, 3).length);
+            append(createDocument(1, 3), 0, createDocument(1, 3).length);
+            assertEquals(2, follower.poll(doc -> seen.add(doc.getInt32("i"))));
+            assertEquals(0, follower.poll(doc -> seen.add(doc.getInt32("i"))));
+
+            append(createDocument(2, 3), 0, createDocument(2, 3).length);
+            assertEquals(1, follower.poll(doc -> seen.add(doc.getInt32("i"))));
+            assertEquals(3, follower.getDocumentCount());
+            assertEquals(Files.size(file), follower.position());
+        }
+        assertEquals(Arrays.asList(0, 1, 2), seen);
+    }
+
+    @Test
+    public void testPoll_PartiallyWrittenTrailingDocument() throws IOException {
+        byte[] doc = createDocument(7, 10);
+        List<Integer> seen = new ArrayList<Integer>();
+
+        try (BsonLogFollower follower = new BsonLogFollower(file)) {
+            // Partial length prefix, then partial body, then the rest
+            append(doc, 0, 2);
+            assertEquals(0, follower.poll(d -> seen.add(d.getInt32("i"))));
+            assertEquals(2, follower.pendingBytes());
+
+            append(doc, 2, doc.length - 1);
+            assertEquals(0, follower.poll(d -> seen.add(d.getInt32("i"))));
+            assertEquals(0, follower.position());
+
+            append(doc, doc.length - 1, doc.length);
+            assertEquals(1, follower.poll(d -> seen.add(d.getInt32("i"))));
+            assertEquals(0, follower.pendingBytes());
+            assertEquals(doc.length, follower.position());
+        }
+        assertEquals(Arrays.asList(7), seen);
+    }
+
+    @Test
+    public void testPoll_SmallBufferAndLargeDocument() throws IOException {
+        byte[] small = createDocument(0, 3);
+        byte[] big = createDocument(1, 500);
+        append(small, 0, small.length);
+        append(big, 0, big.length);
+        append(small, 0, small.length);
+
+        List<Integer> sizes = new ArrayList<Integer>();
+        try (BsonLogFollower follower = new BsonLogFollower(file, 0, 16)) {
+            assertEquals(3, follower.poll(doc -> sizes.add(doc.getString("s").length())));
+        }
+        assertEquals(Arrays.asList(3, 500, 3), sizes);
+    }
+
+    @Test
+    public void testResumeFromPosition() throws IOException {
+        byte[] first = createDocument(0, 3);
+        byte[] second = createDocument(1, 3);
+        append(first, 0, first.length);
+        append(second, 0, second.length);
+
+        List<IndexedBsonDocument> copies = new ArrayList<IndexedBsonDocument>();
+        try (BsonLogFollower follower = new BsonLogFollower(file, first.length, 64)) {
+            follower.poll(doc -> copies.add(IndexedBsonDocument.parse(doc.toBson())));
+        }
+        assertEquals(1, copies.size());
+        assertEquals(1, copies.get(0).getInt32("i"));
+    }
+
+    @Test
+    public void testFollow_StopsOnClose() throws Exception {
+        byte[] doc = createDocument(5, 3);
+        append(doc, 0, doc.length);
+        BsonLogFollower follower = new BsonLogFollower(file);
+        List<Integer> seen = new ArrayList<Integer>();
+
+        follower.follow(d -> {
+            seen.add(d.getInt32("i"));
+            try {
+                follower.close();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }, 1);
+        assertEquals(Arrays.asList(5), seen);
+    }
+
+    @Test
+    public void testFollow_StopsOnCloseFromAnotherThread() throws Exception {
+        byte[] doc = createDocument(1, 3);
+        for (int round = 0; round < 20; round++) {
+            append(doc, 0, doc.length);
+            BsonLogFollower follower = new BsonLogFollower(file);
+            List<Throwable> errors = new ArrayList<Throwable>();
+            Thread thread = new Thread(() -> {
+                try {
+                    follower.follow(d -> { }, 0);  // Busy polling: close() lands inside channel calls
+                } catch (Throwable e) {
+                    errors.add(e);
+                }
+            });
+            thread.start();
+
+            while (follower.getDocumentCount() == 0) {
+                Thread.sleep(1);
+            }
+            follower.close();
+            thread.join(5000);
+
+            assertFalse(thread.isAlive(), "follow() did not stop");
+            assertTrue(errors.isEmpty(), "follow() failed: " + errors);
+        }
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testPoll_InvalidLength() throws IOException {
+        append(new byte[]{2, 0, 0, 0, 0}, 0, 5);
+
+        try (BsonLogFollower follower = new BsonLogFollower(file)) {
+            assertThrows(BsonParseException.class, () -> follower.poll(doc -> { }));
+        }
+    }
+
+    @Test
+    public void testPoll_LengthAboveMaximum() throws IOException {
+        append(new byte[]{(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F, 0}, 0, 5);
+
+        try (BsonLogFollower follower = new BsonLogFollower(file, 0, 16)) {
+            BsonParseException e = assertThrows(BsonParseException.class, () -> follower.poll(doc -> { }));
+            assertTrue(e.getMessage().contains("exceeds the maximum"));
+        }
+    }
+
+    @Test
+    public void testPoll_CustomMaximum() throws IOException {
+        byte[] small = createDocument(0, 3);
+        byte[] big = createDocument(1, 500);
+        append(small, 0, small.length);
+        append(big, 0, big.length);
+
+        List<Integer> sizes = new ArrayList<Integer>();
+        try (BsonLogFollower follower = new BsonLogFollower(file, 0, 16, small.length)) {
+            assertThrows(BsonParseException.class, () -> follower.poll(doc -> sizes.add(doc.getString("s").length())));
+        }
+        assertEquals(Arrays.asList(3), sizes);
+    }
+
+    @Test
+    public void testPoll_Truncated() throws IOException {
+        byte[] doc = createDocument(0, 3);
+        append(doc, 0, doc.length);
+
+        try (BsonLogFollower follower = new BsonLogFollower(file)) {
+            follower.poll(d -> { });
+            Files.write(file, new byte[0]);
+            assertThrows(IOException.class, () -> follower.poll(d -> { }));
+        }
+    }
+
+    @Test
+    public void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new BsonLogFollower(file, -1, 64));
+        assertThrows(IllegalArgumentException.class, () -> new BsonLogFollower(file, 0, 4));
+        assertThrows(IllegalArgumentException.class, () -> new BsonLogFollower(file, 0, 16, 4));
+    }
+}
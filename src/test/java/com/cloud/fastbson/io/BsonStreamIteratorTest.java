@@ -0,0 +1,220 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.FastBson;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonReader;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BsonStreamIterator.
+ */
+public class BsonStreamIteratorTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "i": i, "s": "<padding>" }
+     */
+    private byte[] createDocument(int i, int padding) {
+        byte[] str = new byte[padding];
+        Arrays.fill(str, (byte) 'x');
+        ByteBuffer buffer = ByteBuffer.allocate(64 + padding).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put((byte) 0x10);
+        buffer.put("i\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(i);
+
+        buffer.put((byte) 0x02);
+        buffer.put("s\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(padding + 1);
+        buffer.put(str);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private byte[] concat(byte[]... documents) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (byte[] doc : documents) {
+            out.write(doc, 0, doc.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream that returns at most 3 bytes per read, like a pipe.
+     */
+    private InputStream trickle(byte[] data) {
+        return new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    // ==================== Iteration Tests ====================
+
+    @Test
+    public void testIterate_CopyMode() throws IOException {
+        byte[] data = concat(createDocument(0, 1), createDocument(1, 2), createDocument(2, 3));
+
+        try (BsonStreamIterator it = new BsonStreamIterator(trickle(data))) {
+            IndexedBsonDocument first = it.next();
+            IndexedBsonDocument second = it.next();
+            IndexedBsonDocument third = it.next();
+            assertFalse(it.hasNext());
+            assertEquals(3, it.getDocumentCount());
+
+            // Copies stay valid after the iterator moved on
+            assertEquals(0, first.getInt32("i"));
+            assertEquals("xx", second.getString("s"));
+            assertEquals(2, third.getInt32("i"));
+            assertThrows(NoSuchElementException.class, it::next);
+        }
+    }
+
+    @Test
+    public void testIterate_ViewMode() throws IOException {
+        byte[] data = concat(createDocument(0, 1), createDocument(1, 2));
+
+        try (BsonStreamIterator it = new BsonStreamIterator(trickle(data), BsonStreamIterator.Mode.VIEW)) {
+            int count = 0;
+            while (it.hasNext()) {
+                IndexedBsonDocument doc = it.next();
+                assertEquals(count, doc.getInt32("i"));
+                assertEquals(count + 1, doc.getString("s").length());
+                count++;
+            }
+            assertEquals(2, count);
+        }
+    }
+
+    @Test
+    public void testIterate_BufferGrowsForLargeDocument() throws IOException {
+        byte[] data = concat(createDocument(0, 1), createDocument(1, 500), createDocument(2, 1));
+
+        try (BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(data),
+                BsonStreamIterator.Mode.VIEW, 16)) {
+            assertEquals(0, it.next().getInt32("i"));
+            IndexedBsonDocument big = it.next();
+            assertEquals(1, big.getInt32("i"));
+            assertEquals(500, big.getString("s").length());
+            assertEquals(2, it.next().getInt32("i"));
+            assertFalse(it.hasNext());
+        }
+    }
+
+    @Test
+    public void testNextReader_ReusesPooledReader() throws IOException {
+        byte[] data = concat(createDocument(7, 1), createDocument(8, 1));
+
+        try (BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(data))) {
+            BsonReader first = it.nextReader();
+            assertEquals(createDocument(7, 1).length, first.length());
+            BsonDocument doc = FastBson.parse(first);
+            assertEquals(7, doc.getInt32("i"));
+
+            BsonReader second = it.nextReader();
+            assertSame(first, second);
+            assertEquals(0, second.position());
+            assertEquals(8, FastBson.parse(second).getInt32("i"));
+        }
+    }
+
+    @Test
+    public void testStream_Collect() {
+        byte[] data = concat(createDocument(0, 1), createDocument(1, 1), createDocument(2, 1));
+
+        List<Integer> values = new BsonStreamIterator(new ByteArrayInputStream(data)).stream()
+            .map(doc -> doc.getInt32("i"))
+            .collect(Collectors.toList());
+
+        assertEquals(Arrays.asList(0, 1, 2), values);
+    }
+
+    @Test
+    public void testIterate_EmptyStream() {
+        BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(new byte[0]));
+
+        assertFalse(it.hasNext());
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::nextReader);
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testIterate_TruncatedDocument() {
+        byte[] doc = createDocument(0, 5);
+        byte[] data = concat(doc, Arrays.copyOf(doc, doc.length - 2));
+        BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(data));
+
+        assertEquals(0, it.next().getInt32("i"));
+        assertThrows(BsonParseException.class, it::hasNext);
+    }
+
+    @Test
+    public void testIterate_TruncatedHeader() {
+        BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(new byte[]{10, 0}));
+
+        assertThrows(BsonParseException.class, it::hasNext);
+    }
+
+    @Test
+    public void testIterate_InvalidLength() {
+        BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(new byte[]{1, 0, 0, 0, 0}));
+
+        assertThrows(BsonParseException.class, it::next);
+    }
+
+    @Test
+    public void testIterate_LengthAboveDefaultMaximum() {
+        byte[] data = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F, 0};
+        BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(data));
+
+        BsonParseException e = assertThrows(BsonParseException.class, it::hasNext);
+        assertTrue(e.getMessage().contains("exceeds the maximum"));
+    }
+
+    @Test
+    public void testIterate_CustomMaximum() {
+        byte[] small = createDocument(0, 0);
+        byte[] large = createDocument(1, 100);
+        BsonStreamIterator it = new BsonStreamIterator(new ByteArrayInputStream(concat(small, large)),
+            BsonStreamIterator.Mode.COPY, 5, small.length);
+
+        assertEquals(0, it.next().getInt32("i"));
+        assertThrows(BsonParseException.class, it::hasNext);
+    }
+
+    @Test
+    public void testConstructor_InvalidArguments() {
+        InputStream in = new ByteArrayInputStream(new byte[0]);
+
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamIterator(null));
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamIterator(in, null));
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamIterator(in, BsonStreamIterator.Mode.COPY, 4));
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamIterator(in, BsonStreamIterator.Mode.COPY, 16, 4));
+    }
+}
@@ -0,0 +1,259 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.parser.PartialParser;
+import com.cloud.fastbson.reader.BsonInput;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for GzipBsonStream.
+ */
+public class GzipBsonStreamTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "i": i, "s": "<padding>", "k": i * 2 }
+     */
+    private byte[] createDocument(int i, int padding) {
+        byte[] str = new byte[padding];
+        Arrays.fill(str, (byte) ('a' + i % 26));
+        ByteBuffer buffer = ByteBuffer.allocate(64 + padding).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put((byte) 0x10);
+        buffer.put("i\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(i);
+
+        buffer.put((byte) 0x02);
+        buffer.put("s\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(padding + 1);
+        buffer.put(str);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x10);
+        buffer.put("k\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(i * 2);
+
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+            gz.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private byte[] documents(int count, int padding) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (int i = 0; i < count; i++) {
+            byte[] doc = createDocument(i, padding + i % 7);
+            out.write(doc, 0, doc.length);
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream that returns at most 5 bytes per read.
+     */
+    private InputStream trickle(byte[] data) {
+        return new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 5));
+            }
+        };
+    }
+
+    // ==================== Streaming Tests ====================
+
+    @Test
+    public void testNextDocument_RingWrapsAround() throws IOException {
+        byte[] compressed = gzip(documents(200, 10));
+
+        // 100-byte ring with ~30-byte documents: many documents wrap around the ring end
+        try (GzipBsonStream stream = new GzipBsonStream(trickle(compressed), 100)) {
+            int count = 0;
+            BsonInput input;
+            while ((input = stream.nextDocument()) != null) {
+                IndexedBsonDocument doc = IndexedBsonDocument.parseInput(input, 0, input.length());
+                assertEquals(count, doc.getInt32("i"));
+                assertEquals(10 + count % 7, doc.getString("s").length());
+                assertEquals(count * 2, doc.getInt32("k"));
+                count++;
+            }
+            assertEquals(200, count);
+            assertEquals(200, stream.getDocumentCount());
+            assertEquals(100, stream.getRingCapacity());
+            assertNull(stream.nextDocument());
+        }
+    }
+
+    @Test
+    public void testNextPartial_WithPartialParser() throws IOException {
+        byte[] compressed = gzip(documents(500, 20));
+        PartialParser parser = new PartialParser("k");
+
+        try (GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(compressed), 128)) {
+            long sum = 0;
+            Map<String, Object> fields;
+            while ((fields = stream.nextPartial(parser)) != null) {
+                assertEquals(1, fields.size());
+                sum += (Integer) fields.get("k");
+            }
+            assertEquals(2L * (499 * 500 / 2), sum);
+        }
+    }
+
+    @Test
+    public void testNextDocument_DocumentLargerThanRing() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(createDocument(0, 5));
+        out.write(createDocument(1, 1000));
+        out.write(createDocument(2, 5));
+
+        try (GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(gzip(out.toByteArray())), 32)) {
+            BsonInput first = stream.nextDocument();
+            assertEquals(0, IndexedBsonDocument.parseInput(first, 0, first.length()).getInt32("i"));
+            BsonInput big = stream.nextDocument();
+            assertEquals(1000, IndexedBsonDocument.parseInput(big, 0, big.length()).getString("s").length());
+            assertTrue(stream.getRingCapacity() >= big.length());
+            BsonInput last = stream.nextDocument();
+            assertEquals(2, IndexedBsonDocument.parseInput(last, 0, last.length()).getInt32("i"));
+            assertNull(stream.nextDocument());
+        }
+    }
+
+    @Test
+    public void testNextDocument_MultiMemberAndHeaderFields() throws IOException {
+        byte[] first = gzip(documents(3, 4));
+        byte[] second = gzip(documents(2, 4));
+        // Set FNAME and FCOMMENT on the second member
+        ByteArrayOutputStream member = new ByteArrayOutputStream();
+        member.write(second, 0, 3);
+        member.write(second[3] | 8 | 16);
+        member.write(second, 4, 6);
+        member.write("dump.bson\0".getBytes(StandardCharsets.ISO_8859_1));
+        member.write("comment\0".getBytes(StandardCharsets.ISO_8859_1));
+        member.write(second, 10, second.length - 10);
+
+        ByteArrayOutputStream all = new ByteArrayOutputStream();
+        all.write(first);
+        all.write(member.toByteArray());
+
+        try (GzipBsonStream stream = new GzipBsonStream(trickle(all.toByteArray()), 64)) {
+            int count = 0;
+            while (stream.nextDocument() != null) {
+                count++;
+            }
+            assertEquals(5, count);
+        }
+    }
+
+    @Test
+    public void testNextDocument_EmptyStream() throws IOException {
+        try (GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(new byte[0]))) {
+            assertNull(stream.nextDocument());
+        }
+        try (GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(gzip(new byte[0])))) {
+            assertNull(stream.nextDocument());
+        }
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testCorruptTrailer() throws IOException {
+        byte[] compressed = gzip(documents(3, 4));
+        compressed[compressed.length - 8] ^= 0x01;  // CRC
+
+        try (GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(compressed))) {
+            assertThrows(ZipException.class, () -> {
+                while (stream.nextDocument() != null) {
+                    // Drain
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testNotGzip() {
+        GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(documents(1, 4)));
+
+        assertThrows(ZipException.class, stream::nextDocument);
+    }
+
+    @Test
+    public void testTruncatedCompressedStream() throws IOException {
+        byte[] compressed = gzip(documents(50, 4));
+
+        GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(Arrays.copyOf(compressed, compressed.length / 2)));
+        assertThrows(EOFException.class, () -> {
+            while (stream.nextDocument() != null) {
+                // Drain
+            }
+        });
+    }
+
+    @Test
+    public void testTruncatedDocument() throws IOException {
+        byte[] doc = createDocument(0, 4);
+
+        GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(gzip(Arrays.copyOf(doc, doc.length - 1))));
+        assertThrows(BsonParseException.class, stream::nextDocument);
+
+        GzipBsonStream header = new GzipBsonStream(new ByteArrayInputStream(gzip(new byte[]{1, 0})));
+        assertThrows(BsonParseException.class, header::nextDocument);
+    }
+
+    @Test
+    public void testLengthAboveDefaultMaximum() throws IOException {
+        byte[] data = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x7F, 0};
+
+        GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(gzip(data)), 16);
+        BsonParseException e = assertThrows(BsonParseException.class, stream::nextDocument);
+        assertTrue(e.getMessage().contains("exceeds the maximum"));
+        assertEquals(16, stream.getRingCapacity());
+    }
+
+    @Test
+    public void testCustomMaximum() throws IOException {
+        byte[] small = createDocument(0, 0);
+        byte[] large = createDocument(1, 100);
+        ByteArrayOutputStream data = new ByteArrayOutputStream();
+        data.write(small);
+        data.write(large);
+
+        GzipBsonStream stream = new GzipBsonStream(new ByteArrayInputStream(gzip(data.toByteArray())), 8, small.length);
+        assertEquals(small.length, stream.nextDocument().length());
+        assertThrows(BsonParseException.class, stream::nextDocument);
+    }
+
+    @Test
+    public void testConstructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new GzipBsonStream(null));
+        assertThrows(IllegalArgumentException.class, () -> new GzipBsonStream(new ByteArrayInputStream(new byte[0]), 4));
+        assertThrows(IllegalArgumentException.class, () -> new GzipBsonStream(new ByteArrayInputStream(new byte[0]), 16, 4));
+    }
+}
@@ -0,0 +1,260 @@
+package com.cloud.fastbson.io;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for MongoArchiveReader.
+ */
+public class MongoArchiveReaderTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates a document of string fields followed by an optional boolean "EOF" field.
+     */
+    private byte[] createDocument(String[] names, String[] values, Boolean eof) {
+        ByteBuffer buffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        for (int i = 0; i < names.length; i++) {
+            byte[] value = values[i].getBytes(StandardCharsets.UTF_8);
+            buffer.put((byte) 0x02);
+            buffer.put((names[i] + "\0").getBytes(StandardCharsets.UTF_8));
+            buffer.putInt(value.length + 1);
+            buffer.put(value);
+            buffer.put((byte) 0x00);
+        }
+        if (eof != null) {
+            buffer.put((byte) 0x08);
+            buffer.put("EOF\0".getBytes(StandardCharsets.UTF_8));
+            buffer.put((byte) (eof ? 1 : 0));
+            buffer.put((byte) 0x12);
+            buffer.put("CRC\0".getBytes(StandardCharsets.UTF_8));
+            buffer.putLong(0L);
+        }
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Creates: { "i": i, "s": "<padding>" }
+     */
+    private byte[] createRecord(int i, int padding) {
+        byte[] str = new byte[padding];
+        Arrays.fill(str, (byte) 'x');
+        ByteBuffer buffer = ByteBuffer.allocate(32 + padding).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put((byte) 0x10);
+        buffer.put("i\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(i);
+        buffer.put((byte) 0x02);
+        buffer.put("s\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(padding + 1);
+        buffer.put(str);
+        buffer.put((byte) 0x00);
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private static void writeInt(ByteArrayOutputStream out, int value) {
+        out.write(value);
+        out.write(value >>> 8);
+        out.write(value >>> 16);
+        out.write(value >>> 24);
+    }
+
+    private void writeNamespaceHeader(ByteArrayOutputStream out, String db, String coll, boolean eof) throws IOException {
+        out.write(createDocument(new String[]{"db", "collection"}, new String[]{db, coll}, eof));
+    }
+
+    private void writePrelude(ByteArrayOutputStream out) throws IOException {
+        writeInt(out, MongoArchiveReader.MAGIC);
+        out.write(createDocument(new String[]{"version", "server_version"}, new String[]{"0.1", "6.0.4"}, null));
+        out.write(createDocument(new String[]{"db", "collection"}, new String[]{"shop", "orders"}, null));
+        out.write(createDocument(new String[]{"db", "collection"}, new String[]{"shop", "users"}, null));
+        writeInt(out, -1);
+    }
+
+    /**
+     * Two collections, interleaved blocks, then one EOF block per namespace.
+     */
+    private byte[] createArchive(int padding) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writePrelude(out);
+
+        writeNamespaceHeader(out, "shop", "orders", false);
+        out.write(createRecord(0, padding));
+        out.write(createRecord(1, padding));
+        writeInt(out, -1);
+
+        writeNamespaceHeader(out, "shop", "users", false);
+        out.write(createRecord(100, padding));
+        writeInt(out, -1);
+
+        writeNamespaceHeader(out, "shop", "orders", false);
+        out.write(createRecord(2, padding));
+        writeInt(out, -1);
+
+        writeNamespaceHeader(out, "shop", "users", true);
+        writeInt(out, -1);
+        writeNamespaceHeader(out, "shop", "orders", true);
+        writeInt(out, -1);
+        return out.toByteArray();
+    }
+
+    /**
+     * Stream that returns at most 3 bytes per read.
+     */
+    private InputStream trickle(byte[] data) {
+        return new ByteArrayInputStream(data) {
+            @Override
+            public synchronized int read(byte[] b, int off, int len) {
+                return super.read(b, off, Math.min(len, 3));
+            }
+        };
+    }
+
+    // ==================== Demultiplexing Tests ====================
+
+    @Test
+    public void testPrelude() throws IOException {
+        try (MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(createArchive(4)))) {
+            assertEquals("0.1", archive.getHeader().getString("version"));
+            assertEquals(2, archive.getCollectionMetadata().size());
+            assertEquals("users", archive.getCollectionMetadata().get(1).getString("collection"));
+        }
+    }
+
+    @Test
+    public void testNext_InterleavedNamespaces() throws IOException {
+        List<String> seen = new ArrayList<String>();
+        try (MongoArchiveReader archive = new MongoArchiveReader(trickle(createArchive(4)))) {
+            while (archive.next()) {
+                IndexedBsonDocument doc = archive.getDocument();
+                seen.add(archive.getNamespace() + ":" + doc.getInt32("i"));
+            }
+            assertEquals(Arrays.asList("shop.users", "shop.orders"), archive.getCompletedNamespaces());
+            assertFalse(archive.next());
+            assertThrows(IllegalStateException.class, archive::getDocument);
+        }
+        assertEquals(Arrays.asList("shop.orders:0", "shop.orders:1", "shop.users:100", "shop.orders:2"), seen);
+    }
+
+    @Test
+    public void testNext_DatabaseAndCollection() throws IOException {
+        try (MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(createArchive(4)))) {
+            assertTrue(archive.next());
+            assertEquals("shop", archive.getDatabase());
+            assertEquals("orders", archive.getCollection());
+            archive.next();
+            archive.next();
+            assertEquals("users", archive.getCollection());
+        }
+    }
+
+    @Test
+    public void testNext_DocumentLargerThanInitialBuffer() throws IOException {
+        try (MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(createArchive(40000)))) {
+            int count = 0;
+            while (archive.next()) {
+                assertEquals(40000, archive.getDocument().getString("s").length());
+                count++;
+            }
+            assertEquals(4, count);
+        }
+    }
+
+    @Test
+    public void testNext_EmptyBody() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writePrelude(out);
+
+        try (MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(out.toByteArray()))) {
+            assertFalse(archive.next());
+            assertTrue(archive.getCompletedNamespaces().isEmpty());
+        }
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testBadMagic() {
+        byte[] archive = new byte[]{1, 2, 3, 4, 5, 0, 0, 0, 0};
+        assertThrows(BsonParseException.class, () -> new MongoArchiveReader(new ByteArrayInputStream(archive)));
+        assertThrows(IllegalArgumentException.class, () -> new MongoArchiveReader(null));
+    }
+
+    @Test
+    public void testLengthAboveDefaultMaximum() {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writeInt(out, MongoArchiveReader.MAGIC);
+        writeInt(out, Integer.MAX_VALUE);
+
+        BsonParseException e = assertThrows(BsonParseException.class,
+            () -> new MongoArchiveReader(new ByteArrayInputStream(out.toByteArray())));
+        assertTrue(e.getMessage().contains("exceeds the maximum"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new MongoArchiveReader(new ByteArrayInputStream(out.toByteArray()), 4));
+    }
+
+    @Test
+    public void testCustomMaximum() throws IOException {
+        byte[] full = createArchive(1000);
+        int recordLength = createRecord(0, 1000).length;
+
+        try (MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(full), recordLength)) {
+            int count = 0;
+            while (archive.next()) {
+                count++;
+            }
+            assertEquals(4, count);
+        }
+
+        MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(full), recordLength - 1);
+        assertThrows(BsonParseException.class, archive::next);
+    }
+
+    @Test
+    public void testTerminatorAfterLastBlock() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(createArchive(4));
+        writeInt(out, -1);
+
+        MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(out.toByteArray()));
+        assertThrows(BsonParseException.class, () -> {
+            while (archive.next()) {
+                // Drain
+            }
+        });
+    }
+
+    @Test
+    public void testTruncatedArchive() throws IOException {
+        byte[] full = createArchive(4);
+        MongoArchiveReader archive = new MongoArchiveReader(new ByteArrayInputStream(Arrays.copyOf(full, full.length - 10)));
+
+        assertThrows(BsonParseException.class, () -> {
+            while (archive.next()) {
+                // Drain
+            }
+        });
+    }
+}
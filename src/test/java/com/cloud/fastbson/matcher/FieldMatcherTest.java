@@ -1,9 +1,12 @@
 package com.cloud.fastbson.matcher;
 
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteSlice;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
@@ -398,6 +401,75 @@ public class FieldMatcherTest {
         assertFalse(matcher.matches("名前"));
     }
 
+    // ==================== 字节级匹配测试 ====================
+
+    private static ByteSlice slice(String name) {
+        // 在字段名前后填充其他字节，验证只比较切片范围
+        byte[] bytes = ("xx" + name + "\0yy").getBytes(StandardCharsets.UTF_8);
+        return new ByteSlice().set(BsonInput.wrap(bytes), 2, name.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    @Test
+    public void testIndexOf_SmallFieldSet() {
+        // Arrange
+        FieldMatcher matcher = new FieldMatcher("name", "nick", "age", "姓名");
+
+        // Act & Assert
+        assertEquals(0, matcher.indexOf(slice("name")));
+        assertEquals(1, matcher.indexOf(slice("nick")));
+        assertEquals(2, matcher.indexOf(slice("age")));
+        assertEquals(3, matcher.indexOf(slice("姓名")));
+        assertEquals(-1, matcher.indexOf(slice("nam")));
+        assertEquals(-1, matcher.indexOf(slice("nice")));
+        assertEquals(-1, matcher.indexOf(slice("")));
+        assertEquals(-1, matcher.indexOf(null));
+        assertEquals("age", matcher.getTargetField(2));
+    }
+
+    @Test
+    public void testIndexOf_LargeFieldSet() {
+        // Arrange - 200 个字段，同长度、同首尾字节的字段会落入同一哈希槽
+        String[] fields = new String[200];
+        for (int i = 0; i < fields.length; i++) {
+            fields[i] = "field" + i;
+        }
+        FieldMatcher matcher = new FieldMatcher(fields);
+
+        // Act & Assert
+        assertFalse(matcher.isUsingArraySearch());
+        for (int i = 0; i < fields.length; i++) {
+            assertEquals(i, matcher.indexOf(slice(fields[i])));
+        }
+        assertEquals(-1, matcher.indexOf(slice("field200")));
+        assertEquals(-1, matcher.indexOf(slice("fielda")));
+        assertEquals(-1, matcher.indexOf(slice("")));
+    }
+
+    @Test
+    public void testIndexOf_EmptyFieldName() {
+        // Arrange
+        FieldMatcher small = new FieldMatcher("", "a");
+        FieldMatcher large = new FieldMatcher("", "a", "b", "c", "d", "e", "f", "g", "h", "i");
+
+        // Act & Assert
+        assertEquals(0, small.indexOf(slice("")));
+        assertEquals(0, large.indexOf(slice("")));
+        assertEquals(9, large.indexOf(slice("i")));
+    }
+
+    @Test
+    public void testIndexOf_DoesNotUseFieldNamePool() {
+        // Arrange
+        FieldMatcher matcher = new FieldMatcher("name");
+        int poolSize = FieldMatcher.getFieldNamePoolSize();
+
+        // Act
+        matcher.indexOf(slice("other"));
+
+        // Assert - 字节级匹配不会内部化被跳过的字段名
+        assertEquals(poolSize, FieldMatcher.getFieldNamePoolSize());
+    }
+
     // ==================== 性能相关测试 ====================
 
     @Test
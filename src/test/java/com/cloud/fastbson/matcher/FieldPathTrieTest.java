@@ -0,0 +1,99 @@
+package com.cloud.fastbson.matcher;
+
+import com.cloud.fastbson.reader.BsonInput;
+import com.cloud.fastbson.reader.ByteSlice;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * FieldPathTrie 单元测试
+ *
+ * @author FastBSON
+ * @since 1.0.0
+ */
+public class FieldPathTrieTest {
+
+    // ==================== 构建测试 ====================
+
+    @Test
+    public void testFlatTargets() {
+        FieldPathTrie trie = new FieldPathTrie(Arrays.asList("name", "age", "name"));
+
+        assertEquals(2, trie.getTargetCount());
+        assertFalse(trie.isNested());
+        FieldPathTrie.Node name = trie.getRoot().child("name");
+        assertTrue(name.isTarget());
+        assertFalse(name.hasChildren());
+        assertEquals("name", name.getPath());
+        assertNull(trie.getRoot().child("email"));
+        assertEquals(2, trie.getRoot().getTargetIds().length);
+    }
+
+    @Test
+    public void testNestedTargets() {
+        FieldPathTrie trie = new FieldPathTrie(Arrays.asList("address.city", "address.zip", "payload.meta.ts"));
+
+        assertTrue(trie.isNested());
+        FieldPathTrie.Node address = trie.getRoot().child("address");
+        assertFalse(address.isTarget());
+        assertTrue(address.hasChildren());
+        assertEquals(2, address.getTargetIds().length);
+        assertEquals("address.city", address.child("city").getPath());
+
+        FieldPathTrie.Node meta = trie.getRoot().child("payload").child("meta");
+        assertEquals("payload.meta.ts", meta.child("ts").getPath());
+        assertEquals(1, meta.getTargetIds().length);
+    }
+
+    @Test
+    public void testLiteralDottedNames() {
+        FieldPathTrie trie = new FieldPathTrie(Collections.singletonList("a.b.c"));
+
+        // 每种连续段组合都可匹配同一目标
+        assertEquals("a.b.c", trie.getRoot().child("a.b.c").getPath());
+        assertEquals("a.b.c", trie.getRoot().child("a").child("b.c").getPath());
+        assertEquals("a.b.c", trie.getRoot().child("a.b").child("c").getPath());
+        assertEquals("a.b.c", trie.getRoot().child("a").child("b").child("c").getPath());
+        assertEquals(0, trie.getRoot().child("a").child("b").child("c").getTargetId());
+    }
+
+    @Test
+    public void testTargetAndPrefix() {
+        FieldPathTrie trie = new FieldPathTrie(Arrays.asList("address", "address.city"));
+
+        FieldPathTrie.Node address = trie.getRoot().child("address");
+        assertTrue(address.isTarget());
+        assertTrue(address.hasChildren());
+        assertEquals(2, address.getTargetIds().length);
+        assertEquals("address", trie.getTarget(address.getTargetId()));
+    }
+
+    @Test
+    public void testChild_ByteSlice() {
+        FieldPathTrie trie = new FieldPathTrie(Arrays.asList("address.city", "name"));
+        byte[] bytes = "addressnamecity".getBytes(StandardCharsets.UTF_8);
+        BsonInput input = BsonInput.wrap(bytes);
+
+        FieldPathTrie.Node address = trie.getRoot().child(new ByteSlice().set(input, 0, 7));
+        assertSame(trie.getRoot().child("address"), address);
+        assertSame(trie.getRoot().child("name"), trie.getRoot().child(new ByteSlice().set(input, 7, 4)));
+        assertEquals("address.city", address.child(new ByteSlice().set(input, 11, 4)).getPath());
+        assertNull(address.child(new ByteSlice().set(input, 7, 4)));
+        assertNull(address.child("city").child(new ByteSlice().set(input, 0, 7)));
+    }
+
+    // ==================== 异常测试 ====================
+
+    @Test
+    public void testInvalidTargets() {
+        assertThrows(IllegalArgumentException.class, () -> new FieldPathTrie(null));
+        assertThrows(IllegalArgumentException.class, () -> new FieldPathTrie(Collections.<String>emptyList()));
+        assertThrows(IllegalArgumentException.class, () -> new FieldPathTrie(Arrays.asList("a", null)));
+        assertThrows(IllegalArgumentException.class, () -> new FieldPathTrie(Arrays.asList("a", "")));
+    }
+}
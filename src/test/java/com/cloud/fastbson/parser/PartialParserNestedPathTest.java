@@ -0,0 +1,185 @@
+package com.cloud.fastbson.parser;
+
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PartialParser 嵌套路径（点号路径）单元测试
+ *
+ * @author FastBSON
+ * @since 1.0.0
+ */
+public class PartialParserNestedPathTest {
+
+    // ==================== 辅助方法 ====================
+
+    private static void putString(ByteBuffer buffer, String name, String value) {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        buffer.put(BsonType.STRING).put((name + "\0").getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(bytes.length + 1).put(bytes).put((byte) 0);
+    }
+
+    private static void putInt32(ByteBuffer buffer, String name, int value) {
+        buffer.put(BsonType.INT32).put((name + "\0").getBytes(StandardCharsets.UTF_8)).putInt(value);
+    }
+
+    private static int startContainer(ByteBuffer buffer, byte type, String name) {
+        buffer.put(type).put((name + "\0").getBytes(StandardCharsets.UTF_8));
+        int start = buffer.position();
+        buffer.putInt(0);
+        return start;
+    }
+
+    private static void endContainer(ByteBuffer buffer, int start) {
+        buffer.put((byte) 0);
+        buffer.putInt(start, buffer.position() - start);
+    }
+
+    /**
+     * 创建: { "name": "Alice",
+     *         "address": { "street": "Main", "city": "Paris", "geo": { "lat": 48, "lng": 2 } },
+     *         "payload": { "meta": { "ts": 123 }, "body": "x" },
+     *         "tags": ["a", "b"],
+     *         "field.name": "dot",
+     *         "last": 1 }
+     */
+    private byte[] createDocument() {
+        ByteBuffer buffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        putString(buffer, "name", "Alice");
+
+        int address = startContainer(buffer, BsonType.DOCUMENT, "address");
+        putString(buffer, "street", "Main");
+        putString(buffer, "city", "Paris");
+        int geo = startContainer(buffer, BsonType.DOCUMENT, "geo");
+        putInt32(buffer, "lat", 48);
+        putInt32(buffer, "lng", 2);
+        endContainer(buffer, geo);
+        endContainer(buffer, address);
+
+        int payload = startContainer(buffer, BsonType.DOCUMENT, "payload");
+        int meta = startContainer(buffer, BsonType.DOCUMENT, "meta");
+        putInt32(buffer, "ts", 123);
+        endContainer(buffer, meta);
+        putString(buffer, "body", "x");
+        endContainer(buffer, payload);
+
+        int tags = startContainer(buffer, BsonType.ARRAY, "tags");
+        putString(buffer, "0", "a");
+        putString(buffer, "1", "b");
+        endContainer(buffer, tags);
+
+        putString(buffer, "field.name", "dot");
+        putInt32(buffer, "last", 1);
+
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+
+    // ==================== 嵌套路径测试 ====================
+
+    @Test
+    public void testParse_NestedPaths() {
+        PartialParser parser = new PartialParser("address.city", "payload.meta.ts", "name");
+
+        Map<String, Object> result = parser.parse(createDocument());
+
+        assertEquals(3, result.size());
+        assertEquals("Paris", result.get("address.city"));
+        assertEquals(123, result.get("payload.meta.ts"));
+        assertEquals("Alice", result.get("name"));
+    }
+
+    @Test
+    public void testParse_ArrayIndexPath() {
+        PartialParser parser = new PartialParser("tags.1", "address.geo.lng");
+
+        Map<String, Object> result = parser.parse(createDocument());
+
+        assertEquals("b", result.get("tags.1"));
+        assertEquals(2, result.get("address.geo.lng"));
+    }
+
+    @Test
+    public void testParse_LiteralDottedFieldName() {
+        PartialParser parser = new PartialParser("field.name");
+
+        assertEquals("dot", parser.parse(createDocument()).get("field.name"));
+    }
+
+    @Test
+    public void testParse_MissingPath() {
+        PartialParser parser = new PartialParser("address.country", "name.first", "nothing.here");
+
+        Map<String, Object> result = parser.parse(createDocument());
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void testParse_TargetThatIsAlsoPrefix() {
+        PartialParser parser = new PartialParser("address", "address.geo.lat", "tags", "tags.0");
+
+        Map<String, Object> result = parser.parse(createDocument());
+
+        assertEquals(4, result.size());
+        assertTrue(result.get("address") instanceof Map);
+        assertEquals("Paris", ((Map<?, ?>) result.get("address")).get("city"));
+        assertEquals(48, result.get("address.geo.lat"));
+        assertEquals(2, ((List<?>) result.get("tags")).size());
+        assertEquals("a", result.get("tags.0"));
+    }
+
+    @Test
+    public void testParse_EarlyExitPerLevel() {
+        byte[] bson = createDocument();
+        // 破坏 address.city 的字符串长度：只有在读到它时才会失败
+        int city = indexOf(bson, "city\0".getBytes(StandardCharsets.UTF_8)) + 5;
+        ByteBuffer.wrap(bson).order(ByteOrder.LITTLE_ENDIAN).putInt(city, 0x7FFFFFFF);
+
+        PartialParser parser = new PartialParser("address.street", "payload.meta.ts");
+        Map<String, Object> result = parser.parse(bson);
+
+        // 找到 address.street 后立即跳出 address 子文档
+        assertEquals("Main", result.get("address.street"));
+        assertEquals(123, result.get("payload.meta.ts"));
+
+        parser.setEarlyExit(false);
+        assertThrows(RuntimeException.class, () -> parser.parse(bson));
+    }
+
+    @Test
+    public void testParse_EarlyExitDisabled() {
+        PartialParser parser = new PartialParser("address.city", "last");
+        parser.setEarlyExit(false);
+
+        Map<String, Object> result = parser.parse(createDocument());
+
+        assertEquals("Paris", result.get("address.city"));
+        assertEquals(1, result.get("last"));
+    }
+}
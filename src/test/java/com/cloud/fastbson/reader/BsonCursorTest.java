@@ -0,0 +1,237 @@
+package com.cloud.fastbson.reader;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.handler.TypeHandler;
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BsonCursor.
+ */
+public class BsonCursorTest {
+
+    private static final byte[] NAME = "name".getBytes(StandardCharsets.UTF_8);
+    private static final byte[] AGE = "age".getBytes(StandardCharsets.UTF_8);
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "name": "Alice", "age": 30, "addr": { "city": "Paris", "zip": 75001 },
+     *            "tags": ["a", "b"], "score": 9.5, "big": 5L, "ok": true, "dt": 7L, "last": 1 }
+     */
+    private byte[] createBsonDocument() {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put(BsonType.STRING).put("name\0".getBytes(StandardCharsets.UTF_8)).putInt(6)
+            .put("Alice\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.INT32).put("age\0".getBytes(StandardCharsets.UTF_8)).putInt(30);
+
+        buffer.put(BsonType.DOCUMENT).put("addr\0".getBytes(StandardCharsets.UTF_8));
+        int addrStart = buffer.position();
+        buffer.putInt(0);
+        buffer.put(BsonType.STRING).put("city\0".getBytes(StandardCharsets.UTF_8)).putInt(6)
+            .put("Paris\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.INT32).put("zip\0".getBytes(StandardCharsets.UTF_8)).putInt(75001);
+        buffer.put((byte) 0);
+        buffer.putInt(addrStart, buffer.position() - addrStart);
+
+        buffer.put(BsonType.ARRAY).put("tags\0".getBytes(StandardCharsets.UTF_8));
+        int tagsStart = buffer.position();
+        buffer.putInt(0);
+        buffer.put(BsonType.STRING).put("0\0".getBytes(StandardCharsets.UTF_8)).putInt(2)
+            .put("a\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.STRING).put("1\0".getBytes(StandardCharsets.UTF_8)).putInt(2)
+            .put("b\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put((byte) 0);
+        buffer.putInt(tagsStart, buffer.position() - tagsStart);
+
+        buffer.put(BsonType.DOUBLE).put("score\0".getBytes(StandardCharsets.UTF_8)).putDouble(9.5);
+        buffer.put(BsonType.INT64).put("big\0".getBytes(StandardCharsets.UTF_8)).putLong(5L);
+        buffer.put(BsonType.BOOLEAN).put("ok\0".getBytes(StandardCharsets.UTF_8)).put((byte) 1);
+        buffer.put(BsonType.DATE_TIME).put("dt\0".getBytes(StandardCharsets.UTF_8)).putLong(7L);
+        buffer.put(BsonType.INT32).put("last\0".getBytes(StandardCharsets.UTF_8)).putInt(1);
+
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    // ==================== Navigation Tests ====================
+
+    @Test
+    public void testNext_SkipsUnreadValues() {
+        BsonCursor cursor = new BsonCursor(createBsonDocument());
+        StringBuilder names = new StringBuilder();
+
+        while (cursor.next()) {
+            names.append(cursor.currentName()).append(',');
+        }
+
+        assertEquals("name,age,addr,tags,score,big,ok,dt,last,", names.toString());
+        assertEquals(BsonType.END_OF_DOCUMENT, cursor.currentType());
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testReadValues() {
+        BsonCursor cursor = new BsonCursor(createBsonDocument());
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.currentNameEquals(NAME));
+        assertFalse(cursor.currentNameEquals(AGE));
+        assertEquals(BsonType.STRING, cursor.currentType());
+        assertEquals("Alice", cursor.readString());
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.currentNameEquals(AGE));
+        assertEquals(30, cursor.readInt32());
+
+        cursor.next();  // addr
+        cursor.next();  // tags
+        cursor.next();
+        assertEquals(9.5, cursor.readDouble(), 0.0);
+        cursor.next();
+        assertEquals(5L, cursor.readInt64());
+        cursor.next();
+        assertTrue(cursor.readBoolean());
+        cursor.next();
+        assertEquals(7L, cursor.readDateTime());
+        cursor.next();
+        cursor.skip();
+        assertFalse(cursor.next());
+    }
+
+    @Test
+    public void testStepIntoAndOut() {
+        BsonCursor cursor = new BsonCursor(createBsonDocument());
+        assertEquals(1, cursor.depth());
+
+        cursor.next();
+        cursor.next();
+        cursor.next();
+        assertEquals(BsonType.DOCUMENT, cursor.currentType());
+        cursor.stepInto();
+        assertEquals(2, cursor.depth());
+
+        assertTrue(cursor.next());
+        assertEquals("Paris", cursor.readStringSlice().toString());
+        // Leave before reaching "zip"
+        cursor.stepOut();
+        assertEquals(1, cursor.depth());
+
+        assertTrue(cursor.next());
+        assertEquals("tags", cursor.currentName().toString());
+        cursor.stepInto();
+        assertTrue(cursor.next());
+        assertEquals("a", cursor.readString());
+        assertTrue(cursor.next());
+        assertEquals("b", cursor.readString());
+        assertFalse(cursor.next());
+        cursor.stepOut();
+
+        assertTrue(cursor.next());
+        assertEquals(9.5, cursor.readDouble(), 0.0);
+    }
+
+    @Test
+    public void testStepOutOfRoot() {
+        byte[] bson = createBsonDocument();
+        byte[] twoDocs = Arrays.copyOf(bson, bson.length * 2);
+        System.arraycopy(bson, 0, twoDocs, bson.length, bson.length);
+        BsonReader reader = new BsonReader(twoDocs);
+
+        BsonCursor first = new BsonCursor(reader);
+        first.next();
+        first.stepOut();
+        assertEquals(0, first.depth());
+        assertEquals(bson.length, reader.position());
+        assertThrows(IllegalStateException.class, first::next);
+        assertThrows(IllegalStateException.class, first::stepOut);
+
+        BsonCursor second = new BsonCursor(reader);
+        second.next();
+        assertEquals("Alice", second.readString());
+    }
+
+    @Test
+    public void testReadValue_WithTypeHandler() {
+        BsonCursor cursor = new BsonCursor(createBsonDocument());
+        TypeHandler handler = new TypeHandler();
+
+        cursor.next();
+        assertEquals("Alice", cursor.readValue(handler));
+        cursor.next();
+        assertEquals(30, cursor.readValue(handler));
+    }
+
+    @Test
+    public void testValueReader_CustomDecoder() {
+        BsonCursor cursor = new BsonCursor(createBsonDocument());
+
+        cursor.next();
+        BsonReader reader = cursor.valueReader();
+        assertEquals(6, reader.readInt32());
+        reader.skip(6);
+        assertThrows(IllegalStateException.class, cursor::valueReader);
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.currentNameEquals(AGE));
+        assertEquals(30, cursor.readInt32());
+    }
+
+    @Test
+    public void testDirectBuffer() {
+        byte[] bson = createBsonDocument();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bson.length);
+        direct.put(bson).flip();
+        BsonCursor cursor = new BsonCursor(BsonReader.wrap(direct));
+
+        assertTrue(cursor.next());
+        assertTrue(cursor.currentNameEquals(NAME));
+        assertEquals("Alice", cursor.readStringSlice().toString());
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testStateErrors() {
+        BsonCursor cursor = new BsonCursor(createBsonDocument());
+
+        assertThrows(IllegalStateException.class, cursor::currentName);
+        assertThrows(IllegalStateException.class, cursor::readInt32);
+
+        cursor.next();
+        assertThrows(IllegalArgumentException.class, cursor::readInt32);
+        assertThrows(IllegalArgumentException.class, cursor::stepInto);
+        cursor.skip();
+        assertThrows(IllegalStateException.class, cursor::readString);
+        assertThrows(IllegalStateException.class, cursor::skip);
+    }
+
+    @Test
+    public void testMalformedInput() {
+        assertThrows(BsonParseException.class, () -> new BsonCursor(new byte[]{2, 0, 0, 0, 0}));
+
+        BsonCursor cursor = new BsonCursor(new byte[]{9, 0, 0, 0, 0x10, 'a', 'b', 'c', 'd'});
+        assertThrows(BsonParseException.class, cursor::next);
+    }
+
+    @Test
+    public void testMissingTerminator_EndsAtDeclaredLength() {
+        BsonCursor cursor = new BsonCursor(new byte[]{10, 0, 0, 0, 0x10, 'a', 0, 1, 0, 0, 0, 0x10});
+
+        assertTrue(cursor.next());
+        assertEquals(1, cursor.readInt32());
+        assertFalse(cursor.next());
+        assertFalse(new BsonCursor(new byte[]{4, 0, 0, 0}).next());
+    }
+}
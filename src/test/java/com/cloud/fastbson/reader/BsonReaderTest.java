@@ -80,6 +80,50 @@ public class BsonReaderTest {
         assertThrows(IllegalArgumentException.class, () -> reader.reset(null));
     }
 
+    @Test
+    public void testReset_WithLength() {
+        // Arrange
+        byte[] buffer = new byte[]{1, 0, 0, 0, 2, 0, 0, 0};
+        BsonReader reader = new BsonReader(new byte[5]);
+
+        // Act
+        reader.reset(buffer, 4);
+
+        // Assert
+        assertEquals(4, reader.length());
+        assertSame(buffer, reader.getBuffer());
+        assertEquals(1, reader.readInt32());
+        assertTrue(reader.isAtEnd());
+        assertThrows(IllegalArgumentException.class, () -> reader.readByte());
+        assertThrows(IllegalArgumentException.class, () -> reader.reset(buffer, 9));
+        assertThrows(IllegalArgumentException.class, () -> reader.reset(buffer, -1));
+        assertThrows(IllegalArgumentException.class, () -> reader.reset(null, 0));
+    }
+
+    @Test
+    public void testReset_OntoDifferentArrayReplacesInput() {
+        // Arrange
+        byte[] first = new byte[]{1, 0, 0, 0};
+        byte[] second = new byte[]{2, 0, 0, 0, 3};
+        BsonReader reader = new BsonReader(first);
+        BsonInput firstInput = reader.getInput();
+
+        // Act
+        reader.reset(second, 4);
+
+        // Assert
+        BsonInput input = reader.getInput();
+        assertNotSame(firstInput, input);
+        assertSame(second, input.array());
+        assertEquals(2, input.getInt32(0));
+
+        reader.reset(second);
+        assertSame(input, reader.getInput());
+        reader.resetInput(new ByteBufferBsonInput(ByteBuffer.wrap(first)));
+        reader.reset(second, 4);
+        assertSame(second, reader.getInput().array());
+    }
+
     @Test
     public void testPosition_GetAndSet() {
         // Arrange
@@ -538,4 +582,48 @@ public class BsonReaderTest {
         assertEquals(0x42, reader.readByte());
         assertEquals("test", reader.readCString());
     }
+
+    @Test
+    public void testTrustedMode_ReadsSameValues() {
+        ByteBuffer buffer = ByteBuffer.allocate(32).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(7).putLong(1L << 40).putDouble(2.5).put((byte) 3);
+        buffer.putInt(3).put("hi\0".getBytes(StandardCharsets.UTF_8));
+        BsonReader reader = new BsonReader(buffer.array());
+
+        assertFalse(reader.isTrusted());
+        reader.setTrusted(true);
+        assertTrue(reader.isTrusted());
+
+        assertEquals(7, reader.readInt32());
+        assertEquals(1L << 40, reader.readInt64());
+        assertEquals(2.5, reader.readDouble(), 0.0);
+        assertEquals(3, reader.peekByte());
+        assertEquals(3, reader.readByte());
+        assertEquals("hi", reader.readString());
+        reader.skip(2);
+        assertArrayEquals(new byte[]{0, 0}, reader.readBytes(2));
+    }
+
+    @Test
+    public void testTrustedMode_SkipsUnderflowCheck() {
+        // Logical length 2 inside a larger buffer: checked mode rejects, trusted mode reads on
+        BsonReader reader = new BsonReader(new byte[8]);
+        reader.reset(createInt32Bytes(42), 2);
+        assertThrows(IllegalArgumentException.class, reader::readInt32);
+
+        reader.setTrusted(true);
+        reader.reset(createInt32Bytes(42), 2);
+        assertEquals(42, reader.readInt32());
+    }
+
+    @Test
+    public void testTrustedMode_KeptAcrossReset() {
+        BsonReader reader = new BsonReader(new byte[4]);
+        reader.setTrusted(true);
+
+        reader.reset(new byte[4]);
+        assertTrue(reader.isTrusted());
+        reader.resetInput(new ByteArrayBsonInput(new byte[4]));
+        assertTrue(reader.isTrusted());
+    }
 }
@@ -0,0 +1,175 @@
+package com.cloud.fastbson.reader;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BsonInput implementations and ByteBuffer-backed BsonReader.
+ */
+public class ByteBufferBsonInputTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Writes int32 42, int64 -7, double 2.5, C-string "key" and BSON string "héllo".
+     */
+    private ByteBuffer fill(ByteBuffer buffer) {
+        buffer.order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(42);
+        buffer.putLong(-7L);
+        buffer.putDouble(2.5);
+        buffer.put("key\0".getBytes(StandardCharsets.UTF_8));
+        byte[] str = "héllo".getBytes(StandardCharsets.UTF_8);
+        buffer.putInt(str.length + 1);
+        buffer.put(str);
+        buffer.put((byte) 0);
+        buffer.flip();
+        return buffer;
+    }
+
+    // ==================== BsonInput Tests ====================
+
+    @Test
+    public void testWrap_ByteArray() {
+        ByteBuffer source = fill(ByteBuffer.allocate(64));
+        byte[] data = new byte[source.remaining()];
+        source.get(data);
+
+        BsonInput input = BsonInput.wrap(data);
+
+        assertSame(data, input.array());
+        assertEquals(data.length, input.length());
+        assertEquals(42, input.getInt32(0));
+        assertEquals(-7L, input.getInt64(4));
+        assertEquals(2.5, input.getDouble(12), 0.0);
+        assertEquals(23, input.indexOf((byte) 0, 20));
+        assertEquals("key", input.getString(20, 3));
+        assertEquals(-1, input.indexOf((byte) 0x7F, 0));
+    }
+
+    @Test
+    public void testWrap_DirectBuffer() {
+        ByteBuffer source = fill(ByteBuffer.allocateDirect(64));
+
+        BsonInput input = BsonInput.wrap(source);
+
+        assertNull(input.array());
+        assertEquals(source.remaining(), input.length());
+        assertEquals(42, input.getInt32(0));
+        assertEquals(-7L, input.getInt64(4));
+        assertEquals(2.5, input.getDouble(12), 0.0);
+        assertEquals((byte) 'k', input.getByte(20));
+        assertEquals("key", input.getString(20, 3));
+        assertEquals("héllo", input.getString(28, 6));
+
+        byte[] copy = new byte[3];
+        input.getBytes(20, copy, 0, 3);
+        assertArrayEquals("key".getBytes(StandardCharsets.UTF_8), copy);
+    }
+
+    @Test
+    public void testWrap_BigEndianBufferIsReadLittleEndian() {
+        ByteBuffer source = fill(ByteBuffer.allocate(64));
+        source.order(ByteOrder.BIG_ENDIAN);
+
+        BsonInput input = BsonInput.wrap(source);
+
+        assertEquals(42, input.getInt32(0));
+        // Source buffer state must be untouched
+        assertEquals(ByteOrder.BIG_ENDIAN, source.order());
+        assertEquals(0, source.position());
+    }
+
+    @Test
+    public void testWrap_BufferWithPositionAndArrayOffset() {
+        ByteBuffer backing = ByteBuffer.allocate(80);
+        backing.position(8);
+        ByteBuffer sliced = backing.slice();  // arrayOffset = 8
+        fill(sliced);
+        sliced.position(4);  // Start at the int64
+
+        BsonInput input = BsonInput.wrap(sliced);
+
+        assertEquals(-7L, input.getInt64(0));
+        assertEquals("key", input.getString(16, 3));
+        byte[] copy = new byte[3];
+        input.getBytes(16, copy, 0, 3);
+        assertArrayEquals("key".getBytes(StandardCharsets.UTF_8), copy);
+    }
+
+    @Test
+    public void testWrap_Null() {
+        assertThrows(IllegalArgumentException.class, () -> BsonInput.wrap((byte[]) null));
+        assertThrows(IllegalArgumentException.class, () -> BsonInput.wrap((ByteBuffer) null));
+    }
+
+    // ==================== BsonReader over ByteBuffer Tests ====================
+
+    @Test
+    public void testReader_DirectBuffer() {
+        ByteBuffer source = fill(ByteBuffer.allocateDirect(64));
+        BsonReader reader = BsonReader.wrap(source);
+
+        assertEquals(source.remaining(), reader.length());
+        assertEquals(42, reader.readInt32());
+        assertEquals(-7L, reader.readInt64());
+        assertEquals(2.5, reader.readDouble(), 0.0);
+        assertEquals((byte) 'k', reader.peekByte());
+        assertEquals("key", reader.readCString());
+        assertEquals("héllo", reader.readString());
+        assertTrue(reader.isAtEnd());
+        assertThrows(IllegalArgumentException.class, () -> reader.readByte());
+    }
+
+    @Test
+    public void testReader_DirectBuffer_ReadBytesAndSkip() {
+        ByteBuffer source = fill(ByteBuffer.allocateDirect(64));
+        BsonReader reader = BsonReader.wrap(source);
+
+        reader.skip(20);
+        assertArrayEquals("key".getBytes(StandardCharsets.UTF_8), reader.readBytes(3));
+        assertEquals(0, reader.readByte());
+        assertEquals(24, reader.position());
+    }
+
+    @Test
+    public void testReader_DirectBuffer_CStringWithoutTerminator() {
+        ByteBuffer source = ByteBuffer.allocateDirect(3);
+        source.put((byte) 'a').put((byte) 'b').put((byte) 'c').flip();
+        BsonReader reader = BsonReader.wrap(source);
+
+        assertThrows(IllegalArgumentException.class, () -> reader.readCString());
+        assertTrue(reader.isAtEnd());
+    }
+
+    @Test
+    public void testReader_GetBufferOnDirectBuffer() {
+        BsonReader reader = BsonReader.wrap(fill(ByteBuffer.allocateDirect(64)));
+
+        assertThrows(UnsupportedOperationException.class, () -> reader.getBuffer());
+        assertNotNull(reader.getInput());
+    }
+
+    @Test
+    public void testReader_ResetBetweenArrayAndBuffer() {
+        ByteBuffer source = fill(ByteBuffer.allocateDirect(64));
+        byte[] array = new byte[]{1, 0, 0, 0};
+        BsonReader reader = new BsonReader(array);
+        assertSame(array, reader.getInput().array());
+
+        reader.resetInput(BsonInput.wrap(source));
+        assertEquals(42, reader.readInt32());
+
+        reader.reset(array);
+        assertSame(array, reader.getBuffer());
+        assertSame(array, reader.getInput().array());
+        assertEquals(1, reader.readInt32());
+
+        assertThrows(IllegalArgumentException.class, () -> reader.resetInput(null));
+    }
+}
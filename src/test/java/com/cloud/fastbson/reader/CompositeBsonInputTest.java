@@ -0,0 +1,222 @@
+package com.cloud.fastbson.reader;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.parser.PartialParser;
+import com.cloud.fastbson.skipper.ValueSkipper;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for CompositeBsonInput (documents split across several buffers).
+ */
+public class CompositeBsonInputTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "name": "héllo", "n": 7, "big": 1L << 40, "d": 1.5, "sub": { "x": 1 }, "arr": [1, 2], "last": "z" }
+     */
+    private byte[] createBsonDocument() {
+        ByteBuffer buffer = ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        byte[] str = "héllo".getBytes(StandardCharsets.UTF_8);
+        buffer.put((byte) 0x02);
+        buffer.put("name\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(str.length + 1);
+        buffer.put(str);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x10);
+        buffer.put("n\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(7);
+
+        buffer.put((byte) 0x12);
+        buffer.put("big\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putLong(1L << 40);
+
+        buffer.put((byte) 0x01);
+        buffer.put("d\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putDouble(1.5);
+
+        buffer.put((byte) 0x03);
+        buffer.put("sub\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(12);
+        buffer.put((byte) 0x10);
+        buffer.put("x\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(1);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x04);
+        buffer.put("arr\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(19);
+        buffer.put((byte) 0x10);
+        buffer.put("0\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(1);
+        buffer.put((byte) 0x10);
+        buffer.put("1\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(2);
+        buffer.put((byte) 0x00);
+
+        buffer.put((byte) 0x02);
+        buffer.put("last\0".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(2);
+        buffer.put("z\0".getBytes(StandardCharsets.UTF_8));
+
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Splits data at the given points, alternating heap and direct segments.
+     */
+    private CompositeBsonInput split(byte[] data, int... points) {
+        ByteBuffer[] segments = new ByteBuffer[points.length + 1];
+        int start = 0;
+        for (int i = 0; i <= points.length; i++) {
+            int end = i < points.length ? points[i] : data.length;
+            if (i % 2 == 0) {
+                segments[i] = ByteBuffer.wrap(data, start, end - start);
+            } else {
+                segments[i] = ByteBuffer.allocateDirect(end - start);
+                segments[i].put(data, start, end - start).flip();
+            }
+            start = end;
+        }
+        return new CompositeBsonInput(segments);
+    }
+
+    // ==================== BsonInput Tests ====================
+
+    @Test
+    public void testReads_AcrossBoundaries() {
+        ByteBuffer buffer = ByteBuffer.allocate(16).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0x12345678).putLong(-2L).put("ab\0".getBytes(StandardCharsets.UTF_8));
+        byte[] data = Arrays.copyOf(buffer.array(), buffer.position());
+
+        for (int split = 1; split < data.length; split++) {
+            CompositeBsonInput input = split(data, split);
+
+            assertEquals(data.length, input.length());
+            assertEquals(0x12345678, input.getInt32(0));
+            assertEquals(-2L, input.getInt64(4));
+            assertEquals(-2.0, Double.longBitsToDouble(input.getInt64(4)), 0.0);
+            assertEquals(14, input.indexOf((byte) 0, 12));
+            assertEquals("ab", input.getString(12, 2));
+            byte[] copy = new byte[data.length];
+            input.getBytes(0, copy, 0, data.length);
+            assertArrayEquals(data, copy);
+        }
+    }
+
+    @Test
+    public void testReads_ManySmallAndEmptySegments() {
+        byte[] data = createBsonDocument();
+        ByteBuffer[] segments = new ByteBuffer[data.length * 2];
+        for (int i = 0; i < data.length; i++) {
+            segments[2 * i] = ByteBuffer.allocate(0);
+            segments[2 * i + 1] = ByteBuffer.wrap(data, i, 1);
+        }
+        CompositeBsonInput input = new CompositeBsonInput(segments);
+
+        assertEquals(data.length * 2, input.segmentCount());
+        for (int i = data.length - 1; i >= 0; i--) {
+            assertEquals(data[i], input.getByte(i));
+        }
+        assertEquals(data.length, input.getInt32(0));
+        assertEquals(-1, input.indexOf((byte) 0x7E, 0));
+    }
+
+    @Test
+    public void testOutOfBounds() {
+        CompositeBsonInput input = split(new byte[]{1, 2, 3, 4}, 2);
+
+        assertThrows(IndexOutOfBoundsException.class, () -> input.getByte(4));
+        assertThrows(IndexOutOfBoundsException.class, () -> input.getByte(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> input.getInt32(2));
+        assertEquals(-1, input.indexOf((byte) 1, 4));
+        assertEquals(0, new CompositeBsonInput().length());
+    }
+
+    @Test
+    public void testConstructor_Null() {
+        assertThrows(IllegalArgumentException.class, () -> new CompositeBsonInput((ByteBuffer[]) null));
+        assertThrows(IllegalArgumentException.class, () -> new CompositeBsonInput(ByteBuffer.allocate(1), null));
+    }
+
+    // ==================== Parser Integration Tests ====================
+
+    @Test
+    public void testIndexedDocument_EverySplitPoint() {
+        byte[] data = createBsonDocument();
+
+        for (int split = 1; split < data.length; split++) {
+            BsonInput input = split(data, split);
+            IndexedBsonDocument doc = IndexedBsonDocument.parseInput(input, 0, input.length());
+
+            assertEquals(7, doc.size(), "split at " + split);
+            assertEquals("héllo", doc.getString("name"));
+            assertEquals(7, doc.getInt32("n"));
+            assertEquals(1L << 40, doc.getInt64("big"));
+            assertEquals(1.5, doc.getDouble("d"), 0.0);
+            assertEquals(1, doc.getDocument("sub").getInt32("x"));
+            BsonArray arr = doc.getArray("arr");
+            assertEquals(2, arr.getInt32(1));
+            assertEquals("z", doc.getString("last"));
+            assertArrayEquals(data, doc.toBson());
+        }
+    }
+
+    @Test
+    public void testPartialParser_EverySplitPoint() {
+        byte[] data = createBsonDocument();
+        PartialParser parser = new PartialParser("name", "last");
+
+        for (int split = 1; split < data.length; split++) {
+            Map<String, Object> result = parser.parseInput(split(data, split, Math.min(split + 3, data.length - 1)));
+
+            assertEquals("héllo", result.get("name"), "split at " + split);
+            assertEquals("z", result.get("last"));
+        }
+    }
+
+    @Test
+    public void testPartialParser_InvalidInput() {
+        PartialParser parser = new PartialParser("name");
+
+        assertThrows(IllegalArgumentException.class, () -> parser.parseInput(null));
+        assertThrows(IllegalArgumentException.class, () -> parser.parseInput(split(new byte[]{5, 0}, 1)));
+    }
+
+    @Test
+    public void testValueSkipper_EverySplitPoint() {
+        byte[] data = createBsonDocument();
+
+        for (int split = 1; split < data.length; split++) {
+            BsonReader reader = BsonReader.wrap(split(data, split));
+            ValueSkipper skipper = new ValueSkipper(reader);
+            reader.skip(4);
+
+            int fields = 0;
+            byte type;
+            while ((type = reader.readByte()) != 0) {
+                reader.readCString();
+                skipper.skipValue(type);
+                fields++;
+            }
+
+            assertEquals(7, fields, "split at " + split);
+            assertTrue(reader.isAtEnd());
+        }
+    }
+}
@@ -561,6 +561,47 @@ public class ValueSkipperTest {
         assertEquals(-1, ValueSkipper.getFixedLength(BsonType.DOCUMENT));
     }
 
+    // ==================== 按偏移量计算值长度测试 ====================
+
+    @Test
+    public void testGetValueSize_MatchesSkipValue() {
+        BsonDocument scope = new BsonDocument("x", new BsonInt32(1));
+        byte[][] samples = {
+            createBsonWithInt32(42),
+            createBsonWithDouble(1.5),
+            createBsonWithNull(),
+            createBsonWithString("hello"),
+            createBsonWithSymbol("sym"),
+            createBsonWithJavaScript("var x = 1;"),
+            createBsonWithJavaScriptWithScope("x + 1", scope),
+            createBsonWithBinary(new byte[]{1, 2, 3}),
+            createBsonWithDocument(scope),
+            createBsonWithArray(new BsonArray(java.util.Arrays.asList(new BsonInt32(1), new BsonString("a")))),
+            createBsonWithRegex("^[a-z]+$", "i"),
+            createBsonWithDBPointer("db.coll", new ObjectId()),
+            createBsonWithDecimal128(Decimal128.parse("1.5"))
+        };
+
+        for (byte[] data : samples) {
+            BsonReader reader = new BsonReader(data);
+            reader.skip(4);
+            byte type = reader.readByte();
+            reader.readCString();
+            int valueOffset = reader.position();
+            new ValueSkipper(reader).skipValue(type);
+
+            int size = ValueSkipper.getValueSize(new com.cloud.fastbson.reader.ByteArrayBsonInput(data), valueOffset, type);
+            assertEquals(reader.position() - valueOffset, size, "type 0x" + Integer.toHexString(type & 0xFF));
+        }
+    }
+
+    @Test
+    public void testGetValueSize_InvalidType() {
+        byte[] data = new byte[8];
+        assertThrows(InvalidBsonTypeException.class,
+            () -> ValueSkipper.getValueSize(new com.cloud.fastbson.reader.ByteArrayBsonInput(data), 0, (byte) 0x42));
+    }
+
     // ==================== 辅助方法 ====================
 
     private byte[] createBsonWithDouble(double value) {
@@ -345,6 +345,34 @@ public class BsonUtilsTest {
         assertEquals(Double.NEGATIVE_INFINITY, result, 0.0);
     }
 
+    // ==================== writeInt32/Int64LittleEndian ====================
+
+    @Test
+    public void testWriteInt32LittleEndian_RoundTrip() {
+        byte[] bytes = new byte[6];
+        BsonUtils.writeInt32LittleEndian(bytes, 1, 0x12345678);
+
+        assertArrayEquals(new byte[]{0, 0x78, 0x56, 0x34, 0x12, 0}, bytes);
+        assertEquals(Integer.MIN_VALUE, readBack32(Integer.MIN_VALUE));
+        assertEquals(-1, readBack32(-1));
+    }
+
+    @Test
+    public void testWriteInt64LittleEndian_RoundTrip() {
+        byte[] bytes = new byte[8];
+        BsonUtils.writeInt64LittleEndian(bytes, 0, 0x0102030405060708L);
+
+        assertArrayEquals(new byte[]{8, 7, 6, 5, 4, 3, 2, 1}, bytes);
+        BsonUtils.writeInt64LittleEndian(bytes, 0, Long.MIN_VALUE);
+        assertEquals(Long.MIN_VALUE, BsonUtils.readInt64LittleEndian(bytes, 0));
+    }
+
+    private static int readBack32(int value) {
+        byte[] bytes = new byte[4];
+        BsonUtils.writeInt32LittleEndian(bytes, 0, value);
+        return BsonUtils.readInt32LittleEndian(bytes, 0);
+    }
+
     // ==================== Constructor Test ====================
 
     @Test
@@ -0,0 +1,310 @@
+package com.cloud.fastbson.util;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.ByteBufferBsonInput;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BsonValidator}.
+ */
+public class BsonValidatorTest {
+
+    // ==================== Helper Methods ====================
+
+    private static ByteBuffer newBuffer() {
+        return ByteBuffer.allocate(1024).order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Finishes a document started with {@code putInt(0)} at position 0.
+     */
+    private static byte[] finish(ByteBuffer buffer) {
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private static void putName(ByteBuffer buffer, byte type, String name) {
+        buffer.put(type).put((name + "\0").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] utf8) {
+        buffer.putInt(utf8.length + 1).put(utf8).put((byte) 0);
+    }
+
+    /**
+     * Creates a document with one field of every BSON type.
+     */
+    private static byte[] createAllTypes() {
+        ByteBuffer buffer = newBuffer();
+        buffer.putInt(0);
+        putName(buffer, BsonType.DOUBLE, "d");
+        buffer.putDouble(1.5);
+        putName(buffer, BsonType.STRING, "s");
+        putString(buffer, "héllo 世界 😀".getBytes(StandardCharsets.UTF_8));
+        putName(buffer, BsonType.DOCUMENT, "o");
+        buffer.putInt(12);
+        putName(buffer, BsonType.INT32, "x");
+        buffer.putInt(1).put((byte) 0);
+        putName(buffer, BsonType.ARRAY, "a");
+        buffer.putInt(5).put((byte) 0);
+        putName(buffer, BsonType.BINARY, "b");
+        buffer.putInt(3).put((byte) 0).put(new byte[]{1, 2, 3});
+        putName(buffer, BsonType.BINARY, "old");
+        buffer.putInt(6).put((byte) 0x02).putInt(2).put(new byte[]{1, 2});
+        putName(buffer, BsonType.UNDEFINED, "u");
+        putName(buffer, BsonType.OBJECT_ID, "id");
+        buffer.put(new byte[12]);
+        putName(buffer, BsonType.BOOLEAN, "t");
+        buffer.put((byte) 1);
+        putName(buffer, BsonType.DATE_TIME, "dt");
+        buffer.putLong(1000L);
+        putName(buffer, BsonType.NULL, "n");
+        putName(buffer, BsonType.REGEX, "re");
+        buffer.put("^a.*\0i\0".getBytes(StandardCharsets.UTF_8));
+        putName(buffer, BsonType.DB_POINTER, "p");
+        putString(buffer, "coll".getBytes(StandardCharsets.UTF_8));
+        buffer.put(new byte[12]);
+        putName(buffer, BsonType.JAVASCRIPT, "js");
+        putString(buffer, "f()".getBytes(StandardCharsets.UTF_8));
+        putName(buffer, BsonType.SYMBOL, "sym");
+        putString(buffer, "s".getBytes(StandardCharsets.UTF_8));
+        putName(buffer, BsonType.JAVASCRIPT_WITH_SCOPE, "jws");
+        buffer.putInt(4 + 8 + 5);
+        putString(buffer, "f()".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(5).put((byte) 0);
+        putName(buffer, BsonType.INT32, "i");
+        buffer.putInt(7);
+        putName(buffer, BsonType.TIMESTAMP, "ts");
+        buffer.putLong(1L);
+        putName(buffer, BsonType.INT64, "l");
+        buffer.putLong(1L << 40);
+        putName(buffer, BsonType.DECIMAL128, "dec");
+        buffer.put(new byte[16]);
+        putName(buffer, BsonType.MIN_KEY, "min");
+        putName(buffer, BsonType.MAX_KEY, "max");
+        return finish(buffer);
+    }
+
+    private static byte[] createWithString(byte[] utf8) {
+        ByteBuffer buffer = newBuffer();
+        buffer.putInt(0);
+        putName(buffer, BsonType.STRING, "s");
+        putString(buffer, utf8);
+        return finish(buffer);
+    }
+
+    /**
+     * Creates {a: {a: {... {} ...}}} with the given total depth (top-level document included).
+     */
+    private static byte[] createNested(int depth) {
+        byte[] doc = {5, 0, 0, 0, 0};
+        for (int i = 1; i < depth; i++) {
+            ByteBuffer buffer = newBuffer();
+            buffer.putInt(0);
+            putName(buffer, BsonType.DOCUMENT, "a");
+            buffer.put(doc);
+            doc = finish(buffer);
+        }
+        return doc;
+    }
+
+    private static void assertInvalid(byte[] bsonData, String reason) {
+        BsonParseException e = assertThrows(BsonParseException.class, () -> BsonValidator.validate(bsonData));
+        assertTrue(e.getMessage().contains(reason), e.getMessage());
+        assertFalse(BsonValidator.isValid(bsonData));
+    }
+
+    // ==================== Valid Input ====================
+
+    @Test
+    public void testValidate_AllTypes() {
+        byte[] bsonData = createAllTypes();
+
+        BsonValidator.validate(bsonData);
+        assertTrue(BsonValidator.isValid(bsonData));
+    }
+
+    @Test
+    public void testValidate_EmptyDocument() {
+        assertTrue(BsonValidator.isValid(new byte[]{5, 0, 0, 0, 0}));
+    }
+
+    @Test
+    public void testValidate_SliceAndByteBuffer() {
+        byte[] bsonData = createAllTypes();
+        byte[] padded = new byte[bsonData.length + 6];
+        System.arraycopy(bsonData, 0, padded, 3, bsonData.length);
+
+        BsonValidator.validate(padded, 3, bsonData.length);
+        BsonValidator.validate(new ByteBufferBsonInput(ByteBuffer.wrap(bsonData)), 0, bsonData.length);
+        assertThrows(IllegalArgumentException.class, () -> BsonValidator.validate(padded, 3, padded.length));
+    }
+
+    // ==================== Lengths and Terminators ====================
+
+    @Test
+    public void testValidate_DocumentLength() {
+        assertInvalid(new byte[]{5, 0, 0}, "truncated document");
+        assertInvalid(new byte[]{4, 0, 0, 0, 0}, "invalid document length");
+        assertInvalid(new byte[]{9, 0, 0, 0, 0}, "invalid document length");
+        assertInvalid(new byte[]{5, 0, 0, 0, 0, 0}, "does not match");
+        assertInvalid(new byte[]{5, 0, 0, 0, 1}, "missing document terminator");
+    }
+
+    @Test
+    public void testValidate_EarlyTerminator() {
+        byte[] bsonData = {12, 0, 0, 0, 0, 0x10, 'x', 0, 0, 0, 0, 0};
+
+        assertInvalid(bsonData, "document terminator before declared end");
+    }
+
+    @Test
+    public void testValidate_NestedDocumentOverrunsParent() {
+        byte[] bsonData = createAllTypes();
+        int pos = indexOf(bsonData, new byte[]{BsonType.DOCUMENT, 'o', 0}) + 3;
+        bsonData[pos + 1] = 0x10;   // 4108 bytes
+
+        assertInvalid(bsonData, "invalid document length");
+    }
+
+    @Test
+    public void testValidate_StringLengthAndTerminator() {
+        byte[] bsonData = createWithString("abc".getBytes(StandardCharsets.UTF_8));
+        byte[] negative = bsonData.clone();
+        negative[7] = (byte) 0xFF;
+        negative[8] = (byte) 0xFF;
+        negative[9] = (byte) 0xFF;
+        negative[10] = (byte) 0xFF;
+        byte[] overlong = bsonData.clone();
+        overlong[7] = 50;
+        byte[] unterminated = bsonData.clone();
+        unterminated[unterminated.length - 2] = 'x';
+
+        assertInvalid(negative, "invalid string length");
+        assertInvalid(overlong, "invalid string length");
+        assertInvalid(unterminated, "missing string terminator");
+    }
+
+    @Test
+    public void testValidate_UnterminatedName() {
+        byte[] bsonData = {9, 0, 0, 0, 0x0A, 'a', 'b', 'c', 0};
+
+        assertInvalid(bsonData, "unterminated C-string");
+    }
+
+    @Test
+    public void testValidate_TruncatedFixedValue() {
+        byte[] bsonData = {10, 0, 0, 0, 0x12, 'l', 0, 1, 2, 0};
+
+        assertInvalid(bsonData, "truncated value");
+    }
+
+    @Test
+    public void testValidate_BinaryLength() {
+        ByteBuffer buffer = newBuffer();
+        buffer.putInt(0);
+        putName(buffer, BsonType.BINARY, "b");
+        buffer.putInt(10).put((byte) 0).put(new byte[]{1, 2});
+        assertInvalid(finish(buffer), "invalid binary length");
+
+        buffer = newBuffer();
+        buffer.putInt(0);
+        putName(buffer, BsonType.BINARY, "old");
+        buffer.putInt(6).put((byte) 0x02).putInt(5).put(new byte[]{1, 2});
+        assertInvalid(finish(buffer), "invalid old binary length");
+    }
+
+    @Test
+    public void testValidate_CodeWithScopeLength() {
+        ByteBuffer buffer = newBuffer();
+        buffer.putInt(0);
+        putName(buffer, BsonType.JAVASCRIPT_WITH_SCOPE, "jws");
+        buffer.putInt(4 + 8 + 5 + 1);   // One byte more than its contents
+        putString(buffer, "f()".getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(5).put((byte) 0).put((byte) 0);
+
+        assertInvalid(finish(buffer), "does not match its contents");
+    }
+
+    // ==================== Types and Values ====================
+
+    @Test
+    public void testValidate_InvalidTypeCode() {
+        byte[] bsonData = {8, 0, 0, 0, 0x20, 'a', 0, 0};
+
+        assertInvalid(bsonData, "invalid type code 0x20");
+    }
+
+    @Test
+    public void testValidate_InvalidBoolean() {
+        byte[] bsonData = {9, 0, 0, 0, 0x08, 'b', 0, 2, 0};
+
+        assertInvalid(bsonData, "invalid boolean value");
+    }
+
+    // ==================== UTF-8 ====================
+
+    @Test
+    public void testValidate_InvalidUtf8() {
+        assertInvalid(createWithString(new byte[]{'a', (byte) 0x80}), "invalid UTF-8 lead byte");
+        assertInvalid(createWithString(new byte[]{(byte) 0xC3}), "truncated UTF-8 sequence");
+        assertInvalid(createWithString(new byte[]{(byte) 0xC3, 'a'}), "invalid UTF-8 continuation byte");
+        // Overlong encoding of '/'
+        assertInvalid(createWithString(new byte[]{(byte) 0xC0, (byte) 0xAF}), "invalid UTF-8 sequence");
+        // Encoded surrogate U+D800
+        assertInvalid(createWithString(new byte[]{(byte) 0xED, (byte) 0xA0, (byte) 0x80}),
+            "invalid UTF-8 sequence");
+        // U+110000
+        assertInvalid(createWithString(new byte[]{(byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80}),
+            "invalid UTF-8 sequence");
+    }
+
+    @Test
+    public void testValidate_InvalidUtf8InName() {
+        byte[] bsonData = {9, 0, 0, 0, 0x0A, 'a', (byte) 0xFF, 0, 0};
+
+        assertInvalid(bsonData, "invalid UTF-8 lead byte");
+    }
+
+    // ==================== Nesting Depth ====================
+
+    @Test
+    public void testValidate_NestingDepth() {
+        BsonValidator.validate(createNested(BsonValidator.DEFAULT_MAX_DEPTH));
+        assertInvalid(createNested(BsonValidator.DEFAULT_MAX_DEPTH + 1), "nesting depth exceeds");
+
+        byte[] three = createNested(3);
+        ByteBufferBsonInput input = new ByteBufferBsonInput(ByteBuffer.wrap(three));
+        BsonValidator.validate(input, 0, three.length, 3);
+        assertThrows(BsonParseException.class, () -> BsonValidator.validate(input, 0, three.length, 2));
+        assertThrows(IllegalArgumentException.class, () -> BsonValidator.validate(input, 0, three.length, 0));
+    }
+
+    @Test
+    public void testIsValid_Null() {
+        assertFalse(BsonValidator.isValid(null));
+        assertThrows(NullPointerException.class, () -> BsonValidator.validate((byte[]) null));
+    }
+
+    private static int indexOf(byte[] data, byte[] pattern) {
+        outer:
+        for (int i = 0; i <= data.length - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (data[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,296 @@
+package com.cloud.fastbson.visitor;
+
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.reader.ByteSlice;
+import com.cloud.fastbson.util.BsonType;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BsonWalker and BsonVisitor.
+ */
+public class BsonWalkerTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "d": 1.5, "s": "hi", "sub": { "a": 1, "b": 2L }, "arr": [3, true], "bin": Binary(0x80)[9],
+     *            "oid": ObjectId, "t": true, "dt": 1000L, "n": null, "ts": Timestamp(5), "re": /ab/i, "max": MaxKey }
+     */
+    private byte[] createBsonDocument() {
+        ByteBuffer buffer = ByteBuffer.allocate(512).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+
+        buffer.put(BsonType.DOUBLE).put("d\0".getBytes(StandardCharsets.UTF_8)).putDouble(1.5);
+        buffer.put(BsonType.STRING).put("s\0".getBytes(StandardCharsets.UTF_8)).putInt(3)
+            .put("hi\0".getBytes(StandardCharsets.UTF_8));
+
+        buffer.put(BsonType.DOCUMENT).put("sub\0".getBytes(StandardCharsets.UTF_8));
+        int subStart = buffer.position();
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("a\0".getBytes(StandardCharsets.UTF_8)).putInt(1);
+        buffer.put(BsonType.INT64).put("b\0".getBytes(StandardCharsets.UTF_8)).putLong(2L);
+        buffer.put((byte) 0);
+        buffer.putInt(subStart, buffer.position() - subStart);
+
+        buffer.put(BsonType.ARRAY).put("arr\0".getBytes(StandardCharsets.UTF_8));
+        int arrStart = buffer.position();
+        buffer.putInt(0);
+        buffer.put(BsonType.INT32).put("0\0".getBytes(StandardCharsets.UTF_8)).putInt(3);
+        buffer.put(BsonType.BOOLEAN).put("1\0".getBytes(StandardCharsets.UTF_8)).put((byte) 1);
+        buffer.put((byte) 0);
+        buffer.putInt(arrStart, buffer.position() - arrStart);
+
+        buffer.put(BsonType.BINARY).put("bin\0".getBytes(StandardCharsets.UTF_8)).putInt(1).put((byte) 0x80).put((byte) 9);
+        buffer.put(BsonType.OBJECT_ID).put("oid\0".getBytes(StandardCharsets.UTF_8));
+        for (int i = 0; i < 12; i++) {
+            buffer.put((byte) i);
+        }
+        buffer.put(BsonType.BOOLEAN).put("t\0".getBytes(StandardCharsets.UTF_8)).put((byte) 1);
+        buffer.put(BsonType.DATE_TIME).put("dt\0".getBytes(StandardCharsets.UTF_8)).putLong(1000L);
+        buffer.put(BsonType.NULL).put("n\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.TIMESTAMP).put("ts\0".getBytes(StandardCharsets.UTF_8)).putLong(5L);
+        buffer.put(BsonType.REGEX).put("re\0".getBytes(StandardCharsets.UTF_8)).put("ab\0i\0".getBytes(StandardCharsets.UTF_8));
+        buffer.put(BsonType.MAX_KEY).put("max\0".getBytes(StandardCharsets.UTF_8));
+
+        buffer.put((byte) 0);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    /**
+     * Records every callback as a string event.
+     */
+    private static class RecordingVisitor implements BsonVisitor {
+        final List<String> events = new ArrayList<String>();
+
+        @Override
+        public Result onStartDocument(ByteSlice name) {
+            events.add("{" + (name == null ? "" : name.toString()));
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public void onEndDocument() {
+            events.add("}");
+        }
+
+        @Override
+        public Result onStartArray(ByteSlice name) {
+            events.add("[" + name);
+            return Result.CONTINUE;
+        }
+
+        @Override
+        public void onEndArray() {
+            events.add("]");
+        }
+
+        @Override
+        public void onDouble(ByteSlice name, double value) {
+            events.add(name + "=" + value);
+        }
+
+        @Override
+        public void onString(ByteSlice name, ByteSlice value) {
+            events.add(name + "=" + value);
+        }
+
+        @Override
+        public void onBinary(ByteSlice name, byte subtype, ByteSlice data) {
+            events.add(name + "=bin" + subtype + ":" + data.byteAt(0));
+        }
+
+        @Override
+        public void onObjectId(ByteSlice name, ByteSlice id) {
+            events.add(name + "=oid" + id.length() + ":" + id.byteAt(11));
+        }
+
+        @Override
+        public void onBoolean(ByteSlice name, boolean value) {
+            events.add(name + "=" + value);
+        }
+
+        @Override
+        public void onDateTime(ByteSlice name, long millis) {
+            events.add(name + "=date" + millis);
+        }
+
+        @Override
+        public void onNull(ByteSlice name) {
+            events.add(name + "=null");
+        }
+
+        @Override
+        public void onInt32(ByteSlice name, int value) {
+            events.add(name + "=" + value);
+        }
+
+        @Override
+        public void onTimestamp(ByteSlice name, long value) {
+            events.add(name + "=ts" + value);
+        }
+
+        @Override
+        public void onInt64(ByteSlice name, long value) {
+            events.add(name + "=" + value + "L");
+        }
+
+        @Override
+        public void onOther(byte type, ByteSlice name, ByteSlice value) {
+            events.add(name + "=other" + type + ":" + value.length());
+        }
+    }
+
+    // ==================== Walk Tests ====================
+
+    @Test
+    public void testWalk_AllCallbacks() {
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        assertTrue(BsonWalker.walk(createBsonDocument(), visitor));
+
+        assertEquals(Arrays.asList(
+            "{", "d=1.5", "s=hi",
+            "{sub", "a=1", "b=2L", "}",
+            "[arr", "0=3", "1=true", "]",
+            "bin=bin-128:9", "oid=oid12:11", "t=true", "dt=date1000", "n=null", "ts=ts5",
+            "re=other11:5", "max=other127:0",
+            "}"), visitor.events);
+    }
+
+    @Test
+    public void testWalk_DirectBufferAndReaderPosition() {
+        byte[] bson = createBsonDocument();
+        ByteBuffer direct = ByteBuffer.allocateDirect(bson.length + 1);
+        direct.put(bson).put((byte) 0x42).flip();
+        BsonReader reader = BsonReader.wrap(direct);
+        RecordingVisitor visitor = new RecordingVisitor();
+
+        assertTrue(BsonWalker.walk(reader, visitor));
+
+        assertEquals(20, visitor.events.size());
+        assertEquals(bson.length, reader.position());
+        assertEquals(0x42, reader.readByte());
+    }
+
+    @Test
+    public void testWalk_SkipSubtreesAndValues() {
+        final byte[] skipName = "d".getBytes(StandardCharsets.UTF_8);
+        RecordingVisitor visitor = new RecordingVisitor() {
+            @Override
+            public Result onField(byte type, ByteSlice name) {
+                return name.contentEquals(skipName) || type == BsonType.REGEX ? Result.SKIP : Result.CONTINUE;
+            }
+
+            @Override
+            public Result onStartDocument(ByteSlice name) {
+                super.onStartDocument(name);
+                return name == null ? Result.CONTINUE : Result.SKIP;
+            }
+
+            @Override
+            public Result onStartArray(ByteSlice name) {
+                super.onStartArray(name);
+                return Result.SKIP;
+            }
+        };
+
+        BsonReader reader = new BsonReader(createBsonDocument());
+        assertTrue(BsonWalker.walk(reader, visitor));
+
+        assertEquals(Arrays.asList(
+            "{", "s=hi", "{sub", "[arr",
+            "bin=bin-128:9", "oid=oid12:11", "t=true", "dt=date1000", "n=null", "ts=ts5",
+            "max=other127:0", "}"), visitor.events);
+        assertTrue(reader.isAtEnd());
+    }
+
+    @Test
+    public void testWalk_SkipRoot() {
+        BsonReader reader = new BsonReader(createBsonDocument());
+
+        assertTrue(BsonWalker.walk(reader, new BsonVisitor() {
+            @Override
+            public Result onStartDocument(ByteSlice name) {
+                return Result.SKIP;
+            }
+        }));
+        assertTrue(reader.isAtEnd());
+    }
+
+    @Test
+    public void testWalk_Stop() {
+        final int[] count = {0};
+        BsonVisitor visitor = new BsonVisitor() {
+            @Override
+            public Result onField(byte type, ByteSlice name) {
+                return type == BsonType.INT64 ? Result.STOP : Result.CONTINUE;
+            }
+
+            @Override
+            public void onInt32(ByteSlice name, int value) {
+                count[0]++;
+            }
+
+            @Override
+            public void onEndDocument() {
+                fail("Walk should have stopped");
+            }
+        };
+
+        assertFalse(BsonWalker.walk(createBsonDocument(), visitor));
+        assertEquals(1, count[0]);
+
+        assertFalse(BsonWalker.walk(createBsonDocument(), new BsonVisitor() {
+            @Override
+            public Result onStartArray(ByteSlice name) {
+                return Result.STOP;
+            }
+        }));
+        assertFalse(BsonWalker.walk(createBsonDocument(), new BsonVisitor() {
+            @Override
+            public Result onStartDocument(ByteSlice name) {
+                return Result.STOP;
+            }
+        }));
+    }
+
+    @Test
+    public void testWalk_MetricsWithoutStrings() {
+        final long[] sum = {0};
+        BsonWalker walker = new BsonWalker(new BsonReader(createBsonDocument()));
+
+        walker.walk(new BsonVisitor() {
+            @Override
+            public void onInt32(ByteSlice name, int value) {
+                sum[0] += value;
+            }
+
+            @Override
+            public void onInt64(ByteSlice name, long value) {
+                sum[0] += value;
+            }
+        });
+
+        assertEquals(6, sum[0]);
+    }
+
+    @Test
+    public void testWalk_UnterminatedName() {
+        byte[] bson = new byte[]{9, 0, 0, 0, 0x10, 'a', 'b', 'c', 'd'};
+
+        assertThrows(BsonParseException.class, () -> BsonWalker.walk(bson, new BsonVisitor() {
+        }));
+    }
+}
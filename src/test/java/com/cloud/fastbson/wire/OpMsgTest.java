@@ -0,0 +1,239 @@
+package com.cloud.fastbson.wire;
+
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.exception.BsonParseException;
+import com.cloud.fastbson.reader.BsonInput;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for OpMsg frame decoding.
+ */
+public class OpMsgTest {
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Creates: { "<name>": value }
+     */
+    private byte[] createDocument(String name, int value) {
+        ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(0);
+        buffer.put((byte) 0x10);
+        buffer.put((name + "\0").getBytes(StandardCharsets.UTF_8));
+        buffer.putInt(value);
+        buffer.put((byte) 0x00);
+        int endPos = buffer.position();
+        buffer.putInt(0, endPos);
+        return Arrays.copyOf(buffer.array(), endPos);
+    }
+
+    private byte[] bodySection(byte[] document) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(0);
+        out.write(document, 0, document.length);
+        return out.toByteArray();
+    }
+
+    private byte[] sequenceSection(String identifier, byte[]... documents) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] name = (identifier + "\0").getBytes(StandardCharsets.UTF_8);
+        content.write(name, 0, name.length);
+        for (byte[] doc : documents) {
+            content.write(doc, 0, doc.length);
+        }
+        ByteBuffer section = ByteBuffer.allocate(5 + content.size()).order(ByteOrder.LITTLE_ENDIAN);
+        section.put((byte) 1);
+        section.putInt(4 + content.size());
+        section.put(content.toByteArray());
+        return section.array();
+    }
+
+    /**
+     * Builds a frame with requestID 42, responseTo 7; appends a CRC-32C when the checksum flag is set.
+     */
+    private byte[] frame(int flags, byte[]... sections) {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        for (byte[] section : sections) {
+            content.write(section, 0, section.length);
+        }
+        boolean checksum = (flags & OpMsg.FLAG_CHECKSUM_PRESENT) != 0;
+        int length = 20 + content.size() + (checksum ? 4 : 0);
+        ByteBuffer frame = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        frame.putInt(length).putInt(42).putInt(7).putInt(OpMsg.OP_CODE).putInt(flags);
+        frame.put(content.toByteArray());
+        if (checksum) {
+            frame.putInt(Crc32c.compute(BsonInput.wrap(frame.array()), 0, length - 4));
+        }
+        return frame.array();
+    }
+
+    // ==================== Decoding Tests ====================
+
+    @Test
+    public void testParse_BodyOnly() {
+        byte[] frame = frame(0, bodySection(createDocument("ping", 1)));
+
+        OpMsg msg = OpMsg.parse(frame);
+
+        assertEquals(frame.length, msg.getMessageLength());
+        assertEquals(42, msg.getRequestId());
+        assertEquals(7, msg.getResponseTo());
+        assertEquals(0, msg.getFlagBits());
+        assertFalse(msg.isChecksumPresent());
+        assertFalse(msg.isMoreToCome());
+        assertFalse(msg.isExhaustAllowed());
+        assertEquals(1, msg.getBody().getInt32("ping"));
+        assertTrue(msg.getSequences().isEmpty());
+        assertNull(msg.getSequence("documents"));
+        assertTrue(msg.isChecksumValid());
+        assertThrows(IllegalStateException.class, msg::getChecksum);
+    }
+
+    @Test
+    public void testParse_BodyAndDocumentSequences() {
+        byte[] frame = frame(OpMsg.FLAG_MORE_TO_COME | OpMsg.FLAG_EXHAUST_ALLOWED,
+            sequenceSection("documents", createDocument("a", 1), createDocument("a", 2), createDocument("a", 3)),
+            bodySection(createDocument("insert", 1)),
+            sequenceSection("empty"));
+
+        OpMsg msg = OpMsg.parse(frame);
+
+        assertTrue(msg.isMoreToCome());
+        assertTrue(msg.isExhaustAllowed());
+        assertEquals(1, msg.getBody().getInt32("insert"));
+        assertEquals(2, msg.getSequences().size());
+
+        OpMsg.DocumentSequence documents = msg.getSequence("documents");
+        assertEquals("documents", documents.getIdentifier());
+        assertEquals(3, documents.size());
+        assertEquals(2, documents.get(1).getInt32("a"));
+        assertThrows(IndexOutOfBoundsException.class, () -> documents.get(3));
+
+        int expected = 1;
+        for (IndexedBsonDocument doc : documents) {
+            assertEquals(expected++, doc.getInt32("a"));
+        }
+        Iterator<IndexedBsonDocument> it = msg.getSequence("empty").iterator();
+        assertFalse(it.hasNext());
+        assertThrows(NoSuchElementException.class, it::next);
+    }
+
+    @Test
+    public void testParse_LargeSequence() {
+        byte[][] docs = new byte[1000][];
+        for (int i = 0; i < docs.length; i++) {
+            docs[i] = createDocument("i", i);
+        }
+
+        OpMsg msg = OpMsg.parse(frame(0, bodySection(createDocument("insert", 1)), sequenceSection("documents", docs)));
+
+        OpMsg.DocumentSequence documents = msg.getSequence("documents");
+        assertEquals(1000, documents.size());
+        assertEquals(999, documents.get(999).getInt32("i"));
+        assertArrayEquals(docs[500], documents.get(500).toBson());
+    }
+
+    @Test
+    public void testParseBuffer_DirectBufferWithOffset() {
+        byte[] frame = frame(0, bodySection(createDocument("x", 5)), sequenceSection("s", createDocument("y", 6)));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(frame.length + 8);
+        buffer.position(8);
+        buffer.put(frame);
+        buffer.position(8);
+
+        OpMsg msg = OpMsg.parseBuffer(buffer);
+
+        assertEquals(5, msg.getBody().getInt32("x"));
+        assertEquals(6, msg.getSequence("s").get(0).getInt32("y"));
+        assertEquals(8, buffer.position());
+    }
+
+    @Test
+    public void testParseInput_ConsecutiveFrames() {
+        byte[] first = frame(0, bodySection(createDocument("n", 1)));
+        byte[] second = frame(0, bodySection(createDocument("n", 2)));
+        byte[] stream = Arrays.copyOf(first, first.length + second.length);
+        System.arraycopy(second, 0, stream, first.length, second.length);
+        BsonInput input = BsonInput.wrap(stream);
+
+        OpMsg msg1 = OpMsg.parseInput(input, 0);
+        OpMsg msg2 = OpMsg.parseInput(input, msg1.getMessageLength());
+
+        assertEquals(1, msg1.getBody().getInt32("n"));
+        assertEquals(2, msg2.getBody().getInt32("n"));
+    }
+
+    // ==================== Checksum Tests ====================
+
+    @Test
+    public void testCrc32c_KnownVector() {
+        byte[] data = "123456789".getBytes(StandardCharsets.US_ASCII);
+
+        assertEquals(0xE3069283, Crc32c.compute(BsonInput.wrap(data), 0, data.length));
+        assertEquals(0xE3069283, Crc32c.compute(BsonInput.wrap(ByteBuffer.wrap(data).asReadOnlyBuffer()), 0, data.length));
+    }
+
+    @Test
+    public void testChecksum_ValidAndCorrupted() {
+        byte[] frame = frame(OpMsg.FLAG_CHECKSUM_PRESENT, bodySection(createDocument("ping", 1)));
+
+        OpMsg msg = OpMsg.parse(frame);
+        assertTrue(msg.isChecksumPresent());
+        assertTrue(msg.isChecksumValid());
+        assertEquals(1, msg.getBody().getInt32("ping"));
+
+        frame[frame.length - 6] ^= 0x01;  // Flip a bit in the body value
+        assertFalse(OpMsg.parse(frame).isChecksumValid());
+    }
+
+    // ==================== Error Tests ====================
+
+    @Test
+    public void testParse_WrongOpCode() {
+        byte[] frame = frame(0, bodySection(createDocument("ping", 1)));
+        frame[12] = (byte) 0xD4;  // OP_QUERY (2004)
+
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(frame));
+    }
+
+    @Test
+    public void testParse_Truncated() {
+        byte[] frame = frame(0, bodySection(createDocument("ping", 1)));
+
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(Arrays.copyOf(frame, 10)));
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(Arrays.copyOf(frame, frame.length - 1)));
+    }
+
+    @Test
+    public void testParse_MissingOrDuplicateBody() {
+        byte[] body = bodySection(createDocument("ping", 1));
+
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(frame(0, sequenceSection("documents"))));
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(frame(0, body, body)));
+    }
+
+    @Test
+    public void testParse_BadSections() {
+        byte[] body = bodySection(createDocument("ping", 1));
+
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(frame(0, body, new byte[]{2, 0, 0, 0, 0})));
+
+        byte[] sequence = sequenceSection("documents", createDocument("a", 1));
+        sequence[1] = (byte) (sequence[1] + 1);  // Size claims one byte past the frame
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(frame(0, body, sequence)));
+
+        byte[] badDoc = createDocument("a", 1);
+        badDoc[0] = 3;
+        assertThrows(BsonParseException.class, () -> OpMsg.parse(frame(0, body, sequenceSection("documents", badDoc))));
+    }
+}
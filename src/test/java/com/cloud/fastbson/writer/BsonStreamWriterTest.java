@@ -0,0 +1,552 @@
+package com.cloud.fastbson.writer;
+
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.document.hashmap.HashMapBsonDocumentFactory;
+import com.cloud.fastbson.util.BsonType;
+import com.cloud.fastbson.util.BsonValidator;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BsonStreamWriter}.
+ */
+public class BsonStreamWriterTest {
+
+    private static final String OBJECT_ID = "507f1f77bcf86cd799439011";
+    private static final FieldKey QTY = FieldKey.of("qty");
+
+    private Path file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = Files.createTempFile("fastbson-stream", ".bson");
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Writes the fields of order i (same content as {@link #writeOrder(BsonStreamWriter, int)}).
+     */
+    private static void writeOrder(BsonWriter writer, int i) {
+        writer.writeInt32("i", i)
+            .writeInt64("l", (long) i << 33)
+            .writeDouble("d", i / 4.0)
+            .writeBoolean("b", i % 2 == 0)
+            .writeDateTime("dt", 1700000000000L + i)
+            .writeNull("n")
+            .writeString("s", "order-" + i + " é世😀")
+            .writeInt32(QTY, i * 3)
+            .writeObjectId("id", OBJECT_ID)
+            .writeBinary("bin", (byte) 0, new byte[]{(byte) i, 2, 3})
+            .writeStartArray("arr")
+                .writeInt32(i).writeString("x").writeDouble(1.5).writeBoolean(true).writeNull()
+                .writeStartDocument().writeInt64("k", i).writeEndDocument()
+            .writeEndArray()
+            .writeStartDocument("sub").writeString("city", "Paris").writeEndDocument();
+    }
+
+    private static void writeOrder(BsonStreamWriter writer, int i) throws IOException {
+        writer.writeInt32("i", i)
+            .writeInt64("l", (long) i << 33)
+            .writeDouble("d", i / 4.0)
+            .writeBoolean("b", i % 2 == 0)
+            .writeDateTime("dt", 1700000000000L + i)
+            .writeNull("n")
+            .writeString("s", "order-" + i + " é世😀")
+            .writeInt32(QTY, i * 3)
+            .writeObjectId("id", OBJECT_ID)
+            .writeBinary("bin", (byte) 0, new byte[]{(byte) i, 2, 3})
+            .writeStartArray("arr")
+                .writeInt32(i).writeString("x").writeDouble(1.5).writeBoolean(true).writeNull()
+                .writeStartDocument().writeInt64("k", i).writeEndDocument()
+            .writeEndArray()
+            .writeStartDocument("sub").writeString("city", "Paris").writeEndDocument();
+    }
+
+    /**
+     * Encodes one document holding orders 0..count-1 as sub-documents of an array.
+     */
+    private static byte[] expectedLargeDocument(int count) {
+        BsonWriter writer = new BsonWriter().writeStartDocument().writeStartArray("orders");
+        for (int i = 0; i < count; i++) {
+            writer.writeStartDocument();
+            writeOrder(writer, i);
+            writer.writeEndDocument();
+        }
+        return writer.writeEndArray().writeString("end", "done").writeEndDocument().toByteArray();
+    }
+
+    private static void writeLargeContent(BsonStreamWriter writer, int count) throws IOException {
+        writer.writeStartArray("orders");
+        for (int i = 0; i < count; i++) {
+            writer.writeStartDocument();
+            writeOrder(writer, i);
+            writer.writeEndDocument();
+        }
+        writer.writeEndArray().writeString("end", "done");
+    }
+
+    /**
+     * Minimal in-memory seekable channel (not a FileChannel).
+     */
+    private static final class MemoryChannel implements SeekableByteChannel {
+        private byte[] data = new byte[0];
+        private long position;
+        private boolean open = true;
+
+        @Override
+        public int write(ByteBuffer src) {
+            int n = src.remaining();
+            if (position + n > data.length) {
+                data = Arrays.copyOf(data, (int) position + n);
+            }
+            src.get(data, (int) position, n);
+            position += n;
+            return n;
+        }
+
+        @Override
+        public int read(ByteBuffer dst) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long position() {
+            return position;
+        }
+
+        @Override
+        public SeekableByteChannel position(long newPosition) {
+            position = newPosition;
+            return this;
+        }
+
+        @Override
+        public long size() {
+            return data.length;
+        }
+
+        @Override
+        public SeekableByteChannel truncate(long size) {
+            if (size < data.length) {
+                data = Arrays.copyOf(data, (int) size);
+            }
+            position = Math.min(position, size);
+            return this;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return open;
+        }
+
+        @Override
+        public void close() {
+            open = false;
+        }
+    }
+
+    // ==================== Batches ====================
+
+    @Test
+    public void testBatch_MatchesBsonWriterAcrossChunks() throws IOException {
+        BsonWriter expected = new BsonWriter();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BsonStreamWriter writer = new BsonStreamWriter(out, 64, 8);
+        for (int i = 0; i < 200; i++) {
+            expected.writeStartDocument();
+            writeOrder(expected, i);
+            expected.writeEndDocument();
+            writer.writeStartDocument();
+            writeOrder(writer, i);
+            writer.writeEndDocument();
+        }
+        assertEquals(expected.size(), writer.size());
+        assertEquals(0, writer.depth());
+        writer.close();
+
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void testBatch_SingleChunkOnSeekableChannel() throws IOException {
+        BsonWriter expected = new BsonWriter();
+        MemoryChannel channel = new MemoryChannel();
+        try (BsonStreamWriter writer = new BsonStreamWriter(channel, 64, 1)) {
+            for (int i = 0; i < 20; i++) {
+                expected.writeStartDocument();
+                writeOrder(expected, i);
+                expected.writeEndDocument();
+                writer.writeStartDocument();
+                writeOrder(writer, i);
+                writer.writeEndDocument();
+            }
+        }
+
+        assertArrayEquals(expected.toByteArray(), channel.data);
+    }
+
+    // ==================== Large Documents ====================
+
+    @Test
+    public void testStream_OpenDocumentLargerThanBuffersThrows() throws IOException {
+        BsonStreamWriter writer = new BsonStreamWriter(new ByteArrayOutputStream(), 64, 2);
+        writer.writeStartDocument();
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> writeLargeContent(writer, 10));
+        assertTrue(e.getMessage().contains("cannot seek"));
+        assertFalse(writer.isSeekable());
+    }
+
+    @Test
+    public void testStream_ContentDocumentWrittenInTwoPasses() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicInteger calls = new AtomicInteger();
+        try (BsonStreamWriter writer = new BsonStreamWriter(out, 64, 2)) {
+            writer.writeDocument(w -> {
+                calls.incrementAndGet();
+                writeLargeContent(w, 50);
+            });
+            writer.writeStartDocument().writeInt32("after", 1).writeEndDocument();
+        }
+
+        assertEquals(2, calls.get());
+        byte[] large = expectedLargeDocument(50);
+        byte[] after = new BsonWriter().writeStartDocument().writeInt32("after", 1).writeEndDocument().toByteArray();
+        byte[] expected = Arrays.copyOf(large, large.length + after.length);
+        System.arraycopy(after, 0, expected, large.length, after.length);
+        assertArrayEquals(expected, out.toByteArray());
+    }
+
+    @Test
+    public void testStream_ContentChangedBetweenPassesThrows() throws IOException {
+        BsonStreamWriter writer = new BsonStreamWriter(new ByteArrayOutputStream(), 64, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        assertThrows(IllegalStateException.class, () -> writer.writeDocument(w -> {
+            w.writeInt32("a", 1);
+            if (calls.incrementAndGet() == 2) {
+                w.writeInt32("b", 2);
+            }
+        }));
+
+        AtomicInteger nested = new AtomicInteger();
+        BsonStreamWriter other = new BsonStreamWriter(new ByteArrayOutputStream(), 64, 2);
+        assertThrows(IllegalStateException.class, () -> other.writeDocument(w -> {
+            if (nested.incrementAndGet() == 2) {
+                w.writeStartDocument("extra").writeEndDocument();
+            }
+        }));
+    }
+
+    @Test
+    public void testStream_ContentDocumentMustBeTopLevel() throws IOException {
+        BsonStreamWriter writer = new BsonStreamWriter(new ByteArrayOutputStream());
+        writer.writeStartDocument();
+
+        assertThrows(IllegalStateException.class, () -> writer.writeDocument(w -> { }));
+        assertThrows(IllegalArgumentException.class,
+            () -> writer.writeDocument((BsonStreamWriter.DocumentContent) null));
+    }
+
+    @Test
+    public void testFileChannel_PatchesFlushedPrefixesBySeek() throws IOException {
+        byte[] header = {9, 9, 9, 9, 9, 9, 9};
+        AtomicInteger calls = new AtomicInteger();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(header));
+            BsonStreamWriter writer = new BsonStreamWriter(channel, 16, 1);
+            assertTrue(writer.isSeekable());
+
+            writer.writeStartDocument();
+            writeLargeContent(writer, 30);
+            writer.writeEndDocument();
+            writer.writeDocument(w -> {
+                calls.incrementAndGet();
+                writeLargeContent(w, 5);
+            });
+            writer.close();
+        }
+
+        assertEquals(1, calls.get());
+        byte[] first = expectedLargeDocument(30);
+        byte[] second = expectedLargeDocument(5);
+        byte[] bytes = Files.readAllBytes(file);
+        assertEquals(header.length + first.length + second.length, bytes.length);
+        assertArrayEquals(header, Arrays.copyOfRange(bytes, 0, header.length));
+        assertArrayEquals(first, Arrays.copyOfRange(bytes, header.length, header.length + first.length));
+        assertArrayEquals(second, Arrays.copyOfRange(bytes, header.length + first.length, bytes.length));
+    }
+
+    @Test
+    public void testSeekableChannel_PatchesFlushedPrefixesBySeek() throws IOException {
+        MemoryChannel channel = new MemoryChannel();
+        BsonStreamWriter writer = new BsonStreamWriter(channel, 16, 2);
+        writer.writeStartDocument();
+        writeLargeContent(writer, 20);
+        writer.writeEndDocument();
+        writer.close();
+
+        assertFalse(channel.isOpen());
+        assertArrayEquals(expectedLargeDocument(20), channel.data);
+    }
+
+    @Test
+    public void testLargeValues_StreamedThroughSmallChunks() throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 3000; i++) {
+            sb.append(i % 3 == 0 ? "😀" : i % 3 == 1 ? "é" : "a");
+        }
+        sb.append('\uD800');  // Unpaired surrogate
+        String text = sb.toString();
+        byte[] blob = new byte[5000];
+        for (int i = 0; i < blob.length; i++) {
+            blob[i] = (byte) i;
+        }
+        byte[] expected = new BsonWriter().writeStartDocument()
+            .writeString("text", text)
+            .writeBinary("blob", (byte) 0x05, blob)
+            .writeStartArray("list").writeString(text).writeBinary((byte) 0, blob).writeEndArray()
+            .writeEndDocument().toByteArray();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BsonStreamWriter writer = new BsonStreamWriter(out, 100, 3)) {
+            writer.writeDocument(w -> w
+                .writeString("text", text)
+                .writeBinary("blob", (byte) 0x05, blob)
+                .writeStartArray("list").writeString(text).writeBinary((byte) 0, blob).writeEndArray());
+        }
+
+        assertArrayEquals(expected, out.toByteArray());
+        BsonValidator.validate(out.toByteArray());
+    }
+
+    // ==================== Values and Documents ====================
+
+    @Test
+    public void testValuesAndDocuments_MatchBsonWriter() throws IOException {
+        byte[] raw = new BsonWriter().writeStartDocument().writeInt32("x", 7).writeEndDocument().toByteArray();
+        IndexedBsonDocument indexed = IndexedBsonDocument.parse(raw);
+        BsonDocument hashMap = HashMapBsonDocumentFactory.INSTANCE.newDocumentBuilder()
+            .putString("name", "bob").putInt32("age", 3).build();
+        BsonArray array = HashMapBsonDocumentFactory.INSTANCE.newArrayBuilder().addInt32(1).addInt64(2L).build();
+
+        BsonWriter expected = new BsonWriter()
+            .writeDocument(indexed)
+            .writeDocument(hashMap)
+            .writeStartDocument()
+                .writeValue("v", BsonType.INT64, 5L)
+                .writeObjectId("oid", new byte[12])
+                .writeRawValue("raw", BsonType.DOCUMENT, raw, 0, raw.length)
+                .writeDocument("indexed", indexed)
+                .writeDocument("map", hashMap)
+                .writeArray("array", array)
+                .writeStartDocument(FieldKey.of("k")).writeEndDocument()
+                .writeStartArray(FieldKey.of("a"))
+                    .writeValue(BsonType.STRING, "s")
+                    .writeRawValue(BsonType.INT32, raw, 4 + 3, 4)
+                    .writeDocument(indexed)
+                    .writeDocument(hashMap)
+                    .writeStartArray().writeInt64(8L).writeEndArray()
+                .writeEndArray()
+                .writeInt64(FieldKey.of("l"), 1L).writeDouble(FieldKey.of("d"), 2.0)
+                .writeBoolean(FieldKey.of("b"), true).writeDateTime(FieldKey.of("t"), 3L)
+                .writeNull(FieldKey.of("n")).writeString(FieldKey.of("s"), "str")
+                .writeStartArray("more").writeDateTime(4L).writeEndArray()
+            .writeEndDocument();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BsonStreamWriter writer = new BsonStreamWriter(out, 64, 8)) {
+            writer.writeDocument(indexed)
+                .writeDocument(hashMap)
+                .writeStartDocument()
+                    .writeValue("v", BsonType.INT64, 5L)
+                    .writeObjectId("oid", new byte[12])
+                    .writeRawValue("raw", BsonType.DOCUMENT, raw, 0, raw.length)
+                    .writeDocument("indexed", indexed)
+                    .writeDocument("map", hashMap)
+                    .writeArray("array", array)
+                    .writeStartDocument(FieldKey.of("k")).writeEndDocument()
+                    .writeStartArray(FieldKey.of("a"))
+                        .writeValue(BsonType.STRING, "s")
+                        .writeRawValue(BsonType.INT32, raw, 4 + 3, 4)
+                        .writeDocument(indexed)
+                        .writeDocument(hashMap)
+                        .writeStartArray().writeInt64(8L).writeEndArray()
+                    .writeEndArray()
+                    .writeInt64(FieldKey.of("l"), 1L).writeDouble(FieldKey.of("d"), 2.0)
+                    .writeBoolean(FieldKey.of("b"), true).writeDateTime(FieldKey.of("t"), 3L)
+                    .writeNull(FieldKey.of("n")).writeString(FieldKey.of("s"), "str")
+                    .writeStartArray("more").writeDateTime(4L).writeEndArray()
+                .writeEndDocument();
+        }
+
+        assertArrayEquals(expected.toByteArray(), out.toByteArray());
+    }
+
+    @Test
+    public void testIndexedValues_CopiedRawAcrossChunks() throws IOException {
+        byte[] large = expectedLargeDocument(40);   // Larger than the staging array and the chunks
+        IndexedBsonDocument indexed = IndexedBsonDocument.parse(large);
+        IndexedBsonArray orders = (IndexedBsonArray) indexed.getArray("orders");
+        IndexedBsonDocument first = (IndexedBsonDocument) orders.getDocument(0);   // Slice at an offset
+
+        byte[] expected = new BsonWriter()
+            .writeDocument(indexed)
+            .writeStartDocument()
+                .writeArray("orders", orders)
+                .writeDocument("first", first)
+                .writeStartArray("docs").writeDocument(first).writeDocument(indexed).writeEndArray()
+            .writeEndDocument()
+            .toByteArray();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (BsonStreamWriter writer = new BsonStreamWriter(out, 256, 2)) {
+            writer.writeDocument(indexed)
+                .writeDocument(w -> w
+                    .writeArray("orders", orders)
+                    .writeDocument("first", first)
+                    .writeStartArray("docs").writeDocument(first).writeDocument(indexed).writeEndArray());
+        }
+        assertArrayEquals(expected, out.toByteArray());
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            BsonStreamWriter writer = new BsonStreamWriter(channel, 256, 2);
+            writer.writeDocument(indexed)
+                .writeStartDocument()
+                    .writeArray("orders", orders)
+                    .writeDocument("first", first)
+                    .writeStartArray("docs").writeDocument(first).writeDocument(indexed).writeEndArray()
+                .writeEndDocument();
+            writer.close();
+        }
+        assertArrayEquals(expected, Files.readAllBytes(file));
+        assertArrayEquals(large, indexed.toBson());
+    }
+
+    // ==================== Flush and Close ====================
+
+    @Test
+    public void testFlush_KeepsUnpatchedPrefixBufferedOnStream() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BsonStreamWriter writer = new BsonStreamWriter(out, 16, 8);
+        writer.writeStartDocument().writeInt32("a", 1).writeEndDocument();
+        writer.flush();
+        assertEquals(12, out.size());
+
+        writer.writeStartDocument().writeString("s", "0123456789012345678901234567890123456789");
+        writer.flush();
+        assertEquals(12, out.size());  // The open prefix is in the first buffered chunk
+        writer.writeEndDocument();
+
+        writer.writeStartDocument().writeString("s", "0123456789012345678901234567890123456789");
+        writer.flush();
+        assertEquals(60, out.size());  // Only the chunks before the open prefix at 65
+
+        writer.writeEndDocument();
+        writer.flush();
+        assertEquals(writer.size(), out.size());
+        BsonValidator.validate(Arrays.copyOfRange(out.toByteArray(), 65, out.size()));
+    }
+
+    @Test
+    public void testClose_ClosesSinkAndRejectsWrites() throws IOException {
+        MemoryChannel channel = new MemoryChannel();
+        BsonStreamWriter writer = new BsonStreamWriter(channel);
+        writer.writeStartDocument().writeEndDocument();
+        writer.close();
+        writer.close();  // Idempotent
+
+        assertFalse(channel.isOpen());
+        assertArrayEquals(new byte[]{5, 0, 0, 0, 0}, channel.data);
+        assertThrows(IllegalStateException.class, writer::writeStartDocument);
+        assertThrows(IllegalStateException.class, writer::flush);
+    }
+
+    @Test
+    public void testClose_WithOpenDocumentThrows() throws IOException {
+        MemoryChannel channel = new MemoryChannel();
+        BsonStreamWriter writer = new BsonStreamWriter(channel);
+        writer.writeStartDocument().writeInt32("a", 1);
+
+        assertThrows(IllegalStateException.class, writer::close);
+        assertFalse(channel.isOpen());
+        assertEquals(0, channel.data.length);
+    }
+
+    @Test
+    public void testClose_WithOpenDocumentKeepsCompleteDocumentsOnSeekableSink() throws IOException {
+        MemoryChannel channel = new MemoryChannel();
+        BsonStreamWriter writer = new BsonStreamWriter(channel, 16, 2);
+        writer.writeStartDocument().writeInt32("a", 1).writeEndDocument();
+        writer.writeStartDocument().writeString("s", "0123456789012345678901234567890123456789");
+        writer.flush();  // Sends the open document with a zero prefix, to be patched later
+        assertTrue(channel.data.length > 12);
+
+        assertThrows(IllegalStateException.class, writer::close);
+        assertArrayEquals(new BsonWriter().writeStartDocument().writeInt32("a", 1).writeEndDocument().toByteArray(),
+            channel.data);
+    }
+
+    @Test
+    public void testClose_WithOpenDocumentKeepsCompleteDocumentsOnFile() throws IOException {
+        byte[] complete = new BsonWriter().writeStartDocument().writeInt32("a", 1).writeEndDocument().toByteArray();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            BsonStreamWriter writer = new BsonStreamWriter(channel, 16, 2);
+            writer.writeStartDocument().writeInt32("a", 1).writeEndDocument();
+            writer.writeStartDocument().writeStartArray("x").writeInt32(1).writeInt32(2);   // Still buffered
+
+            assertThrows(IllegalStateException.class, writer::close);
+        }
+        assertArrayEquals(complete, Files.readAllBytes(file));
+    }
+
+    // ==================== Validation ====================
+
+    @Test
+    public void testInvalidArguments() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamWriter(out, 8, 2));
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamWriter(out, 64, 0));
+        assertThrows(IllegalArgumentException.class, () -> new BsonStreamWriter((java.io.OutputStream) null));
+
+        BsonStreamWriter writer = new BsonStreamWriter(out);
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32("a", 1));
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32(1));
+        assertThrows(IllegalStateException.class, writer::writeEndDocument);
+        writer.writeStartDocument();
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32(1));
+        assertThrows(IllegalStateException.class, writer::writeEndArray);
+        assertThrows(IllegalArgumentException.class, () -> writer.writeInt32("a\0b", 1));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeInt32(FieldKey.of("a\0b"), 1));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeString("s", null));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeBinary("b", (byte) 0, new byte[2], 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeValue("v", BsonType.INT32, "x"));
+        writer.writeStartArray("arr");
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32("a", 1));
+        assertThrows(IllegalStateException.class, writer::writeEndDocument);
+    }
+}
@@ -0,0 +1,346 @@
+package com.cloud.fastbson.writer;
+
+import com.cloud.fastbson.FastBson;
+import com.cloud.fastbson.document.BsonArray;
+import com.cloud.fastbson.document.BsonDocument;
+import com.cloud.fastbson.document.BsonDocumentFactory;
+import com.cloud.fastbson.document.FieldKey;
+import com.cloud.fastbson.document.IndexedBsonArray;
+import com.cloud.fastbson.document.IndexedBsonDocument;
+import com.cloud.fastbson.document.fast.FastBsonDocumentFactory;
+import com.cloud.fastbson.document.hashmap.HashMapBsonDocumentFactory;
+import com.cloud.fastbson.reader.BsonReader;
+import com.cloud.fastbson.types.BinaryData;
+import com.cloud.fastbson.types.RegexValue;
+import com.cloud.fastbson.types.Timestamp;
+import com.cloud.fastbson.util.BsonType;
+import com.cloud.fastbson.util.BsonValidator;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for {@link BsonWriter}.
+ */
+public class BsonWriterTest {
+
+    private static final String OBJECT_ID = "507f1f77bcf86cd799439011";
+
+    // ==================== Helper Methods ====================
+
+    /**
+     * Writes one document with a field of every type the writer supports.
+     */
+    private static byte[] writeAllTypes(BsonWriter writer) {
+        return writer.writeStartDocument()
+            .writeInt32("i", 42)
+            .writeInt64("l", 1L << 40)
+            .writeDouble("d", 3.5)
+            .writeBoolean("t", true)
+            .writeBoolean("f", false)
+            .writeString("s", "héllo 世界 😀")
+            .writeDateTime("dt", 1700000000000L)
+            .writeNull("n")
+            .writeObjectId("id", OBJECT_ID)
+            .writeBinary("bin", (byte) 0x04, new byte[]{1, 2, 3})
+            .writeTimestamp("ts", 100, 7)
+            .writeDecimal128("dec", new byte[16])
+            .writeRegex("re", "^a.*", "i")
+            .writeJavaScript("js", "f()")
+            .writeSymbol("sym", "x")
+            .writeMinKey("min")
+            .writeMaxKey("max")
+            .writeUndefined("u")
+            .writeStartDocument("sub")
+                .writeString("city", "Paris")
+            .writeEndDocument()
+            .writeStartArray("arr")
+                .writeInt32(1)
+                .writeString("two")
+                .writeStartDocument().writeInt32("x", 3).writeEndDocument()
+                .writeStartArray().writeDouble(4.0).writeEndArray()
+            .writeEndArray()
+            .writeEndDocument()
+            .toByteArray();
+    }
+
+    /**
+     * Parses with DocumentParser using the given factory.
+     */
+    private static BsonDocument parseWith(BsonDocumentFactory factory, byte[] bson) {
+        synchronized (FastBson.class) {
+            BsonDocumentFactory original = FastBson.getDocumentFactory();
+            FastBson.setDocumentFactory(factory);
+            try {
+                return FastBson.parse(new BsonReader(bson));
+            } finally {
+                FastBson.setDocumentFactory(original);
+            }
+        }
+    }
+
+    // ==================== Round Trip ====================
+
+    @Test
+    public void testRoundTrip_AllTypesReadByIndexedDocument() {
+        byte[] bson = writeAllTypes(new BsonWriter());
+
+        BsonValidator.validate(bson);
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(bson);
+        assertEquals(42, doc.getInt32("i"));
+        assertEquals(1L << 40, doc.getInt64("l"));
+        assertEquals(3.5, doc.getDouble("d"), 0.0);
+        assertTrue(doc.getBoolean("t"));
+        assertFalse(doc.getBoolean("f"));
+        assertEquals("héllo 世界 😀", doc.getString("s"));
+        assertEquals(1700000000000L, doc.getDateTime("dt"));
+        assertTrue(doc.isNull("n"));
+        assertEquals(OBJECT_ID, doc.getObjectId("id"));
+        assertArrayEquals(new byte[]{1, 2, 3}, (byte[]) doc.get("bin"));
+        assertEquals(BsonType.TIMESTAMP, doc.getType("ts"));
+        assertEquals(BsonType.MAX_KEY, doc.getType("max"));
+        assertEquals("Paris", doc.getDocument("sub").getString("city"));
+
+        BsonArray arr = doc.getArray("arr");
+        assertEquals(4, arr.size());
+        assertEquals(1, arr.getInt32(0));
+        assertEquals("two", arr.getString(1));
+        assertEquals(3, arr.getDocument(2).getInt32("x"));
+        assertEquals(4.0, arr.getArray(3).getDouble(0), 0.0);
+    }
+
+    @Test
+    public void testRoundTrip_RareTypesReadByDocumentParser() {
+        byte[] bson = writeAllTypes(new BsonWriter());
+
+        BsonDocument doc = parseWith(FastBsonDocumentFactory.INSTANCE, bson);
+        Timestamp ts = (Timestamp) doc.get("ts");
+        assertEquals(100, ts.seconds);
+        assertEquals(7, ts.increment);
+        RegexValue re = (RegexValue) doc.get("re");
+        assertEquals("^a.*", re.pattern);
+        assertEquals("i", re.options);
+        BinaryData bin = (BinaryData) doc.get("bin");
+        assertEquals(0x04, bin.subtype);
+        assertEquals("f()", doc.get("js"));
+        assertEquals(BsonType.MIN_KEY, doc.getType("min"));
+    }
+
+    @Test
+    public void testEncoding_MatchesHandBuiltBytes() {
+        byte[] bson = new BsonWriter()
+            .writeStartDocument()
+            .writeInt32("a", 1)
+            .writeString("b", "hi")
+            .writeEndDocument()
+            .toByteArray();
+
+        ByteBuffer expected = ByteBuffer.allocate(22).order(ByteOrder.LITTLE_ENDIAN);
+        expected.putInt(22);
+        expected.put(BsonType.INT32).put("a\0".getBytes(StandardCharsets.UTF_8)).putInt(1);
+        expected.put(BsonType.STRING).put("b\0".getBytes(StandardCharsets.UTF_8)).putInt(3)
+            .put("hi\0".getBytes(StandardCharsets.UTF_8));
+        expected.put((byte) 0);
+        assertArrayEquals(expected.array(), bson);
+    }
+
+    @Test
+    public void testEncoding_StringsMatchJdkUtf8() {
+        String[] values = {"", "ascii", "é", "中文", "😀", "a\uD800b", "\uDC00", "mixed é 中 😀 end"};
+        for (String value : values) {
+            byte[] bson = new BsonWriter().writeStartDocument().writeString("s", value).writeEndDocument()
+                .toByteArray();
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            assertArrayEquals(utf8, Arrays.copyOfRange(bson, 11, 11 + utf8.length), value);
+            assertEquals(new String(utf8, StandardCharsets.UTF_8), IndexedBsonDocument.parse(bson).getString("s"));
+        }
+    }
+
+    @Test
+    public void testArrayIndexNames() {
+        BsonWriter writer = new BsonWriter().writeStartDocument().writeStartArray("a");
+        for (int i = 0; i < 1234; i++) {
+            writer.writeInt32(i);
+        }
+        byte[] bson = writer.writeEndArray().writeEndDocument().toByteArray();
+
+        BsonValidator.validate(bson);
+        BsonArray array = IndexedBsonDocument.parse(bson).getArray("a");
+        assertEquals(1234, array.size());
+        assertEquals(1233, array.getInt32(1233));
+        assertTrue(new String(bson, StandardCharsets.ISO_8859_1).contains("\u00101233\0"));
+    }
+
+    @Test
+    public void testTopLevelArray() {
+        byte[] bson = new BsonWriter().writeStartArray().writeInt32(1).writeString("b").writeEndArray().toByteArray();
+
+        BsonValidator.validate(bson);
+        BsonArray array = IndexedBsonArray.parse(bson, 0, bson.length);
+        assertEquals(2, array.size());
+        assertEquals("b", array.getString(1));
+    }
+
+    // ==================== Pre-encoded Names ====================
+
+    @Test
+    public void testFieldKeyNames_SameBytesAsStringNames() {
+        FieldKey id = FieldKey.of("userId");
+        FieldKey name = FieldKey.of("名前");
+        byte[] withKeys = new BsonWriter().writeStartDocument()
+            .writeInt64(id, 7L).writeString(name, "x").writeStartArray(FieldKey.of("a")).writeEndArray()
+            .writeEndDocument().toByteArray();
+        byte[] withStrings = new BsonWriter().writeStartDocument()
+            .writeInt64("userId", 7L).writeString("名前", "x").writeStartArray("a").writeEndArray()
+            .writeEndDocument().toByteArray();
+
+        assertArrayEquals(withStrings, withKeys);
+        assertEquals(7L, IndexedBsonDocument.parse(withKeys).getInt64(id));
+    }
+
+    // ==================== Buffer Reuse ====================
+
+    @Test
+    public void testReset_ReusesBufferWithoutGrowing() {
+        BsonWriter writer = new BsonWriter(8);
+        byte[] first = writeAllTypes(writer);
+        byte[] grown = writer.getBuffer();
+
+        writer.reset();
+        assertEquals(0, writer.size());
+        byte[] second = writeAllTypes(writer);
+
+        assertArrayEquals(first, second);
+        assertSame(grown, writer.getBuffer());
+    }
+
+    @Test
+    public void testMultipleTopLevelDocuments() throws Exception {
+        BsonWriter writer = new BsonWriter();
+        writer.writeStartDocument().writeInt32("n", 1).writeEndDocument();
+        writer.writeStartDocument().writeInt32("n", 2).writeEndDocument();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(out);
+        byte[] bytes = out.toByteArray();
+        assertEquals(writer.size(), bytes.length);
+        assertEquals(1, IndexedBsonDocument.parse(bytes, 0, 12).getInt32("n"));
+        assertEquals(2, IndexedBsonDocument.parse(bytes, 12, 12).getInt32("n"));
+    }
+
+    // ==================== Generic Documents ====================
+
+    @Test
+    public void testWriteDocument_MaterializedDocuments() {
+        byte[] source = writeAllTypes(new BsonWriter());
+
+        for (BsonDocumentFactory factory : new BsonDocumentFactory[]{
+                FastBsonDocumentFactory.INSTANCE, HashMapBsonDocumentFactory.INSTANCE}) {
+            BsonDocument parsed = parseWith(factory, source);
+            byte[] rewritten = new BsonWriter().writeDocument(parsed).toByteArray();
+
+            BsonValidator.validate(rewritten);
+            IndexedBsonDocument doc = IndexedBsonDocument.parse(rewritten);
+            assertEquals(parsed.size(), doc.size());
+            assertEquals(42, doc.getInt32("i"));
+            assertEquals("héllo 世界 😀", doc.getString("s"));
+            assertEquals(OBJECT_ID, doc.getObjectId("id"));
+            assertEquals(BsonType.DECIMAL128, doc.getType("dec"));
+            assertEquals(BsonType.UNDEFINED, doc.getType("u"));
+            assertEquals("two", doc.getArray("arr").getString(1));
+            assertEquals(3, doc.getArray("arr").getDocument(2).getInt32("x"));
+        }
+    }
+
+    @Test
+    public void testWriteDocument_IndexedDocumentCopiedRaw() {
+        byte[] source = writeAllTypes(new BsonWriter());
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(source);
+
+        assertArrayEquals(source, new BsonWriter().writeDocument(doc).toByteArray());
+
+        byte[] wrapped = new BsonWriter().writeStartDocument()
+            .writeDocument("copy", doc.getDocument("sub"))
+            .writeArray("arr", doc.getArray("arr"))
+            .writeEndDocument().toByteArray();
+        IndexedBsonDocument result = IndexedBsonDocument.parse(wrapped);
+        assertEquals("Paris", result.getDocument("copy").getString("city"));
+        assertEquals(4, result.getArray("arr").size());
+    }
+
+    @Test
+    public void testWriteDocument_IndexedDocumentAfterUpdates() {
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(writeAllTypes(new BsonWriter()));
+        doc.setString("s", "changed").setInt32("i", 7);
+
+        BsonWriter writer = new BsonWriter(8);   // Grows to fit the raw copy
+        byte[] written = writer.writeDocument(doc).toByteArray();
+        doc.setInt32("i", 8);
+
+        assertEquals(doc.getBsonLength(), written.length);
+        IndexedBsonDocument copy = IndexedBsonDocument.parse(written);
+        assertEquals("changed", copy.getString("s"));
+        assertEquals(7, copy.getInt32("i"));
+        assertEquals(8, doc.getInt32("i"));
+    }
+
+    @Test
+    public void testWriteValue_BoxedValues() {
+        byte[] bson = new BsonWriter().writeStartDocument()
+            .writeValue("i", BsonType.INT32, 5)
+            .writeValue("dt", BsonType.DATE_TIME, 9L)
+            .writeValue("id", BsonType.OBJECT_ID, OBJECT_ID)
+            .writeValue("n", BsonType.NULL, null)
+            .writeStartArray("a").writeValue(BsonType.STRING, "x").writeEndArray()
+            .writeEndDocument().toByteArray();
+
+        IndexedBsonDocument doc = IndexedBsonDocument.parse(bson);
+        assertEquals(5, doc.getInt32("i"));
+        assertEquals(9L, doc.getDateTime("dt"));
+        assertEquals(OBJECT_ID, doc.getObjectId("id"));
+        assertTrue(doc.isNull("n"));
+        assertEquals("x", doc.getArray("a").getString(0));
+    }
+
+    // ==================== Errors ====================
+
+    @Test
+    public void testErrors_InvalidState() {
+        BsonWriter writer = new BsonWriter();
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32("a", 1));
+        assertThrows(IllegalStateException.class, writer::writeEndDocument);
+
+        writer.writeStartDocument();
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32(1));
+        assertThrows(IllegalStateException.class, () -> writer.writeStartArray());
+        assertThrows(IllegalStateException.class, writer::writeEndArray);
+        assertThrows(IllegalStateException.class, writer::toByteArray);
+
+        writer.writeStartArray("a");
+        assertThrows(IllegalStateException.class, () -> writer.writeInt32("x", 1));
+        assertThrows(IllegalStateException.class, writer::writeEndDocument);
+        assertEquals(2, writer.depth());
+    }
+
+    @Test
+    public void testErrors_InvalidValues() {
+        BsonWriter writer = new BsonWriter().writeStartDocument();
+        assertThrows(IllegalArgumentException.class, () -> writer.writeInt32("a\0b", 1));
+        writer.reset();
+        writer.writeStartDocument();
+        assertThrows(IllegalArgumentException.class, () -> writer.writeInt32(FieldKey.of("a\0b"), 1));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeObjectId("id", "xyz"));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeObjectId("id", new byte[3]));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeString("s", null));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeValue("v", BsonType.INT32, "1"));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeValue("v", (byte) 0x42, 1));
+        assertThrows(IllegalArgumentException.class, () -> writer.writeBinary("b", (byte) 0, new byte[2], 1, 2));
+        assertThrows(IllegalArgumentException.class, () -> new BsonWriter(-1));
+    }
+}